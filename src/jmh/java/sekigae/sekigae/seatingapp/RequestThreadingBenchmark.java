@@ -0,0 +1,252 @@
+package sekigae.sekigae.seatingapp;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sekigae.sekigae.SekigaeApplication;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+import sekigae.sekigae.seatingapp.service.SeatingChartCache;
+
+/**
+ * 座席表の表示と席替えの同時アクセスを、プラットフォームスレッドと仮想スレッド（virtual-threads プロファイル）で比べる負荷ベンチマークです。
+ * <p>
+ * アプリケーションを H2（インメモリ）で起動し、朝のホームルームのように {@code concurrency} 件のリクエストを同時に送り、
+ * すべての応答が返るまでの時間を測ります。 ネットワーク越しのデータベースを再現するため、SQL 1文ごとに
+ * {@code queryLatencyMillis} ミリ秒待ちます。 コネクションプールはどちらも同じ大きさ（20）です。
+ * <p>
+ * 実行: {@code ./gradlew jmh -PjmhIncludes=RequestThreadingBenchmark}。 補助カウンターの {@code ok} / {@code unavailable}
+ * / {@code failed} は応答の内訳（{@code unavailable} は接続待ちの上限で断った 503）です。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+public class RequestThreadingBenchmark {
+
+  private static final int CLASSROOMS = 20;
+  private static final int ROWS = 6;
+  private static final int COLUMNS = 5;
+  private static final int POOL_SIZE = 20;
+
+  /**
+   * true: virtual-threads プロファイル、false: プラットフォームスレッド（Tomcat の既定の200スレッド）
+   */
+  @Param({"false", "true"})
+  public boolean virtualThreads;
+
+  /**
+   * 同時に送るリクエストの数
+   */
+  @Param({"200", "1000"})
+  public int concurrency;
+
+  /**
+   * SQL 1文ごとの待ち時間（ミリ秒）
+   */
+  @Param({"5"})
+  public long queryLatencyMillis;
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private ExecutorService clients;
+  private String baseUrl;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    List<String> args = new ArrayList<>(List.of(
+        "--server.port=0",
+        "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.jpa.show-sql=false",
+        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+        "--seating.statistics.reconcile-interval=PT1H",
+        "--seating.benchmark.query-latency-millis=" + queryLatencyMillis,
+        "--logging.level.root=WARN"));
+    args.add("--spring.profiles.active=" + (virtualThreads ? "virtual-threads" : "benchmark"));
+    context = new SpringApplicationBuilder(SekigaeApplication.class, QueryLatencyConfig.class)
+        .run(args.toArray(String[]::new));
+
+    // 満席のクラスを用意する
+    List<Student> students = new ArrayList<>();
+    for (long classroomId = 1; classroomId <= CLASSROOMS; classroomId++) {
+      for (int i = 0; i < ROWS * COLUMNS; i++) {
+        students.add(Student.builder()
+            .classroomId(classroomId)
+            .name("生徒" + classroomId + "-" + (i + 1))
+            .gender(i % 2 == 0 ? "男子" : "女子")
+            .studentCode(classroomId + "-" + (i + 1))
+            .seatRow(i / COLUMNS + 1)
+            .seatColumn(i % COLUMNS + 1)
+            .build());
+      }
+    }
+    context.getBean(StudentRepository.class).saveAll(students);
+    SeatingChartCache chartCache = context.getBean(SeatingChartCache.class);
+    for (long classroomId = 1; classroomId <= CLASSROOMS; classroomId++) {
+      chartCache.markChanged(classroomId);
+    }
+
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    baseUrl = "http://localhost:" + port;
+    clients = Executors.newVirtualThreadPerTaskExecutor();
+    client = HttpClient.newBuilder()
+        .executor(clients)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    clients.close();
+    context.close();
+  }
+
+  /**
+   * 座席表画面を同時に表示する（クラスは分散させる）
+   */
+  @Benchmark
+  public void showSeatingChart(Responses responses) {
+    burst(responses, i -> HttpRequest.newBuilder(
+            URI.create(baseUrl + "/seating?classroomId=" + classroomOf(i)))
+        .GET()
+        .build());
+  }
+
+  /**
+   * 席替えを同時に実行する（同じクラスへの席替えは順番待ちになり、待っている席替えはまとめられる）
+   */
+  @Benchmark
+  public void shuffleSeatingChart(Responses responses) {
+    burst(responses, i -> HttpRequest.newBuilder(URI.create(baseUrl + "/seating/shuffle"))
+        .header("Content-Type", "application/x-www-form-urlencoded")
+        .POST(HttpRequest.BodyPublishers.ofString("classroomId=" + classroomOf(i)
+            + "&rows=" + ROWS + "&columns=" + COLUMNS))
+        .build());
+  }
+
+  private void burst(Responses responses, IntFunction<HttpRequest> request) {
+    List<CompletableFuture<Void>> pending = new ArrayList<>(concurrency);
+    for (int i = 0; i < concurrency; i++) {
+      pending.add(client.sendAsync(request.apply(i), HttpResponse.BodyHandlers.discarding())
+          .handle((response, error) -> {
+            responses.record(error == null ? response.statusCode() : -1);
+            return null;
+          }));
+    }
+    CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+  }
+
+  private static long classroomOf(int request) {
+    return request % CLASSROOMS + 1;
+  }
+
+  /**
+   * 応答の内訳（イテレーションごとの件数）
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Responses {
+
+    private final AtomicLong okCount = new AtomicLong();
+    private final AtomicLong unavailableCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      okCount.set(0);
+      unavailableCount.set(0);
+      failedCount.set(0);
+    }
+
+    public long ok() {
+      return okCount.get();
+    }
+
+    public long unavailable() {
+      return unavailableCount.get();
+    }
+
+    public long failed() {
+      return failedCount.get();
+    }
+
+    void record(int status) {
+      if (status == 200) {
+        okCount.incrementAndGet();
+      } else if (status == 503) {
+        unavailableCount.incrementAndGet();
+      } else {
+        failedCount.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * SQL 1文ごとに待ち時間を入れ、ネットワーク越しのデータベースを再現する設定
+   */
+  @Configuration
+  static class QueryLatencyConfig {
+
+    @Bean
+    static BeanPostProcessor queryLatencyPostProcessor(
+        @Value("${seating.benchmark.query-latency-millis:0}") long latencyMillis) {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          if (bean instanceof DataSource dataSource && latencyMillis > 0) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                .beforeQuery((execution, queries) -> sleep(latencyMillis))
+                .build();
+          }
+          return bean;
+        }
+      };
+    }
+
+    private static void sleep(long millis) {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package sekigae.sekigae.seatingapp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sekigae.sekigae.seatingapp.dto.ColumnarSeatingChart;
+import sekigae.sekigae.seatingapp.entity.Student;
+
+/**
+ * 読み取り API の応答を JSON・CBOR・Smile で書き出す時間と読み込む時間（キオスク端末側の解析）のベンチマークです。
+ * <p>
+ * 400席（20x20）の座席表（{@code /seating/api/chart} の列指向の応答）と、1万人の名簿（{@code /students/api} の応答）を使います。
+ * 応答の大きさ（バイト数）はセットアップ時に標準出力へ書き出します。
+ * <p>
+ * 実行: {@code ./gradlew jmh -PjmhIncludes=ResponseEncodingBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseEncodingBenchmark {
+
+  /**
+   * 応答の種類（chart400: 400席の座席表、roster10k: 1万人の名簿）
+   */
+  @Param({"chart400", "roster10k"})
+  public String payload;
+
+  /**
+   * 応答の形式
+   */
+  @Param({"JSON", "CBOR", "SMILE"})
+  public String format;
+
+  private ObjectMapper mapper;
+  private Object value;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws IOException {
+    mapper = switch (format) {
+      case "CBOR" -> new CBORMapper();
+      case "SMILE" -> new SmileMapper();
+      default -> new ObjectMapper();
+    };
+    value = "chart400".equals(payload) ? chart(20, 20) : roster(10_000);
+    encoded = mapper.writeValueAsBytes(value);
+    System.out.printf("%n[%s %s] %,d bytes%n", payload, format, encoded.length);
+  }
+
+  @Benchmark
+  public byte[] encode() throws IOException {
+    return mapper.writeValueAsBytes(value);
+  }
+
+  @Benchmark
+  public JsonNode decode() throws IOException {
+    return mapper.readTree(encoded);
+  }
+
+  private static ColumnarSeatingChart chart(int rows, int columns) {
+    long[] seats = new long[rows * columns];
+    List<ColumnarSeatingChart.Entry> students = new ArrayList<>(seats.length);
+    for (int seat = 0; seat < seats.length; seat++) {
+      long id = 1000 + seat;
+      seats[seat] = id;
+      students.add(new ColumnarSeatingChart.Entry(id, "生徒" + (seat + 1),
+          seat % 2 == 0 ? "男子" : "女子"));
+    }
+    return ColumnarSeatingChart.builder()
+        .rows(rows)
+        .columns(columns)
+        .seats(seats)
+        .students(students)
+        .build();
+  }
+
+  private static List<Student> roster(int size) {
+    List<Student> students = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      students.add(Student.builder()
+          .id(1000L + i)
+          .classroomId((long) (i / 40 + 1))
+          .name("生徒" + (i + 1))
+          .gender(i % 2 == 0 ? "男子" : "女子")
+          .studentCode(String.valueOf(100_000 + i))
+          .seatRow(i % 40 / 5 + 1)
+          .seatColumn(i % 5 + 1)
+          .build());
+    }
+    return students;
+  }
+}
@@ -0,0 +1,77 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 席替えの配置エンジン（通常・男女交互・列単位）のベンチマークです。
+ * <p>
+ * 座席表の大きさと男子の割合ごとに、満席の名簿を1回並べ替える時間を測ります。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SeatArrangementBenchmark {
+
+  /**
+   * 座席表の大きさ（行x列）。Student の入力チェックの上限は20x20
+   */
+  @Param({"6x5", "20x20", "40x40"})
+  public String grid;
+
+  /**
+   * 男子の割合
+   */
+  @Param({"0.5", "0.2"})
+  public double maleRatio;
+
+  private int rows;
+  private int columns;
+  private int studentCount;
+  private byte[] genders;
+  private int[] seats;
+  private SeatArrangementEngine engine;
+
+  @Setup
+  public void setUp() {
+    String[] size = grid.split("x");
+    rows = Integer.parseInt(size[0]);
+    columns = Integer.parseInt(size[1]);
+    studentCount = rows * columns;
+
+    engine = new SeatArrangementEngine(new SplittableRandom(42));
+    genders = engine.genderBuffer(studentCount);
+    SplittableRandom random = new SplittableRandom(7);
+    for (int i = 0; i < studentCount; i++) {
+      genders[i] = random.nextDouble() < maleRatio
+          ? SeatArrangementEngine.GENDER_MALE : SeatArrangementEngine.GENDER_FEMALE;
+    }
+    seats = engine.seatBuffer(studentCount);
+  }
+
+  @Benchmark
+  public int[] arrangeNormally() {
+    engine.arrangeNormally(studentCount, rows * columns, seats);
+    return seats;
+  }
+
+  @Benchmark
+  public int[] arrangeAlternating() {
+    engine.arrangeAlternating(genders, studentCount, rows, columns, seats);
+    return seats;
+  }
+
+  @Benchmark
+  public int[] arrangeByColumns() {
+    engine.arrangeByColumns(genders, studentCount, rows, columns, seats);
+    return seats;
+  }
+}
@@ -0,0 +1,112 @@
+package sekigae.sekigae.seatingapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sekigae.sekigae.seatingapp.entity.Classroom;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotDetail;
+import sekigae.sekigae.seatingapp.entity.Student;
+
+/**
+ * 座席表の組み立てと、保存用の座席詳細データ・配置データの作成のベンチマークです。
+ * <p>
+ * 名簿はメモリ上のリストを返す {@link StudentService} から取得するので、データベースの時間は含みません。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SeatingChartBenchmark {
+
+  /**
+   * 座席表の大きさ（行x列）。Student の入力チェックの上限は20x20
+   */
+  @Param({"6x5", "20x20", "40x40"})
+  public String grid;
+
+  /**
+   * 男子の割合
+   */
+  @Param({"0.5", "0.2"})
+  public double maleRatio;
+
+  private int rows;
+  private int columns;
+  private SeatingService seatingService;
+  private Student[][] chart;
+  private List<SeatingSnapshotDetail> details;
+
+  @Setup
+  public void setUp() {
+    String[] size = grid.split("x");
+    rows = Integer.parseInt(size[0]);
+    columns = Integer.parseInt(size[1]);
+
+    List<Student> students = createStudents(rows, columns, maleRatio);
+    StudentService studentService = new StudentService(null, null, null) {
+      @Override
+      public List<Student> getAllStudents(long classroomId) {
+        return students;
+      }
+    };
+    seatingService = new SeatingService(studentService, null, null, null, null,
+        new SeatingMetrics(new SimpleMeterRegistry()), null, null);
+    chart = seatingService.getSeatingChartWithGender(Classroom.DEFAULT_ID, rows, columns);
+    details = SeatingSnapshotService.toDetails(chart);
+  }
+
+  @Benchmark
+  public Student[][] getSeatingChartWithGender() {
+    return seatingService.getSeatingChartWithGender(Classroom.DEFAULT_ID, rows, columns);
+  }
+
+  @Benchmark
+  public List<SeatingSnapshotDetail> toSnapshotDetails() {
+    return SeatingSnapshotService.toDetails(chart);
+  }
+
+  @Benchmark
+  public byte[] encodeSnapshotPayload() {
+    return SnapshotPayloadCodec.encode(rows, columns, details);
+  }
+
+  /**
+   * 座席表を満席にする名簿を作成します（座席はランダムな順に割り当てます）
+   */
+  private static List<Student> createStudents(int rows, int columns, double maleRatio) {
+    int count = rows * columns;
+    int[] seatOrder = new int[count];
+    for (int i = 0; i < count; i++) {
+      seatOrder[i] = i;
+    }
+    SplittableRandom random = new SplittableRandom(7);
+    for (int i = count - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int tmp = seatOrder[i];
+      seatOrder[i] = seatOrder[j];
+      seatOrder[j] = tmp;
+    }
+
+    List<Student> students = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      students.add(Student.builder()
+          .id((long) i + 1)
+          .name("生徒" + (i + 1))
+          .gender(random.nextDouble() < maleRatio ? "男子" : "女子")
+          .studentCode(String.valueOf(i + 1))
+          .seatRow(seatOrder[i] / columns + 1)
+          .seatColumn(seatOrder[i] % columns + 1)
+          .build());
+    }
+    return students;
+  }
+}
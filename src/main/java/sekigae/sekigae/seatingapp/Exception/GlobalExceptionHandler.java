@@ -1,15 +1,78 @@
 package sekigae.sekigae.seatingapp.Exception;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.method.HandlerMethod;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+  /**
+   * 画面では入力フォームにエラーメッセージを表示し、REST API では JSON の 400 を返す
+   */
   @ExceptionHandler(IllegalArgumentException.class)
-  public String handleIllegalArgumentException(IllegalArgumentException ex, Model model) {
+  public Object handleIllegalArgumentException(IllegalArgumentException ex, Model model,
+      HandlerMethod handlerMethod) {
+    if (isApi(handlerMethod)) {
+      return error(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
     model.addAttribute("errorMessage", ex.getMessage());
     return "students/create"; // もう一度フォームを表示
   }
+
+  /**
+   * REST API の処理に失敗したときは JSON の 500 を返す（画面はこれまでどおりエラーページを表示する）
+   */
+  @ExceptionHandler(IllegalStateException.class)
+  public ResponseEntity<Map<String, Object>> handleIllegalStateException(
+      IllegalStateException ex, HandlerMethod handlerMethod) {
+    if (!isApi(handlerMethod)) {
+      throw ex;
+    }
+    return error(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
+  }
+
+  /**
+   * データベースに接続できない（接続待ちが上限に達した場合を含む）ときは 503 を返し、少し後の再試行を促す
+   */
+  @ExceptionHandler({CannotCreateTransactionException.class,
+      DataAccessResourceFailureException.class})
+  public ResponseEntity<String> handleDatabaseUnavailable(RuntimeException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body("ただいま混み合っています。しばらくしてから再度お試しください。");
+  }
+
+  /**
+   * 画面ではなく REST API（{@code @ResponseBody} または ResponseEntity を返すメソッド）かどうか
+   */
+  private static boolean isApi(HandlerMethod handlerMethod) {
+    return handlerMethod != null
+        && (handlerMethod.hasMethodAnnotation(ResponseBody.class)
+        || AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), ResponseBody.class)
+        || HttpEntity.class.isAssignableFrom(handlerMethod.getReturnType().getParameterType()));
+  }
+
+  /**
+   * REST API のエラー応答（API ドキュメントの例と同じ error / message / code の JSON）
+   */
+  private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("error", status.getReasonPhrase());
+    body.put("message", message);
+    body.put("code", status.value());
+    return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+  }
 }
@@ -0,0 +1,35 @@
+package sekigae.sekigae.seatingapp.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * 読み取り API（生徒一覧・座席表・保存した座席表など）の応答を、Accept ヘッダーに応じて
+ * CBOR（{@code application/cbor}）または Smile（{@code application/x-jackson-smile}）でも返せるようにする設定です。
+ * <p>
+ * JSON と同じ ObjectMapper の設定（{@code spring.jackson.*}）で作るので、項目名や値の形式は JSON と同じです。
+ * Spring MVC の既定のコンバーターを同じ種類のこの Bean で置き換えるため、並び順は JSON の後ろのままで、
+ * Accept を指定しない場合やすべての形式を受け付ける場合は、これまでどおり JSON を返します。
+ */
+@Configuration
+public class BinaryMessageConvertersConfig {
+
+  @Bean
+  MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(
+        builder.factory(new CBORFactory()).build());
+  }
+
+  @Bean
+  MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(
+        builder.factory(new SmileFactory()).build());
+  }
+}
@@ -0,0 +1,40 @@
+package sekigae.sekigae.seatingapp.config;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import sekigae.sekigae.seatingapp.service.SeatingMetrics;
+
+/**
+ * 座席表画面の処理時間（データ取得からテンプレートの描画まで）を記録するインターセプターです。
+ * <p>
+ * 304（変更なし）で描画を省いた応答も、HTTPステータスのタグで区別して記録します。
+ */
+@Component
+@RequiredArgsConstructor
+public class ChartRenderMetricsInterceptor implements HandlerInterceptor {
+
+  private static final String SAMPLE_ATTRIBUTE =
+      ChartRenderMetricsInterceptor.class.getName() + ".sample";
+
+  private final SeatingMetrics metrics;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    request.setAttribute(SAMPLE_ATTRIBUTE, metrics.start());
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+      Object handler, Exception ex) {
+    if (request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample sample) {
+      request.removeAttribute(SAMPLE_ATTRIBUTE);
+      metrics.recordChartRender(sample, response.getStatus());
+    }
+  }
+}
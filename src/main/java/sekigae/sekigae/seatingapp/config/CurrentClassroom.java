@@ -0,0 +1,21 @@
+package sekigae.sekigae.seatingapp.config;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * コントローラーの引数に、リクエストで選ばれているクラスのID（long）を渡します。
+ * <p>
+ * クラスの決め方は {@link CurrentClassroomArgumentResolver} を参照してください。
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Parameter(hidden = true)
+public @interface CurrentClassroom {
+
+}
@@ -0,0 +1,108 @@
+package sekigae.sekigae.seatingapp.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import java.util.function.LongPredicate;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+import sekigae.sekigae.seatingapp.entity.Classroom;
+
+/**
+ * {@link CurrentClassroom} の付いた引数に、リクエストで選ばれているクラスのIDを渡すリゾルバーです。
+ * <p>
+ * 次の順に探し、最初に見つかった正のIDを使います。
+ * <ol>
+ *   <li>リクエストパラメーター {@code classroomId}（画面でクラスを切り替えた場合。セッションにも保存します）</li>
+ *   <li>リクエストヘッダー {@code X-Classroom-Id}（APIから呼び出す場合）</li>
+ *   <li>セッションに保存したクラスID</li>
+ *   <li>既定のクラス（{@link Classroom#DEFAULT_ID}）</li>
+ * </ol>
+ * 見つかったIDのクラスが存在しない場合は 404 を返し、存在しないクラスの名簿やキャッシュを作らないようにします
+ * （確認は {@code classroomExists} に任せます。既定のクラスは以前のデータの持ち主なので確認しません）。
+ */
+public class CurrentClassroomArgumentResolver implements HandlerMethodArgumentResolver {
+
+  public static final String PARAMETER = "classroomId";
+  public static final String HEADER = "X-Classroom-Id";
+  public static final String SESSION_ATTRIBUTE =
+      CurrentClassroomArgumentResolver.class.getName() + ".classroomId";
+
+  private final LongPredicate classroomExists;
+
+  /**
+   * @param classroomExists クラスIDのクラスが存在するかどうか
+   */
+  public CurrentClassroomArgumentResolver(LongPredicate classroomExists) {
+    this.classroomExists = classroomExists;
+  }
+
+  @Override
+  public boolean supportsParameter(MethodParameter parameter) {
+    return parameter.hasParameterAnnotation(CurrentClassroom.class)
+        && (parameter.getParameterType() == long.class
+        || parameter.getParameterType() == Long.class);
+  }
+
+  @Override
+  public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+      NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+    HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+    if (request == null) {
+      return Classroom.DEFAULT_ID;
+    }
+    long classroomId = resolveClassroomId(request);
+    if (classroomId != Classroom.DEFAULT_ID && !classroomExists.test(classroomId)) {
+      // 存在しないクラスを次のリクエストで使わないよう、セッションからも外す
+      HttpSession session = request.getSession(false);
+      if (session != null && Long.valueOf(classroomId)
+          .equals(session.getAttribute(SESSION_ATTRIBUTE))) {
+        session.removeAttribute(SESSION_ATTRIBUTE);
+      }
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "指定したクラスは存在しません。");
+    }
+    return classroomId;
+  }
+
+  /**
+   * リクエストで選ばれているクラスのIDを返します（クラスが存在するかどうかは確認しません）
+   *
+   * @param request リクエスト
+   * @return クラスID
+   */
+  public static long resolveClassroomId(HttpServletRequest request) {
+    Long fromParameter = parse(request.getParameter(PARAMETER));
+    if (fromParameter != null) {
+      // 以降の画面遷移でも同じクラスを表示する
+      request.getSession().setAttribute(SESSION_ATTRIBUTE, fromParameter);
+      return fromParameter;
+    }
+
+    Long fromHeader = parse(request.getHeader(HEADER));
+    if (fromHeader != null) {
+      return fromHeader;
+    }
+
+    HttpSession session = request.getSession(false);
+    if (session != null && session.getAttribute(SESSION_ATTRIBUTE) instanceof Long fromSession) {
+      return fromSession;
+    }
+    return Classroom.DEFAULT_ID;
+  }
+
+  private static Long parse(String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    try {
+      long id = Long.parseLong(value.trim());
+      return id > 0 ? id : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
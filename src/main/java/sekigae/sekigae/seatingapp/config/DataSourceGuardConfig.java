@@ -0,0 +1,42 @@
+package sekigae.sekigae.seatingapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * データソースを {@link GuardedDataSource} で包み、接続待ちのスレッドの数を制限する設定です。
+ * <p>
+ * {@code seating.db.guard.enabled=true} の場合だけ有効です（virtual-threads プロファイルで有効にしています）。
+ */
+@Configuration
+@ConditionalOnProperty(name = "seating.db.guard.enabled", havingValue = "true")
+public class DataSourceGuardConfig {
+
+  public static final String REJECTED = "seating.db.connection.rejected";
+
+  /**
+   * データソースを包む BeanPostProcessor（他の Bean より先に作られるので static にします）
+   */
+  @Bean
+  static BeanPostProcessor guardedDataSourcePostProcessor(
+      @Value("${seating.db.guard.max-waiting:200}") int maxWaiting,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof GuardedDataSource)) {
+          // MeterRegistry はデータソースに依存するので、断ったときに初めて取得する
+          return new GuardedDataSource(dataSource, maxWaiting,
+              () -> meterRegistry.ifAvailable(registry -> registry.counter(REJECTED).increment()));
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,71 @@
+package sekigae.sekigae.seatingapp.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * コネクションプールの空きを待つスレッドの数を制限する {@link DataSource} です。
+ * <p>
+ * 仮想スレッドではリクエストごとにスレッドが作られるので、朝の時間帯に座席表の表示が集中すると、
+ * 数千のスレッドがコネクションプールの空きを待ち、どのリクエストも接続タイムアウトまで待たされます。
+ * このクラスはプールに接続を要求中のスレッドが {@code maxWaiting} を超えた場合、待たずにすぐ
+ * {@link SQLTransientConnectionException} で失敗させます（画面・APIには 503 を返します）。
+ * 接続を使用中のスレッドは数えないので、同時に使える接続の数はプールの大きさのままです。
+ */
+public class GuardedDataSource extends DelegatingDataSource {
+
+  private final Semaphore waiting;
+  private final int maxWaiting;
+  private final Runnable onRejected;
+
+  /**
+   * @param target     コネクションプール
+   * @param maxWaiting 接続を待てるスレッドの数の上限
+   * @param onRejected 上限を超えて断ったときに呼ぶ処理（メトリクスの記録など）
+   */
+  public GuardedDataSource(DataSource target, int maxWaiting, Runnable onRejected) {
+    super(target);
+    this.waiting = new Semaphore(maxWaiting);
+    this.maxWaiting = maxWaiting;
+    this.onRejected = onRejected;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return super.getConnection();
+    } finally {
+      waiting.release();
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return super.getConnection(username, password);
+    } finally {
+      waiting.release();
+    }
+  }
+
+  /**
+   * 接続を待っているスレッドの数
+   */
+  public int getWaitingCount() {
+    return maxWaiting - waiting.availablePermits();
+  }
+
+  private void acquire() throws SQLTransientConnectionException {
+    if (!waiting.tryAcquire()) {
+      onRejected.run();
+      throw new SQLTransientConnectionException(
+          "データベースへの接続待ちが上限（" + maxWaiting + "）に達しています");
+    }
+  }
+}
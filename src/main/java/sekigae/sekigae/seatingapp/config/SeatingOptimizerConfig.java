@@ -0,0 +1,32 @@
+package sekigae.sekigae.seatingapp.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sekigae.sekigae.seatingapp.service.ConstrainedSeatingOptimizer;
+
+/**
+ * 条件付き席替えのオプティマイザーを、専用のスレッドプール（スレッド数固定）で作る設定です。
+ * <p>
+ * 最適化はクラスの書き込みの順番を持ったまま待つため、JVM 共通の {@code ForkJoinPool.commonPool()} や
+ * 学校全体の席替えジョブとスレッドを取り合わないよう、スレッド数を {@code seating.optimize.parallelism}
+ * （0 の場合は CPU コア数）に固定したプールを使います。 プールは Bean として公開しません
+ * （{@code Executor} の Bean があると Spring MVC の非同期処理用のスレッドプールが作られなくなるため）。
+ */
+@Configuration
+public class SeatingOptimizerConfig {
+
+  /**
+   * アプリケーションの終了時に閉じられ、スレッドプールも止まります
+   */
+  @Bean
+  ConstrainedSeatingOptimizer constrainedSeatingOptimizer(
+      @Value("${seating.optimize.parallelism:0}") int parallelism) {
+    int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    ExecutorService pool = Executors.newFixedThreadPool(threads,
+        Thread.ofPlatform().name("seating-optimizer-", 0).daemon().factory());
+    return new ConstrainedSeatingOptimizer(pool, threads);
+  }
+}
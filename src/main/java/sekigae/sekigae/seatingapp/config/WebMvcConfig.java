@@ -0,0 +1,33 @@
+package sekigae.sekigae.seatingapp.config;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import sekigae.sekigae.seatingapp.service.ClassroomService;
+
+/**
+ * Spring MVC の設定です。
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+  private final ChartRenderMetricsInterceptor chartRenderMetricsInterceptor;
+  private final ClassroomService classroomService;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    // 座席表画面（座席表の表示・座席表の部分更新）の処理時間を記録
+    registry.addInterceptor(chartRenderMetricsInterceptor)
+        .addPathPatterns("/seating", "/seating/chart");
+  }
+
+  @Override
+  public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+    // コントローラーの @CurrentClassroom 引数に選ばれているクラスIDを渡す（存在しないクラスは 404）
+    resolvers.add(new CurrentClassroomArgumentResolver(classroomService::exists));
+  }
+}
@@ -0,0 +1,56 @@
+package sekigae.sekigae.seatingapp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import sekigae.sekigae.seatingapp.entity.Classroom;
+import sekigae.sekigae.seatingapp.service.ClassroomService;
+
+/**
+ * クラスの一覧・登録の REST API です。
+ * <p>
+ * 各画面・API のクラスは、リクエストパラメーター {@code classroomId} またはヘッダー {@code X-Classroom-Id} で選びます。
+ */
+@Controller
+@RequiredArgsConstructor
+@RequestMapping("/classrooms")
+public class ClassroomController {
+
+  private final ClassroomService classroomService;
+
+  /**
+   * REST API: クラス一覧を取得
+   */
+  @Operation(summary = "クラス一覧", description = "登録済みのクラスをID順に取得します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "正常にクラス一覧を取得しました。")})
+  @GetMapping("/api")
+  @ResponseBody
+  public List<Classroom> getAllClassroomsApi() {
+    return classroomService.getAllClassrooms();
+  }
+
+  /**
+   * REST API: クラスを登録
+   */
+  @Operation(summary = "クラス登録", description = "クラスを登録します。",
+      responses = {
+          @ApiResponse(responseCode = "201", description = "正常にクラスを登録しました。"),
+          @ApiResponse(responseCode = "400", description = "クラス名が不正です。")})
+  @PostMapping("/api")
+  @ResponseBody
+  public ResponseEntity<Classroom> createClassroomApi(@Valid @RequestBody Classroom classroom) {
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(classroomService.createClassroom(classroom.getName()));
+  }
+}
@@ -0,0 +1,138 @@
+package sekigae.sekigae.seatingapp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import sekigae.sekigae.seatingapp.config.CurrentClassroom;
+import sekigae.sekigae.seatingapp.service.ExportFormat;
+import sekigae.sekigae.seatingapp.service.SeatingExportService;
+
+/**
+ * 名簿・座席表・保存した座席表を CSV / JSON でダウンロードする REST API です。
+ * <p>
+ * 応答は {@link StreamingResponseBody} で、データベースから読んだ行をそのまま書き出します（応答全体をメモリに溜めません）。
+ * 全クラスの名簿などは書き出しに時間がかかるため、エクスポートの応答だけ非同期処理の時間制限を
+ * {@code seating.export.timeout} にします（他の非同期処理は {@code spring.mvc.async.request-timeout} のままです）。
+ */
+@Controller
+@RequestMapping("/exports")
+public class ExportController {
+
+  private static final String TIMEOUT_INTERCEPTOR = ExportController.class.getName() + ".timeout";
+
+  private final SeatingExportService exportService;
+  private final Duration timeout;
+
+  public ExportController(SeatingExportService exportService,
+      @Value("${seating.export.timeout:10m}") Duration timeout) {
+    this.exportService = exportService;
+    this.timeout = timeout;
+  }
+
+  /**
+   * REST API: クラスの名簿を書き出す
+   */
+  @Operation(summary = "名簿のエクスポート", description = "クラスの名簿をID順に書き出します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "名簿を書き出しました。")})
+  @Parameter(name = "format", description = "形式（CSV または JSON）", example = "CSV")
+  @GetMapping("/students")
+  public ResponseEntity<StreamingResponseBody> exportRoster(@CurrentClassroom long classroomId,
+      @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+      WebRequest webRequest) {
+    return download(webRequest, "students-" + classroomId, format,
+        out -> exportService.exportRoster(classroomId, format, out));
+  }
+
+  /**
+   * REST API: 全クラスの名簿を書き出す
+   */
+  @Operation(summary = "全クラスの名簿のエクスポート", description = "全クラスの名簿をクラスID・ID順に書き出します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "名簿を書き出しました。")})
+  @Parameter(name = "format", description = "形式（CSV または JSON）", example = "CSV")
+  @GetMapping("/school/students")
+  public ResponseEntity<StreamingResponseBody> exportSchoolRoster(
+      @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+      WebRequest webRequest) {
+    return download(webRequest, "students-school", format,
+        out -> exportService.exportSchoolRoster(format, out));
+  }
+
+  /**
+   * REST API: クラスの現在の座席表を書き出す
+   */
+  @Operation(summary = "座席表のエクスポート", description = "クラスの現在の座席表（座席のある生徒）を座席順に書き出します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "座席表を書き出しました。")})
+  @Parameter(name = "format", description = "形式（CSV または JSON）", example = "CSV")
+  @GetMapping("/chart")
+  public ResponseEntity<StreamingResponseBody> exportSeatingChart(
+      @CurrentClassroom long classroomId,
+      @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+      WebRequest webRequest) {
+    return download(webRequest, "seating-chart-" + classroomId, format,
+        out -> exportService.exportSeatingChart(classroomId, format, out));
+  }
+
+  /**
+   * REST API: 保存した座席表を書き出す
+   */
+  @Operation(summary = "保存した座席表のエクスポート", description = "保存した座席表を座席順に書き出します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "座席表を書き出しました。"),
+          @ApiResponse(responseCode = "404", description = "指定した座席表が存在しません。")})
+  @Parameter(name = "snapshotId", description = "保存済み座席表のID", required = true, example = "1")
+  @Parameter(name = "format", description = "形式（CSV または JSON）", example = "CSV")
+  @GetMapping("/snapshots/{snapshotId}")
+  public ResponseEntity<StreamingResponseBody> exportSnapshot(@CurrentClassroom long classroomId,
+      @PathVariable long snapshotId,
+      @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+      WebRequest webRequest) {
+    // 書き出しを始めると状態コードを変えられないので、先にクラスの座席表かどうかを確認する
+    if (!exportService.hasSnapshot(classroomId, snapshotId)) {
+      return ResponseEntity.notFound().build();
+    }
+    return download(webRequest, "seating-snapshot-" + snapshotId, format,
+        out -> exportService.exportSnapshot(snapshotId, format, out));
+  }
+
+  private ResponseEntity<StreamingResponseBody> download(WebRequest webRequest, String fileName,
+      ExportFormat format, StreamingResponseBody body) {
+    // 書き出しの非同期処理が始まる直前に、このリクエストだけ時間制限を変える
+    WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(TIMEOUT_INTERCEPTOR,
+        new CallableProcessingInterceptor() {
+          @Override
+          public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            if (request instanceof AsyncWebRequest asyncWebRequest) {
+              asyncWebRequest.setTimeout(timeout.toMillis());
+            }
+          }
+        });
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(format.getContentType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename(fileName + "." + format.getExtension())
+            .build()
+            .toString())
+        .body(body);
+  }
+}
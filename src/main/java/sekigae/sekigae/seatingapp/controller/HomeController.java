@@ -5,14 +5,14 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
-import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.config.CurrentClassroom;
+import sekigae.sekigae.seatingapp.dto.SeatingStatistics;
 import sekigae.sekigae.seatingapp.service.SeatingService;
-import sekigae.sekigae.seatingapp.service.StudentService;
+import sekigae.sekigae.seatingapp.service.SeatingStatisticsService;
 
 /**
  * 席替えアプリのホーム画面に関する情報を提供するコントローラーです。
@@ -24,8 +24,8 @@ import sekigae.sekigae.seatingapp.service.StudentService;
 @RequiredArgsConstructor
 public class HomeController {
 
-  private final StudentService studentService;
   private final SeatingService seatingService;
+  private final SeatingStatisticsService statisticsService;
 
   @Operation(summary = "ホーム画面出力", description = "席替えアプリケーションのホーム画面を出力させます。",
       responses = {
@@ -46,43 +46,23 @@ public class HomeController {
                             "code": 404
                           }""")))})
   @GetMapping("/")
-  public String home(Model model) {
-    // 学生データを取得
-    List<Student> students = studentService.getAllStudents();
-    int studentCount = students.size();
-
+  public String home(@CurrentClassroom long classroomId, Model model) {
     // 現在の座席表設定を取得（デフォルトは6行5列）
-    int currentRows = seatingService.getCurrentRows();
-    int currentColumns = seatingService.getCurrentColumns();
+    int currentRows = seatingService.getCurrentRows(classroomId);
+    int currentColumns = seatingService.getCurrentColumns(classroomId);
 
-    // 座席使用状況を計算
-    String[][] currentSeatingChart = seatingService.getSeatingChart(currentRows, currentColumns);
-    int occupiedSeats = calculateOccupiedSeats(currentSeatingChart);
+    // 名簿が変わったときに計算済みの集計値を取得（名簿の人数によらず一定の時間で済む）
+    SeatingStatistics statistics = statisticsService.getStatistics(classroomId);
 
     // モデルに追加
-    model.addAttribute("studentCount", studentCount);
+    model.addAttribute("studentCount", statistics.getStudentCount());
+    model.addAttribute("maleCount", statistics.getMaleCount());
+    model.addAttribute("femaleCount", statistics.getFemaleCount());
     model.addAttribute("currentRows", currentRows);
     model.addAttribute("currentColumns", currentColumns);
-    model.addAttribute("occupiedSeats", occupiedSeats);
+    model.addAttribute("occupiedSeats", statistics.getOccupiedSeats(currentRows, currentColumns));
+    model.addAttribute("freeSeats", statistics.getFreeSeats(currentRows, currentColumns));
 
     return "home/dashboard";
   }
-
-  /**
-   * 使用中の座席の数を計算するメソッドです。
-   *
-   * @param seatingChart 現在の座席配置（２次元配列として渡します。）
-   * @return 現在使用されている座席の数
-   */
-  private int calculateOccupiedSeats(String[][] seatingChart) {
-    int count = 0;
-    for (String[] row : seatingChart) {
-      for (String seat : row) {
-        if (seat != null && !seat.trim().isEmpty()) {
-          count++;
-        }
-      }
-    }
-    return count;
-  }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package sekigae.sekigae.seatingapp.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import java.net.URI;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import sekigae.sekigae.seatingapp.dto.SchoolShuffleProgress;
+import sekigae.sekigae.seatingapp.service.SchoolShuffleService;
+import sekigae.sekigae.seatingapp.service.SeatArrangementMode;
+
+/**
+ * 学校全体（すべてのクラス）の席替えジョブの REST API です。
+ */
+@Controller
+@RequiredArgsConstructor
+@RequestMapping("/school/shuffle-jobs")
+public class SchoolShuffleController {
+
+  private final SchoolShuffleService schoolShuffleService;
+
+  /**
+   * REST API: 学校全体の席替えジョブを開始
+   */
+  @Operation(summary = "学校全体の席替え",
+      description = "すべてのクラスを席替えするジョブを開始します。実行中のジョブがある場合はそのジョブを返します。",
+      responses = {
+          @ApiResponse(responseCode = "202", description = "ジョブを開始しました（進み具合は Location のURLで確認できます）。")})
+  @Parameter(name = "mode", description = "全クラスで使う配置方法（省略時はクラスごとの座席設定の配置方法）",
+      example = "ALTERNATE_GENDERS")
+  @PostMapping
+  @ResponseBody
+  public ResponseEntity<SchoolShuffleProgress> startJobApi(
+      @RequestParam(value = "mode", required = false) SeatArrangementMode mode) {
+    SchoolShuffleProgress progress = schoolShuffleService.startJob(mode);
+    return ResponseEntity.accepted()
+        .location(URI.create("/school/shuffle-jobs/" + progress.getJobId()))
+        .body(progress);
+  }
+
+  /**
+   * REST API: 学校全体の席替えジョブの進み具合を取得
+   */
+  @Operation(summary = "学校全体の席替えの進み具合",
+      description = "ジョブの状態と、終わったクラスごとの処理時間を取得します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "正常に進み具合を取得しました。"),
+          @ApiResponse(responseCode = "404", description = "ジョブが見つかりません。")})
+  @GetMapping("/{jobId}")
+  @ResponseBody
+  public ResponseEntity<SchoolShuffleProgress> getProgressApi(@PathVariable long jobId) {
+    return schoolShuffleService.getProgress(jobId)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+}
@@ -5,20 +5,45 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import sekigae.sekigae.seatingapp.config.CurrentClassroom;
+import sekigae.sekigae.seatingapp.dto.ColumnarSeatingChart;
+import sekigae.sekigae.seatingapp.dto.NeighbourFrequency;
+import sekigae.sekigae.seatingapp.dto.SeatingConstraints;
+import sekigae.sekigae.seatingapp.dto.SeatingOptimizationResult;
+import sekigae.sekigae.seatingapp.dto.SeatingRepairResult;
+import sekigae.sekigae.seatingapp.dto.SeatingStatistics;
+import sekigae.sekigae.seatingapp.dto.SnapshotDiff;
+import sekigae.sekigae.seatingapp.dto.SnapshotPage;
+import sekigae.sekigae.seatingapp.dto.SnapshotRestoreResult;
 import sekigae.sekigae.seatingapp.entity.SeatingSnapshot;
 import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.service.NeighbourHistoryService;
+import sekigae.sekigae.seatingapp.service.SeatArrangementMode;
+import sekigae.sekigae.seatingapp.service.SeatingChartVersion;
 import sekigae.sekigae.seatingapp.service.SeatingService;
 import sekigae.sekigae.seatingapp.service.SeatingSnapshotService;
+import sekigae.sekigae.seatingapp.service.SnapshotDiffService;
 import sekigae.sekigae.seatingapp.service.StudentService;
 
 @Valid
@@ -30,6 +55,17 @@ public class SeatingController {
   private final SeatingService seatingService;
   private final StudentService studentService;
   private final SeatingSnapshotService snapshotService;
+  private final NeighbourHistoryService neighbourHistoryService;
+  private final SnapshotDiffService snapshotDiffService;
+  private final SeatingChartVersion chartVersion;
+
+  /**
+   * 座席表画面の制約チェックボックスの初期値に使う、保存されている標準の並べ方
+   */
+  @ModelAttribute("currentLayout")
+  public SeatArrangementMode currentLayout(@CurrentClassroom long classroomId) {
+    return seatingService.getCurrentArrangementMode(classroomId);
+  }
 
   /**
    * 座席表を表示する
@@ -37,6 +73,7 @@ public class SeatingController {
   @Operation(summary = "座席表表示", description = "現在の座席表を表示します。",
       responses = {
           @ApiResponse(responseCode = "200", description = "正常に座席表情報を取得しました。"),
+          @ApiResponse(responseCode = "304", description = "前回の取得から変更がありません。"),
           @ApiResponse(
               responseCode = "404",
               description = "座席情報が見つかりません。",
@@ -52,26 +89,47 @@ public class SeatingController {
                             "message": "座席表情報が見つかりませんでした。",
                             "code": 404
                           }""")))})
+  @Parameter(
+      name = "snapshotsBefore",
+      description = "保存済み座席表一覧のカーソル（この作成日時より前の座席表を表示。省略時は最新から）",
+      example = "2025-04-09T13:00:00")
+  @Parameter(
+      name = "snapshotsBeforeId",
+      description = "保存済み座席表一覧のカーソル（作成日時が同じ場合はこのIDより前の座席表を表示）",
+      example = "5")
   @GetMapping
-  public String showSeatingChart(Model model) {
-    // 6行5列で固定
-    int rows = 6;
-    int columns = 5;
+  public String showSeatingChart(
+      @CurrentClassroom long classroomId,
+      @RequestParam(value = "snapshotsBefore", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime snapshotsBefore,
+      @RequestParam(value = "snapshotsBeforeId", required = false) Long snapshotsBeforeId,
+      WebRequest webRequest, Model model) {
+    // 前回から変わっていなければ、データの取得も画面の描画もせずに 304 を返す
+    if (chartVersion.checkNotModified(classroomId, webRequest)) {
+      return null;
+    }
+
+    // 保存されている座席表設定の行数・列数
+    int rows = seatingService.getCurrentRows(classroomId);
+    int columns = seatingService.getCurrentColumns(classroomId);
 
     // Studentオブジェクトを含む座席表を取得
-    Student[][] seatingChart = seatingService.getSeatingChartWithGender(rows, columns);
+    Student[][] seatingChart = seatingService.getSeatingChartWithGender(classroomId, rows,
+        columns);
 
     // 全学生データ（必要なら他の用途用）
-    List<Student> students = studentService.getAllStudents();
+    List<Student> students = studentService.getAllStudents(classroomId);
 
-    // 保存されたスナップショット一覧を取得
-    List<SeatingSnapshot> snapshots = snapshotService.getAllSnapshots();
+    // 保存されたスナップショット一覧（カーソル位置から1ページ分）を取得
+    SnapshotPage snapshotPage = snapshotService.getSnapshotPage(classroomId, snapshotsBefore,
+        snapshotsBeforeId);
 
     model.addAttribute("seatingChart", seatingChart);
     model.addAttribute("students", students);
     model.addAttribute("rows", rows);
     model.addAttribute("columns", columns);
-    model.addAttribute("snapshots", snapshots);
+    model.addAttribute("snapshots", snapshotPage.getSnapshots());
+    model.addAttribute("snapshotPage", snapshotPage);
 
     return "seating/chart";
   }
@@ -87,6 +145,7 @@ public class SeatingController {
   @Operation(summary = "座席表表示", description = "指定行列数の座席表を表示します。",
       responses = {
           @ApiResponse(responseCode = "200", description = "正常に座席表情報を取得しました。"),
+          @ApiResponse(responseCode = "304", description = "前回の取得から変更がありません。"),
           @ApiResponse(
               responseCode = "400",
               description = "不正な行列数形式です。",
@@ -129,10 +188,15 @@ public class SeatingController {
       example = "6")
   @GetMapping("/chart")
   public String showSeatingChartWithParams(
+      @CurrentClassroom long classroomId,
       @RequestParam(value = "rows", defaultValue = "6") int rows,
       @RequestParam(value = "columns", defaultValue = "5") int columns,
-      Model model) {
-    return showSeatingChartWithSize(rows, columns, model);
+      WebRequest webRequest, Model model) {
+    // 前回から変わっていなければ、データの取得も画面の描画もせずに 304 を返す
+    if (chartVersion.checkNotModified(classroomId, webRequest)) {
+      return null;
+    }
+    return showSeatingChartWithSize(classroomId, rows, columns, model);
   }
 
   /**
@@ -187,38 +251,41 @@ public class SeatingController {
       example = "6")
   @PostMapping("/generate")
   public String generateSeatingChart(
+      @CurrentClassroom long classroomId,
       @RequestParam("rows") int rows,
       @RequestParam("columns") int columns,
       Model model) {
-    return showSeatingChartWithSize(rows, columns, model);
+    return showSeatingChartWithSize(classroomId, rows, columns, model);
   }
 
   /**
    * 座席表生成の共通処理
    */
-  private String showSeatingChartWithSize(int rows, int columns, Model model) {
+  private String showSeatingChartWithSize(long classroomId, int rows, int columns,
+      Model model) {
     // 入力値のバリデーション
     if (rows < 1 || rows > 20) {
-      rows = 6; // デフォルト値に戻す
+      rows = seatingService.getCurrentRows(classroomId); // 保存されている設定に戻す
     }
     if (columns < 1 || columns > 20) {
-      columns = 5; // デフォルト値に戻す
+      columns = seatingService.getCurrentColumns(classroomId); // 保存されている設定に戻す
     }
 
     // 座席表のデータを取得
-    String[][] seatingChart = seatingService.getSeatingChart(rows, columns);
+    String[][] seatingChart = seatingService.getSeatingChart(classroomId, rows, columns);
 
     // 学生データも追加
-    List<Student> students = studentService.getAllStudents();
+    List<Student> students = studentService.getAllStudents(classroomId);
 
-    // 保存されたスナップショット一覧を取得
-    List<SeatingSnapshot> snapshots = snapshotService.getAllSnapshots();
+    // 保存されたスナップショット一覧（先頭ページ）を取得
+    SnapshotPage snapshotPage = snapshotService.getSnapshotPage(classroomId, null, null);
 
     model.addAttribute("seatingChart", seatingChart);
     model.addAttribute("students", students);
     model.addAttribute("rows", rows);
     model.addAttribute("columns", columns);
-    model.addAttribute("snapshots", snapshots);
+    model.addAttribute("snapshots", snapshotPage.getSnapshots());
+    model.addAttribute("snapshotPage", snapshotPage);
 
     return "seating/chart";
   }
@@ -275,11 +342,12 @@ public class SeatingController {
       example = "6")
   @PostMapping("/regenerate")
   public String regenerateSeatingChart(
+      @CurrentClassroom long classroomId,
       @RequestParam("rows") int rows,
       @RequestParam("columns") int columns,
       Model model) {
     // 座席表を再生成（シャッフルなど）
-    return showSeatingChartWithSize(rows, columns, model);
+    return showSeatingChartWithSize(classroomId, rows, columns, model);
   }
 
 
@@ -341,6 +409,7 @@ public class SeatingController {
       example = "true")
   @PostMapping("/shuffle")
   public String shuffleSeatingChart(
+      @CurrentClassroom long classroomId,
       @RequestParam("rows") int rows,
       @RequestParam("columns") int columns,
       @RequestParam(value = "preventSameGender", required = false) Boolean preventSameGender,
@@ -352,24 +421,259 @@ public class SeatingController {
     boolean alternateByColumns = Boolean.TRUE.equals(alternateColumns);
 
     // ランダムにシャッフルした座席表を取得（制約条件を適用）
-    Student[][] seatingChart = seatingService.shuffleSeatingChart(rows, columns, alternateGenders,
-        alternateByColumns);
+    Student[][] seatingChart = seatingService.shuffleSeatingChart(classroomId, rows, columns,
+        alternateGenders, alternateByColumns);
+
+    // 学生データも追加（必要であれば）
+    List<Student> students = studentService.getAllStudents(classroomId);
+
+    // 保存されたスナップショット一覧（先頭ページ）を取得
+    SnapshotPage snapshotPage = snapshotService.getSnapshotPage(classroomId, null, null);
+
+    model.addAttribute("seatingChart", seatingChart);
+    model.addAttribute("students", students);
+    model.addAttribute("rows", rows);
+    model.addAttribute("columns", columns);
+    model.addAttribute("snapshots", snapshotPage.getSnapshots());
+    model.addAttribute("snapshotPage", snapshotPage);
+
+    return "seating/chart";
+  }
+
+  /**
+   * 制約条件を考慮して座席を最適化する
+   */
+  @Operation(summary = "条件付き席替え", description = "隣り合わせにしない生徒ペア・前列に座らせる生徒・現在の隣席の生徒を避ける条件で座席を最適化します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "正常に座席表情報を入れ替えました。"),
+          @ApiResponse(
+              responseCode = "400",
+              description = "不正な条件形式です。",
+              content = @Content(
+                  mediaType = "application/json",
+                  examples = @ExampleObject(
+                      name = "BadRequestExample",
+                      summary = "条件形式エラー",
+                      description = "生徒ペアの形式が不正な場合のエラー例",
+                      value = """
+                          {
+                            "error": "Bad Request",
+                            "message": "生徒ペアの形式が不正です: 1-",
+                            "code": 400
+                          }""")))})
+  @Parameter(
+      name = "separatedPairs",
+      description = "隣り合わせにしない生徒IDのペア（「1-2, 3-4」形式）",
+      required = false,
+      example = "1-2, 3-4")
+  @Parameter(
+      name = "frontRowStudentIds",
+      description = "前列に座らせる生徒ID（カンマ区切り）",
+      required = false,
+      example = "5,8")
+  @Parameter(
+      name = "timeBudgetMillis",
+      description = "最適化の制限時間（ミリ秒）",
+      required = false,
+      example = "1000")
+  @PostMapping("/optimize")
+  public String optimizeSeatingChart(
+      @CurrentClassroom long classroomId,
+      @RequestParam("rows") int rows,
+      @RequestParam("columns") int columns,
+      @RequestParam(value = "separatedPairs", required = false) String separatedPairs,
+      @RequestParam(value = "separatedPairsRequired", required = false) Boolean separatedPairsRequired,
+      @RequestParam(value = "frontRowStudentIds", required = false) List<Long> frontRowStudentIds,
+      @RequestParam(value = "frontRows", defaultValue = "2") int frontRows,
+      @RequestParam(value = "frontRowRequired", required = false) Boolean frontRowRequired,
+      @RequestParam(value = "avoidPreviousNeighbours", required = false) Boolean avoidPreviousNeighbours,
+      @RequestParam(value = "minimizeRepeatNeighbours", required = false) Boolean minimizeRepeatNeighbours,
+      @RequestParam(value = "timeBudgetMillis", defaultValue = "1000") long timeBudgetMillis,
+      Model model) {
+
+    Student[][] seatingChart;
+    try {
+      SeatingConstraints constraints = SeatingConstraints.builder()
+          .separatedPairs(SeatingConstraints.parsePairs(separatedPairs))
+          .separatedPairsRequired(Boolean.TRUE.equals(separatedPairsRequired))
+          .frontRowStudentIds(frontRowStudentIds == null
+              ? new HashSet<>() : new HashSet<>(frontRowStudentIds))
+          .frontRows(frontRows)
+          .frontRowRequired(Boolean.TRUE.equals(frontRowRequired))
+          .avoidPreviousNeighbours(Boolean.TRUE.equals(avoidPreviousNeighbours))
+          .minimizeRepeatNeighbours(Boolean.TRUE.equals(minimizeRepeatNeighbours))
+          .timeBudgetMillis(timeBudgetMillis)
+          .build();
+
+      SeatingOptimizationResult result = seatingService.optimizeSeatingChart(classroomId, rows,
+          columns, constraints);
+      seatingChart = result.getChart();
+
+      if (result.getHardViolations() > 0) {
+        model.addAttribute("errorMessage",
+            "必須条件を " + result.getHardViolations() + " 件満たせませんでした。条件を見直してください。");
+      } else {
+        model.addAttribute("successMessage",
+            "条件付き席替えを行いました。（ペナルティ: " + result.getScore() + "）");
+      }
+    } catch (IllegalArgumentException e) {
+      model.addAttribute("errorMessage", e.getMessage());
+      if (rows < 1 || rows > 20) {
+        rows = seatingService.getCurrentRows(classroomId); // 保存されている設定に戻す
+      }
+      if (columns < 1 || columns > 20) {
+        columns = seatingService.getCurrentColumns(classroomId); // 保存されている設定に戻す
+      }
+      seatingChart = seatingService.getSeatingChartWithGender(classroomId, rows, columns);
+    }
 
     // 学生データも追加（必要であれば）
-    List<Student> students = studentService.getAllStudents();
+    List<Student> students = studentService.getAllStudents(classroomId);
 
-    // 保存されたスナップショット一覧を取得
-    List<SeatingSnapshot> snapshots = snapshotService.getAllSnapshots();
+    // 保存されたスナップショット一覧（先頭ページ）を取得
+    SnapshotPage snapshotPage = snapshotService.getSnapshotPage(classroomId, null, null);
 
     model.addAttribute("seatingChart", seatingChart);
     model.addAttribute("students", students);
     model.addAttribute("rows", rows);
     model.addAttribute("columns", columns);
-    model.addAttribute("snapshots", snapshots);
+    model.addAttribute("snapshots", snapshotPage.getSnapshots());
+    model.addAttribute("snapshotPage", snapshotPage);
 
     return "seating/chart";
   }
 
+  /**
+   * 今の座席をできるだけ変えずに席を整える（生徒の追加・削除、席の移動が必要な生徒がいる場合）
+   */
+  @Operation(summary = "座席の調整", description = "今の座席をできるだけ変えずに、席のない生徒の配置や指定した生徒の移動を行います。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "正常に座席表情報を調整しました。"),
+          @ApiResponse(responseCode = "400", description = "行数・列数が1〜20の範囲にありません。")})
+  @Parameter(
+      name = "relocateStudentIds",
+      description = "席を移す必要がある生徒ID（カンマ区切り）",
+      required = false,
+      example = "3,7")
+  @PostMapping("/repair")
+  public String repairSeatingChart(
+      @CurrentClassroom long classroomId,
+      @RequestParam("rows") int rows,
+      @RequestParam("columns") int columns,
+      @RequestParam(value = "relocateStudentIds", required = false) List<Long> relocateStudentIds,
+      Model model, HttpServletResponse response) {
+
+    Student[][] seatingChart;
+    try {
+      SeatingRepairResult result = seatingService.repairSeatingChart(classroomId, rows, columns,
+          relocateStudentIds == null ? Set.of() : new HashSet<>(relocateStudentIds));
+      seatingChart = result.getChart();
+
+      if (result.getUnseatedCount() > 0) {
+        model.addAttribute("errorMessage",
+            "座席が足りないため " + result.getUnseatedCount() + " 名が席につけませんでした。");
+      } else {
+        model.addAttribute("successMessage",
+            result.getMovedCount() + " 名の席を移動しました。");
+      }
+    } catch (IllegalArgumentException e) {
+      // 座席は変えずに、保存されている設定の座席表とエラーメッセージを 400 で返す
+      response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+      model.addAttribute("errorMessage", e.getMessage());
+      if (rows < 1 || rows > SeatingStatistics.MAX_SEATS_PER_SIDE) {
+        rows = seatingService.getCurrentRows(classroomId); // 保存されている設定に戻す
+      }
+      if (columns < 1 || columns > SeatingStatistics.MAX_SEATS_PER_SIDE) {
+        columns = seatingService.getCurrentColumns(classroomId); // 保存されている設定に戻す
+      }
+      seatingChart = seatingService.getSeatingChartWithGender(classroomId, rows, columns);
+    }
+
+    // 学生データも追加（必要であれば）
+    List<Student> students = studentService.getAllStudents(classroomId);
+
+    // 保存されたスナップショット一覧（先頭ページ）を取得
+    SnapshotPage snapshotPage = snapshotService.getSnapshotPage(classroomId, null, null);
+
+    model.addAttribute("seatingChart", seatingChart);
+    model.addAttribute("students", students);
+    model.addAttribute("rows", rows);
+    model.addAttribute("columns", columns);
+    model.addAttribute("snapshots", snapshotPage.getSnapshots());
+    model.addAttribute("snapshotPage", snapshotPage);
+
+    return "seating/chart";
+  }
+
+  /**
+   * REST API: 指定した生徒が過去の座席配置で隣になった生徒と回数を取得
+   */
+  @Operation(summary = "隣席履歴の取得", description = "保存済みの座席配置で、指定した生徒が隣になった生徒と回数を多い順に取得します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "正常に隣席履歴を取得しました。"),
+          @ApiResponse(responseCode = "404", description = "指定した生徒がクラスに存在しません。")})
+  @Parameter(
+      name = "studentId",
+      description = "生徒ID（自然数値のみ）",
+      required = true,
+      example = "1")
+  @GetMapping("/api/neighbours/{studentId}")
+  @ResponseBody
+  public ResponseEntity<List<NeighbourFrequency>> getNeighbourHistory(
+      @CurrentClassroom long classroomId, @PathVariable Long studentId) {
+    return neighbourHistoryService.getNeighbourFrequencies(classroomId, studentId)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /**
+   * REST API: 現在の座席表を列指向のJSONで取得
+   */
+  @Operation(summary = "座席表の取得（列指向）",
+      description = "現在の座席表を、座席順の生徒IDの配列と座席にいる生徒の辞書（ID・氏名・性別）で取得します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "正常に座席表を取得しました。"),
+          @ApiResponse(responseCode = "304", description = "前回の取得から変更がありません。")})
+  @GetMapping("/api/chart")
+  @ResponseBody
+  public ColumnarSeatingChart getColumnarSeatingChart(@CurrentClassroom long classroomId,
+      WebRequest webRequest) {
+    // 前回から変わっていなければ、座席表を組み立てずに 304 を返す
+    if (chartVersion.checkNotModified(classroomId, webRequest)) {
+      return null;
+    }
+    return seatingService.getColumnarSeatingChart(classroomId,
+        seatingService.getCurrentRows(classroomId), seatingService.getCurrentColumns(classroomId));
+  }
+
+  /**
+   * REST API: 保存した座席配置と、別の保存した座席配置または現在の座席との差分を取得
+   */
+  @Operation(summary = "座席表の差分取得",
+      description = "保存した座席表と比較先（指定がなければ現在の座席）の間で、席が変わった生徒・新しく座席についた生徒・座席がなくなった生徒を取得します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "正常に差分を取得しました。"),
+          @ApiResponse(responseCode = "404", description = "指定した座席表が存在しません。")})
+  @Parameter(
+      name = "snapshotId",
+      description = "比較元の保存済み座席表のID(自動採番されています（自然数値のみ））",
+      required = true,
+      example = "1")
+  @Parameter(
+      name = "to",
+      description = "比較先の保存済み座席表のID（省略時は現在の座席と比較）",
+      example = "2")
+  @GetMapping("/api/snapshots/{snapshotId}/diff")
+  @ResponseBody
+  public ResponseEntity<SnapshotDiff> getSnapshotDiff(@CurrentClassroom long classroomId,
+      @PathVariable Long snapshotId,
+      @RequestParam(value = "to", required = false) Long toSnapshotId) {
+    Optional<SnapshotDiff> diff = toSnapshotId == null
+        ? snapshotDiffService.compareWithCurrent(classroomId, snapshotId)
+        : snapshotDiffService.compareSnapshots(classroomId, snapshotId, toSnapshotId);
+    return diff.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
   /**
    * 現在の座席配置を保存します。
    */
@@ -413,6 +717,7 @@ public class SeatingController {
       example = "true")
   @PostMapping("/save")
   public String saveSeatingConfiguration(
+      @CurrentClassroom long classroomId,
       @RequestParam("rows") int rows,
       @RequestParam("columns") int columns,
       @RequestParam(value = "snapshotName", required = false) String snapshotName,
@@ -420,8 +725,8 @@ public class SeatingController {
       RedirectAttributes redirectAttributes) {
 
     try {
-      SeatingSnapshot snapshot = snapshotService.saveCurrentSeatingSnapshot(rows, columns,
-          snapshotName, description);
+      SeatingSnapshot snapshot = snapshotService.saveCurrentSeatingSnapshot(classroomId, rows,
+          columns, snapshotName, description);
       redirectAttributes.addFlashAttribute("successMessage",
           "座席配置「" + snapshot.getSnapshotName() + "」を保存しました。");
     } catch (Exception e) {
@@ -460,14 +765,21 @@ public class SeatingController {
       example = "1")
   @PostMapping("/restore")
   public String restoreSeatingConfiguration(
+      @CurrentClassroom long classroomId,
       @RequestParam("snapshotId") Long snapshotId,
       RedirectAttributes redirectAttributes) {
 
     try {
-      boolean success = snapshotService.restoreSeatingSnapshot(snapshotId);
-      if (success) {
-        redirectAttributes.addFlashAttribute("successMessage",
-            "座席配置を復元しました。");
+      Optional<SnapshotRestoreResult> result = snapshotService.restoreSeatingSnapshot(classroomId,
+          snapshotId);
+      if (result.isPresent()) {
+        SnapshotRestoreResult restored = result.get();
+        String message = "座席配置を復元しました（" + restored.getRestoredCount() + "名）。";
+        if (restored.getSkippedCount() > 0) {
+          message += " 削除済みの生徒" + restored.getSkippedCount() + "名（ID: "
+              + restored.getMissingStudentIds() + "）は復元されませんでした。";
+        }
+        redirectAttributes.addFlashAttribute("successMessage", message);
       } else {
         redirectAttributes.addFlashAttribute("errorMessage",
             "座席配置の復元に失敗しました。");
@@ -493,11 +805,12 @@ public class SeatingController {
       example = "1")
   @PostMapping("/delete-snapshot")
   public String deleteSeatingSnapshot(
+      @CurrentClassroom long classroomId,
       @RequestParam("snapshotId") Long snapshotId,
       RedirectAttributes redirectAttributes) {
 
     try {
-      boolean success = snapshotService.deleteSnapshot(snapshotId);
+      boolean success = snapshotService.deleteSnapshot(classroomId, snapshotId);
       if (success) {
         redirectAttributes.addFlashAttribute("successMessage",
             "座席配置を削除しました。");
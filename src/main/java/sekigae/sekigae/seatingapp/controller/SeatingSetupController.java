@@ -14,9 +14,10 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import sekigae.sekigae.seatingapp.config.CurrentClassroom;
 import sekigae.sekigae.seatingapp.entity.SeatingConfigurationForm;
 import sekigae.sekigae.seatingapp.service.SeatingService;
-import sekigae.sekigae.seatingapp.service.StudentService;
+import sekigae.sekigae.seatingapp.service.SeatingStatisticsService;
 
 /**
  * 座席表設定画面のコントローラー 座席の行数・列数を変更して新しい座席表を作成する機能を提供します。
@@ -27,7 +28,7 @@ import sekigae.sekigae.seatingapp.service.StudentService;
 public class SeatingSetupController {
 
   private final SeatingService seatingService;
-  private final StudentService studentService;
+  private final SeatingStatisticsService statisticsService;
 
   /**
    * 座席表設定画面を表示
@@ -51,18 +52,19 @@ public class SeatingSetupController {
                             "code": 404
                           }""")))})
   @GetMapping
-  public String showSeatingSetup(Model model) {
+  public String showSeatingSetup(@CurrentClassroom long classroomId, Model model) {
     // 現在の設定を取得
-    int currentRows = seatingService.getCurrentRows();
-    int currentColumns = seatingService.getCurrentColumns();
+    int currentRows = seatingService.getCurrentRows(classroomId);
+    int currentColumns = seatingService.getCurrentColumns(classroomId);
 
     // フォームオブジェクトを作成（現在の設定を初期値として設定）
     SeatingConfigurationForm form = new SeatingConfigurationForm();
     form.setRows(currentRows);
     form.setColumns(currentColumns);
+    form.setLayout(seatingService.getCurrentArrangementMode(classroomId));
 
     // 統計情報を取得
-    int totalStudents = studentService.getAllStudents().size();
+    int totalStudents = statisticsService.getStatistics(classroomId).getStudentCount();
     int currentTotalSeats = currentRows * currentColumns;
 
     model.addAttribute("seatingConfigurationForm", form);
@@ -97,6 +99,7 @@ public class SeatingSetupController {
                           }""")))})
   @PostMapping
   public String saveSeatingConfiguration(
+      @CurrentClassroom long classroomId,
       @Valid @ModelAttribute SeatingConfigurationForm form,
       BindingResult bindingResult,
       Model model,
@@ -105,9 +108,9 @@ public class SeatingSetupController {
     // バリデーションエラーがある場合は設定画面に戻る
     if (bindingResult.hasErrors()) {
       // 統計情報を再取得
-      int currentRows = seatingService.getCurrentRows();
-      int currentColumns = seatingService.getCurrentColumns();
-      int totalStudents = studentService.getAllStudents().size();
+      int currentRows = seatingService.getCurrentRows(classroomId);
+      int currentColumns = seatingService.getCurrentColumns(classroomId);
+      int totalStudents = statisticsService.getStatistics(classroomId).getStudentCount();
       int currentTotalSeats = currentRows * currentColumns;
 
       model.addAttribute("currentRows", currentRows);
@@ -120,7 +123,12 @@ public class SeatingSetupController {
 
     try {
       // 座席表設定を保存
-      seatingService.saveSeatingConfiguration(form.getRows(), form.getColumns());
+      if (form.getLayout() == null) {
+        seatingService.saveSeatingConfiguration(classroomId, form.getRows(), form.getColumns());
+      } else {
+        seatingService.saveSeatingConfiguration(classroomId, form.getRows(), form.getColumns(),
+            form.getLayout());
+      }
 
       // 成功メッセージを設定
       redirectAttributes.addFlashAttribute("successMessage",
@@ -177,14 +185,15 @@ public class SeatingSetupController {
                           }""")))})
   @PostMapping("/preview")
   public String previewConfiguration(
+      @CurrentClassroom long classroomId,
       @Valid @ModelAttribute SeatingConfigurationForm form,
       BindingResult bindingResult,
       Model model) {
 
     // 現在の設定を取得
-    int currentRows = seatingService.getCurrentRows();
-    int currentColumns = seatingService.getCurrentColumns();
-    int totalStudents = studentService.getAllStudents().size();
+    int currentRows = seatingService.getCurrentRows(classroomId);
+    int currentColumns = seatingService.getCurrentColumns(classroomId);
+    int totalStudents = statisticsService.getStatistics(classroomId).getStudentCount();
 
     // プレビュー情報
     int previewTotalSeats = form.getRows() * form.getColumns();
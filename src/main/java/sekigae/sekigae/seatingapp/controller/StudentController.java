@@ -6,8 +6,15 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -17,8 +24,18 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import sekigae.sekigae.seatingapp.config.CurrentClassroom;
+import sekigae.sekigae.seatingapp.dto.StudentImportResult;
+import sekigae.sekigae.seatingapp.dto.StudentPage;
+import sekigae.sekigae.seatingapp.dto.StudentRow;
 import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.service.SeatingChartVersion;
+import sekigae.sekigae.seatingapp.service.StudentImportService;
 import sekigae.sekigae.seatingapp.service.StudentService;
 
 @Valid
@@ -27,7 +44,15 @@ import sekigae.sekigae.seatingapp.service.StudentService;
 @RequestMapping("/students")
 public class StudentController {
 
+  /**
+   * 生徒APIの fields で指定できる項目（応答ではこの順に並べる）
+   */
+  private static final List<String> STUDENT_FIELDS = List.of("id", "classroomId", "name",
+      "gender", "studentCode", "seatRow", "seatColumn");
+
   private final StudentService studentService;
+  private final SeatingChartVersion chartVersion;
+  private final StudentImportService studentImportService;
 
   /**
    * 生徒一覧を取得してHTMLページに表示（Thymeleaf用）
@@ -51,8 +76,8 @@ public class StudentController {
                             "code": 404
                           }""")))})
   @GetMapping
-  public String getAllStudents(Model model) {
-    List<Student> students = studentService.getAllStudents();
+  public String getAllStudents(@CurrentClassroom long classroomId, Model model) {
+    List<Student> students = studentService.getAllStudents(classroomId);
     model.addAttribute("students", students);
     return "students/list"; // → templates/students/list.html を返す
   }
@@ -107,7 +132,8 @@ public class StudentController {
                             "code": 400
                           }""")))})
   @PostMapping
-  public String registerStudent(@Valid @ModelAttribute Student student,
+  public String registerStudent(@CurrentClassroom long classroomId,
+      @Valid @ModelAttribute Student student,
       BindingResult bindingResult,
       Model model) {
 
@@ -123,7 +149,7 @@ public class StudentController {
     }
 
     try {
-      studentService.registerStudent(student);
+      studentService.registerStudent(classroomId, student);
     } catch (IllegalArgumentException e) {
       model.addAttribute("seatError", e.getMessage());
       return "students/create";
@@ -135,9 +161,15 @@ public class StudentController {
   /**
    * REST API: 生徒一覧をJSONで取得
    */
-  @Operation(summary = "一覧検索", description = "生徒の一覧を検索します。",
+  @Operation(summary = "一覧検索",
+      description = "生徒の一覧を検索します。パラメータを指定しない場合はクラスの全員を返します。"
+          + "limit・after・fields・gender・seated・namePrefix のいずれかを指定した場合は、"
+          + "条件に合う生徒をID順に1ページ分返し、次のページがあれば Link ヘッダー（rel=\"next\"）に"
+          + "次のページのURLを入れます。",
       responses = {
           @ApiResponse(responseCode = "200", description = "正常に生徒一覧情報を取得しました。"),
+          @ApiResponse(responseCode = "400", description = "limit または fields の指定が不正です。"),
+          @ApiResponse(responseCode = "304", description = "前回の取得から変更がありません。"),
           @ApiResponse(
               responseCode = "404",
               description = "生徒情報が１件もありません。",
@@ -153,10 +185,78 @@ public class StudentController {
                             "message": "生徒情報が１件もありません。",
                             "code": 404
                           }""")))})
+  @Parameter(name = "limit", description = "1ページの件数（省略時は100、最大500）", example = "50")
+  @Parameter(name = "after", description = "カーソル（前のページの Link ヘッダーの値。このIDより後ろの生徒を返す）",
+      example = "42")
+  @Parameter(name = "fields", description = "返す項目（カンマ区切り。省略時はすべての項目）",
+      example = "id,name,seatRow,seatColumn")
+  @Parameter(name = "gender", description = "性別で絞り込む", example = "女子")
+  @Parameter(name = "seated", description = "true: 座席のある生徒、false: 座席のない生徒", example = "true")
+  @Parameter(name = "namePrefix", description = "氏名の先頭で絞り込む", example = "田中")
   @GetMapping("/api")
   @ResponseBody
-  public List<Student> getAllStudentsApi() {
-    return studentService.getAllStudents();
+  public ResponseEntity<List<?>> getAllStudentsApi(@CurrentClassroom long classroomId,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam(value = "after", required = false) Long afterId,
+      @RequestParam(value = "fields", required = false) List<String> fields,
+      @RequestParam(value = "gender", required = false) String gender,
+      @RequestParam(value = "seated", required = false) Boolean seated,
+      @RequestParam(value = "namePrefix", required = false) String namePrefix,
+      WebRequest webRequest) {
+    boolean paged = limit != null || afterId != null || fields != null || gender != null
+        || seated != null || namePrefix != null;
+    if (limit != null && limit < 1 || fields != null && !STUDENT_FIELDS.containsAll(fields)) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    // 前回から変わっていなければ、名簿を取得せずに 304 を返す
+    if (chartVersion.checkNotModified(classroomId, webRequest)) {
+      return null;
+    }
+    if (!paged) {
+      return ResponseEntity.ok(studentService.getAllStudents(classroomId));
+    }
+
+    int pageSize = limit == null ? StudentService.STUDENT_PAGE_SIZE
+        : Math.min(limit, StudentService.MAX_STUDENT_PAGE_SIZE);
+    StudentPage page = studentService.getStudentPage(classroomId, afterId, pageSize, gender,
+        seated, namePrefix);
+    List<Map<String, Object>> body = new ArrayList<>(page.getStudents().size());
+    for (StudentRow row : page.getStudents()) {
+      body.add(toFields(row, fields == null ? STUDENT_FIELDS : fields));
+    }
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.isHasNext()) {
+      String next = ServletUriComponentsBuilder.fromCurrentRequest()
+          .replaceQueryParam("after", page.getNextAfterId())
+          .build()
+          .toUriString();
+      response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+    }
+    return response.body(body);
+  }
+
+  /**
+   * 生徒の行から、指定された項目だけを（生徒APIの項目の順に）取り出す
+   */
+  private static Map<String, Object> toFields(StudentRow row, List<String> fields) {
+    Map<String, Object> values = new LinkedHashMap<>();
+    for (String field : STUDENT_FIELDS) {
+      if (!fields.contains(field)) {
+        continue;
+      }
+      values.put(field, switch (field) {
+        case "id" -> row.getId();
+        case "classroomId" -> row.getClassroomId();
+        case "name" -> row.getName();
+        case "gender" -> row.getGender();
+        case "studentCode" -> row.getStudentCode();
+        case "seatRow" -> row.getSeatRow();
+        default -> row.getSeatColumn();
+      });
+    }
+    return values;
   }
 
   /**
@@ -202,8 +302,9 @@ public class StudentController {
       example = "1")
   @GetMapping("/api/{id}")
   @ResponseBody
-  public ResponseEntity<Student> getStudentById(@PathVariable Long id) {
-    Student student = studentService.getStudentById(id);
+  public ResponseEntity<Student> getStudentById(@CurrentClassroom long classroomId,
+      @PathVariable Long id) {
+    Student student = studentService.getStudentById(classroomId, id);
     if (student != null) {
       return ResponseEntity.ok(student);
     } else {
@@ -211,6 +312,23 @@ public class StudentController {
     }
   }
 
+  /**
+   * REST API: CSVから生徒を一括登録
+   */
+  @Operation(summary = "生徒の一括登録",
+      description = "CSV（1行目は見出し行: name,gender,studentCode,seatRow,seatColumn）から"
+          + "生徒をまとめて登録します。エラーの行は登録せず、行番号と理由を返します。",
+      responses = {
+          @ApiResponse(responseCode = "200", description = "登録件数とエラーの行の一覧を返しました。")})
+  @PostMapping(value = "/api/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  @ResponseBody
+  public StudentImportResult importStudentsApi(@CurrentClassroom long classroomId,
+      @RequestParam("file") MultipartFile file) throws IOException {
+    try (InputStream csv = file.getInputStream()) {
+      return studentImportService.importCsv(classroomId, csv);
+    }
+  }
+
 
   /**
    * 生徒を削除する（修正版）
@@ -254,8 +372,8 @@ public class StudentController {
       required = true,
       example = "1")
   @PostMapping("/delete/{id}")
-  public String deleteStudent(@PathVariable Long id) {
-    studentService.deleteStudent(id);
+  public String deleteStudent(@CurrentClassroom long classroomId, @PathVariable Long id) {
+    studentService.deleteStudent(classroomId, id);
     return "redirect:/students";
   }
 
@@ -0,0 +1,35 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 学校全体の席替えでの、1クラス分の結果と処理時間です。
+ */
+@Schema(description = "クラスごとの席替えの結果")
+@Getter
+@Builder
+public class ClassroomShuffleTiming {
+
+  @Schema(description = "クラスID", example = "3")
+  private long classroomId;
+
+  @Schema(description = "名簿の人数", example = "30")
+  private int studentCount;
+
+  @Schema(description = "配置の計算にかかった時間（ミリ秒）", example = "1")
+  private long computeMillis;
+
+  @Schema(description = "書き込みの順番待ちの時間（ミリ秒）", example = "12")
+  private long queuedMillis;
+
+  @Schema(description = "データベースへの書き込みにかかった時間（ミリ秒）", example = "25")
+  private long writeMillis;
+
+  @Schema(description = "座席が変わった生徒の数", example = "28")
+  private int rowsWritten;
+
+  @Schema(description = "失敗した場合のエラーメッセージ（成功した場合はnull）")
+  private String error;
+}
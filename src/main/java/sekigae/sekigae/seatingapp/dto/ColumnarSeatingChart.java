@@ -0,0 +1,42 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 座席表を列指向でまとめた API の応答です。
+ * <p>
+ * 座席ごとに生徒オブジェクトを入れ子にせず、座席順（行 × 列数 + 列）の生徒IDの配列と、座席にいる生徒の辞書（1人1回）で表します。
+ * クライアントは {@code seats[row * columns + column]} の生徒IDを辞書で引いて座席表を組み立てます。
+ */
+@Schema(description = "座席表（列指向）")
+@Getter
+@Builder
+public class ColumnarSeatingChart {
+
+  @Schema(description = "座席の行数", example = "6")
+  private int rows;
+
+  @Schema(description = "座席の列数", example = "5")
+  private int columns;
+
+  @Schema(description = "座席順（行 × 列数 + 列、0始まり）の生徒ID（0は空席）", example = "[12, 0, 7]")
+  private long[] seats;
+
+  @Schema(description = "座席にいる生徒（座席順、1人1回）")
+  private List<Entry> students;
+
+  /**
+   * 辞書の1人分
+   *
+   * @param id     生徒ID
+   * @param name   生徒氏名
+   * @param gender 性別
+   */
+  @Schema(description = "座席にいる生徒")
+  public record Entry(long id, String name, String gender) {
+
+  }
+}
@@ -0,0 +1,20 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * ある生徒から見た、隣になった生徒と回数
+ */
+@Schema(description = "隣席回数")
+@Getter
+@AllArgsConstructor
+public class NeighbourFrequency {
+
+  @Schema(description = "隣になった生徒ID", example = "8")
+  private Long neighbourId;
+
+  @Schema(description = "隣り合った回数", example = "2")
+  private int timesAdjacent;
+}
@@ -0,0 +1,53 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 学校全体の席替えジョブの進み具合です。
+ */
+@Schema(description = "学校全体の席替えジョブの進み具合")
+@Getter
+@Builder
+public class SchoolShuffleProgress {
+
+  /**
+   * ジョブの状態
+   */
+  public enum Status {
+    RUNNING, COMPLETED, FAILED
+  }
+
+  @Schema(description = "ジョブID", example = "1")
+  private long jobId;
+
+  @Schema(description = "ジョブの状態", example = "RUNNING")
+  private Status status;
+
+  @Schema(description = "席替えするクラスの数", example = "300")
+  private int totalClassrooms;
+
+  @Schema(description = "書き込みまで終わったクラスの数", example = "120")
+  private int completedClassrooms;
+
+  @Schema(description = "失敗したクラスの数", example = "0")
+  private int failedClassrooms;
+
+  @Schema(description = "座席が変わった生徒の合計", example = "3400")
+  private long rowsWritten;
+
+  @Schema(description = "開始日時", example = "2025-04-01 09:00:00")
+  private LocalDateTime startedAt;
+
+  @Schema(description = "終了日時（実行中はnull）", example = "2025-04-01 09:00:04")
+  private LocalDateTime finishedAt;
+
+  @Schema(description = "経過時間（ミリ秒）", example = "4200")
+  private long elapsedMillis;
+
+  @Schema(description = "終わったクラスごとの結果と処理時間（終わった順）")
+  private List<ClassroomShuffleTiming> classrooms;
+}
@@ -0,0 +1,32 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 2つの座席配置の間での、ある生徒の座席の変化
+ */
+@Schema(description = "座席の変化")
+@Getter
+@AllArgsConstructor
+public class SeatChange {
+
+  @Schema(description = "生徒ID", example = "5")
+  private Long studentId;
+
+  @Schema(description = "生徒氏名", example = "田中　太郎")
+  private String studentName;
+
+  @Schema(description = "比較元の行（比較元にいない場合はnull）", example = "1")
+  private Integer fromRow;
+
+  @Schema(description = "比較元の列（比較元にいない場合はnull）", example = "2")
+  private Integer fromColumn;
+
+  @Schema(description = "比較先の行（比較先にいない場合はnull）", example = "3")
+  private Integer toRow;
+
+  @Schema(description = "比較先の列（比較先にいない場合はnull）", example = "4")
+  private Integer toColumn;
+}
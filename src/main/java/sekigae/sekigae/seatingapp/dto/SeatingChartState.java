@@ -0,0 +1,37 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+import sekigae.sekigae.seatingapp.entity.Student;
+
+/**
+ * ある時点の名簿と座席配置をまとめた読み取り専用の値です（メモリ上に保持し、変更時は丸ごと差し替えます）。
+ * <p>
+ * 生徒はデータベースから切り離したコピーです。画面表示など読み取りにだけ使い、変更しないでください。
+ */
+@Getter
+public class SeatingChartState {
+
+  /**
+   * 名簿の変更を反映するたびに増える番号（起動直後は0）
+   */
+  private final long version;
+
+  /**
+   * 全生徒（変更できないリスト）
+   */
+  private final List<Student> students;
+
+  /**
+   * 名簿と座席の集計値（差し替え時に1回だけ計算）
+   */
+  private final SeatingStatistics statistics;
+
+  public SeatingChartState(long version, List<Student> students) {
+    this.version = version;
+    this.students = Collections.unmodifiableList(new ArrayList<>(students));
+    this.statistics = SeatingStatistics.of(this.students);
+  }
+}
@@ -0,0 +1,100 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 条件付き席替えの制約条件です。
+ * <p>
+ * 各条件は「必須（満たせない配置は採用しない）」か「任意（なるべく満たす）」を選べます。
+ */
+@Schema(description = "席替えの制約条件")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatingConstraints {
+
+  @Schema(description = "隣り合わせにしない生徒ペア")
+  @Builder.Default
+  private List<StudentPair> separatedPairs = new ArrayList<>();
+
+  @Schema(description = "隣り合わせにしない条件を必須にするかどうか", example = "true")
+  private boolean separatedPairsRequired;
+
+  @Schema(description = "前列に座らせる生徒のID")
+  @Builder.Default
+  private Set<Long> frontRowStudentIds = new HashSet<>();
+
+  @Schema(description = "前列とみなす行数", example = "2")
+  @Builder.Default
+  private int frontRows = 2;
+
+  @Schema(description = "前列の条件を必須にするかどうか", example = "false")
+  private boolean frontRowRequired;
+
+  @Schema(description = "現在の隣席の生徒となるべく隣にしないかどうか", example = "true")
+  private boolean avoidPreviousNeighbours;
+
+  @Schema(description = "過去の座席配置で隣になった回数が多い生徒同士をなるべく隣にしないかどうか", example = "true")
+  private boolean minimizeRepeatNeighbours;
+
+  @Schema(description = "最適化の制限時間（ミリ秒）", example = "1000")
+  @Builder.Default
+  private long timeBudgetMillis = 1000;
+
+  /**
+   * 生徒IDのペア
+   */
+  @Schema(description = "生徒ペア")
+  @Getter
+  @AllArgsConstructor
+  public static class StudentPair {
+
+    @Schema(description = "生徒ID", example = "1")
+    private Long firstStudentId;
+
+    @Schema(description = "生徒ID", example = "2")
+    private Long secondStudentId;
+  }
+
+  /**
+   * 「1-2, 3-4」形式の文字列を生徒ペアのリストに変換します
+   *
+   * @param text 生徒IDをハイフンでつなぎ、カンマで区切った文字列
+   * @return 生徒ペアのリスト（空文字の場合は空リスト）
+   * @throws IllegalArgumentException 形式が不正な場合
+   */
+  public static List<StudentPair> parsePairs(String text) {
+    List<StudentPair> pairs = new ArrayList<>();
+    if (text == null || text.isBlank()) {
+      return pairs;
+    }
+
+    for (String token : text.split("[,、]")) {
+      String trimmed = token.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      String[] ids = trimmed.split("-");
+      if (ids.length != 2) {
+        throw new IllegalArgumentException("生徒ペアの形式が不正です: " + trimmed);
+      }
+      try {
+        pairs.add(new StudentPair(Long.valueOf(ids[0].trim()), Long.valueOf(ids[1].trim())));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("生徒ペアの形式が不正です: " + trimmed, e);
+      }
+    }
+    return pairs;
+  }
+}
@@ -0,0 +1,40 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import sekigae.sekigae.seatingapp.entity.SeatingConfiguration;
+import sekigae.sekigae.seatingapp.service.SeatArrangementMode;
+
+/**
+ * 座席表設定の読み取り専用の値です（キャッシュに保持します）。
+ */
+@Schema(description = "現在の座席表設定")
+@Getter
+@AllArgsConstructor
+public class SeatingLayout {
+
+  /**
+   * 設定が保存されていない場合の値（6行5列）
+   */
+  public static final SeatingLayout DEFAULT = new SeatingLayout(6, 5, SeatArrangementMode.NORMAL,
+      0L);
+
+  @Schema(description = "座席の行数", example = "6")
+  private final int rows;
+
+  @Schema(description = "座席の列数", example = "5")
+  private final int columns;
+
+  @Schema(description = "標準の並べ方", example = "NORMAL")
+  private final SeatArrangementMode arrangementMode;
+
+  @Schema(description = "設定のバージョン（保存されていない場合は0）", example = "3")
+  private final long version;
+
+  public static SeatingLayout of(SeatingConfiguration configuration) {
+    return new SeatingLayout(configuration.getRows(), configuration.getColumns(),
+        configuration.getLayout(), configuration.getVersion() == null ? 0L
+        : configuration.getVersion());
+  }
+}
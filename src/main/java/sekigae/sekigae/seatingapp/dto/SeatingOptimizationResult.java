@@ -0,0 +1,33 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import sekigae.sekigae.seatingapp.entity.Student;
+
+/**
+ * 条件付き席替えの結果です。
+ */
+@Schema(description = "条件付き席替えの結果")
+@Getter
+@Builder
+public class SeatingOptimizationResult {
+
+  @Schema(description = "座席表")
+  private Student[][] chart;
+
+  @Schema(description = "ペナルティの合計（0なら全条件を満たしている）", example = "3")
+  private long score;
+
+  @Schema(description = "満たせなかった必須条件の数", example = "0")
+  private int hardViolations;
+
+  @Schema(description = "並列に実行したリスタート数", example = "4")
+  private int restarts;
+
+  @Schema(description = "入れ替えを試した回数", example = "1200000")
+  private long iterations;
+
+  @Schema(description = "最適化にかかった時間（ミリ秒）", example = "1000")
+  private long elapsedMillis;
+}
@@ -0,0 +1,24 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import sekigae.sekigae.seatingapp.entity.Student;
+
+/**
+ * 最小限の移動で席を整えた結果です。
+ */
+@Schema(description = "最小限の移動による席の調整結果")
+@Getter
+@Builder
+public class SeatingRepairResult {
+
+  @Schema(description = "座席表")
+  private Student[][] chart;
+
+  @Schema(description = "座席が変わった生徒の数", example = "2")
+  private int movedCount;
+
+  @Schema(description = "座席数が足りず席につけなかった生徒の数", example = "0")
+  private int unseatedCount;
+}
@@ -0,0 +1,127 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+import sekigae.sekigae.seatingapp.entity.Student;
+
+/**
+ * ホーム画面・座席設定画面に表示する名簿と座席の集計値です（名簿が変わるたびに1回だけ計算します）。
+ * <p>
+ * 使用中の座席数は座席表の大きさによって変わるため、座席位置ごとの人数を累積した表（最大20行20列）を持ち、
+ * 任意の行数・列数に対して名簿の人数によらず一定の計算量で求めます。
+ */
+@Getter
+public class SeatingStatistics {
+
+  /**
+   * 座席位置の上限（{@link Student} の入力チェックと同じ）
+   */
+  public static final int MAX_SEATS_PER_SIDE = 20;
+
+  public static final String MALE = "男子";
+  public static final String FEMALE = "女子";
+
+  /**
+   * 登録生徒数
+   */
+  private final int studentCount;
+
+  /**
+   * 男子の人数
+   */
+  private final int maleCount;
+
+  /**
+   * 女子の人数
+   */
+  private final int femaleCount;
+
+  /**
+   * 座席位置が設定されている生徒の数（座席表の範囲外も含む）
+   */
+  private final int seatedCount;
+
+  /**
+   * occupiedUpTo[r][c] = 1〜r行目・1〜c列目に座っている生徒の数
+   */
+  @Getter(AccessLevel.NONE)
+  private final int[][] occupiedUpTo;
+
+  private SeatingStatistics(int studentCount, int maleCount, int femaleCount, int seatedCount,
+      int[][] occupiedUpTo) {
+    this.studentCount = studentCount;
+    this.maleCount = maleCount;
+    this.femaleCount = femaleCount;
+    this.seatedCount = seatedCount;
+    this.occupiedUpTo = occupiedUpTo;
+  }
+
+  /**
+   * 名簿から集計値を計算します
+   *
+   * @param students 全生徒
+   * @return 集計値
+   */
+  public static SeatingStatistics of(List<Student> students) {
+    int maleCount = 0;
+    int femaleCount = 0;
+    int seatedCount = 0;
+    int[][] occupiedUpTo = new int[MAX_SEATS_PER_SIDE + 1][MAX_SEATS_PER_SIDE + 1];
+
+    for (Student student : students) {
+      if (MALE.equals(student.getGender())) {
+        maleCount++;
+      } else if (FEMALE.equals(student.getGender())) {
+        femaleCount++;
+      }
+      Integer row = student.getSeatRow();
+      Integer column = student.getSeatColumn();
+      if (row == null || column == null) {
+        continue;
+      }
+      seatedCount++;
+      if (row >= 1 && row <= MAX_SEATS_PER_SIDE && column >= 1 && column <= MAX_SEATS_PER_SIDE) {
+        occupiedUpTo[row][column]++;
+      }
+    }
+
+    // 2次元の累積和にする
+    for (int r = 1; r <= MAX_SEATS_PER_SIDE; r++) {
+      for (int c = 1; c <= MAX_SEATS_PER_SIDE; c++) {
+        occupiedUpTo[r][c] += occupiedUpTo[r - 1][c] + occupiedUpTo[r][c - 1]
+            - occupiedUpTo[r - 1][c - 1];
+      }
+    }
+    return new SeatingStatistics(students.size(), maleCount, femaleCount, seatedCount,
+        occupiedUpTo);
+  }
+
+  /**
+   * 座席表の範囲内で使用中の座席数を取得します
+   *
+   * @param rows    座席表の行数
+   * @param columns 座席表の列数
+   * @return 使用中の座席数
+   */
+  public int getOccupiedSeats(int rows, int columns) {
+    if (rows < 1 || columns < 1) {
+      return 0;
+    }
+    return occupiedUpTo[Math.min(rows, MAX_SEATS_PER_SIDE)][Math.min(columns, MAX_SEATS_PER_SIDE)];
+  }
+
+  /**
+   * 座席表の空席数を取得します
+   *
+   * @param rows    座席表の行数
+   * @param columns 座席表の列数
+   * @return 空席数
+   */
+  public int getFreeSeats(int rows, int columns) {
+    if (rows < 1 || columns < 1) {
+      return 0;
+    }
+    return rows * columns - getOccupiedSeats(rows, columns);
+  }
+}
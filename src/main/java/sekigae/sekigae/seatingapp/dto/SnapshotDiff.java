@@ -0,0 +1,33 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 2つの座席配置の差分です。
+ */
+@Schema(description = "座席配置の差分")
+@Getter
+@Builder
+public class SnapshotDiff {
+
+  @Schema(description = "比較元の座席表ID", example = "3")
+  private Long fromSnapshotId;
+
+  @Schema(description = "比較先の座席表ID（現在の座席の場合はnull）", example = "5")
+  private Long toSnapshotId;
+
+  @Schema(description = "席が変わった生徒")
+  private List<SeatChange> moved;
+
+  @Schema(description = "比較先で新しく座席についた生徒")
+  private List<SeatChange> added;
+
+  @Schema(description = "比較先で座席がなくなった生徒")
+  private List<SeatChange> removed;
+
+  @Schema(description = "席が変わらなかった生徒の数", example = "25")
+  private int unchangedCount;
+}
@@ -0,0 +1,31 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 保存した座席表一覧の1ページ分です。
+ * <p>
+ * 次のページは（作成日時, ID）のカーソルで取得します。
+ */
+@Schema(description = "保存した座席表一覧のページ")
+@Getter
+@Builder
+public class SnapshotPage {
+
+  @Schema(description = "このページの座席表（作成日時の降順）")
+  private List<SnapshotSummary> snapshots;
+
+  @Schema(description = "次のページがあるかどうか", example = "true")
+  private boolean hasNext;
+
+  @Schema(description = "次のページのカーソル（このページ最後の座席表の作成日時）",
+      example = "2025-04-09T13:00:00")
+  private LocalDateTime nextCreatedAt;
+
+  @Schema(description = "次のページのカーソル（このページ最後の座席表のID）", example = "5")
+  private Long nextId;
+}
@@ -0,0 +1,24 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 保存した座席表を復元した結果です。
+ */
+@Schema(description = "座席表の復元結果")
+@Getter
+@Builder
+public class SnapshotRestoreResult {
+
+  @Schema(description = "座席を復元した生徒の数", example = "30")
+  private int restoredCount;
+
+  @Schema(description = "削除済みのため復元できなかった生徒の数", example = "1")
+  private int skippedCount;
+
+  @Schema(description = "削除済みのため復元できなかった生徒のID", example = "[12]")
+  private List<Long> missingStudentIds;
+}
@@ -0,0 +1,28 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+
+/**
+ * 座席表一覧に表示する項目だけを持つ射影です（説明文は先頭だけを取得します）。
+ */
+@Schema(description = "保存した座席表の一覧表示用の項目")
+public interface SnapshotSummary {
+
+  /**
+   * 一覧に表示する説明文の最大文字数
+   */
+  int DESCRIPTION_PREVIEW_LENGTH = 60;
+
+  @Schema(description = "座席表ID", example = "5")
+  Long getId();
+
+  @Schema(description = "座席表名", example = "期末テスト用")
+  String getSnapshotName();
+
+  @Schema(description = "座席表の保存日時", example = "2025-04-09 13:00:00")
+  LocalDateTime getCreatedAt();
+
+  @Schema(description = "説明文の先頭", example = "期末テスト用の座席")
+  String getDescriptionPreview();
+}
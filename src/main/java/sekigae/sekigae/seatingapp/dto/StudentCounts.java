@@ -0,0 +1,15 @@
+package sekigae.sekigae.seatingapp.dto;
+
+/**
+ * 生徒テーブルを1回の集計クエリで数えた結果の射影です（集計値の突き合わせに使います）。
+ */
+public interface StudentCounts {
+
+  Long getStudentCount();
+
+  Long getMaleCount();
+
+  Long getFemaleCount();
+
+  Long getSeatedCount();
+}
@@ -0,0 +1,24 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 生徒の一括登録で登録しなかった1行とその理由です。
+ */
+@Schema(description = "一括登録のエラー")
+@Getter
+@Builder
+public class StudentImportError {
+
+  @Schema(description = "CSVの行番号（見出し行が1行目）", example = "12")
+  private int line;
+
+  @Schema(description = "学籍番号（読み取れなかった場合はnull）", example = "1024")
+  private String studentCode;
+
+  @Schema(description = "エラーメッセージ", example = "[\"その学籍番号はすでに登録されています\"]")
+  private List<String> messages;
+}
@@ -0,0 +1,24 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 生徒の一括登録（CSV）の結果です。
+ */
+@Schema(description = "生徒の一括登録の結果")
+@Getter
+@Builder
+public class StudentImportResult {
+
+  @Schema(description = "登録した生徒の数", example = "480")
+  private int importedCount;
+
+  @Schema(description = "エラーのため登録しなかった行の数", example = "2")
+  private int rejectedCount;
+
+  @Schema(description = "行ごとのエラー（行番号の順）")
+  private List<StudentImportError> errors;
+}
@@ -0,0 +1,30 @@
+package sekigae.sekigae.seatingapp.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 生徒APIの1ページ分です。
+ * <p>
+ * 次のページは、このページ最後の生徒のIDをカーソルにして取得します。
+ */
+@Getter
+@Builder
+public class StudentPage {
+
+  /**
+   * このページの生徒（IDの昇順）
+   */
+  private List<StudentRow> students;
+
+  /**
+   * 次のページがあるかどうか
+   */
+  private boolean hasNext;
+
+  /**
+   * 次のページのカーソル（このページ最後の生徒のID、次のページがなければ null）
+   */
+  private Long nextAfterId;
+}
@@ -0,0 +1,21 @@
+package sekigae.sekigae.seatingapp.dto;
+
+/**
+ * エクスポートで1行ずつ読み出す生徒の項目だけを持つ射影です（エンティティとして管理されないので、読み進めてもメモリに溜まりません）。
+ */
+public interface StudentRow {
+
+  Long getId();
+
+  Long getClassroomId();
+
+  String getName();
+
+  String getGender();
+
+  String getStudentCode();
+
+  Integer getSeatRow();
+
+  Integer getSeatColumn();
+}
@@ -0,0 +1,59 @@
+package sekigae.sekigae.seatingapp.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * クラスです。生徒・座席表設定・保存した座席表はクラスIDでクラスに属します。
+ * <p>
+ * 1つのアプリケーションで複数のクラス（学校全体）を扱い、名簿の読み込みや席替えはクラスの中だけで行います。
+ */
+@Schema(description = "クラス")
+@Entity
+@Table(name = "classrooms")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Classroom {
+
+  /**
+   * 既定のクラスID（クラスを選んでいない画面と、クラスを導入する前のデータが属するクラス）
+   */
+  public static final long DEFAULT_ID = 1L;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Schema(description = "クラスID", example = "1")
+  private Long id;
+
+  @Schema(description = "クラス名", example = "1年1組")
+  @NotBlank(message = "クラス名を入力してください")
+  @Size(max = 100, message = "クラス名は100文字以内で入力してください")
+  @Column(nullable = false, length = 100)
+  private String name;
+
+  @Schema(description = "クラスの作成日時", example = "2025-04-01 09:00:00")
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+  }
+}
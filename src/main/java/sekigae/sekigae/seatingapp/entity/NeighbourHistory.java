@@ -0,0 +1,51 @@
+package sekigae.sekigae.seatingapp.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 2人の生徒が保存済みの座席配置で隣り合った回数（隣席履歴のインデックス）
+ * <p>
+ * 1組の生徒につき1行だけ持つよう、IDの小さい方を {@code studentId}、大きい方を {@code neighbourId} に入れます。
+ */
+@Schema(description = "隣席履歴")
+@Entity
+@Table(name = "seating_neighbour_history",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "neighbour_id"}),
+    indexes = @Index(name = "idx_neighbour_history_neighbour", columnList = "neighbour_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NeighbourHistory {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Schema(description = "隣席履歴ID", example = "5")
+  private Long id;
+
+  @Schema(description = "生徒ID（ペアのうち小さい方）", example = "3")
+  @Column(nullable = false)
+  private Long studentId;
+
+  @Schema(description = "隣になった生徒ID（ペアのうち大きい方）", example = "8")
+  @Column(nullable = false)
+  private Long neighbourId;
+
+  @Schema(description = "隣り合った回数", example = "2")
+  @Column(nullable = false)
+  private Integer timesAdjacent;
+}
@@ -0,0 +1,70 @@
+package sekigae.sekigae.seatingapp.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import sekigae.sekigae.seatingapp.service.SeatArrangementMode;
+
+@Schema(description = "座席表設定（クラスごとに1件）")
+@Entity
+@Table(name = "seating_configurations",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"classroom_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatingConfiguration {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Schema(description = "座席表設定ID", example = "1")
+  private Long id;
+
+  @Schema(description = "クラスID", example = "1")
+  @Column(nullable = false)
+  private Long classroomId;
+
+  @Schema(description = "座席の行数", example = "6")
+  @Column(name = "`rows`", nullable = false)  // バッククォートで囲む(rowsはSQLの予約語のため)
+  private Integer rows;
+
+  @Schema(description = "座席の列数", example = "5")
+  @Column(name = "`columns`", nullable = false)  // バッククォートで囲む(columnsはSQLの予約語のため)
+  private Integer columns;
+
+  @Schema(description = "標準の並べ方", example = "NORMAL")
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private SeatArrangementMode layout;
+
+  @Schema(description = "設定のバージョン（更新のたびに増える）", example = "3")
+  @Version
+  private Long version;
+
+  @Schema(description = "設定の更新日時", example = "2025-05-05 14:00:00")
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+
+  @PrePersist
+  @PreUpdate
+  protected void onUpdate() {
+    updatedAt = LocalDateTime.now();
+  }
+}
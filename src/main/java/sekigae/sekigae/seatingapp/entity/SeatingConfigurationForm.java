@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import sekigae.sekigae.seatingapp.service.SeatArrangementMode;
 
 /**
  * 座席表設定フォームのDTOクラス
@@ -25,6 +26,9 @@ public class SeatingConfigurationForm {
   @Max(value = 20, message = "列数は20以下で入力してください")
   private Integer columns;
 
+  @Schema(description = "標準の並べ方（未指定の場合は現在の設定のまま）", example = "NORMAL")
+  private SeatArrangementMode layout;
+
   /**
    * 総座席数を計算して返す
    */
@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -15,10 +16,13 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Schema(description = "座席表保存")
 @Entity
-@Table(name = "seating_snapshots")
+@Table(name = "seating_snapshots",
+    indexes = @Index(name = "idx_seating_snapshots_classroom_created_at_id",
+        columnList = "classroom_id, created_at, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,6 +35,11 @@ public class SeatingSnapshot {
   @Schema(description = "座席表ID", example = "5")
   private Long id;
 
+  @Schema(description = "クラスID", example = "1")
+  @ColumnDefault("1")  // クラスを導入する前の座席表は既定のクラスに属する
+  @Column(nullable = false)
+  private Long classroomId;
+
   @Schema(description = "座席表名", example = "期末テスト用")
   @Column(nullable = false)
   private String snapshotName;
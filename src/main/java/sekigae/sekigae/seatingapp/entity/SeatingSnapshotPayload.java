@@ -0,0 +1,75 @@
+package sekigae.sekigae.seatingapp.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * 保存した座席表の配置データです（{@link SeatingSnapshot} 1件につき1件）。
+ * <p>
+ * 座席表の一覧では読み込まないよう、スナップショット本体とは別のテーブルに保存します。 形式は
+ * {@code SnapshotPayloadCodec} を参照してください。
+ * <p>
+ * ID は座席表のIDを使う（自動採番しない）ため、{@link Persistable} で新規かどうかを判定し、
+ * 保存時に既存の行を探す SELECT（merge）を発行せずに INSERT します。
+ */
+@Schema(description = "保存した座席表の配置データ")
+@Entity
+@Table(name = "seating_snapshot_payloads")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatingSnapshotPayload implements Persistable<Long> {
+
+  @Id
+  @Schema(description = "座席表ID", example = "5")
+  private Long snapshotId;
+
+  @Schema(description = "配置データの形式のバージョン", example = "1")
+  @Column(nullable = false)
+  private Integer formatVersion;
+
+  @Schema(description = "座席ごとの生徒番号と、氏名・性別・学籍番号の辞書をまとめたバイナリ")
+  @Lob
+  @Column(nullable = false)
+  private byte[] payload;
+
+  /**
+   * データベースから読み込んだ、または保存した後は true（テーブルには保存しません）
+   */
+  @Transient
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean persisted;
+
+  @Override
+  public Long getId() {
+    return snapshotId;
+  }
+
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    persisted = true;
+  }
+}
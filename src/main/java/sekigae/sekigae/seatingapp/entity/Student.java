@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -17,10 +18,15 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Schema(description = "生徒")
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+    @Index(name = "idx_students_classroom_id", columnList = "classroom_id, id"),
+    @Index(name = "idx_students_classroom_seat", columnList = "classroom_id, seat_row, seat_column"),
+    @Index(name = "idx_students_classroom_gender", columnList = "classroom_id, gender"),
+    @Index(name = "idx_students_classroom_name", columnList = "classroom_id, name")})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,6 +39,11 @@ public class Student {
   @Schema(description = "生徒ID", example = "5")
   private Long id;
 
+  @Schema(description = "クラスID", example = "1")
+  @ColumnDefault("1")  // クラスを導入する前の生徒は既定のクラスに属する
+  @Column(nullable = false)
+  private Long classroomId;
+
   @Schema(description = "生徒氏名", example = "田中　太郎")
   @NotBlank(message = "名前を入力してください")
   @Column(nullable = false)
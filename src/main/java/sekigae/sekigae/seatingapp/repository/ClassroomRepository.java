@@ -0,0 +1,13 @@
+package sekigae.sekigae.seatingapp.repository;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import sekigae.sekigae.seatingapp.entity.Classroom;
+
+@Repository
+public interface ClassroomRepository extends JpaRepository<Classroom, Long> {
+
+  // 全クラスをID順に取得
+  List<Classroom> findAllByOrderByIdAsc();
+}
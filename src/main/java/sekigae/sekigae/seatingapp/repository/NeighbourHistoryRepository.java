@@ -0,0 +1,24 @@
+package sekigae.sekigae.seatingapp.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sekigae.sekigae.seatingapp.entity.NeighbourHistory;
+
+@Repository
+public interface NeighbourHistoryRepository extends JpaRepository<NeighbourHistory, Long> {
+
+  // 指定した生徒同士の隣席履歴を取得（両方のIDが指定した集合に含まれるもの）
+  @Query("select h from NeighbourHistory h "
+      + "where h.studentId in :studentIds and h.neighbourId in :studentIds")
+  List<NeighbourHistory> findAmong(@Param("studentIds") Collection<Long> studentIds);
+
+  // 特定の生徒の隣席履歴を回数の多い順に取得
+  @Query("select h from NeighbourHistory h "
+      + "where h.studentId = :studentId or h.neighbourId = :studentId "
+      + "order by h.timesAdjacent desc")
+  List<NeighbourHistory> findByStudent(@Param("studentId") Long studentId);
+}
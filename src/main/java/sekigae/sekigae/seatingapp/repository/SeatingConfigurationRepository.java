@@ -0,0 +1,14 @@
+package sekigae.sekigae.seatingapp.repository;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import sekigae.sekigae.seatingapp.entity.SeatingConfiguration;
+
+@Repository
+public interface SeatingConfigurationRepository extends
+    JpaRepository<SeatingConfiguration, Long> {
+
+  // クラスの座席表設定を取得
+  Optional<SeatingConfiguration> findByClassroomId(Long classroomId);
+}
@@ -2,6 +2,8 @@ package sekigae.sekigae.seatingapp.repository;
 
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import sekigae.sekigae.seatingapp.entity.SeatingSnapshotDetail;
 
@@ -14,4 +16,16 @@ public interface SeatingSnapshotDetailRepository extends
 
   // スナップショットIDで削除
   void deleteBySnapshotId(Long snapshotId);
+
+  // 特定のスナップショットの詳細データの件数
+  long countBySnapshotId(Long snapshotId);
+
+  // 特定のスナップショットに含まれるが、クラスの名簿に存在しない生徒のID
+  @Query("select d.studentId from SeatingSnapshotDetail d "
+      + "where d.snapshot.id = :snapshotId "
+      + "and not exists (select s.id from Student s "
+      + "where s.id = d.studentId and s.classroomId = :classroomId) "
+      + "order by d.studentId")
+  List<Long> findMissingStudentIds(@Param("classroomId") Long classroomId,
+      @Param("snapshotId") Long snapshotId);
 }
\ No newline at end of file
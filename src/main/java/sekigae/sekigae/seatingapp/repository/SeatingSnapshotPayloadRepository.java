@@ -0,0 +1,26 @@
+package sekigae.sekigae.seatingapp.repository;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotPayload;
+
+@Repository
+public interface SeatingSnapshotPayloadRepository extends
+    JpaRepository<SeatingSnapshotPayload, Long> {
+
+  // クラスのスナップショットの配置データを取得（他のクラスのスナップショットは返さない）
+  @Query("select p from SeatingSnapshotPayload p where p.snapshotId = :snapshotId "
+      + "and exists (select s.id from SeatingSnapshot s "
+      + "where s.id = p.snapshotId and s.classroomId = :classroomId)")
+  Optional<SeatingSnapshotPayload> findInClassroom(@Param("classroomId") Long classroomId,
+      @Param("snapshotId") Long snapshotId);
+
+  // スナップショットIDで削除（配置データは読み込まない）
+  @Modifying
+  @Query("delete from SeatingSnapshotPayload p where p.snapshotId = :snapshotId")
+  void deleteBySnapshotId(@Param("snapshotId") Long snapshotId);
+}
@@ -1,16 +1,45 @@
 package sekigae.sekigae.seatingapp.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import sekigae.sekigae.seatingapp.dto.SnapshotSummary;
 import sekigae.sekigae.seatingapp.entity.SeatingSnapshot;
 
 @Repository
 public interface SeatingSnapshotRepository extends JpaRepository<SeatingSnapshot, Long> {
 
-  // 作成日時の降順でスナップショットを取得
-  List<SeatingSnapshot> findAllByOrderByCreatedAtDesc();
+  // クラスのスナップショットを作成日時の降順で取得
+  List<SeatingSnapshot> findByClassroomIdOrderByCreatedAtDesc(Long classroomId);
 
-  // スナップショット名で検索
-  List<SeatingSnapshot> findBySnapshotNameContaining(String keyword);
-}
\ No newline at end of file
+  // クラスの中でスナップショット名で検索
+  List<SeatingSnapshot> findByClassroomIdAndSnapshotNameContaining(Long classroomId,
+      String keyword);
+
+  // クラスのスナップショットかどうか
+  boolean existsByIdAndClassroomId(Long id, Long classroomId);
+
+  // クラスの一覧表示用の項目だけを（作成日時, ID）の降順で先頭から取得
+  @Query("select s.id as id, s.snapshotName as snapshotName, s.createdAt as createdAt, "
+      + "substring(s.description, 1, " + SnapshotSummary.DESCRIPTION_PREVIEW_LENGTH + ") "
+      + "as descriptionPreview "
+      + "from SeatingSnapshot s where s.classroomId = :classroomId "
+      + "order by s.createdAt desc, s.id desc")
+  List<SnapshotSummary> findSummaries(@Param("classroomId") Long classroomId,
+      Pageable pageable);
+
+  // クラスの一覧表示用の項目だけを、カーソル（作成日時, ID）より後ろから取得
+  @Query("select s.id as id, s.snapshotName as snapshotName, s.createdAt as createdAt, "
+      + "substring(s.description, 1, " + SnapshotSummary.DESCRIPTION_PREVIEW_LENGTH + ") "
+      + "as descriptionPreview "
+      + "from SeatingSnapshot s "
+      + "where s.classroomId = :classroomId "
+      + "and (s.createdAt < :createdAt or (s.createdAt = :createdAt and s.id < :id)) "
+      + "order by s.createdAt desc, s.id desc")
+  List<SnapshotSummary> findSummariesBefore(@Param("classroomId") Long classroomId,
+      @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+}
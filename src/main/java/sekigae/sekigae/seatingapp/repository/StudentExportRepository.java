@@ -0,0 +1,23 @@
+package sekigae.sekigae.seatingapp.repository;
+
+import java.util.stream.Stream;
+import sekigae.sekigae.seatingapp.dto.StudentRow;
+
+/**
+ * エクスポート用に生徒を1行ずつ読み出すクエリです（{@link StudentRepository} に組み込んで使います）。
+ * <p>
+ * 読み出すときのフェッチサイズはデータベースによって指定の仕方が違うため、
+ * 注釈の定数ではなく {@code seating.export.fetch-size} から与えます。
+ * いずれも読み取り専用トランザクションの中で使い、使い終わったら閉じてください。
+ */
+public interface StudentExportRepository {
+
+  // クラスの名簿をID順に1行ずつ読み出す
+  Stream<StudentRow> streamRoster(Long classroomId);
+
+  // 全クラスの名簿をクラスID・ID順に1行ずつ読み出す
+  Stream<StudentRow> streamSchoolRoster();
+
+  // クラスの座席表（座席のある生徒）を座席順に1行ずつ読み出す
+  Stream<StudentRow> streamSeatingChart(Long classroomId);
+}
@@ -0,0 +1,99 @@
+package sekigae.sekigae.seatingapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import sekigae.sekigae.seatingapp.dto.StudentRow;
+
+/**
+ * {@link StudentExportRepository} の実装です。
+ * <p>
+ * フェッチサイズは {@code seating.export.fetch-size} で指定します。MySQL Connector/J では
+ * {@link Integer#MIN_VALUE} で結果を1行ずつ受け取りますが（結果全体をメモリに読み込まない）、
+ * H2 などは負の値を受け付けないため、正の値（まとめて受け取る行数）か 0（ドライバーの既定）を指定します。
+ */
+class StudentExportRepositoryImpl implements StudentExportRepository {
+
+  private final EntityManager entityManager;
+  private final int fetchSize;
+
+  StudentExportRepositoryImpl(EntityManager entityManager,
+      @Value("${seating.export.fetch-size:0}") int fetchSize) {
+    this.entityManager = entityManager;
+    this.fetchSize = fetchSize;
+  }
+
+  @Override
+  public Stream<StudentRow> streamRoster(Long classroomId) {
+    return stream(query(StudentRepository.STUDENT_ROW
+        + "where s.classroomId = :classroomId order by s.id")
+        .setParameter("classroomId", classroomId));
+  }
+
+  @Override
+  public Stream<StudentRow> streamSchoolRoster() {
+    return stream(query(StudentRepository.STUDENT_ROW + "order by s.classroomId, s.id"));
+  }
+
+  @Override
+  public Stream<StudentRow> streamSeatingChart(Long classroomId) {
+    return stream(query(StudentRepository.STUDENT_ROW + "where s.classroomId = :classroomId "
+        + "and s.seatRow is not null and s.seatColumn is not null "
+        + "order by s.seatRow, s.seatColumn")
+        .setParameter("classroomId", classroomId));
+  }
+
+  private TypedQuery<Tuple> query(String jpql) {
+    return entityManager.createQuery(jpql, Tuple.class)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+        .setHint(HibernateHints.HINT_READ_ONLY, true);
+  }
+
+  private static Stream<StudentRow> stream(TypedQuery<Tuple> query) {
+    return query.getResultStream().map(TupleRow::new);
+  }
+
+  /**
+   * 読み出した1行を {@link StudentRow} として見せる（列名は {@link StudentRepository#STUDENT_ROW} の別名）
+   */
+  private record TupleRow(Tuple tuple) implements StudentRow {
+
+    @Override
+    public Long getId() {
+      return tuple.get("id", Long.class);
+    }
+
+    @Override
+    public Long getClassroomId() {
+      return tuple.get("classroomId", Long.class);
+    }
+
+    @Override
+    public String getName() {
+      return tuple.get("name", String.class);
+    }
+
+    @Override
+    public String getGender() {
+      return tuple.get("gender", String.class);
+    }
+
+    @Override
+    public String getStudentCode() {
+      return tuple.get("studentCode", String.class);
+    }
+
+    @Override
+    public Integer getSeatRow() {
+      return tuple.get("seatRow", Integer.class);
+    }
+
+    @Override
+    public Integer getSeatColumn() {
+      return tuple.get("seatColumn", Integer.class);
+    }
+  }
+}
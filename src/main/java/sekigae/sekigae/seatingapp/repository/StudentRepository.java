@@ -1,27 +1,85 @@
 package sekigae.sekigae.seatingapp.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import sekigae.sekigae.seatingapp.dto.StudentCounts;
+import sekigae.sekigae.seatingapp.dto.StudentRow;
 import sekigae.sekigae.seatingapp.entity.Student;
 
 @Repository
 //@Mapper
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>,
+    StudentExportRepository {
 
-  // 名前で検索する（例：あいまい検索などに活用）
-  List<Student> findByNameContaining(String keyword);
+  // エクスポートで読み出す項目
+  String STUDENT_ROW = "select s.id as id, s.classroomId as classroomId, s.name as name, "
+      + "s.gender as gender, s.studentCode as studentCode, s.seatRow as seatRow, "
+      + "s.seatColumn as seatColumn from Student s ";
 
-  // 性別で検索する
-  List<Student> findByGender(String gender);
+  // クラスの全生徒を取得
+  List<Student> findByClassroomId(Long classroomId);
 
-  // 座席位置で検索（ユニークな生徒を探す）
-  Student findBySeatRowAndSeatColumn(Integer seatRow, Integer seatColumn);
+  // クラスの生徒を取得（他のクラスの生徒は返さない）
+  Optional<Student> findByIdAndClassroomId(Long id, Long classroomId);
+
+  // クラスの中で名前で検索する（例：あいまい検索などに活用）
+  List<Student> findByClassroomIdAndNameContaining(Long classroomId, String keyword);
+
+  // クラスの中で性別で検索する
+  List<Student> findByClassroomIdAndGender(Long classroomId, String gender);
+
+  // クラスの中で座席位置で検索（ユニークな生徒を探す）
+  Student findByClassroomIdAndSeatRowAndSeatColumn(Long classroomId, Integer seatRow,
+      Integer seatColumn);
 
   void deleteById(Integer id);
 
 
   Optional<Student> findByStudentCode(String studentCode);
 
+  // 指定した学籍番号のうち、すでに登録されているものを1回のクエリで取得（一括登録の重複チェック用）
+  @Query("select s.studentCode from Student s where s.studentCode in :codes")
+  List<String> findExistingStudentCodes(@Param("codes") Collection<String> codes);
+
+  // スナップショットの座席位置を1回のUPDATEでクラスの全生徒に反映（スナップショットにいない生徒の座席は空にする）
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Student s set "
+      + "s.seatRow = (select d.seatRow from SeatingSnapshotDetail d "
+      + "where d.snapshot.id = :snapshotId and d.studentId = s.id), "
+      + "s.seatColumn = (select d.seatColumn from SeatingSnapshotDetail d "
+      + "where d.snapshot.id = :snapshotId and d.studentId = s.id) "
+      + "where s.classroomId = :classroomId")
+  int restoreSeatsFromSnapshot(@Param("classroomId") Long classroomId,
+      @Param("snapshotId") Long snapshotId);
+
+  // クラスの登録生徒数・男女別の人数・座席のある生徒数を1回の集計で数える
+  @Query("select count(s) as studentCount, "
+      + "coalesce(sum(case when s.gender = :male then 1 else 0 end), 0) as maleCount, "
+      + "coalesce(sum(case when s.gender = :female then 1 else 0 end), 0) as femaleCount, "
+      + "coalesce(sum(case when s.seatRow is not null and s.seatColumn is not null "
+      + "then 1 else 0 end), 0) as seatedCount "
+      + "from Student s where s.classroomId = :classroomId")
+  StudentCounts countStudents(@Param("classroomId") Long classroomId,
+      @Param("male") String male, @Param("female") String female);
+
+  // 生徒APIの1ページ：IDのカーソルより後ろの生徒を、条件に合う項目だけID順に取得（null の条件は使わない）
+  // 氏名の前方一致は「!」でエスケープした「前方 + %」を渡す
+  @Query(STUDENT_ROW + "where s.classroomId = :classroomId and s.id > :afterId "
+      + "and (:gender is null or s.gender = :gender) "
+      + "and (:seated is null "
+      + "or (:seated = true and s.seatRow is not null and s.seatColumn is not null) "
+      + "or (:seated = false and (s.seatRow is null or s.seatColumn is null))) "
+      + "and (:namePattern is null or s.name like :namePattern escape '!') "
+      + "order by s.id")
+  List<StudentRow> findPage(@Param("classroomId") Long classroomId,
+      @Param("afterId") long afterId, @Param("gender") String gender,
+      @Param("seated") Boolean seated, @Param("namePattern") String namePattern,
+      Pageable pageable);
 }
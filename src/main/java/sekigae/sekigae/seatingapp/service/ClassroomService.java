@@ -0,0 +1,92 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sekigae.sekigae.seatingapp.entity.Classroom;
+import sekigae.sekigae.seatingapp.repository.ClassroomRepository;
+
+/**
+ * クラスの一覧・登録を行うサービスです。
+ * <p>
+ * クラスを導入する前のデータは既定のクラス（{@link Classroom#DEFAULT_ID}）に属するので、起動時にクラスが1件もなければ既定のクラスを作成します。
+ * 存在を確認したクラスのIDはメモリに残し、リクエストのたびにデータベースを読まないようにします。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClassroomService {
+
+  /**
+   * 起動時に作成する既定のクラスの名前
+   */
+  static final String DEFAULT_NAME = "既定のクラス";
+
+  private final ClassroomRepository classroomRepository;
+
+  /**
+   * 存在を確認したクラスのID（クラスは削除しないので、一度確認したIDは消しません）
+   */
+  private final Set<Long> existingIds = ConcurrentHashMap.newKeySet();
+
+  /**
+   * 全クラスを取得します（ID順）
+   *
+   * @return クラスのリスト
+   */
+  public List<Classroom> getAllClassrooms() {
+    return classroomRepository.findAllByOrderByIdAsc();
+  }
+
+  /**
+   * クラスを登録します
+   *
+   * @param name クラス名
+   * @return 登録したクラス
+   */
+  @Transactional
+  public Classroom createClassroom(String name) {
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException("クラス名を入力してください");
+    }
+    return classroomRepository.save(Classroom.builder().name(name.trim()).build());
+  }
+
+  /**
+   * クラスが存在するかどうかを返します
+   * <p>
+   * 存在を確認済みのIDはデータベースを読みません。存在しないIDは覚えないので、後から登録したクラスもすぐに使えます。
+   *
+   * @param classroomId クラスID
+   * @return 存在する場合 true
+   */
+  public boolean exists(long classroomId) {
+    if (existingIds.contains(classroomId)) {
+      return true;
+    }
+    if (!classroomRepository.existsById(classroomId)) {
+      return false;
+    }
+    existingIds.add(classroomId);
+    return true;
+  }
+
+  /**
+   * クラスが1件もなければ既定のクラスを作成します
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void ensureDefaultClassroom() {
+    if (classroomRepository.count() == 0) {
+      Classroom classroom = classroomRepository.save(
+          Classroom.builder().name(DEFAULT_NAME).build());
+      log.info("既定のクラスを作成しました: ID {}", classroom.getId());
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * クラスごとに座席の書き込みを1つずつ順番に実行する待ち行列です。
+ * <p>
+ * 席替え・条件付き席替え・席の調整・スナップショットの保存・削除・復元・CSVの一括登録と、生徒の登録・座席の変更・削除は、
+ * 名簿や座席を読んでから書き込むため、同じクラスで同時に実行すると互いの書き込みが混ざり、
+ * 同じ座席に2人が座った座席表になることがあります。
+ * この待ち行列はクラスごとのロック（到着順）を取ってからトランザクションを開始し、コミットしてからロックを放すので、
+ * 同じクラスの書き込みは必ず前の書き込みのコミット後の名簿を読みます。 ロックはクラスごとなので、他のクラスの書き込みや
+ * 座席表の表示（{@link SeatingChartCache} の読み込み）を待たせることはありません。
+ * <p>
+ * 席替えは結果が毎回ランダムなので、同じクラスの同じ条件の席替えが待っている間に届いた席替えは、
+ * 待っている席替えの結果を共有し、書き込みを1回にまとめます（{@link #writeCoalesced}）。
+ */
+@Component
+@RequiredArgsConstructor
+public class ClassroomWriteQueue {
+
+  private final PlatformTransactionManager transactionManager;
+
+  private final ConcurrentMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+  /**
+   * クラスの順番を待ってから、トランザクションを開始して書き込みを実行し、コミット後に順番を放します
+   * <p>
+   * 呼び出し元が既にトランザクション中の場合はそのトランザクションに参加するため、順番はコミットより先に放されます。
+   * 書き込み処理はトランザクションの外から呼び出してください。
+   *
+   * @param classroomId クラスID
+   * @param action      書き込み処理
+   * @param <T>         結果の型
+   * @return 書き込み処理の結果
+   */
+  public <T> T write(long classroomId, Supplier<T> action) {
+    Lane lane = laneOf(classroomId);
+    lane.lock.lock();
+    try {
+      return inTransaction(action);
+    } finally {
+      lane.lock.unlock();
+    }
+  }
+
+  /**
+   * クラスの順番を待ってから書き込みを実行します（同じ条件で待っている書き込みがあれば、その結果を共有します）
+   * <p>
+   * 同じクラスで {@code key} が等しい書き込みがまだ開始されずに待っている場合は、新しく書き込みを行わず、
+   * その書き込みが終わるのを待って同じ結果（失敗した場合は同じ例外）を返します。 実行中の書き込みとはまとめません。
+   *
+   * @param classroomId クラスID
+   * @param key         まとめてよい書き込みかどうかを判定するキー（{@code equals} で比較）
+   * @param action      書き込み処理
+   * @param <T>         結果の型
+   * @return 書き込み処理の結果
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T writeCoalesced(long classroomId, Object key, Supplier<T> action) {
+    Lane lane = laneOf(classroomId);
+    if (lane.lock.isHeldByCurrentThread()) {
+      // 書き込み中に同じクラスへ書き込む場合は、自分を待つことにならないよう、まとめずにそのまま実行する
+      return write(classroomId, action);
+    }
+
+    Pending pending;
+    boolean leader;
+    lane.pendingLock.lock();
+    try {
+      leader = lane.pending == null || !lane.pending.key.equals(key);
+      if (leader) {
+        lane.pending = new Pending(key);
+      }
+      pending = lane.pending;
+    } finally {
+      lane.pendingLock.unlock();
+    }
+    if (!leader) {
+      return (T) await(pending.result);
+    }
+
+    lane.lock.lock();
+    try {
+      // ここからは後から届いた書き込みを次の書き込みとしてまとめる
+      lane.pendingLock.lock();
+      try {
+        if (lane.pending == pending) {
+          lane.pending = null;
+        }
+      } finally {
+        lane.pendingLock.unlock();
+      }
+      T result = inTransaction(action);
+      pending.result.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      pending.result.completeExceptionally(e);
+      throw e;
+    } finally {
+      lane.lock.unlock();
+    }
+  }
+
+  private <T> T inTransaction(Supplier<T> action) {
+    return new TransactionTemplate(transactionManager).execute(status -> action.get());
+  }
+
+  private Lane laneOf(long classroomId) {
+    Lane lane = lanes.get(classroomId);
+    if (lane != null) {
+      return lane;
+    }
+    return lanes.computeIfAbsent(classroomId, id -> new Lane());
+  }
+
+  private static Object await(CompletableFuture<Object> result) {
+    try {
+      return result.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * 1つのクラスの待ち行列（{@code pending} は {@code pendingLock} でロックします）
+   * <p>
+   * 仮想スレッドがキャリアスレッドを占有しないよう、{@code synchronized} ではなく ReentrantLock を使います。
+   */
+  private static final class Lane {
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final ReentrantLock pendingLock = new ReentrantLock();
+    private Pending pending;
+  }
+
+  /**
+   * まだ開始していない、まとめられる書き込み
+   */
+  private static final class Pending {
+
+    private final Object key;
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+    private Pending(Object key) {
+      this.key = key;
+    }
+  }
+}
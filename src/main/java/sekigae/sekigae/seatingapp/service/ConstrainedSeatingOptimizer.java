@@ -0,0 +1,402 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 制約条件を満たす座席配置を焼きなまし法（Simulated Annealing）で探索するオプティマイザーです。
+ * <p>
+ * 生徒は名簿インデックスで扱い、配置は「位置 → 名簿インデックス」の {@code int[]} で表します。 位置 {@code 0 ..
+ * seatCount-1} が座席（行 × 列数 + 列）、それ以降は座席数を超えた生徒のための「未着席」枠です。
+ * <p>
+ * 近傍操作は2つの位置の入れ替えで、スコアの差分は入れ替える2人の隣席と前列条件だけから計算します。 独立したリスタートを
+ * コンストラクタで渡したスレッドプール上で並列に実行し、制限時間内で最もスコアが低い配置を採用します。
+ * 閉じるとスレッドプールを止めます（Bean として使う場合はアプリケーションの終了時に閉じられます）。
+ */
+public final class ConstrainedSeatingOptimizer implements AutoCloseable {
+
+  /**
+   * 必須条件の違反1件あたりのペナルティ（任意条件の合計がこれを超えることはない想定）
+   */
+  public static final int HARD_WEIGHT = 1_000_000;
+
+  /**
+   * 時刻を確認して温度を更新する間隔（反復回数）
+   */
+  private static final int TIME_CHECK_INTERVAL = 256;
+
+  /**
+   * 初期温度の上限。必須条件の違反を上り坂で受け入れないようにする
+   */
+  private static final double MAX_INITIAL_TEMPERATURE = 50.0;
+  private static final double FINAL_TEMPERATURE = 0.05;
+
+  private final ExecutorService pool;
+  private final int restarts;
+
+  /**
+   * @param pool     リスタートを実行するスレッドプール
+   * @param restarts 1回の最適化で並列に実行するリスタートの数
+   */
+  public ConstrainedSeatingOptimizer(ExecutorService pool, int restarts) {
+    this.pool = pool;
+    this.restarts = Math.max(1, restarts);
+  }
+
+  /**
+   * 制限時間内で最適化を行います
+   *
+   * @param problem      最適化する問題
+   * @param budgetMillis 制限時間（ミリ秒）
+   * @param seed         乱数シード
+   * @return 最もスコアが低かった配置
+   */
+  public Result optimize(Problem problem, long budgetMillis, long seed) {
+    long start = System.nanoTime();
+    long deadline = start + Math.max(1L, budgetMillis) * 1_000_000L;
+
+    SplittableRandom seeds = new SplittableRandom(seed);
+    List<Callable<Result>> tasks = new ArrayList<>(restarts);
+    for (int i = 0; i < restarts; i++) {
+      SplittableRandom random = seeds.split();
+      tasks.add(() -> anneal(problem, random, start, deadline));
+    }
+
+    List<Future<Result>> futures;
+    try {
+      futures = pool.invokeAll(tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("座席配置の最適化が中断されました。", e);
+    }
+
+    Result best = null;
+    long iterations = 0;
+    for (Future<Result> future : futures) {
+      Result result = join(future);
+      iterations += result.iterations;
+      if (best == null || result.score < best.score) {
+        best = result;
+      }
+    }
+    return new Result(best.slots, best.score, iterations, restarts);
+  }
+
+  @Override
+  public void close() {
+    pool.shutdownNow();
+  }
+
+  private static Result join(Future<Result> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("座席配置の最適化が中断されました。", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("座席配置の最適化に失敗しました。", e.getCause());
+    }
+  }
+
+  /**
+   * 1回分の焼きなましを実行します
+   */
+  private static Result anneal(Problem problem, SplittableRandom random, long start,
+      long deadline) {
+    int slotCount = problem.slotCount;
+    int[] slots = problem.randomSlots(random);
+    long score = problem.score(slots);
+    int[] bestSlots = slots.clone();
+    long bestScore = score;
+    long iterations = 0;
+
+    if (slotCount < 2 || score == 0) {
+      return new Result(bestSlots, bestScore, iterations, 1);
+    }
+
+    double initialTemperature = estimateInitialTemperature(problem, slots, random);
+    double temperature = initialTemperature;
+    double cooling = Math.log(FINAL_TEMPERATURE / initialTemperature);
+    double span = Math.max(1L, deadline - start);
+
+    while (true) {
+      if ((iterations & (TIME_CHECK_INTERVAL - 1)) == 0) {
+        long now = System.nanoTime();
+        if (now >= deadline) {
+          break;
+        }
+        temperature = initialTemperature * Math.exp(cooling * ((now - start) / span));
+      }
+      iterations++;
+
+      int p1 = random.nextInt(slotCount);
+      int p2 = random.nextInt(slotCount);
+      if (p1 == p2 || (slots[p1] < 0 && slots[p2] < 0)) {
+        continue;
+      }
+
+      long delta = problem.swapDelta(slots, p1, p2);
+      if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+        int tmp = slots[p1];
+        slots[p1] = slots[p2];
+        slots[p2] = tmp;
+        score += delta;
+
+        if (score < bestScore) {
+          bestScore = score;
+          System.arraycopy(slots, 0, bestSlots, 0, slotCount);
+          if (bestScore == 0) {
+            break;
+          }
+        }
+      }
+    }
+
+    return new Result(bestSlots, bestScore, iterations, 1);
+  }
+
+  /**
+   * ランダムな入れ替えの悪化量の平均から初期温度を決めます
+   */
+  private static double estimateInitialTemperature(Problem problem, int[] slots,
+      SplittableRandom random) {
+    double sum = 0;
+    int count = 0;
+    for (int i = 0; i < 64; i++) {
+      int p1 = random.nextInt(problem.slotCount);
+      int p2 = random.nextInt(problem.slotCount);
+      if (p1 == p2) {
+        continue;
+      }
+      long delta = problem.swapDelta(slots, p1, p2);
+      if (delta > 0) {
+        sum += delta;
+        count++;
+      }
+    }
+    double mean = count == 0 ? 1.0 : sum / count;
+    return Math.max(FINAL_TEMPERATURE * 2, Math.min(mean, MAX_INITIAL_TEMPERATURE));
+  }
+
+  /**
+   * 最適化する問題（座席の形と、生徒ごと・生徒ペアごとのペナルティ）
+   * <p>
+   * ペアのペナルティは上下左右に隣り合ったときに加算されます。
+   */
+  public static final class Problem {
+
+    private final int columns;
+    private final int studentCount;
+    private final int seatCount;
+    private final int slotCount;
+
+    private final int[] pairWeights;
+    private final int[] frontRowLimit;
+    private final int[] frontWeight;
+
+    private final int[] slotRow;
+    private final int[] neighbourStart;
+    private final int[] neighbours;
+
+    public Problem(int rows, int columns, int studentCount) {
+      this.columns = columns;
+      this.studentCount = studentCount;
+      this.seatCount = rows * columns;
+      this.slotCount = Math.max(seatCount, studentCount);
+
+      this.pairWeights = new int[studentCount * studentCount];
+      this.frontRowLimit = new int[studentCount];
+      this.frontWeight = new int[studentCount];
+      Arrays.fill(frontRowLimit, -1);
+
+      this.slotRow = new int[slotCount];
+      for (int p = 0; p < slotCount; p++) {
+        slotRow[p] = p < seatCount ? p / columns : Integer.MAX_VALUE;
+      }
+
+      // 座席ごとの隣席（上下左右）を CSR 形式で保持する
+      this.neighbourStart = new int[seatCount + 1];
+      int[] buffer = new int[seatCount * 4];
+      int size = 0;
+      for (int r = 0; r < rows; r++) {
+        for (int c = 0; c < columns; c++) {
+          neighbourStart[r * columns + c] = size;
+          if (r > 0) {
+            buffer[size++] = (r - 1) * columns + c;
+          }
+          if (r < rows - 1) {
+            buffer[size++] = (r + 1) * columns + c;
+          }
+          if (c > 0) {
+            buffer[size++] = r * columns + c - 1;
+          }
+          if (c < columns - 1) {
+            buffer[size++] = r * columns + c + 1;
+          }
+        }
+      }
+      neighbourStart[seatCount] = size;
+      this.neighbours = Arrays.copyOf(buffer, size);
+    }
+
+    public int getStudentCount() {
+      return studentCount;
+    }
+
+    public int getSeatCount() {
+      return seatCount;
+    }
+
+    /**
+     * 2人が隣り合ったときのペナルティを加算します（対称）
+     */
+    public void addPairWeight(int a, int b, int weight) {
+      if (a == b) {
+        return;
+      }
+      pairWeights[a * studentCount + b] += weight;
+      pairWeights[b * studentCount + a] += weight;
+    }
+
+    /**
+     * 生徒を前から {@code rowLimit} 行以内に座らせる条件を設定します
+     */
+    public void requireFrontRows(int student, int rowLimit, int weight) {
+      frontRowLimit[student] = rowLimit;
+      frontWeight[student] = weight;
+    }
+
+    /**
+     * 配置全体のスコアを計算します
+     */
+    public long score(int[] slots) {
+      long cost = 0;
+      for (int p = 0; p < slotCount; p++) {
+        int s = slots[p];
+        if (s < 0) {
+          continue;
+        }
+        cost += unaryCost(s, p);
+        if (p < seatCount) {
+          int base = s * studentCount;
+          for (int k = neighbourStart[p]; k < neighbourStart[p + 1]; k++) {
+            int q = neighbours[k];
+            int other = slots[q];
+            if (q > p && other >= 0) {
+              cost += pairWeights[base + other];
+            }
+          }
+        }
+      }
+      return cost;
+    }
+
+    /**
+     * 位置 {@code p1} と {@code p2} を入れ替えたときのスコアの変化量を計算します
+     */
+    long swapDelta(int[] slots, int p1, int p2) {
+      int a = slots[p1];
+      int b = slots[p2];
+      long delta = 0;
+      if (a >= 0) {
+        delta += localCost(slots, a, p2, b) - localCost(slots, a, p1, b);
+      }
+      if (b >= 0) {
+        delta += localCost(slots, b, p1, a) - localCost(slots, b, p2, a);
+      }
+      return delta;
+    }
+
+    /**
+     * 生徒を位置 {@code p} に置いたときのコスト（入れ替え相手とのペアは変化しないため除く）
+     */
+    private long localCost(int[] slots, int student, int p, int partner) {
+      long cost = unaryCost(student, p);
+      if (p < seatCount) {
+        int base = student * studentCount;
+        for (int k = neighbourStart[p]; k < neighbourStart[p + 1]; k++) {
+          int other = slots[neighbours[k]];
+          if (other >= 0 && other != partner) {
+            cost += pairWeights[base + other];
+          }
+        }
+      }
+      return cost;
+    }
+
+    private int unaryCost(int student, int p) {
+      int limit = frontRowLimit[student];
+      if (limit < 0 || slotRow[p] < limit) {
+        return 0;
+      }
+      return frontWeight[student];
+    }
+
+    /**
+     * 生徒と空席を無作為に並べた初期配置を作成します
+     */
+    int[] randomSlots(SplittableRandom random) {
+      int[] slots = new int[slotCount];
+      for (int p = 0; p < slotCount; p++) {
+        slots[p] = p < studentCount ? p : SeatArrangementEngine.EMPTY;
+      }
+      for (int i = slotCount - 1; i > 0; i--) {
+        int j = random.nextInt(i + 1);
+        int tmp = slots[i];
+        slots[i] = slots[j];
+        slots[j] = tmp;
+      }
+      return slots;
+    }
+  }
+
+  /**
+   * 最適化の結果
+   */
+  public static final class Result {
+
+    private final int[] slots;
+    private final long score;
+    private final long iterations;
+    private final int restarts;
+
+    Result(int[] slots, long score, long iterations, int restarts) {
+      this.slots = slots;
+      this.score = score;
+      this.iterations = iterations;
+      this.restarts = restarts;
+    }
+
+    /**
+     * 位置 → 名簿インデックス（先頭 seatCount 個が座席）
+     */
+    public int[] getSlots() {
+      return slots;
+    }
+
+    public long getScore() {
+      return score;
+    }
+
+    /**
+     * 満たせなかった必須条件の数
+     */
+    public int getHardViolations() {
+      return (int) (score / HARD_WEIGHT);
+    }
+
+    public long getIterations() {
+      return iterations;
+    }
+
+    public int getRestarts() {
+      return restarts;
+    }
+  }
+}
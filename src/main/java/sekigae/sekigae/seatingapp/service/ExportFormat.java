@@ -0,0 +1,33 @@
+package sekigae.sekigae.seatingapp.service;
+
+/**
+ * エクスポートの形式
+ */
+public enum ExportFormat {
+
+  /**
+   * CSV（UTF-8、BOM 付き。見出し行は一括登録の CSV と同じ列名）
+   */
+  CSV("text/csv;charset=UTF-8", "csv"),
+
+  /**
+   * JSON（オブジェクトの配列）
+   */
+  JSON("application/json", "json");
+
+  private final String contentType;
+  private final String extension;
+
+  ExportFormat(String contentType, String extension) {
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+}
@@ -0,0 +1,128 @@
+package sekigae.sekigae.seatingapp.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * エクスポートの行を、受け取った順にそのまま出力先へ書き出します（行を溜めません）。
+ * <p>
+ * 値は文字列・数値・null だけを扱います。 閉じると CSV はバッファを書き出し、JSON は配列を閉じます（出力先は閉じません）。
+ */
+abstract class ExportWriter implements Closeable {
+
+  private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+      .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+      .build();
+
+  protected final String[] columns;
+
+  private ExportWriter(String[] columns) {
+    this.columns = columns;
+  }
+
+  /**
+   * 形式に合わせた書き出し先を開き、見出し（JSON は配列の開始）を書き出します
+   *
+   * @param format  形式
+   * @param out     出力先
+   * @param columns 列名（JSON では項目名）
+   * @return 書き出し先
+   * @throws IOException 書き出せなかった場合
+   */
+  static ExportWriter open(ExportFormat format, OutputStream out, String... columns)
+      throws IOException {
+    return format == ExportFormat.JSON ? new Json(out, columns) : new Csv(out, columns);
+  }
+
+  /**
+   * 1行を書き出します
+   *
+   * @param values 列の順の値
+   * @throws IOException 書き出せなかった場合
+   */
+  abstract void row(Object... values) throws IOException;
+
+  /**
+   * CSV（UTF-8、Excel で文字化けしないよう BOM 付き、改行は CRLF）
+   */
+  private static final class Csv extends ExportWriter {
+
+    private final Writer writer;
+
+    private Csv(OutputStream out, String[] columns) throws IOException {
+      super(columns);
+      writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      writer.write('\uFEFF');
+      line((Object[]) columns);
+    }
+
+    @Override
+    void row(Object... values) throws IOException {
+      line(values);
+    }
+
+    private void line(Object... values) throws IOException {
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        if (values[i] != null) {
+          writer.write(escape(values[i].toString()));
+        }
+      }
+      writer.write("\r\n");
+    }
+
+    private static String escape(String value) {
+      if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+          && value.indexOf('\r') < 0) {
+        return value;
+      }
+      return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.flush();
+    }
+  }
+
+  /**
+   * JSON（列名を項目名にしたオブジェクトの配列）
+   */
+  private static final class Json extends ExportWriter {
+
+    private final JsonGenerator generator;
+
+    private Json(OutputStream out, String[] columns) throws IOException {
+      super(columns);
+      generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+      generator.writeStartArray();
+    }
+
+    @Override
+    void row(Object... values) throws IOException {
+      generator.writeStartObject();
+      for (int i = 0; i < columns.length; i++) {
+        generator.writeFieldName(columns[i]);
+        generator.writeObject(values[i]);
+      }
+      generator.writeEndObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+      generator.writeEndArray();
+      generator.close();
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.util.Arrays;
+
+/**
+ * {@code long} → {@code int} のオープンアドレス法（線形探索）によるハッシュマップです。
+ * <p>
+ * 生徒IDから名簿インデックスを引くためのもので、ボクシングを行いません。 値は0以上に限り、削除はできません。
+ */
+final class LongIntHashMap {
+
+  /**
+   * キーが存在しないことを表す値
+   */
+  static final int MISSING = -1;
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+
+  LongIntHashMap(int expectedSize) {
+    int capacity = 4;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  /**
+   * 値を設定します（既にキーがある場合は上書き）
+   *
+   * @param key   キー
+   * @param value 値（0以上）
+   */
+  void put(long key, int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("値は0以上である必要があります: " + value);
+    }
+    if ((size + 1) * 2 > keys.length) {
+      rehash();
+    }
+    int slot = slotOf(key);
+    while (values[slot] != MISSING) {
+      if (keys[slot] == key) {
+        values[slot] = value;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    size++;
+  }
+
+  /**
+   * 値を取得します
+   *
+   * @param key キー
+   * @return 値（キーがない場合は {@link #MISSING}）
+   */
+  int get(long key) {
+    int slot = slotOf(key);
+    while (values[slot] != MISSING) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return MISSING;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private int slotOf(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    Arrays.fill(values, MISSING);
+    mask = capacity - 1;
+  }
+
+  private void rehash() {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(oldKeys.length * 2);
+    size = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != MISSING) {
+        put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.util.Arrays;
+
+/**
+ * 最小コストの割り当て問題（ハンガリー法）を解くユーティリティです。
+ * <p>
+ * {@code n} 人の生徒を {@code m}（{@code n <= m}）個の席に1対1で割り当て、コストの合計を最小にします。 計算量は O(n² m) です。
+ */
+public final class MinCostAssignment {
+
+  private static final long INF = Long.MAX_VALUE / 4;
+
+  private MinCostAssignment() {
+  }
+
+  /**
+   * 割り当てを計算します
+   *
+   * @param cost 行優先のコスト行列（{@code cost[i * m + j]} が生徒 i を席 j に割り当てるコスト）
+   * @param n    生徒数
+   * @param m    席数（{@code n} 以上）
+   * @return 生徒ごとの割り当て先の席インデックス
+   */
+  public static int[] solve(long[] cost, int n, int m) {
+    if (n > m) {
+      throw new IllegalArgumentException("席数は生徒数以上である必要があります。");
+    }
+
+    // ポテンシャルと割り当て（1始まり。p[j] は席 j に割り当てられた生徒）
+    long[] u = new long[n + 1];
+    long[] v = new long[m + 1];
+    int[] p = new int[m + 1];
+    int[] way = new int[m + 1];
+    long[] minv = new long[m + 1];
+    boolean[] used = new boolean[m + 1];
+
+    for (int i = 1; i <= n; i++) {
+      p[0] = i;
+      int j0 = 0;
+      Arrays.fill(minv, INF);
+      Arrays.fill(used, false);
+
+      do {
+        used[j0] = true;
+        int i0 = p[j0];
+        int row = (i0 - 1) * m;
+        long delta = INF;
+        int j1 = 0;
+        for (int j = 1; j <= m; j++) {
+          if (used[j]) {
+            continue;
+          }
+          long current = cost[row + j - 1] - u[i0] - v[j];
+          if (current < minv[j]) {
+            minv[j] = current;
+            way[j] = j0;
+          }
+          if (minv[j] < delta) {
+            delta = minv[j];
+            j1 = j;
+          }
+        }
+        for (int j = 0; j <= m; j++) {
+          if (used[j]) {
+            u[p[j]] += delta;
+            v[j] -= delta;
+          } else {
+            minv[j] -= delta;
+          }
+        }
+        j0 = j1;
+      } while (p[j0] != 0);
+
+      // 増加路に沿って割り当てを入れ替える
+      do {
+        int j1 = way[j0];
+        p[j0] = p[j1];
+        j0 = j1;
+      } while (j0 != 0);
+    }
+
+    int[] assignment = new int[n];
+    for (int j = 1; j <= m; j++) {
+      if (p[j] != 0) {
+        assignment[p[j] - 1] = j - 1;
+      }
+    }
+    return assignment;
+  }
+}
@@ -0,0 +1,253 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sekigae.sekigae.seatingapp.dto.NeighbourFrequency;
+import sekigae.sekigae.seatingapp.entity.NeighbourHistory;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotDetail;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotPayload;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.NeighbourHistoryRepository;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotDetailRepository;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotPayloadRepository;
+
+/**
+ * 保存済みの座席配置で「誰と誰が何回隣になったか」を管理するサービスです。
+ * <p>
+ * スナップショットの保存・削除のたびに、その配置で隣り合ったペアの回数だけを増減させます。 全スナップショットの詳細データから集計し直すことはしません。
+ * 隣は上下左右で判定します（{@link ConstrainedSeatingOptimizer} と同じ）。
+ * 隣席履歴のIDは自動採番（IDENTITY）で Hibernate ではまとめて INSERT できないため、新しいペアは {@link JdbcTemplate} で
+ * まとめて登録します。
+ */
+@Service
+@RequiredArgsConstructor
+public class NeighbourHistoryService {
+
+  private static final String INSERT_SQL = "insert into seating_neighbour_history "
+      + "(student_id, neighbour_id, times_adjacent) values (?, ?, ?)";
+
+  /**
+   * 新しいペアを1回の JDBC バッチで登録する件数
+   */
+  static final int BATCH_SIZE = 100;
+
+  private final NeighbourHistoryRepository neighbourHistoryRepository;
+  private final SeatingSnapshotDetailRepository snapshotDetailRepository;
+  private final SeatingSnapshotPayloadRepository payloadRepository;
+  private final SeatingChartCache chartCache;
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * 座席配置で隣り合ったペアの回数を1ずつ加算します
+   *
+   * @param chart 保存した座席配置
+   */
+  @Transactional
+  public void recordArrangement(Student[][] chart) {
+    Map<PairKey, Integer> pairs = new HashMap<>();
+    for (int r = 0; r < chart.length; r++) {
+      for (int c = 0; c < chart[r].length; c++) {
+        Student student = chart[r][c];
+        if (student == null) {
+          continue;
+        }
+        if (c + 1 < chart[r].length && chart[r][c + 1] != null) {
+          pairs.merge(PairKey.of(student.getId(), chart[r][c + 1].getId()), 1, Integer::sum);
+        }
+        if (r + 1 < chart.length && c < chart[r + 1].length && chart[r + 1][c] != null) {
+          pairs.merge(PairKey.of(student.getId(), chart[r + 1][c].getId()), 1, Integer::sum);
+        }
+      }
+    }
+    applyDeltas(pairs);
+  }
+
+  /**
+   * 削除するスナップショットで隣り合っていたペアの回数を1ずつ減算します
+   *
+   * @param details 削除するスナップショットの詳細データ
+   */
+  @Transactional
+  public void forgetArrangement(List<SeatingSnapshotDetail> details) {
+    Map<PairKey, Integer> pairs = countAdjacentPairs(details);
+    pairs.replaceAll((key, count) -> -count);
+    applyDeltas(pairs);
+  }
+
+  /**
+   * 指定した生徒の隣席回数を多い順に取得します
+   * <p>
+   * 生徒がクラスの名簿にいるかどうかは名簿のキャッシュで確認し、隣になった生徒もクラスの名簿にいる生徒だけを返します。
+   *
+   * @param classroomId クラスID
+   * @param studentId   生徒ID
+   * @return 隣になった生徒と回数のリスト（生徒がクラスの名簿にいない場合は空）
+   */
+  public Optional<List<NeighbourFrequency>> getNeighbourFrequencies(long classroomId,
+      Long studentId) {
+    Set<Long> rosterIds = new HashSet<>();
+    for (Student student : chartCache.getStudents(classroomId)) {
+      rosterIds.add(student.getId());
+    }
+    if (!rosterIds.contains(studentId)) {
+      return Optional.empty();
+    }
+
+    List<NeighbourFrequency> frequencies = new ArrayList<>();
+    for (NeighbourHistory history : neighbourHistoryRepository.findByStudent(studentId)) {
+      Long neighbourId = studentId.equals(history.getStudentId())
+          ? history.getNeighbourId() : history.getStudentId();
+      if (rosterIds.contains(neighbourId)) {
+        frequencies.add(new NeighbourFrequency(neighbourId, history.getTimesAdjacent()));
+      }
+    }
+    return Optional.of(frequencies);
+  }
+
+  /**
+   * 指定した生徒同士の隣席履歴を取得します（席替えの「隣の重複を減らす」条件で使用）
+   *
+   * @param studentIds 生徒IDの集合
+   * @return 両方の生徒が集合に含まれる隣席履歴
+   */
+  public List<NeighbourHistory> getHistoryAmong(Collection<Long> studentIds) {
+    if (studentIds.isEmpty()) {
+      return List.of();
+    }
+    return neighbourHistoryRepository.findAmong(studentIds);
+  }
+
+  /**
+   * 隣席履歴が空で、保存済みのスナップショットがある場合に一度だけ集計します（既存データの移行用）
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void rebuildIfEmpty() {
+    if (neighbourHistoryRepository.count() > 0
+        || (snapshotDetailRepository.count() == 0 && payloadRepository.count() == 0)) {
+      return;
+    }
+
+    Map<Long, List<SeatingSnapshotDetail>> detailsBySnapshot = new HashMap<>();
+    for (SeatingSnapshotDetail detail : snapshotDetailRepository.findAll()) {
+      detailsBySnapshot.computeIfAbsent(detail.getSnapshot().getId(), id -> new ArrayList<>())
+          .add(detail);
+    }
+
+    Map<PairKey, Integer> pairs = new HashMap<>();
+    for (List<SeatingSnapshotDetail> details : detailsBySnapshot.values()) {
+      countAdjacentPairs(details).forEach((key, count) -> pairs.merge(key, count, Integer::sum));
+    }
+    for (SeatingSnapshotPayload payload : payloadRepository.findAll()) {
+      countAdjacentPairs(SnapshotPayloadCodec.decode(payload.getPayload()))
+          .forEach((key, count) -> pairs.merge(key, count, Integer::sum));
+    }
+    applyDeltas(pairs);
+  }
+
+  /**
+   * 詳細データの座席位置から隣り合ったペアを数えます
+   */
+  private static Map<PairKey, Integer> countAdjacentPairs(List<SeatingSnapshotDetail> details) {
+    Map<Long, Long> studentBySeat = new HashMap<>(details.size() * 2);
+    for (SeatingSnapshotDetail detail : details) {
+      studentBySeat.put(seatKey(detail.getSeatRow(), detail.getSeatColumn()),
+          detail.getStudentId());
+    }
+
+    Map<PairKey, Integer> pairs = new HashMap<>();
+    for (SeatingSnapshotDetail detail : details) {
+      Long right = studentBySeat.get(seatKey(detail.getSeatRow(), detail.getSeatColumn() + 1));
+      if (right != null) {
+        pairs.merge(PairKey.of(detail.getStudentId(), right), 1, Integer::sum);
+      }
+      Long below = studentBySeat.get(seatKey(detail.getSeatRow() + 1, detail.getSeatColumn()));
+      if (below != null) {
+        pairs.merge(PairKey.of(detail.getStudentId(), below), 1, Integer::sum);
+      }
+    }
+    return pairs;
+  }
+
+  private static long seatKey(int row, int column) {
+    return ((long) row << 32) | column;
+  }
+
+  /**
+   * ペアごとの増減をまとめて反映します（既存行の取得は1回のクエリ、新しいペアの登録は JDBC バッチ）
+   */
+  private void applyDeltas(Map<PairKey, Integer> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+
+    Set<Long> studentIds = new HashSet<>();
+    for (PairKey key : deltas.keySet()) {
+      studentIds.add(key.low());
+      studentIds.add(key.high());
+    }
+
+    List<NeighbourHistory> toSave = new ArrayList<>();
+    List<NeighbourHistory> toInsert = new ArrayList<>();
+    List<NeighbourHistory> toDelete = new ArrayList<>();
+    for (NeighbourHistory history : neighbourHistoryRepository.findAmong(studentIds)) {
+      Integer delta = deltas.remove(PairKey.of(history.getStudentId(), history.getNeighbourId()));
+      if (delta == null) {
+        continue;
+      }
+      int times = history.getTimesAdjacent() + delta;
+      if (times > 0) {
+        history.setTimesAdjacent(times);
+        toSave.add(history);
+      } else {
+        toDelete.add(history);
+      }
+    }
+
+    deltas.forEach((key, delta) -> {
+      if (delta > 0) {
+        toInsert.add(NeighbourHistory.builder()
+            .studentId(key.low())
+            .neighbourId(key.high())
+            .timesAdjacent(delta)
+            .build());
+      }
+    });
+
+    if (!toSave.isEmpty()) {
+      neighbourHistoryRepository.saveAll(toSave);
+    }
+    if (!toInsert.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_SQL, toInsert, BATCH_SIZE, (statement, history) -> {
+        statement.setLong(1, history.getStudentId());
+        statement.setLong(2, history.getNeighbourId());
+        statement.setInt(3, history.getTimesAdjacent());
+      });
+    }
+    if (!toDelete.isEmpty()) {
+      neighbourHistoryRepository.deleteAll(toDelete);
+    }
+  }
+
+  /**
+   * 順序を問わない生徒IDのペア
+   */
+  private record PairKey(long low, long high) {
+
+    static PairKey of(long a, long b) {
+      return a < b ? new PairKey(a, b) : new PairKey(b, a);
+    }
+  }
+}
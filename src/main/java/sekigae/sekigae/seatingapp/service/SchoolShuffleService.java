@@ -0,0 +1,349 @@
+package sekigae.sekigae.seatingapp.service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sekigae.sekigae.seatingapp.dto.ClassroomShuffleTiming;
+import sekigae.sekigae.seatingapp.dto.SchoolShuffleProgress;
+import sekigae.sekigae.seatingapp.dto.SchoolShuffleProgress.Status;
+import sekigae.sekigae.seatingapp.dto.SeatingLayout;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+
+/**
+ * 学校全体（すべてのクラス）を1回のジョブで席替えするサービスです。
+ * <p>
+ * 全クラスの名簿を1回のクエリで読み込み、クラスごとの配置の計算を CPU コア数のスレッドで並列に行います。
+ * 計算が終わったクラスから、同時実行数を {@code seating.batch.write-concurrency} に制限した書き込み用のスレッドで
+ * クラスごとに1トランザクション（JDBC バッチの UPDATE）で保存するので、クラス数が多くてもデータベースへの接続は増えすぎません。
+ * ジョブは非同期に実行し、進み具合とクラスごとの処理時間は {@link #getProgress(long)} で確認できます。 同時に実行できるジョブは1つです。
+ */
+@Slf4j
+@Service
+public class SchoolShuffleService {
+
+  /**
+   * 進み具合を保持しておくジョブの数（古いものから削除します）
+   */
+  private static final int RETAINED_JOBS = 20;
+
+  private final StudentRepository studentRepository;
+  private final SeatingService seatingService;
+  private final SeatingConfigurationService configurationService;
+  private final SeatingChartCache chartCache;
+  private final SeatingMetrics metrics;
+  private final ClassroomWriteQueue writeQueue;
+  private final TransactionTemplate readTransaction;
+  private final int computeParallelism;
+  private final int writeConcurrency;
+  private final boolean virtualThreads;
+
+  private final ExecutorService coordinator;
+  private final AtomicLong jobIds = new AtomicLong();
+  private final ConcurrentMap<Long, Job> jobs = new ConcurrentHashMap<>();
+  private final AtomicReference<Job> running = new AtomicReference<>();
+
+  public SchoolShuffleService(StudentRepository studentRepository,
+      SeatingService seatingService,
+      SeatingConfigurationService configurationService,
+      SeatingChartCache chartCache,
+      SeatingMetrics metrics,
+      ClassroomWriteQueue writeQueue,
+      PlatformTransactionManager transactionManager,
+      @Value("${seating.batch.compute-parallelism:0}") int computeParallelism,
+      @Value("${seating.batch.write-concurrency:4}") int writeConcurrency,
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+    this.studentRepository = studentRepository;
+    this.seatingService = seatingService;
+    this.configurationService = configurationService;
+    this.chartCache = chartCache;
+    this.metrics = metrics;
+    this.writeQueue = writeQueue;
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setReadOnly(true);
+    this.computeParallelism = computeParallelism > 0
+        ? computeParallelism : Runtime.getRuntime().availableProcessors();
+    this.writeConcurrency = Math.max(1, writeConcurrency);
+    this.virtualThreads = virtualThreads;
+    this.coordinator = Executors.newSingleThreadExecutor(ioThreads("school-shuffle-"));
+  }
+
+  /**
+   * 学校全体の席替えジョブを開始します（すぐに戻ります）
+   * <p>
+   * 既に実行中のジョブがある場合は、新しいジョブを開始せずに実行中のジョブの進み具合を返します。
+   *
+   * @param mode 全クラスで使う配置方法（null の場合はクラスごとの座席設定の配置方法）
+   * @return 開始した（または実行中の）ジョブの進み具合
+   */
+  public SchoolShuffleProgress startJob(SeatArrangementMode mode) {
+    Job job = new Job(jobIds.incrementAndGet());
+    Job current = running.compareAndExchange(null, job);
+    if (current != null) {
+      return current.toProgress();
+    }
+    register(job);
+    coordinator.execute(() -> execute(job, mode));
+    return job.toProgress();
+  }
+
+  /**
+   * ジョブの進み具合を取得します
+   *
+   * @param jobId ジョブID
+   * @return 進み具合（ジョブが存在しない・削除済みの場合は空）
+   */
+  public Optional<SchoolShuffleProgress> getProgress(long jobId) {
+    return Optional.ofNullable(jobs.get(jobId)).map(Job::toProgress);
+  }
+
+  /**
+   * ジョブを呼び出し元のスレッドで最後まで実行します（テスト用）
+   */
+  SchoolShuffleProgress runJob(SeatArrangementMode mode) {
+    Job job = new Job(jobIds.incrementAndGet());
+    register(job);
+    execute(job, mode);
+    return job.toProgress();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    coordinator.shutdownNow();
+  }
+
+  private void register(Job job) {
+    jobs.put(job.id, job);
+    jobs.keySet().removeIf(id -> id <= job.id - RETAINED_JOBS);
+  }
+
+  private void execute(Job job, SeatArrangementMode mode) {
+    ExecutorService computePool = Executors.newFixedThreadPool(computeParallelism,
+        Thread.ofPlatform().name("school-shuffle-compute-", 0).daemon().factory());
+    ExecutorService writePool = Executors.newFixedThreadPool(writeConcurrency,
+        ioThreads("school-shuffle-write-"));
+    try {
+      Map<Long, List<Student>> rosters = readTransaction.execute(
+          status -> groupByClassroom(studentRepository.findAll(Sort.by("classroomId", "id"))));
+      job.total = rosters.size();
+
+      // 計算が終わったクラスから書き込みの待ち行列に入る（書き込みの同時実行数は writePool の大きさまで）
+      CompletableFuture<?>[] tasks = rosters.entrySet().stream()
+          .map(roster -> CompletableFuture
+              .supplyAsync(() -> plan(roster.getKey(), roster.getValue(), mode), computePool)
+              .thenApplyAsync(this::write, writePool)
+              .handle((timing, error) -> {
+                job.record(timing != null
+                    ? timing : failed(roster.getKey(), roster.getValue().size(), error));
+                return null;
+              }))
+          .toArray(CompletableFuture[]::new);
+      CompletableFuture.allOf(tasks).join();
+
+      job.finish(job.failed.get() == 0 ? Status.COMPLETED : Status.FAILED);
+      log.info("学校全体の席替えが終わりました: ジョブ {}, クラス {} / {}, 失敗 {}, 書き込み {} 行, {} ms",
+          job.id, job.completed.get(), job.total, job.failed.get(), job.rowsWritten.get(),
+          job.elapsedMillis());
+    } catch (RuntimeException e) {
+      log.error("学校全体の席替えに失敗しました: ジョブ {}", job.id, e);
+      job.finish(Status.FAILED);
+    } finally {
+      computePool.shutdown();
+      writePool.shutdown();
+      running.compareAndSet(job, null);
+    }
+  }
+
+  /**
+   * データベースを待つスレッド（ジョブの実行・書き込み）のファクトリ
+   * <p>
+   * 仮想スレッドが有効な場合は仮想スレッドを使います。 配置の計算は CPU を使い続けるのでプラットフォームスレッドのままにします。
+   */
+  private ThreadFactory ioThreads(String prefix) {
+    Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+    return builder.name(prefix, 0).factory();
+  }
+
+  private static Map<Long, List<Student>> groupByClassroom(List<Student> students) {
+    Map<Long, List<Student>> rosters = new LinkedHashMap<>();
+    for (Student student : students) {
+      rosters.computeIfAbsent(student.getClassroomId(), id -> new ArrayList<>()).add(student);
+    }
+    return rosters;
+  }
+
+  /**
+   * クラスの配置を計算します（データベースへの書き込みはしません）
+   */
+  private ClassroomPlan plan(long classroomId, List<Student> roster, SeatArrangementMode mode) {
+    long start = System.nanoTime();
+    SeatingLayout layout = configurationService.getConfiguration(classroomId);
+    int rows = layout.getRows();
+    int columns = layout.getColumns();
+    int seatCount = rows * columns;
+
+    int[] seats = seatingService.arrange(roster, rows, columns,
+        mode != null ? mode : layout.getArrangementMode());
+    int[] seatOf = SeatingService.toSeatOf(seats, roster.size(), seatCount);
+    long[] studentIds = new long[roster.size()];
+    for (int i = 0; i < studentIds.length; i++) {
+      studentIds[i] = roster.get(i).getId();
+    }
+
+    long planned = System.nanoTime();
+    return new ClassroomPlan(classroomId, studentIds, seatOf, seatCount, columns,
+        planned - start, planned);
+  }
+
+  /**
+   * 計算した配置をクラスごとに1トランザクションで保存します
+   * <p>
+   * 画面からの席替えと混ざらないよう {@link ClassroomWriteQueue} でクラスの順番を待ち、名簿は書き込みの直前に読み直します。
+   * 計算の後に追加された生徒の座席はそのままにします。
+   */
+  private ClassroomShuffleTiming write(ClassroomPlan plan) {
+    long start = System.nanoTime();
+    int written = writeQueue.write(plan.classroomId(), () -> {
+      List<Student> roster = studentRepository.findByClassroomId(plan.classroomId());
+      LongIntHashMap planIndex = new LongIntHashMap(plan.studentIds().length);
+      for (int i = 0; i < plan.studentIds().length; i++) {
+        planIndex.put(plan.studentIds()[i], i);
+      }
+
+      List<Student> targets = new ArrayList<>(roster.size());
+      int[] seatOf = new int[roster.size()];
+      for (Student student : roster) {
+        int index = planIndex.get(student.getId());
+        if (index != LongIntHashMap.MISSING) {
+          seatOf[targets.size()] = plan.seatOf()[index];
+          targets.add(student);
+        }
+      }
+
+      List<Student> changed = SeatingService.assignSeats(targets, seatOf, plan.seatCount(),
+          plan.columns());
+      if (!changed.isEmpty()) {
+        studentRepository.saveAll(changed);
+        chartCache.markChanged(plan.classroomId());
+      }
+      return changed.size();
+    });
+    long end = System.nanoTime();
+    metrics.countRowsWritten("batch_shuffle", plan.classroomId(), written);
+
+    return ClassroomShuffleTiming.builder()
+        .classroomId(plan.classroomId())
+        .studentCount(plan.studentIds().length)
+        .computeMillis(TimeUnit.NANOSECONDS.toMillis(plan.computeNanos()))
+        .queuedMillis(TimeUnit.NANOSECONDS.toMillis(start - plan.plannedAt()))
+        .writeMillis(TimeUnit.NANOSECONDS.toMillis(end - start))
+        .rowsWritten(written)
+        .build();
+  }
+
+  private static ClassroomShuffleTiming failed(long classroomId, int studentCount,
+      Throwable error) {
+    Throwable cause = error instanceof CompletionException && error.getCause() != null
+        ? error.getCause() : error;
+    log.warn("クラスの席替えに失敗しました: クラス {}", classroomId, cause);
+    return ClassroomShuffleTiming.builder()
+        .classroomId(classroomId)
+        .studentCount(studentCount)
+        .error(String.valueOf(cause.getMessage()))
+        .build();
+  }
+
+  /**
+   * 1クラス分の計算結果
+   *
+   * @param studentIds   名簿インデックス → 生徒ID
+   * @param seatOf       名簿インデックス → 座席インデックス
+   * @param computeNanos 計算にかかった時間
+   * @param plannedAt    計算が終わった時刻（{@link System#nanoTime()}）
+   */
+  private record ClassroomPlan(long classroomId, long[] studentIds, int[] seatOf, int seatCount,
+      int columns, long computeNanos, long plannedAt) {
+
+  }
+
+  /**
+   * 実行中・実行済みのジョブの状態
+   */
+  private static final class Job {
+
+    private final long id;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final Queue<ClassroomShuffleTiming> timings = new ConcurrentLinkedQueue<>();
+    private volatile int total;
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+
+    private Job(long id) {
+      this.id = id;
+    }
+
+    private void record(ClassroomShuffleTiming timing) {
+      timings.add(timing);
+      rowsWritten.addAndGet(timing.getRowsWritten());
+      if (timing.getError() == null) {
+        completed.incrementAndGet();
+      } else {
+        failed.incrementAndGet();
+      }
+    }
+
+    private void finish(Status result) {
+      finishedNanos = System.nanoTime();
+      finishedAt = LocalDateTime.now();
+      status = result;
+    }
+
+    private long elapsedMillis() {
+      long end = status == Status.RUNNING ? System.nanoTime() : finishedNanos;
+      return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+
+    private SchoolShuffleProgress toProgress() {
+      return SchoolShuffleProgress.builder()
+          .jobId(id)
+          .status(status)
+          .totalClassrooms(total)
+          .completedClassrooms(completed.get())
+          .failedClassrooms(failed.get())
+          .rowsWritten(rowsWritten.get())
+          .startedAt(startedAt)
+          .finishedAt(finishedAt)
+          .elapsedMillis(elapsedMillis())
+          .classrooms(List.copyOf(timings))
+          .build();
+    }
+  }
+}
@@ -0,0 +1,226 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * 名簿インデックスだけを使って座席配置を計算するエンジンです。
+ * <p>
+ * 生徒は名簿（{@code List<Student>} など）上のインデックスで、性別は {@code byte} のコードで表します。
+ * 配置結果は「座席インデックス（行 × 列数 + 列）→ 名簿インデックス」の {@code int[]} に書き込まれ、空席は {@link #EMPTY} になります。
+ * <p>
+ * 作業用バッファはインスタンス内で使い回すため、配置ループ中にオブジェクトを生成しません。 その代わりスレッドセーフではないので、1つのインスタンスを同時に複数のスレッドから使わないでください。
+ */
+public final class SeatArrangementEngine {
+
+  /**
+   * 空席を表す値
+   */
+  public static final int EMPTY = -1;
+
+  public static final byte GENDER_MALE = 0;
+  public static final byte GENDER_FEMALE = 1;
+  public static final byte GENDER_OTHER = 2;
+
+  private final RandomGenerator random;
+
+  private int[] pool = new int[0];
+  private int[] males = new int[0];
+  private int[] females = new int[0];
+  private byte[] genderBuffer = new byte[0];
+  private int[] seatBuffer = new int[0];
+
+  private int maleCount;
+  private int maleDrawn;
+  private int femaleCount;
+  private int femaleDrawn;
+
+  public SeatArrangementEngine() {
+    this(new SplittableRandom());
+  }
+
+  public SeatArrangementEngine(RandomGenerator random) {
+    this.random = random;
+  }
+
+  /**
+   * 性別の文字列をエンジン用のコードに変換します
+   *
+   * @param gender 性別（"男子" / "女子"）
+   * @return 性別コード
+   */
+  public static byte genderCode(String gender) {
+    if ("男子".equals(gender)) {
+      return GENDER_MALE;
+    }
+    if ("女子".equals(gender)) {
+      return GENDER_FEMALE;
+    }
+    return GENDER_OTHER;
+  }
+
+  /**
+   * 性別コード用のバッファを取得します（長さは {@code studentCount} 以上。中身は呼び出し側で上書きしてください）
+   *
+   * @param studentCount 生徒数
+   * @return 使い回しの性別コード配列
+   */
+  public byte[] genderBuffer(int studentCount) {
+    if (genderBuffer.length < studentCount) {
+      genderBuffer = new byte[studentCount];
+    }
+    return genderBuffer;
+  }
+
+  /**
+   * 座席配置用のバッファを取得します（長さは {@code seatCount} 以上）
+   *
+   * @param seatCount 座席数
+   * @return 使い回しの座席配列
+   */
+  public int[] seatBuffer(int seatCount) {
+    if (seatBuffer.length < seatCount) {
+      seatBuffer = new int[seatCount];
+    }
+    return seatBuffer;
+  }
+
+  /**
+   * 通常のランダム配置を行います
+   * <p>
+   * 座席数分だけ部分的に Fisher-Yates シャッフルを行い、前の座席から順に詰めます。
+   *
+   * @param studentCount 生徒数
+   * @param seatCount    座席数
+   * @param seats        配置結果の書き込み先
+   */
+  public void arrangeNormally(int studentCount, int seatCount, int[] seats) {
+    int[] order = ensurePool(studentCount);
+    for (int i = 0; i < studentCount; i++) {
+      order[i] = i;
+    }
+
+    int placed = Math.min(studentCount, seatCount);
+    for (int i = 0; i < placed; i++) {
+      int j = i + random.nextInt(studentCount - i);
+      int tmp = order[i];
+      order[i] = order[j];
+      order[j] = tmp;
+      seats[i] = order[i];
+    }
+    for (int i = placed; i < seatCount; i++) {
+      seats[i] = EMPTY;
+    }
+  }
+
+  /**
+   * 男女を交互に配置します（チェスボードパターン）
+   * <p>
+   * 左上の座席を男子とし、足りない性別の席は残っている方の性別で埋めます。 男子・女子以外の生徒は配置しません。
+   *
+   * @param genders      名簿インデックスごとの性別コード
+   * @param studentCount 生徒数
+   * @param rows         行数
+   * @param columns      列数
+   * @param seats        配置結果の書き込み先
+   */
+  public void arrangeAlternating(byte[] genders, int studentCount, int rows, int columns,
+      int[] seats) {
+    splitByGender(genders, studentCount);
+
+    for (int r = 0; r < rows; r++) {
+      int base = r * columns;
+      for (int c = 0; c < columns; c++) {
+        seats[base + c] = drawPreferring(((r + c) & 1) == 0);
+      }
+    }
+  }
+
+  /**
+   * 列単位で男女を分けて配置します（偶数列：男子、奇数列：女子）
+   * <p>
+   * 足りない性別の席は残っている方の性別で埋めます。 男子・女子以外の生徒は配置しません。
+   *
+   * @param genders      名簿インデックスごとの性別コード
+   * @param studentCount 生徒数
+   * @param rows         行数
+   * @param columns      列数
+   * @param seats        配置結果の書き込み先
+   */
+  public void arrangeByColumns(byte[] genders, int studentCount, int rows, int columns,
+      int[] seats) {
+    splitByGender(genders, studentCount);
+
+    for (int c = 0; c < columns; c++) {
+      boolean maleColumn = (c & 1) == 0;
+      for (int r = 0; r < rows; r++) {
+        seats[r * columns + c] = drawPreferring(maleColumn);
+      }
+    }
+  }
+
+  /**
+   * 男子・女子のインデックスを作業バッファに振り分けます
+   */
+  private void splitByGender(byte[] genders, int studentCount) {
+    if (males.length < studentCount) {
+      males = new int[studentCount];
+      females = new int[studentCount];
+    }
+    maleCount = 0;
+    femaleCount = 0;
+    maleDrawn = 0;
+    femaleDrawn = 0;
+
+    for (int i = 0; i < studentCount; i++) {
+      byte gender = genders[i];
+      if (gender == GENDER_MALE) {
+        males[maleCount++] = i;
+      } else if (gender == GENDER_FEMALE) {
+        females[femaleCount++] = i;
+      }
+    }
+  }
+
+  /**
+   * 希望する性別から1人を無作為に取り出します。いなければもう一方の性別から取り出します
+   *
+   * @param male 男子を優先する場合true
+   * @return 名簿インデックス（両方いなければ {@link #EMPTY}）
+   */
+  private int drawPreferring(boolean male) {
+    if (male) {
+      if (maleDrawn < maleCount) {
+        return drawMale();
+      }
+      return femaleDrawn < femaleCount ? drawFemale() : EMPTY;
+    }
+    if (femaleDrawn < femaleCount) {
+      return drawFemale();
+    }
+    return maleDrawn < maleCount ? drawMale() : EMPTY;
+  }
+
+  private int drawMale() {
+    int j = maleDrawn + random.nextInt(maleCount - maleDrawn);
+    int picked = males[j];
+    males[j] = males[maleDrawn];
+    males[maleDrawn++] = picked;
+    return picked;
+  }
+
+  private int drawFemale() {
+    int j = femaleDrawn + random.nextInt(femaleCount - femaleDrawn);
+    int picked = females[j];
+    females[j] = females[femaleDrawn];
+    females[femaleDrawn++] = picked;
+    return picked;
+  }
+
+  private int[] ensurePool(int size) {
+    if (pool.length < size) {
+      pool = new int[size];
+    }
+    return pool;
+  }
+}
@@ -0,0 +1,39 @@
+package sekigae.sekigae.seatingapp.service;
+
+/**
+ * 席替えの配置方法
+ */
+public enum SeatArrangementMode {
+
+  /**
+   * 通常のランダム配置
+   */
+  NORMAL,
+
+  /**
+   * 男女を交互に配置（チェスボードパターン）
+   */
+  ALTERNATE_GENDERS,
+
+  /**
+   * 列単位で男女を分けて配置
+   */
+  ALTERNATE_COLUMNS;
+
+  /**
+   * 画面のチェックボックスの値から配置方法を決定します（列単位を優先）
+   *
+   * @param alternateGenders 男女を交互に配置するかどうか
+   * @param alternateColumns 列単位で男女を分けるかどうか
+   * @return 配置方法
+   */
+  public static SeatArrangementMode of(boolean alternateGenders, boolean alternateColumns) {
+    if (alternateColumns) {
+      return ALTERNATE_COLUMNS;
+    }
+    if (alternateGenders) {
+      return ALTERNATE_GENDERS;
+    }
+    return NORMAL;
+  }
+}
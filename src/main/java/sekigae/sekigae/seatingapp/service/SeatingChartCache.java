@@ -0,0 +1,182 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sekigae.sekigae.seatingapp.dto.SeatingChartState;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+
+/**
+ * クラスごとの名簿と座席配置をメモリ上に保持し、画面表示のたびにデータベースを読まないようにするキャッシュです。
+ * <p>
+ * 座席表・ホーム画面・座席設定画面は {@link #current(long)} の値だけを参照します。
+ * 名簿や座席を書き換える処理は {@link #markChanged(long)} を呼び、トランザクションのコミット後に
+ * そのクラスの名簿だけをデータベースから1回読み直した新しい値へ丸ごと差し替えます（ロールバックした場合は差し替えません）。
+ * 読み直しが前後しても、後からコミットした変更を反映した値が残るようバージョンで比較します。
+ * 初回の読み込みはクラスごとにロックするので、あるクラスの読み込みが他のクラスの表示を待たせることはありません。
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatingChartCache {
+
+  private final StudentRepository studentRepository;
+  private final PlatformTransactionManager transactionManager;
+  private final SeatingChartVersion chartVersion;
+
+  private final ConcurrentMap<Long, ClassroomChart> charts = new ConcurrentHashMap<>();
+
+  /**
+   * クラスの現在の名簿と座席配置を取得します（初回だけデータベースから読み込みます）
+   *
+   * @param classroomId クラスID
+   * @return 現在の名簿と座席配置
+   */
+  public SeatingChartState current(long classroomId) {
+    ClassroomChart chart = chartOf(classroomId);
+    SeatingChartState current = chart.state.get();
+    if (current != null) {
+      return current;
+    }
+    // 読み込み中はデータベースを待つので、仮想スレッドがキャリアスレッドを占有しない ReentrantLock を使う
+    chart.loading.lock();
+    try {
+      if (chart.state.get() == null) {
+        reload(classroomId, chart, chart.committedVersion.get());
+      }
+      return chart.state.get();
+    } finally {
+      chart.loading.unlock();
+    }
+  }
+
+  /**
+   * クラスの全生徒を取得します（変更できないリスト）
+   *
+   * @param classroomId クラスID
+   * @return クラスの全生徒
+   */
+  public List<Student> getStudents(long classroomId) {
+    return current(classroomId).getStudents();
+  }
+
+  /**
+   * 名簿を読み込み済みのクラスのIDを取得します
+   *
+   * @return クラスID
+   */
+  public Set<Long> getLoadedClassroomIds() {
+    Set<Long> loaded = new LinkedHashSet<>();
+    charts.forEach((classroomId, chart) -> {
+      if (chart.state.get() != null) {
+        loaded.add(classroomId);
+      }
+    });
+    return loaded;
+  }
+
+  /**
+   * クラスの名簿または座席を変更したことを通知します
+   * <p>
+   * トランザクション中であればコミット後にクラスごとに1回だけ読み直し、トランザクション外であればすぐに読み直します。
+   *
+   * @param classroomId クラスID
+   */
+  @SuppressWarnings("unchecked")
+  public void markChanged(long classroomId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      refresh(classroomId);
+      return;
+    }
+    // 1つのトランザクションで何度呼ばれても読み直しはクラスごとに1回にする
+    Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      Set<Long> classroomIds = new LinkedHashSet<>();
+      TransactionSynchronizationManager.bindResource(this, classroomIds);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          classroomIds.forEach(SeatingChartCache.this::refresh);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(SeatingChartCache.this);
+        }
+      });
+      pending = classroomIds;
+    }
+    pending.add(classroomId);
+  }
+
+  private void refresh(long classroomId) {
+    ClassroomChart chart = chartOf(classroomId);
+    reload(classroomId, chart, chart.committedVersion.incrementAndGet());
+    // 新しい値に差し替えてから ETag を進める
+    chartVersion.markChanged(classroomId);
+  }
+
+  private void reload(long classroomId, ClassroomChart chart, long version) {
+    SeatingChartState loaded = new SeatingChartState(version, readStudents(classroomId));
+    chart.state.accumulateAndGet(loaded, (current, next) ->
+        current == null || next.getVersion() >= current.getVersion() ? next : current);
+  }
+
+  private ClassroomChart chartOf(long classroomId) {
+    ClassroomChart chart = charts.get(classroomId);
+    if (chart != null) {
+      return chart;
+    }
+    return charts.computeIfAbsent(classroomId, id -> new ClassroomChart());
+  }
+
+  /**
+   * 新しいトランザクションでクラスの全生徒を読み込み、データベースから切り離したコピーを返します
+   * <p>
+   * コミット直後に呼ばれた場合も、終了したトランザクションの永続化コンテキストを使わないよう REQUIRES_NEW にします。
+   */
+  private List<Student> readStudents(long classroomId) {
+    TransactionTemplate template = new TransactionTemplate(transactionManager);
+    template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    template.setReadOnly(true);
+    List<Student> students = template.execute(status -> {
+      List<Student> copies = new ArrayList<>();
+      for (Student student : studentRepository.findByClassroomId(classroomId)) {
+        copies.add(Student.builder()
+            .id(student.getId())
+            .classroomId(student.getClassroomId())
+            .name(student.getName())
+            .gender(student.getGender())
+            .studentCode(student.getStudentCode())
+            .seatRow(student.getSeatRow())
+            .seatColumn(student.getSeatColumn())
+            .build());
+      }
+      return copies;
+    });
+    return students == null ? List.of() : students;
+  }
+
+  /**
+   * 1つのクラスの名簿（初回の読み込みは {@code loading} でロックします）
+   */
+  private static final class ClassroomChart {
+
+    private final ReentrantLock loading = new ReentrantLock();
+    private final AtomicReference<SeatingChartState> state = new AtomicReference<>();
+    private final AtomicLong committedVersion = new AtomicLong();
+  }
+}
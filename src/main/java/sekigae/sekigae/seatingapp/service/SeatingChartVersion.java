@@ -0,0 +1,132 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+/**
+ * クラスごとの座席表画面と生徒一覧APIの内容のバージョンです（条件付きGETの ETag / Last-Modified に使います）。
+ * <p>
+ * クラスの名簿・座席・座席表設定・保存データ一覧のいずれかが変わるたびに、そのクラスの番号だけを1つ進めます。
+ * ETag には起動時刻とクラスIDも含めるため、再起動で番号が0に戻った場合や、同じURLで別のクラスを表示した場合に
+ * 以前の ETag と一致することはありません。
+ * 同じ内容を JSON / CBOR / Smile のどれでも返すため、バイト列の一致を表す強い ETag ではなく弱い ETag（{@code W/}）にします。
+ */
+@Component
+public class SeatingChartVersion {
+
+  private final long bootTime = System.currentTimeMillis();
+  private final ConcurrentMap<Long, ClassroomVersion> versions = new ConcurrentHashMap<>();
+
+  /**
+   * クラスの内容が変わったことを記録します（コミット後に呼び出してください）
+   *
+   * @param classroomId クラスID
+   */
+  public void markChanged(long classroomId) {
+    versionOf(classroomId).markChanged();
+  }
+
+  /**
+   * トランザクションのコミット後にクラスの内容が変わったことを記録します（トランザクション外であればすぐに記録します）
+   *
+   * @param classroomId クラスID
+   */
+  public void markChangedAfterCommit(long classroomId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      markChanged(classroomId);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        markChanged(classroomId);
+      }
+    });
+  }
+
+  /**
+   * クラスの現在の ETag を取得します
+   *
+   * @param classroomId クラスID
+   * @return 弱い ETag（{@code W/} とダブルクォート付き）
+   */
+  public String getETag(long classroomId) {
+    return "W/\"" + Long.toHexString(bootTime) + "-" + classroomId + "-"
+        + versionOf(classroomId).version.get() + "\"";
+  }
+
+  /**
+   * クラスの内容が最後に変わった日時を取得します
+   *
+   * @param classroomId クラスID
+   * @return エポックミリ秒（変更がない場合は起動時刻）
+   */
+  public long getLastModified(long classroomId) {
+    return versionOf(classroomId).lastModified;
+  }
+
+  /**
+   * リクエストの If-None-Match / If-Modified-Since をクラスの現在のバージョンと比較します
+   * <p>
+   * 一致した場合はレスポンスを 304 に設定して true を返すので、呼び出し側はデータの取得も画面の描画もせずに null を返してください。
+   * 一致しない場合は ETag と Last-Modified をレスポンスに設定し、毎回再検証させるため Cache-Control: no-cache を、
+   * 応答の形式（JSON / CBOR / Smile）ごとにキャッシュさせるため Vary: Accept を付けます。
+   * リダイレクト直後でフラッシュメッセージを表示する場合は、キャッシュした画面で置き換えられないよう比較しません。
+   *
+   * @param classroomId クラスID
+   * @param request     リクエスト
+   * @return 304 を返す場合は true
+   */
+  public boolean checkNotModified(long classroomId, WebRequest request) {
+    if (request instanceof ServletWebRequest servletRequest) {
+      Map<String, ?> flash = RequestContextUtils.getInputFlashMap(servletRequest.getRequest());
+      if (flash != null && !flash.isEmpty()) {
+        return false;
+      }
+      if (servletRequest.getResponse() != null) {
+        servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+            CacheControl.noCache().getHeaderValue());
+        // 同じURLでも Accept によって JSON / CBOR / Smile を返すので、キャッシュは Accept ごとに分ける
+        servletRequest.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+      }
+    }
+    // 番号を読んでからデータを取得するので、古い ETag で新しい内容を返すことはあっても逆にはならない
+    return request.checkNotModified(getETag(classroomId), getLastModified(classroomId));
+  }
+
+  private ClassroomVersion versionOf(long classroomId) {
+    ClassroomVersion version = versions.get(classroomId);
+    if (version != null) {
+      return version;
+    }
+    return versions.computeIfAbsent(classroomId, id -> new ClassroomVersion(bootTime));
+  }
+
+  /**
+   * 1つのクラスのバージョン
+   */
+  private static final class ClassroomVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModified;
+
+    private ClassroomVersion(long lastModified) {
+      this.lastModified = lastModified;
+    }
+
+    private void markChanged() {
+      lastModified = System.currentTimeMillis();
+      version.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sekigae.sekigae.seatingapp.dto.SeatingLayout;
+import sekigae.sekigae.seatingapp.entity.SeatingConfiguration;
+import sekigae.sekigae.seatingapp.repository.SeatingConfigurationRepository;
+
+/**
+ * クラスごとの座席表設定（行数・列数・標準の並べ方）を管理するサービスです。
+ * <p>
+ * 設定は画面表示のたびに参照されるため、クラスIDごとにメモリ上へキャッシュし、2回目以降はデータベースにアクセスしません。
+ * 保存時はトランザクションのコミット後にキャッシュを新しい値へ差し替えます（ロールバックした場合は元の値のまま）。
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatingConfigurationService {
+
+  private final SeatingConfigurationRepository configurationRepository;
+  private final SeatingChartVersion chartVersion;
+
+  private final ConcurrentMap<Long, SeatingLayout> cache = new ConcurrentHashMap<>();
+
+  /**
+   * クラスの座席表設定を取得します
+   *
+   * @param classroomId クラスID
+   * @return 座席表設定（保存されていない場合は {@link SeatingLayout#DEFAULT}）
+   */
+  public SeatingLayout getConfiguration(long classroomId) {
+    SeatingLayout cached = cache.get(classroomId);
+    if (cached != null) {
+      return cached;
+    }
+    // computeIfAbsent はマップのロックを持ったまま読み込むので（仮想スレッドはキャリアスレッドを占有する）、
+    // ロックの外で読み込んでから入れる。 先に保存・読み込みした値があればそちらを使う
+    SeatingLayout loaded = load(classroomId);
+    SeatingLayout raced = cache.putIfAbsent(classroomId, loaded);
+    return raced != null ? raced : loaded;
+  }
+
+  /**
+   * クラスの座席表設定を保存します
+   *
+   * @param classroomId     クラスID
+   * @param rows            行数
+   * @param columns         列数
+   * @param arrangementMode 標準の並べ方（nullの場合は現在の設定のまま）
+   * @return 保存した座席表設定
+   */
+  @Transactional
+  public SeatingLayout saveConfiguration(long classroomId, int rows, int columns,
+      SeatArrangementMode arrangementMode) {
+    if (rows < 1 || columns < 1) {
+      throw new IllegalArgumentException("行数・列数は1以上である必要があります。");
+    }
+
+    SeatingConfiguration configuration = configurationRepository.findByClassroomId(classroomId)
+        .orElseGet(() -> SeatingConfiguration.builder()
+            .classroomId(classroomId)
+            .layout(SeatArrangementMode.NORMAL)
+            .build());
+    configuration.setRows(rows);
+    configuration.setColumns(columns);
+    if (arrangementMode != null) {
+      configuration.setLayout(arrangementMode);
+    }
+
+    // バージョンを確定させるため、ここでフラッシュする
+    SeatingLayout saved = SeatingLayout.of(configurationRepository.saveAndFlush(configuration));
+    afterCommit(() -> {
+      cache.merge(classroomId, saved, SeatingConfigurationService::newer);
+      chartVersion.markChanged(classroomId);
+    });
+    return saved;
+  }
+
+  private SeatingLayout load(long classroomId) {
+    return configurationRepository.findByClassroomId(classroomId)
+        .map(SeatingLayout::of)
+        .orElse(SeatingLayout.DEFAULT);
+  }
+
+  /**
+   * コミットの順序が前後しても古い設定で上書きしないよう、バージョンの新しい方を残します
+   */
+  private static SeatingLayout newer(SeatingLayout current, SeatingLayout saved) {
+    return saved.getVersion() >= current.getVersion() ? saved : current;
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -0,0 +1,129 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sekigae.sekigae.seatingapp.dto.StudentRow;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotDetail;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotRepository;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+
+/**
+ * 名簿・座席表・保存した座席表を CSV / JSON で書き出すサービスです。
+ * <p>
+ * 名簿と座席表は {@link StudentRepository} の {@code Stream} から1行ずつ読み、読んだ行をすぐに出力先へ書き出すので、
+ * 全クラスの名簿でも行数に比例してメモリが増えることはありません（行はエンティティとして管理されない射影で読みます）。
+ * 保存した座席表は1クラス分（最大で座席数の行）なので、配置データを展開してから書き出します。
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatingExportService {
+
+  /**
+   * 名簿・座席表の列（一括登録の CSV と同じ列名なので、書き出した CSV をそのまま登録に使えます）
+   */
+  static final String[] STUDENT_COLUMNS = {"id", "classroomId", "name", "gender", "studentCode",
+      "seatRow", "seatColumn"};
+
+  /**
+   * 保存した座席表の列
+   */
+  static final String[] SNAPSHOT_COLUMNS = {"seatRow", "seatColumn", "studentId", "studentName",
+      "studentGender", "studentCode"};
+
+  private final StudentRepository studentRepository;
+  private final SeatingSnapshotRepository snapshotRepository;
+  private final SeatingSnapshotService snapshotService;
+
+  /**
+   * クラスの名簿をID順に書き出します
+   *
+   * @param classroomId クラスID
+   * @param format      形式
+   * @param out         出力先（このメソッドでは閉じません）
+   * @throws IOException 書き出せなかった場合
+   */
+  @Transactional(readOnly = true)
+  public void exportRoster(long classroomId, ExportFormat format, OutputStream out)
+      throws IOException {
+    try (Stream<StudentRow> rows = studentRepository.streamRoster(classroomId)) {
+      writeStudents(rows, format, out);
+    }
+  }
+
+  /**
+   * 全クラスの名簿をクラスID・ID順に書き出します
+   *
+   * @param format 形式
+   * @param out    出力先（このメソッドでは閉じません）
+   * @throws IOException 書き出せなかった場合
+   */
+  @Transactional(readOnly = true)
+  public void exportSchoolRoster(ExportFormat format, OutputStream out) throws IOException {
+    try (Stream<StudentRow> rows = studentRepository.streamSchoolRoster()) {
+      writeStudents(rows, format, out);
+    }
+  }
+
+  /**
+   * クラスの現在の座席表（座席のある生徒）を座席順に書き出します
+   *
+   * @param classroomId クラスID
+   * @param format      形式
+   * @param out         出力先（このメソッドでは閉じません）
+   * @throws IOException 書き出せなかった場合
+   */
+  @Transactional(readOnly = true)
+  public void exportSeatingChart(long classroomId, ExportFormat format, OutputStream out)
+      throws IOException {
+    try (Stream<StudentRow> rows = studentRepository.streamSeatingChart(classroomId)) {
+      writeStudents(rows, format, out);
+    }
+  }
+
+  /**
+   * クラスの保存した座席表かどうか（書き出しを始める前に確認し、見つからなければ 404 を返すため）
+   *
+   * @param classroomId クラスID
+   * @param snapshotId  スナップショットID
+   * @return クラスの保存した座席表であれば true
+   */
+  public boolean hasSnapshot(long classroomId, long snapshotId) {
+    return snapshotRepository.existsByIdAndClassroomId(snapshotId, classroomId);
+  }
+
+  /**
+   * 保存した座席表を書き出します（クラスの確認は {@link #hasSnapshot} で行ってください）
+   *
+   * @param snapshotId スナップショットID
+   * @param format     形式
+   * @param out        出力先（このメソッドでは閉じません）
+   * @throws IOException 書き出せなかった場合
+   */
+  @Transactional(readOnly = true)
+  public void exportSnapshot(long snapshotId, ExportFormat format, OutputStream out)
+      throws IOException {
+    try (ExportWriter writer = ExportWriter.open(format, out, SNAPSHOT_COLUMNS)) {
+      for (SeatingSnapshotDetail detail : snapshotService.getSnapshotDetails(snapshotId)) {
+        writer.row(detail.getSeatRow(), detail.getSeatColumn(), detail.getStudentId(),
+            detail.getStudentName(), detail.getStudentGender(), detail.getStudentCode());
+      }
+    }
+  }
+
+  private static void writeStudents(Stream<StudentRow> rows, ExportFormat format,
+      OutputStream out) throws IOException {
+    try (ExportWriter writer = ExportWriter.open(format, out, STUDENT_COLUMNS)) {
+      Iterator<StudentRow> iterator = rows.iterator();
+      while (iterator.hasNext()) {
+        StudentRow row = iterator.next();
+        writer.row(row.getId(), row.getClassroomId(), row.getName(), row.getGender(),
+            row.getStudentCode(), row.getSeatRow(), row.getSeatColumn());
+      }
+    }
+  }
+}
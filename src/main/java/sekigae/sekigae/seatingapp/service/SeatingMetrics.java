@@ -0,0 +1,137 @@
+package sekigae.sekigae.seatingapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 席替え・保存・復元・座席表表示の処理時間と件数を Micrometer に記録します（/actuator/metrics で確認できます）。
+ * <p>
+ * 処理時間は p50 / p95 / p99 とヒストグラムを出力します。 ヒストグラムはタグの組み合わせごとに数十の系列になるので、
+ * 処理時間にはクラスIDのタグを付けず、クラスIDのタグは件数（カウンター）だけに付けます。
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatingMetrics {
+
+  public static final String SHUFFLE = "seating.shuffle";
+  public static final String SNAPSHOT_SAVE = "seating.snapshot.save";
+  public static final String SNAPSHOT_RESTORE = "seating.snapshot.restore";
+  public static final String CHART_RENDER = "seating.chart.render";
+  public static final String ROWS_WRITTEN = "seating.rows.written";
+  public static final String SNAPSHOTS_CREATED = "seating.snapshots.created";
+  public static final String RESTORE_MISSES = "seating.snapshot.restore.misses";
+
+  private static final String TAG_CLASSROOM = "classroom";
+
+  private final MeterRegistry registry;
+
+  /**
+   * 処理時間の計測を開始します
+   *
+   * @return 計測中のサンプル
+   */
+  public Timer.Sample start() {
+    return Timer.start(registry);
+  }
+
+  /**
+   * 席替えの処理時間を記録します
+   *
+   * @param sample {@link #start()} で開始したサンプル
+   * @param mode   配置方法
+   */
+  public void recordShuffle(Timer.Sample sample, SeatArrangementMode mode) {
+    stop(sample, timer(SHUFFLE, "席替えの処理時間", "mode", mode.name()));
+  }
+
+  /**
+   * 座席配置の保存の処理時間を記録します
+   *
+   * @param sample      {@link #start()} で開始したサンプル
+   * @param classroomId クラスID
+   */
+  public void recordSnapshotSave(Timer.Sample sample, long classroomId) {
+    stop(sample, timer(SNAPSHOT_SAVE, "座席配置の保存の処理時間"));
+    counter(SNAPSHOTS_CREATED, "保存した座席配置の数", classroomId).increment();
+  }
+
+  /**
+   * 座席配置の復元の処理時間を記録します
+   *
+   * @param sample {@link #start()} で開始したサンプル
+   */
+  public void recordSnapshotRestore(Timer.Sample sample) {
+    stop(sample, timer(SNAPSHOT_RESTORE, "座席配置の復元の処理時間"));
+  }
+
+  /**
+   * 座席表画面の処理時間（データ取得と描画）を記録します
+   *
+   * @param sample {@link #start()} で開始したサンプル
+   * @param status HTTPステータス（304 は描画なし）
+   */
+  public void recordChartRender(Timer.Sample sample, int status) {
+    stop(sample, timer(CHART_RENDER, "座席表画面の処理時間", "status", String.valueOf(status)));
+  }
+
+  /**
+   * 座席の書き込み件数を加算します
+   *
+   * @param operation   処理の種類（shuffle / optimize / repair / restore）
+   * @param classroomId クラスID
+   * @param rows        書き込んだ生徒の行数
+   */
+  public void countRowsWritten(String operation, long classroomId, int rows) {
+    if (rows > 0) {
+      Counter.builder(ROWS_WRITTEN)
+          .description("座席を書き込んだ生徒の行数")
+          .tag(TAG_CLASSROOM, String.valueOf(classroomId))
+          .tag("operation", operation)
+          .register(registry)
+          .increment(rows);
+    }
+  }
+
+  /**
+   * 復元できなかった件数を加算します
+   *
+   * @param reason      理由（snapshot_not_found / student_deleted）
+   * @param classroomId クラスID
+   * @param count       件数
+   */
+  public void countRestoreMisses(String reason, long classroomId, int count) {
+    if (count > 0) {
+      Counter.builder(RESTORE_MISSES)
+          .description("復元できなかったスナップショット・生徒の数")
+          .tag(TAG_CLASSROOM, String.valueOf(classroomId))
+          .tag("reason", reason)
+          .register(registry)
+          .increment(count);
+    }
+  }
+
+  private Timer timer(String name, String description, String... tags) {
+    return Timer.builder(name)
+        .description(description)
+        .tags(tags)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private Counter counter(String name, String description, long classroomId) {
+    return Counter.builder(name)
+        .description(description)
+        .tag(TAG_CLASSROOM, String.valueOf(classroomId))
+        .register(registry);
+  }
+
+  private static void stop(Timer.Sample sample, Timer timer) {
+    if (sample != null) {
+      sample.stop(timer);
+    }
+  }
+}
@@ -1,9 +1,24 @@
 package sekigae.sekigae.seatingapp.service;
 
-import java.util.Collections;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import sekigae.sekigae.seatingapp.dto.ColumnarSeatingChart;
+import sekigae.sekigae.seatingapp.dto.SeatingConstraints;
+import sekigae.sekigae.seatingapp.dto.SeatingOptimizationResult;
+import sekigae.sekigae.seatingapp.dto.SeatingRepairResult;
+import sekigae.sekigae.seatingapp.dto.SeatingStatistics;
+import sekigae.sekigae.seatingapp.entity.NeighbourHistory;
 import sekigae.sekigae.seatingapp.entity.Student;
 import sekigae.sekigae.seatingapp.repository.StudentRepository;
 
@@ -11,22 +26,56 @@ import sekigae.sekigae.seatingapp.repository.StudentRepository;
 @RequiredArgsConstructor
 public class SeatingService {
 
+  /**
+   * 使い回す配置エンジンの数の上限（同時に配置を計算するスレッドの数の目安）
+   */
+  private static final int ENGINE_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+  // 条件付き席替えの任意条件のペナルティ（必須条件は ConstrainedSeatingOptimizer.HARD_WEIGHT）
+  private static final int SEPARATED_PAIR_WEIGHT = 20;
+  private static final int FRONT_ROW_WEIGHT = 10;
+  private static final int PREVIOUS_NEIGHBOUR_WEIGHT = 1;
+  private static final int REPEAT_NEIGHBOUR_WEIGHT = 1;
+
+  // 最小限の移動で席を整える際のコスト
+  private static final long RELOCATE_PENALTY = 1_000_000;
+  private static final long UNSEATED_COST_NEW = 10_000;
+  private static final long UNSEATED_COST_SEATED = 20_000;
+
+  private static final long MIN_OPTIMIZATION_MILLIS = 10;
+  private static final long MAX_OPTIMIZATION_MILLIS = 10_000;
+
   private final StudentService studentService;
   private final StudentRepository studentRepository;
+  private final NeighbourHistoryService neighbourHistoryService;
+  private final SeatingConfigurationService configurationService;
+  private final SeatingChartCache chartCache;
+  private final SeatingMetrics metrics;
+  private final ClassroomWriteQueue writeQueue;
+  private final ConstrainedSeatingOptimizer optimizer;
 
+  /**
+   * 配置エンジンは作業バッファを持つため、使い終わったものをここに戻して使い回す
+   * <p>
+   * スレッドごとに持つと、仮想スレッドではリクエストごとに作り直すことになるため、スレッドには結び付けない。
+   * 空の場合は新しく作り、戻すときに満杯の場合は捨てるので、エンジンを待つことはない。
+   */
+  private final BlockingQueue<SeatArrangementEngine> engines =
+      new ArrayBlockingQueue<>(ENGINE_POOL_SIZE);
 
   /**
    * 座席表を2次元配列で取得する
    *
-   * @param rows    行数
-   * @param columns 列数
+   * @param classroomId クラスID
+   * @param rows        行数
+   * @param columns     列数
    * @return 座席表（生徒名が入った2次元配列）
    */
-  public String[][] getSeatingChart(int rows, int columns) {
+  public String[][] getSeatingChart(long classroomId, int rows, int columns) {
     String[][] chart = new String[rows][columns];
 
-    // 全生徒を取得
-    List<Student> students = studentService.getAllStudents();
+    // クラスの全生徒を取得
+    List<Student> students = studentService.getAllStudents(classroomId);
 
     // 各座席に生徒を配置
     for (Student student : students) {
@@ -45,70 +94,86 @@ public class SeatingService {
   }
 
   /**
-   * 現在の座席表の行数を取得します
+   * 現在の座席表の行数を取得します（キャッシュから取得するためデータベースにはアクセスしません）
    *
+   * @param classroomId クラスID
    * @return 現在設定されている行数（デフォルト: 6）
    */
-  public int getCurrentRows() {
-    // データベースまたは設定から現在の行数を取得
-    // 実装方法例：
-    // 1. データベースに設定テーブルを作成して保存
-    // 2. application.propertiesから読み込み
-    // 3. セッションやキャッシュに保存
-
-    // とりあえずデフォルト値を返す
-    return 6;
+  public int getCurrentRows(long classroomId) {
+    return configurationService.getConfiguration(classroomId).getRows();
   }
 
   /**
-   * 現在の座席表の列数を取得します
+   * 現在の座席表の列数を取得します（キャッシュから取得するためデータベースにはアクセスしません）
    *
+   * @param classroomId クラスID
    * @return 現在設定されている列数（デフォルト: 5）
    */
-  public int getCurrentColumns() {
-    // データベースまたは設定から現在の列数を取得
-    // getCurrentRows()と同様の実装
+  public int getCurrentColumns(long classroomId) {
+    return configurationService.getConfiguration(classroomId).getColumns();
+  }
 
-    // とりあえずデフォルト値を返す
-    return 5;
+  /**
+   * 現在の標準の並べ方を取得します
+   *
+   * @param classroomId クラスID
+   * @return 現在設定されている並べ方（デフォルト: 通常配置）
+   */
+  public SeatArrangementMode getCurrentArrangementMode(long classroomId) {
+    return configurationService.getConfiguration(classroomId).getArrangementMode();
+  }
+
+  /**
+   * 座席表設定を保存します（標準の並べ方は変更しません）
+   *
+   * @param classroomId クラスID
+   * @param rows        行数
+   * @param columns     列数
+   */
+  public void saveSeatingConfiguration(long classroomId, int rows, int columns) {
+    saveSeatingConfiguration(classroomId, rows, columns, null);
   }
 
   /**
    * 座席表設定を保存します
    *
-   * @param rows    行数
-   * @param columns 列数
+   * @param classroomId     クラスID
+   * @param rows            行数
+   * @param columns         列数
+   * @param arrangementMode 標準の並べ方（nullの場合は変更しない）
    */
-  public void saveSeatingConfiguration(int rows, int columns) {
-    // データベースやキャッシュに現在の設定を保存
-    // 例：設定テーブルに保存、またはアプリケーション変数に保存
+  public void saveSeatingConfiguration(long classroomId, int rows, int columns,
+      SeatArrangementMode arrangementMode) {
+    configurationService.saveConfiguration(classroomId, rows, columns, arrangementMode);
   }
 
   /**
    * 座席表を再生成（シャッフル）
    *
-   * @param rows    行数
-   * @param columns 列数
+   * @param classroomId クラスID
+   * @param rows        行数
+   * @param columns     列数
    */
-  public void regenerateSeatingChart(int rows, int columns) {
+  public void regenerateSeatingChart(long classroomId, int rows, int columns) {
     // 現在の学生リストを取得
     // 座席をランダムに再配置
     // 新しい配置を保存
 
     // 設定も更新
-    saveSeatingConfiguration(rows, columns);
+    saveSeatingConfiguration(classroomId, rows, columns);
   }
 
   /**
    * 現在の座席配置を取得する（シャッフルしない） データベースに保存されている座席位置情報を元に座席表を作成します
    *
-   * @param rows    現在の座席の行数
-   * @param columns 現在の座席の列数
+   * @param classroomId クラスID
+   * @param rows        現在の座席の行数
+   * @param columns     現在の座席の列数
    * @return 現在の座席配置（２次元配列として受け取ります。）
    */
-  public Student[][] getSeatingChartWithGender(int rows, int columns) {
-    // 全生徒を取得
-    List<Student> allStudents = studentService.getAllStudents();
+  public Student[][] getSeatingChartWithGender(long classroomId, int rows, int columns) {
+    // クラスの全生徒を取得
+    List<Student> allStudents = studentService.getAllStudents(classroomId);
 
     Student[][] chart = new Student[rows][columns];
 
@@ -128,197 +193,530 @@ public class SeatingService {
     return chart;
   }
 
+  /**
+   * 現在の座席配置を列指向で取得する（シャッフルしない）
+   * <p>
+   * {@link #getSeatingChartWithGender} と同じ配置を、座席順の生徒IDの配列と座席にいる生徒の辞書で返します。
+   * 座席表の範囲外の座席の生徒は含めません。
+   *
+   * @param classroomId クラスID
+   * @param rows        現在の座席の行数
+   * @param columns     現在の座席の列数
+   * @return 列指向の座席表
+   */
+  public ColumnarSeatingChart getColumnarSeatingChart(long classroomId, int rows, int columns) {
+    Student[] bySeat = new Student[rows * columns];
+    for (Student student : studentService.getAllStudents(classroomId)) {
+      if (student.getSeatRow() != null && student.getSeatColumn() != null) {
+        int row = student.getSeatRow() - 1; // 1始まりを0始まりに変換
+        int col = student.getSeatColumn() - 1;
+        if (row >= 0 && row < rows && col >= 0 && col < columns) {
+          bySeat[row * columns + col] = student;
+        }
+      }
+    }
+
+    long[] seats = new long[bySeat.length];
+    List<ColumnarSeatingChart.Entry> entries = new ArrayList<>();
+    for (int seat = 0; seat < bySeat.length; seat++) {
+      Student student = bySeat[seat];
+      if (student != null) {
+        seats[seat] = student.getId();
+        entries.add(new ColumnarSeatingChart.Entry(student.getId(), student.getName(),
+            student.getGender()));
+      }
+    }
+
+    return ColumnarSeatingChart.builder()
+        .rows(rows)
+        .columns(columns)
+        .seats(seats)
+        .students(entries)
+        .build();
+  }
+
   /**
    * 座席をシャッフルして新しい配置を作成し、データベースに保存します
    *
-   * @param rows    座席の行数
-   * @param columns 座席の列数
+   * @param classroomId クラスID
+   * @param rows        座席の行数
+   * @param columns     座席の列数
    * @return シャッフルされた座席配置
    */
-  public Student[][] shuffleSeatingChart(int rows, int columns) {
-    return shuffleSeatingChart(rows, columns, false);
+  public Student[][] shuffleSeatingChart(long classroomId, int rows, int columns) {
+    return shuffleSeatingChart(classroomId, rows, columns, false);
   }
 
   /**
    * 座席をシャッフルして新しい配置を作成し、データベースに保存します
    *
+   * @param classroomId      クラスID
    * @param rows             座席の行数
    * @param columns          座席の列数
    * @param alternateGenders 男女を交互に配置するかどうか
    * @return シャッフルされた座席配置
    */
-  public Student[][] shuffleSeatingChart(int rows, int columns, boolean alternateGenders) {
-    return shuffleSeatingChart(rows, columns, alternateGenders, false);
+  public Student[][] shuffleSeatingChart(long classroomId, int rows, int columns,
+      boolean alternateGenders) {
+    return shuffleSeatingChart(classroomId, rows, columns, alternateGenders, false);
   }
 
   /**
    * 座席をシャッフルして新しい配置を作成し、データベースに保存します
    *
+   * @param classroomId      クラスID
    * @param rows             座席の行数
    * @param columns          座席の列数
    * @param alternateGenders 男女を交互に配置するかどうか
    * @param alternateColumns 列単位で男女を分けるかどうか
    * @return シャッフルされた座席配置
    */
-  public Student[][] shuffleSeatingChart(int rows, int columns, boolean alternateGenders,
-      boolean alternateColumns) {
-    // すべての学生を取得
-    List<Student> allStudents = studentRepository.findAll();
-
-    // 座席表（2次元配列）を初期化
-    Student[][] chart;
-
-    if (alternateColumns) {
-      // 列単位で男女交互配置の場合
-      chart = arrangeStudentsByColumns(allStudents, rows, columns);
-    } else if (alternateGenders) {
-      // チェスボード式男女交互配置の場合
-      chart = arrangeStudentsAlternating(allStudents, rows, columns);
-    } else {
-      // 通常のランダム配置
-      Collections.shuffle(allStudents);
-      chart = arrangeStudentsNormally(allStudents, rows, columns);
+  public Student[][] shuffleSeatingChart(long classroomId, int rows, int columns,
+      boolean alternateGenders, boolean alternateColumns) {
+    return shuffleSeatingChart(classroomId, rows, columns,
+        SeatArrangementMode.of(alternateGenders, alternateColumns));
+  }
+
+  /**
+   * 座席をシャッフルして新しい配置を作成し、データベースに保存します
+   * <p>
+   * 配置の計算は {@link SeatArrangementEngine} が名簿インデックスだけで行い、 Studentオブジェクトの座席表は最後に1度だけ組み立てます。
+   * データベースには座席が変わった生徒だけを書き込みます。
+   * 同じクラスの座席の書き込みは {@link ClassroomWriteQueue} で1つずつ実行し、同じ条件の席替えが順番を待っている間に
+   * 届いた席替えは、その席替えの結果を共有します。
+   *
+   * @param classroomId クラスID
+   * @param rows        座席の行数
+   * @param columns     座席の列数
+   * @param mode        配置方法
+   * @return シャッフルされた座席配置
+   */
+  public Student[][] shuffleSeatingChart(long classroomId, int rows, int columns,
+      SeatArrangementMode mode) {
+    return writeQueue.writeCoalesced(classroomId, new ShuffleKey(rows, columns, mode),
+        () -> shuffleAndSave(classroomId, rows, columns, mode));
+  }
+
+  private Student[][] shuffleAndSave(long classroomId, int rows, int columns,
+      SeatArrangementMode mode) {
+    Timer.Sample sample = metrics.start();
+    try {
+      // クラスのすべての学生を取得
+      List<Student> allStudents = studentRepository.findByClassroomId(classroomId);
+
+      int[] seats = arrange(allStudents, rows, columns, mode);
+      Student[][] chart = toChart(allStudents, seats, rows, columns);
+
+      // データベースの座席位置を更新
+      int written = updateSeatPositionsInDatabase(classroomId, allStudents, seats, rows,
+          columns);
+      metrics.countRowsWritten("shuffle", classroomId, written);
+
+      return chart;
+    } finally {
+      metrics.recordShuffle(sample, mode);
     }
+  }
 
-    // データベースの座席位置を更新
-    updateSeatPositionsInDatabase(chart, rows, columns);
+  /**
+   * 名簿から配置を計算します（座席インデックス → 名簿インデックス）
+   * <p>
+   * 作業バッファは使い回しのエンジンのものを使い、戻り値だけを座席数の長さの新しい配列にコピーして返します。
+   */
+  int[] arrange(List<Student> students, int rows, int columns, SeatArrangementMode mode) {
+    SeatArrangementEngine engine = engines.poll();
+    if (engine == null) {
+      engine = new SeatArrangementEngine();
+    }
+    try {
+      int studentCount = students.size();
+      int seatCount = rows * columns;
+      int[] seats = engine.seatBuffer(seatCount);
+
+      switch (mode) {
+        case ALTERNATE_COLUMNS -> engine.arrangeByColumns(
+            encodeGenders(engine, students), studentCount, rows, columns, seats);
+        case ALTERNATE_GENDERS -> engine.arrangeAlternating(
+            encodeGenders(engine, students), studentCount, rows, columns, seats);
+        default -> engine.arrangeNormally(studentCount, seatCount, seats);
+      }
+      // エンジンを戻すと他のスレッドがバッファを上書きするので、結果はコピーして返す
+      return Arrays.copyOf(seats, seatCount);
+    } finally {
+      engines.offer(engine);
+    }
+  }
 
-    return chart;
+  private static byte[] encodeGenders(SeatArrangementEngine engine, List<Student> students) {
+    int studentCount = students.size();
+    byte[] genders = engine.genderBuffer(studentCount);
+    for (int i = 0; i < studentCount; i++) {
+      genders[i] = SeatArrangementEngine.genderCode(students.get(i).getGender());
+    }
+    return genders;
   }
 
   /**
-   * 列単位で男女を交互に配置する
+   * エンジンの配置結果をStudentオブジェクトの座席表に変換します
    */
-  private Student[][] arrangeStudentsByColumns(List<Student> allStudents, int rows, int columns) {
+  private static Student[][] toChart(List<Student> students, int[] seats, int rows, int columns) {
     Student[][] chart = new Student[rows][columns];
-
-    // 男子と女子を分ける
-    List<Student> maleStudents = allStudents.stream()
-        .filter(s -> "男子".equals(s.getGender()))
-        .collect(java.util.stream.Collectors.toList());
-    List<Student> femaleStudents = allStudents.stream()
-        .filter(s -> "女子".equals(s.getGender()))
-        .collect(java.util.stream.Collectors.toList());
-
-    // それぞれをシャッフル
-    Collections.shuffle(maleStudents);
-    Collections.shuffle(femaleStudents);
-
-    int maleIndex = 0;
-    int femaleIndex = 0;
-
-    // 列ごとに処理
-    for (int c = 0; c < columns; c++) {
-      boolean isMaleColumn = (c % 2 == 0); // 偶数列は男子、奇数列は女子
-
-      for (int r = 0; r < rows; r++) {
-        if (isMaleColumn && maleIndex < maleStudents.size()) {
-          // 男子の列
-          chart[r][c] = maleStudents.get(maleIndex++);
-        } else if (!isMaleColumn && femaleIndex < femaleStudents.size()) {
-          // 女子の列
-          chart[r][c] = femaleStudents.get(femaleIndex++);
-        } else if (maleIndex < maleStudents.size()) {
-          // 女子が足りない場合は男子を配置
-          chart[r][c] = maleStudents.get(maleIndex++);
-        } else if (femaleIndex < femaleStudents.size()) {
-          // 男子が足りない場合は女子を配置
-          chart[r][c] = femaleStudents.get(femaleIndex++);
+    for (int r = 0; r < rows; r++) {
+      int base = r * columns;
+      Student[] chartRow = chart[r];
+      for (int c = 0; c < columns; c++) {
+        int index = seats[base + c];
+        if (index != SeatArrangementEngine.EMPTY) {
+          chartRow[c] = students.get(index);
         }
       }
     }
-
     return chart;
   }
 
   /**
-   * 男女を交互に配置する（チェスボードパターン）
+   * 制約条件を考慮して座席を最適化し、データベースに保存します
+   * <p>
+   * 「隣り合わせにしない生徒ペア」「前列に座らせる生徒」「現在の隣席の生徒を避ける」「過去に隣になった回数を減らす」の条件をペナルティに変換し、
+   * {@link ConstrainedSeatingOptimizer} で制限時間内に最もペナルティの小さい配置を探します。
+   *
+   * @param classroomId クラスID
+   * @param rows        座席の行数
+   * @param columns     座席の列数
+   * @param constraints 制約条件
+   * @return 最適化の結果
+   * @throws IllegalArgumentException 行数・列数が1〜20の範囲にない場合
    */
-  private Student[][] arrangeStudentsAlternating(List<Student> allStudents, int rows, int columns) {
-    Student[][] chart = new Student[rows][columns];
+  public SeatingOptimizationResult optimizeSeatingChart(long classroomId, int rows, int columns,
+      SeatingConstraints constraints) {
+    // ペアのペナルティ表は生徒数の2乗の大きさなので、クラスの順番を取る前に座席の形を確認する
+    checkSeatingSize(rows, columns);
+    return writeQueue.write(classroomId,
+        () -> optimizeAndSave(classroomId, rows, columns, constraints));
+  }
 
-    // 男子と女子を分ける
-    List<Student> maleStudents = allStudents.stream()
-        .filter(s -> "男子".equals(s.getGender()))
-        .collect(java.util.stream.Collectors.toList());
-    List<Student> femaleStudents = allStudents.stream()
-        .filter(s -> "女子".equals(s.getGender()))
-        .collect(java.util.stream.Collectors.toList());
+  private SeatingOptimizationResult optimizeAndSave(long classroomId, int rows, int columns,
+      SeatingConstraints constraints) {
+    long start = System.currentTimeMillis();
 
-    // それぞれをシャッフル
-    Collections.shuffle(maleStudents);
-    Collections.shuffle(femaleStudents);
+    // クラスのすべての学生を取得
+    List<Student> allStudents = studentRepository.findByClassroomId(classroomId);
+    ConstrainedSeatingOptimizer.Problem problem = buildProblem(allStudents, rows, columns,
+        constraints);
 
-    int maleIndex = 0;
-    int femaleIndex = 0;
-    boolean shouldBeMale = true; // 最初は男子から開始
+    long budget = Math.min(MAX_OPTIMIZATION_MILLIS,
+        Math.max(MIN_OPTIMIZATION_MILLIS, constraints.getTimeBudgetMillis()));
+    ConstrainedSeatingOptimizer.Result result = optimizer.optimize(problem, budget,
+        ThreadLocalRandom.current().nextLong());
 
-    // チェスボード式に配置
-    for (int r = 0; r < rows; r++) {
-      for (int c = 0; c < columns; c++) {
-        // チェスボードパターンで男女を決定
-        boolean isMalePosition = ((r + c) % 2 == 0) ? shouldBeMale : !shouldBeMale;
-
-        if (isMalePosition && maleIndex < maleStudents.size()) {
-          chart[r][c] = maleStudents.get(maleIndex++);
-        } else if (!isMalePosition && femaleIndex < femaleStudents.size()) {
-          chart[r][c] = femaleStudents.get(femaleIndex++);
-        } else if (maleIndex < maleStudents.size()) {
-          // 女子が足りない場合は男子を配置
-          chart[r][c] = maleStudents.get(maleIndex++);
-        } else if (femaleIndex < femaleStudents.size()) {
-          // 男子が足りない場合は女子を配置
-          chart[r][c] = femaleStudents.get(femaleIndex++);
+    Student[][] chart = toChart(allStudents, result.getSlots(), rows, columns);
+
+    // データベースの座席位置を更新
+    int written = updateSeatPositionsInDatabase(classroomId, allStudents, result.getSlots(),
+        rows, columns);
+    metrics.countRowsWritten("optimize", classroomId, written);
+
+    return SeatingOptimizationResult.builder()
+        .chart(chart)
+        .score(result.getScore())
+        .hardViolations(result.getHardViolations())
+        .restarts(result.getRestarts())
+        .iterations(result.getIterations())
+        .elapsedMillis(System.currentTimeMillis() - start)
+        .build();
+  }
+
+  /**
+   * 制約条件を名簿インデックスのペナルティに変換します
+   */
+  private ConstrainedSeatingOptimizer.Problem buildProblem(List<Student> students, int rows,
+      int columns, SeatingConstraints constraints) {
+    int studentCount = students.size();
+    ConstrainedSeatingOptimizer.Problem problem =
+        new ConstrainedSeatingOptimizer.Problem(rows, columns, studentCount);
+
+    Map<Long, Integer> indexById = new HashMap<>(studentCount * 2);
+    for (int i = 0; i < studentCount; i++) {
+      indexById.put(students.get(i).getId(), i);
+    }
+
+    // 隣り合わせにしない生徒ペア
+    int pairWeight = constraints.isSeparatedPairsRequired()
+        ? ConstrainedSeatingOptimizer.HARD_WEIGHT : SEPARATED_PAIR_WEIGHT;
+    for (SeatingConstraints.StudentPair pair : constraints.getSeparatedPairs()) {
+      Integer a = indexById.get(pair.getFirstStudentId());
+      Integer b = indexById.get(pair.getSecondStudentId());
+      if (a != null && b != null) {
+        problem.addPairWeight(a, b, pairWeight);
+      }
+    }
+
+    // 前列に座らせる生徒
+    int frontWeight = constraints.isFrontRowRequired()
+        ? ConstrainedSeatingOptimizer.HARD_WEIGHT : FRONT_ROW_WEIGHT;
+    for (Long studentId : constraints.getFrontRowStudentIds()) {
+      Integer index = indexById.get(studentId);
+      if (index != null) {
+        problem.requireFrontRows(index, constraints.getFrontRows(), frontWeight);
+      }
+    }
+
+    // 現在の隣席の生徒
+    if (constraints.isAvoidPreviousNeighbours()) {
+      addCurrentNeighbourWeights(problem, students);
+    }
+
+    // 過去に隣になった回数（隣席履歴のインデックスから取得）
+    if (constraints.isMinimizeRepeatNeighbours()) {
+      for (NeighbourHistory history : neighbourHistoryService.getHistoryAmong(
+          indexById.keySet())) {
+        Integer a = indexById.get(history.getStudentId());
+        Integer b = indexById.get(history.getNeighbourId());
+        if (a != null && b != null) {
+          problem.addPairWeight(a, b, history.getTimesAdjacent() * REPEAT_NEIGHBOUR_WEIGHT);
         }
       }
     }
 
-    return chart;
+    return problem;
   }
 
   /**
-   * 通常のランダム配置
+   * 現在の座席で上下左右に隣り合っている生徒同士にペナルティを加算します
    */
-  private Student[][] arrangeStudentsNormally(List<Student> allStudents, int rows, int columns) {
-    Student[][] chart = new Student[rows][columns];
+  private static void addCurrentNeighbourWeights(ConstrainedSeatingOptimizer.Problem problem,
+      List<Student> students) {
+    int maxRow = 0;
+    int maxColumn = 0;
+    for (Student student : students) {
+      if (student.getSeatRow() != null && student.getSeatColumn() != null) {
+        maxRow = Math.max(maxRow, student.getSeatRow());
+        maxColumn = Math.max(maxColumn, student.getSeatColumn());
+      }
+    }
 
-    int index = 0;
-    for (int r = 0; r < rows; r++) {
-      for (int c = 0; c < columns; c++) {
-        if (index < allStudents.size()) {
-          chart[r][c] = allStudents.get(index++);
+    int[] grid = new int[maxRow * maxColumn];
+    Arrays.fill(grid, SeatArrangementEngine.EMPTY);
+    for (int i = 0; i < students.size(); i++) {
+      Student student = students.get(i);
+      if (student.getSeatRow() != null && student.getSeatColumn() != null
+          && student.getSeatRow() >= 1 && student.getSeatColumn() >= 1) {
+        grid[(student.getSeatRow() - 1) * maxColumn + student.getSeatColumn() - 1] = i;
+      }
+    }
+
+    for (int r = 0; r < maxRow; r++) {
+      for (int c = 0; c < maxColumn; c++) {
+        int student = grid[r * maxColumn + c];
+        if (student == SeatArrangementEngine.EMPTY) {
+          continue;
+        }
+        if (c + 1 < maxColumn && grid[r * maxColumn + c + 1] != SeatArrangementEngine.EMPTY) {
+          problem.addPairWeight(student, grid[r * maxColumn + c + 1], PREVIOUS_NEIGHBOUR_WEIGHT);
+        }
+        if (r + 1 < maxRow && grid[(r + 1) * maxColumn + c] != SeatArrangementEngine.EMPTY) {
+          problem.addPairWeight(student, grid[(r + 1) * maxColumn + c], PREVIOUS_NEIGHBOUR_WEIGHT);
+        }
+      }
+    }
+  }
+
+  /**
+   * 今の座席をできるだけ変えずに席を整え、座席が変わった生徒だけをデータベースに保存します
+   * <p>
+   * 生徒の追加・削除や、席を移す必要がある生徒がいる場合に使います。 生徒 → 座席の割り当てを、現在の座席からの距離（マンハッタン距離）の合計が最小になるよう
+   * {@link MinCostAssignment}（ハンガリー法）で求めます。 席のない生徒は空いている席に入り、{@code relocateStudentIds} の生徒は今の席以外に移ります。
+   *
+   * @param classroomId        クラスID
+   * @param rows               座席の行数
+   * @param columns            座席の列数
+   * @param relocateStudentIds 席を移す必要がある生徒のID
+   * @return 調整の結果
+   * @throws IllegalArgumentException 行数・列数が1〜20の範囲にない場合
+   */
+  public SeatingRepairResult repairSeatingChart(long classroomId, int rows, int columns,
+      Collection<Long> relocateStudentIds) {
+    // 費用表は生徒数×座席数の大きさなので、クラスの順番を取る前に座席の形を確認する
+    checkSeatingSize(rows, columns);
+    return writeQueue.write(classroomId,
+        () -> repairAndSave(classroomId, rows, columns, relocateStudentIds));
+  }
+
+  private SeatingRepairResult repairAndSave(long classroomId, int rows, int columns,
+      Collection<Long> relocateStudentIds) {
+    // クラスのすべての学生を取得
+    List<Student> allStudents = studentRepository.findByClassroomId(classroomId);
+    int studentCount = allStudents.size();
+    int seatCount = rows * columns;
+
+    // 座席が足りない場合は「未着席」の枠を追加する
+    int slotCount = Math.max(seatCount, studentCount);
+    long[] cost = new long[studentCount * slotCount];
+
+    for (int i = 0; i < studentCount; i++) {
+      Student student = allStudents.get(i);
+      int current = seatIndexOf(student, rows, columns);
+      boolean relocate = relocateStudentIds.contains(student.getId());
+      int base = i * slotCount;
+
+      for (int seat = 0; seat < seatCount; seat++) {
+        if (current < 0) {
+          cost[base + seat] = 0;
         } else {
-          chart[r][c] = null;
+          cost[base + seat] = Math.abs(seat / columns - current / columns)
+              + Math.abs(seat % columns - current % columns);
         }
       }
+      if (relocate && current >= 0) {
+        cost[base + current] += RELOCATE_PENALTY;
+      }
+      for (int slot = seatCount; slot < slotCount; slot++) {
+        cost[base + slot] = current < 0 ? UNSEATED_COST_NEW : UNSEATED_COST_SEATED;
+      }
     }
 
-    return chart;
+    int[] assignment = MinCostAssignment.solve(cost, studentCount, slotCount);
+
+    Student[][] chart = new Student[rows][columns];
+    int unseated = 0;
+    for (int i = 0; i < studentCount; i++) {
+      int seat = assignment[i];
+      if (seat < seatCount) {
+        chart[seat / columns][seat % columns] = allStudents.get(i);
+      } else {
+        unseated++;
+      }
+    }
+
+    // 座席が変わった生徒だけを保存
+    int moved = saveChangedSeats(classroomId, allStudents, assignment, seatCount, columns);
+    metrics.countRowsWritten("repair", classroomId, moved);
+
+    return SeatingRepairResult.builder()
+        .chart(chart)
+        .movedCount(moved)
+        .unseatedCount(unseated)
+        .build();
+  }
+
+  /**
+   * 行数・列数が1〜{@link SeatingStatistics#MAX_SEATS_PER_SIDE} の範囲にあることを確認します
+   */
+  private static void checkSeatingSize(int rows, int columns) {
+    if (rows < 1 || rows > SeatingStatistics.MAX_SEATS_PER_SIDE
+        || columns < 1 || columns > SeatingStatistics.MAX_SEATS_PER_SIDE) {
+      throw new IllegalArgumentException("行数・列数は1〜"
+          + SeatingStatistics.MAX_SEATS_PER_SIDE + "の範囲で指定してください。");
+    }
+  }
+
+  /**
+   * 生徒の現在の座席インデックスを返します（座席がない・範囲外の場合は-1）
+   */
+  private static int seatIndexOf(Student student, int rows, int columns) {
+    Integer row = student.getSeatRow();
+    Integer column = student.getSeatColumn();
+    if (row == null || column == null || row < 1 || row > rows || column < 1
+        || column > columns) {
+      return -1;
+    }
+    return (row - 1) * columns + (column - 1);
   }
 
   /**
    * データベースの座席位置を更新
+   * <p>
+   * 読み込み済みの生徒の座席と新しい配置を比べ、座席が変わった生徒だけを更新します。
+   * 更新はトランザクションの終わりに Hibernate の JDBC バッチ（{@code hibernate.jdbc.batch_size}）でまとめて送られます。
+   *
+   * @param classroomId クラスID
+   * @param students    名簿（配置の計算に使ったもの）
+   * @param seats       座席インデックス → 名簿インデックス（先頭 {@code rows * columns} 個を使用）
+   * @return 座席が変わった生徒の数
    */
-  private void updateSeatPositionsInDatabase(Student[][] chart, int rows, int columns) {
-    // まず全学生の座席位置をクリア
-    List<Student> allStudents = studentRepository.findAll();
-    for (Student student : allStudents) {
-      student.setSeatRow(null);
-      student.setSeatColumn(null);
+  private int updateSeatPositionsInDatabase(long classroomId, List<Student> students,
+      int[] seats, int rows, int columns) {
+    int seatCount = rows * columns;
+    return saveChangedSeats(classroomId, students, toSeatOf(seats, students.size(), seatCount),
+        seatCount, columns);
+  }
+
+  /**
+   * 座席インデックス → 名簿インデックスの配置を、名簿インデックス → 座席インデックスに変換します
+   *
+   * @param seats        座席インデックス → 名簿インデックス（先頭 {@code seatCount} 個を使用）
+   * @param studentCount 名簿の人数
+   * @param seatCount    座席数
+   * @return 名簿インデックス → 座席インデックス（席なしは {@link SeatArrangementEngine#EMPTY}）
+   */
+  static int[] toSeatOf(int[] seats, int studentCount, int seatCount) {
+    int[] seatOf = new int[studentCount];
+    Arrays.fill(seatOf, SeatArrangementEngine.EMPTY);
+    for (int seat = 0; seat < seatCount; seat++) {
+      int index = seats[seat];
+      if (index != SeatArrangementEngine.EMPTY) {
+        seatOf[index] = seat;
+      }
     }
+    return seatOf;
+  }
 
-    // 座席表に配置された学生の位置を更新
-    for (int r = 0; r < rows; r++) {
-      for (int c = 0; c < columns; c++) {
-        if (chart[r][c] != null) {
-          Student student = chart[r][c];
-          student.setSeatRow(r + 1); // 1始まりで保存
-          student.setSeatColumn(c + 1);
-        }
+  /**
+   * 生徒ごとの新しい座席インデックスを反映し、座席が変わった生徒だけを保存します
+   *
+   * @param classroomId クラスID
+   * @param students    名簿
+   * @param seatOf      名簿インデックス → 座席インデックス（{@code seatCount} 以上や負の値は席なし）
+   * @param seatCount   座席数
+   * @param columns     列数
+   * @return 座席が変わった生徒の数
+   */
+  private int saveChangedSeats(long classroomId, List<Student> students, int[] seatOf,
+      int seatCount, int columns) {
+    List<Student> changed = assignSeats(students, seatOf, seatCount, columns);
+    if (!changed.isEmpty()) {
+      studentRepository.saveAll(changed);
+      chartCache.markChanged(classroomId);
+    }
+    return changed.size();
+  }
+
+  /**
+   * 生徒ごとの新しい座席インデックスを生徒に反映します（保存はしません）
+   *
+   * @param students  名簿
+   * @param seatOf    名簿インデックス → 座席インデックス（{@code seatCount} 以上や負の値は席なし）
+   * @param seatCount 座席数
+   * @param columns   列数
+   * @return 座席が変わった生徒
+   */
+  static List<Student> assignSeats(List<Student> students, int[] seatOf, int seatCount,
+      int columns) {
+    List<Student> changed = new ArrayList<>();
+    for (int i = 0; i < students.size(); i++) {
+      Student student = students.get(i);
+      int seat = seatOf[i];
+      Integer newRow = null;
+      Integer newColumn = null;
+      if (seat >= 0 && seat < seatCount) {
+        newRow = seat / columns + 1; // 1始まりで保存
+        newColumn = seat % columns + 1;
+      }
+
+      if (!Objects.equals(student.getSeatRow(), newRow)
+          || !Objects.equals(student.getSeatColumn(), newColumn)) {
+        student.setSeatRow(newRow);
+        student.setSeatColumn(newColumn);
+        changed.add(student);
       }
     }
+    return changed;
+  }
+
+  /**
+   * まとめてよい席替えかどうかを判定するキー（大きさと配置方法が同じ席替えは結果を共有できる）
+   */
+  private record ShuffleKey(int rows, int columns, SeatArrangementMode mode) {
 
-    // データベースに保存
-    studentRepository.saveAll(allStudents);
   }
-}
\ No newline at end of file
+}
@@ -1,16 +1,28 @@
 package sekigae.sekigae.seatingapp.service;
 
+import io.micrometer.core.instrument.Timer;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import sekigae.sekigae.seatingapp.dto.SnapshotPage;
+import sekigae.sekigae.seatingapp.dto.SnapshotRestoreResult;
+import sekigae.sekigae.seatingapp.dto.SnapshotSummary;
 import sekigae.sekigae.seatingapp.entity.SeatingSnapshot;
 import sekigae.sekigae.seatingapp.entity.SeatingSnapshotDetail;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotPayload;
 import sekigae.sekigae.seatingapp.entity.Student;
 import sekigae.sekigae.seatingapp.repository.SeatingSnapshotDetailRepository;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotPayloadRepository;
 import sekigae.sekigae.seatingapp.repository.SeatingSnapshotRepository;
 import sekigae.sekigae.seatingapp.repository.StudentRepository;
 
@@ -18,23 +30,45 @@ import sekigae.sekigae.seatingapp.repository.StudentRepository;
 @RequiredArgsConstructor
 public class SeatingSnapshotService {
 
+  /**
+   * 座席表一覧の1ページあたりの件数
+   */
+  private static final int SNAPSHOT_PAGE_SIZE = 20;
+
   private final SeatingSnapshotRepository snapshotRepository;
   private final SeatingSnapshotDetailRepository snapshotDetailRepository;
+  private final SeatingSnapshotPayloadRepository payloadRepository;
   private final StudentRepository studentRepository;
   private final SeatingService seatingService;
+  private final NeighbourHistoryService neighbourHistoryService;
+  private final SeatingChartCache chartCache;
+  private final SeatingChartVersion chartVersion;
+  private final SeatingMetrics metrics;
+  private final ClassroomWriteQueue writeQueue;
 
   /**
    * 現在の座席配置を保存する
+   * <p>
+   * 隣席履歴の回数を読んでから書き換えるので、同じクラスの保存・削除と加算が混ざらないよう、
+   * {@link ClassroomWriteQueue} でクラスの順番を待ってから保存します。
    *
+   * @param classroomId  クラスID
    * @param rows         座席の行数
    * @param columns      座席の列数
    * @param snapshotName スナップショット名（nullの場合は自動生成）
    * @param description  説明文
    * @return 保存されたスナップショット
    */
-  @Transactional
-  public SeatingSnapshot saveCurrentSeatingSnapshot(int rows, int columns, String snapshotName,
+  public SeatingSnapshot saveCurrentSeatingSnapshot(long classroomId, int rows, int columns,
+      String snapshotName, String description) {
+    return writeQueue.write(classroomId,
+        () -> save(classroomId, rows, columns, snapshotName, description));
+  }
+
+  private SeatingSnapshot save(long classroomId, int rows, int columns, String snapshotName,
       String description) {
+    Timer.Sample sample = metrics.start();
+
     // スナップショット名が指定されていない場合は自動生成
     if (snapshotName == null || snapshotName.trim().isEmpty()) {
       LocalDateTime now = LocalDateTime.now();
@@ -43,6 +77,7 @@ public class SeatingSnapshotService {
 
     // スナップショットメインデータを作成
     SeatingSnapshot snapshot = SeatingSnapshot.builder()
+        .classroomId(classroomId)
         .snapshotName(snapshotName)
         .rows(rows)
         .columns(columns)
@@ -53,110 +88,236 @@ public class SeatingSnapshotService {
     snapshot = snapshotRepository.save(snapshot);
 
     // 現在の座席配置を取得
-    Student[][] currentSeating = seatingService.getSeatingChartWithGender(rows, columns);
+    Student[][] currentSeating = seatingService.getSeatingChartWithGender(classroomId, rows,
+        columns);
+
+    // 座席詳細データを作成し、1つの配置データにまとめて保存
+    List<SeatingSnapshotDetail> details = toDetails(currentSeating);
+    payloadRepository.save(SeatingSnapshotPayload.builder()
+        .snapshotId(snapshot.getId())
+        .formatVersion(SnapshotPayloadCodec.FORMAT_VERSION)
+        .payload(SnapshotPayloadCodec.encode(rows, columns, details))
+        .build());
 
-    // 座席詳細データを作成・保存
+    // 隣席履歴のインデックスに今回の隣り合わせを加算
+    neighbourHistoryService.recordArrangement(currentSeating);
+
+    // 座席表画面の保存データ一覧が変わる
+    chartVersion.markChangedAfterCommit(classroomId);
+
+    metrics.recordSnapshotSave(sample, classroomId);
+    return snapshot;
+  }
+
+  /**
+   * 座席表を座席の詳細データに変換します（保存はしません）
+   *
+   * @param chart 座席表
+   * @return 座席の詳細データ（座席位置は1始まり）
+   */
+  static List<SeatingSnapshotDetail> toDetails(Student[][] chart) {
     List<SeatingSnapshotDetail> details = new ArrayList<>();
-    for (int row = 0; row < rows; row++) {
-      for (int col = 0; col < columns; col++) {
-        Student student = currentSeating[row][col];
+    for (int row = 0; row < chart.length; row++) {
+      for (int col = 0; col < chart[row].length; col++) {
+        Student student = chart[row][col];
         if (student != null) {
-          SeatingSnapshotDetail detail = SeatingSnapshotDetail.builder()
-              .snapshot(snapshot)
+          details.add(SeatingSnapshotDetail.builder()
               .seatRow(row + 1) // 1始まりで保存
               .seatColumn(col + 1)
               .studentId(student.getId())
               .studentName(student.getName())
               .studentGender(student.getGender())
               .studentCode(student.getStudentCode())
-              .build();
-          details.add(detail);
+              .build());
         }
       }
     }
-
-    if (!details.isEmpty()) {
-      snapshotDetailRepository.saveAll(details);
-    }
-
-    return snapshot;
+    return details;
   }
 
   /**
    * 保存されたスナップショットを復元する
+   * <p>
+   * 配置データ（{@link SnapshotPayloadCodec}）で保存したスナップショットは、名簿を1回読み込んで座席が変わった生徒だけをバッチで更新します。
+   * 詳細データの行で保存した以前のスナップショットは、詳細データと突き合わせる1回のUPDATEで全生徒の座席を書き換えます。
+   * どちらもクラスの生徒のうちスナップショットにいない生徒の座席は空になり、発行するSQLの回数は生徒数によらず一定です。
+   * 席替えと同時に実行しても混ざらないよう、{@link ClassroomWriteQueue} でクラスの順番を待ってから書き込みます。
    *
-   * @param snapshotId 復元するスナップショットのID
-   * @return 復元に成功した場合true
+   * @param classroomId クラスID
+   * @param snapshotId  復元するスナップショットのID
+   * @return 復元の結果（スナップショットが存在しない・他のクラスのスナップショットの場合は空）
    */
-  @Transactional
-  public boolean restoreSeatingSnapshot(Long snapshotId) {
-    // スナップショットを取得
-    SeatingSnapshot snapshot = snapshotRepository.findById(snapshotId).orElse(null);
-    if (snapshot == null) {
-      return false;
-    }
+  public Optional<SnapshotRestoreResult> restoreSeatingSnapshot(long classroomId,
+      Long snapshotId) {
+    return writeQueue.write(classroomId, () -> restore(classroomId, snapshotId));
+  }
+
+  private Optional<SnapshotRestoreResult> restore(long classroomId, Long snapshotId) {
+    Timer.Sample sample = metrics.start();
+    SnapshotRestoreResult result;
+
+    // 配置データはスナップショットと一緒に削除されるので、見つかればスナップショットの存在確認は不要
+    Optional<SeatingSnapshotPayload> payload = payloadRepository.findInClassroom(classroomId,
+        snapshotId);
+    if (payload.isPresent()) {
+      result = restoreFromDetails(classroomId,
+          SnapshotPayloadCodec.decode(payload.get().getPayload()));
+    } else {
+      // スナップショットの存在確認
+      if (!snapshotRepository.existsByIdAndClassroomId(snapshotId, classroomId)) {
+        metrics.countRestoreMisses("snapshot_not_found", classroomId, 1);
+        return Optional.empty();
+      }
+
+      // 削除済みで復元できない生徒を確認
+      long detailCount = snapshotDetailRepository.countBySnapshotId(snapshotId);
+      List<Long> missingStudentIds = snapshotDetailRepository.findMissingStudentIds(classroomId,
+          snapshotId);
 
-    // スナップショットの詳細データを取得
-    List<SeatingSnapshotDetail> details = snapshotDetailRepository.findBySnapshotId(snapshotId);
+      // クラスの全生徒の座席位置を一括で更新
+      int updated = studentRepository.restoreSeatsFromSnapshot(classroomId, snapshotId);
+      chartCache.markChanged(classroomId);
+      metrics.countRowsWritten("restore", classroomId, updated);
 
-    // まず全生徒の座席位置をクリア
-    List<Student> allStudents = studentRepository.findAll();
-    for (Student student : allStudents) {
-      student.setSeatRow(null);
-      student.setSeatColumn(null);
+      result = SnapshotRestoreResult.builder()
+          .restoredCount((int) detailCount - missingStudentIds.size())
+          .skippedCount(missingStudentIds.size())
+          .missingStudentIds(missingStudentIds)
+          .build();
     }
 
-    // スナップショットデータを基に座席位置を復元
+    metrics.countRestoreMisses("student_deleted", classroomId, result.getSkippedCount());
+    metrics.recordSnapshotRestore(sample);
+    return Optional.of(result);
+  }
+
+  /**
+   * 復元した座席の詳細データを名簿に反映し、座席が変わった生徒だけを保存します
+   */
+  private SnapshotRestoreResult restoreFromDetails(long classroomId,
+      List<SeatingSnapshotDetail> details) {
+    Map<Long, SeatingSnapshotDetail> detailByStudentId = new HashMap<>(details.size() * 2);
     for (SeatingSnapshotDetail detail : details) {
-      // 学生IDで学生を検索して座席位置を設定
-      Student student = studentRepository.findById(detail.getStudentId()).orElse(null);
-      if (student != null) {
-        student.setSeatRow(detail.getSeatRow());
-        student.setSeatColumn(detail.getSeatColumn());
+      detailByStudentId.put(detail.getStudentId(), detail);
+    }
+
+    List<Student> changed = new ArrayList<>();
+    for (Student student : studentRepository.findByClassroomId(classroomId)) {
+      SeatingSnapshotDetail detail = detailByStudentId.remove(student.getId());
+      Integer seatRow = detail == null ? null : detail.getSeatRow();
+      Integer seatColumn = detail == null ? null : detail.getSeatColumn();
+      if (!Objects.equals(student.getSeatRow(), seatRow)
+          || !Objects.equals(student.getSeatColumn(), seatColumn)) {
+        student.setSeatRow(seatRow);
+        student.setSeatColumn(seatColumn);
+        changed.add(student);
       }
     }
 
-    // データベースに保存
-    studentRepository.saveAll(allStudents);
+    if (!changed.isEmpty()) {
+      studentRepository.saveAll(changed);
+      chartCache.markChanged(classroomId);
+      metrics.countRowsWritten("restore", classroomId, changed.size());
+    }
 
-    return true;
+    // 名簿に残らなかった生徒は削除済み
+    List<Long> missingStudentIds = new ArrayList<>(detailByStudentId.keySet());
+    Collections.sort(missingStudentIds);
+    return SnapshotRestoreResult.builder()
+        .restoredCount(details.size() - missingStudentIds.size())
+        .skippedCount(missingStudentIds.size())
+        .missingStudentIds(missingStudentIds)
+        .build();
   }
 
   /**
-   * 全てのスナップショットを取得（作成日時の降順）
+   * クラスの全てのスナップショットを取得（作成日時の降順）
    *
+   * @param classroomId クラスID
    * @return スナップショットのリスト
    */
-  public List<SeatingSnapshot> getAllSnapshots() {
-    return snapshotRepository.findAllByOrderByCreatedAtDesc();
+  public List<SeatingSnapshot> getAllSnapshots(long classroomId) {
+    return snapshotRepository.findByClassroomIdOrderByCreatedAtDesc(classroomId);
+  }
+
+  /**
+   * クラスのスナップショット一覧の1ページ分を取得（作成日時の降順）
+   * <p>
+   * （作成日時, ID）をカーソルにしたキーセット方式で、一覧に表示する項目だけを取得します。 説明文（TEXT）は先頭だけを読み込みます。
+   *
+   * @param classroomId     クラスID
+   * @param beforeCreatedAt カーソルの作成日時（nullの場合は先頭ページ）
+   * @param beforeId        カーソルのID
+   * @return スナップショット一覧のページ
+   */
+  public SnapshotPage getSnapshotPage(long classroomId, LocalDateTime beforeCreatedAt,
+      Long beforeId) {
+    // 次のページの有無を判定するため1件多く取得
+    Pageable limit = PageRequest.of(0, SNAPSHOT_PAGE_SIZE + 1);
+    List<SnapshotSummary> summaries = beforeCreatedAt == null || beforeId == null
+        ? snapshotRepository.findSummaries(classroomId, limit)
+        : snapshotRepository.findSummariesBefore(classroomId, beforeCreatedAt, beforeId, limit);
+
+    boolean hasNext = summaries.size() > SNAPSHOT_PAGE_SIZE;
+    if (hasNext) {
+      summaries = summaries.subList(0, SNAPSHOT_PAGE_SIZE);
+    }
+    SnapshotSummary last = hasNext ? summaries.get(summaries.size() - 1) : null;
+
+    return SnapshotPage.builder()
+        .snapshots(summaries)
+        .hasNext(hasNext)
+        .nextCreatedAt(last == null ? null : last.getCreatedAt())
+        .nextId(last == null ? null : last.getId())
+        .build();
   }
 
   /**
    * スナップショットを削除
+   * <p>
+   * 保存と同じく、{@link ClassroomWriteQueue} でクラスの順番を待ってから隣席履歴の回数を減らします。
    *
-   * @param snapshotId 削除するスナップショットのID
-   * @return 削除に成功した場合true
+   * @param classroomId クラスID
+   * @param snapshotId  削除するスナップショットのID
+   * @return 削除に成功した場合true（他のクラスのスナップショットは削除せずfalse）
    */
-  @Transactional
-  public boolean deleteSnapshot(Long snapshotId) {
+  public boolean deleteSnapshot(long classroomId, Long snapshotId) {
     try {
-      // まず詳細データを削除
-      snapshotDetailRepository.deleteBySnapshotId(snapshotId);
-      // スナップショット本体を削除
-      snapshotRepository.deleteById(snapshotId);
-      return true;
+      return writeQueue.write(classroomId, () -> delete(classroomId, snapshotId));
     } catch (Exception e) {
       return false;
     }
   }
 
+  private boolean delete(long classroomId, Long snapshotId) {
+    if (!snapshotRepository.existsByIdAndClassroomId(snapshotId, classroomId)) {
+      return false;
+    }
+
+    // 隣席履歴のインデックスから今回の隣り合わせを減算
+    neighbourHistoryService.forgetArrangement(getSnapshotDetails(snapshotId));
+
+    // まず配置データ・詳細データを削除
+    payloadRepository.deleteBySnapshotId(snapshotId);
+    snapshotDetailRepository.deleteBySnapshotId(snapshotId);
+    // スナップショット本体を削除
+    snapshotRepository.deleteById(snapshotId);
+    chartVersion.markChangedAfterCommit(classroomId);
+    return true;
+  }
+
   /**
    * 特定のスナップショットの詳細情報を取得
+   * <p>
+   * 配置データで保存したスナップショットはここで初めて配置データを読み込んで展開し、以前の形式のスナップショットは詳細データの行を返します。
+   * クラスの確認はしないので、呼び出し側で {@link SeatingSnapshotRepository#existsByIdAndClassroomId} を確認してください。
    *
    * @param snapshotId スナップショットID
    * @return スナップショットの詳細データ
    */
   public List<SeatingSnapshotDetail> getSnapshotDetails(Long snapshotId) {
-    return snapshotDetailRepository.findBySnapshotId(snapshotId);
+    return payloadRepository.findById(snapshotId)
+        .map(payload -> SnapshotPayloadCodec.decode(payload.getPayload()))
+        .orElseGet(() -> snapshotDetailRepository.findBySnapshotId(snapshotId));
   }
 }
\ No newline at end of file
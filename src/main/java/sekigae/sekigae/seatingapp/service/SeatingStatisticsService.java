@@ -0,0 +1,72 @@
+package sekigae.sekigae.seatingapp.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import sekigae.sekigae.seatingapp.dto.SeatingStatistics;
+import sekigae.sekigae.seatingapp.dto.StudentCounts;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+
+/**
+ * ホーム画面・座席設定画面に表示する集計値（登録生徒数・男女別の人数・使用中の座席・空席）を提供するサービスです。
+ * <p>
+ * 集計値は {@link SeatingChartCache} が名簿を差し替えるたびに1回だけ計算するので、画面表示では名簿を数え直しません。
+ * 書き込みがこのアプリケーションを通らなかった場合（直接のSQLや別のサーバーからの更新）に備え、
+ * 定期的に COUNT クエリの結果と突き合わせ、ずれていれば名簿を読み直します。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatingStatisticsService {
+
+  private final SeatingChartCache chartCache;
+  private final StudentRepository studentRepository;
+
+  /**
+   * クラスの現在の集計値を取得します（データベースにはアクセスしません）
+   *
+   * @param classroomId クラスID
+   * @return 集計値
+   */
+  public SeatingStatistics getStatistics(long classroomId) {
+    return chartCache.current(classroomId).getStatistics();
+  }
+
+  /**
+   * 名簿を読み込み済みのクラスごとに、集計値をデータベースの COUNT クエリの結果と突き合わせ、ずれていれば名簿を読み直します
+   *
+   * @return いずれかのクラスにずれがあり読み直した場合は true
+   */
+  @Scheduled(fixedDelayString = "${seating.statistics.reconcile-interval:PT5M}",
+      initialDelayString = "${seating.statistics.reconcile-interval:PT5M}")
+  public boolean reconcile() {
+    boolean reloaded = false;
+    for (Long classroomId : chartCache.getLoadedClassroomIds()) {
+      reloaded |= reconcile(classroomId);
+    }
+    return reloaded;
+  }
+
+  private boolean reconcile(long classroomId) {
+    SeatingStatistics statistics = getStatistics(classroomId);
+    StudentCounts counts = studentRepository.countStudents(classroomId, SeatingStatistics.MALE,
+        SeatingStatistics.FEMALE);
+
+    if (counts.getStudentCount() == statistics.getStudentCount()
+        && counts.getMaleCount() == statistics.getMaleCount()
+        && counts.getFemaleCount() == statistics.getFemaleCount()
+        && counts.getSeatedCount() == statistics.getSeatedCount()) {
+      return false;
+    }
+
+    log.warn("集計値がデータベースと一致しないため名簿を読み直します: クラス {}, 生徒数 {} / {}, 男子 {} / {}, "
+            + "女子 {} / {}, 着席 {} / {}", classroomId,
+        statistics.getStudentCount(), counts.getStudentCount(),
+        statistics.getMaleCount(), counts.getMaleCount(),
+        statistics.getFemaleCount(), counts.getFemaleCount(),
+        statistics.getSeatedCount(), counts.getSeatedCount());
+    chartCache.markChanged(classroomId);
+    return true;
+  }
+}
@@ -0,0 +1,120 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sekigae.sekigae.seatingapp.dto.SeatChange;
+import sekigae.sekigae.seatingapp.dto.SnapshotDiff;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotDetail;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotRepository;
+
+/**
+ * 保存した座席配置同士、または保存した座席配置と現在の座席の差分を求めるサービスです。
+ * <p>
+ * 復元する前に「前回から何が変わったか」を確認するためのもので、データベースの座席は変更しません。
+ */
+@Service
+@RequiredArgsConstructor
+public class SnapshotDiffService {
+
+  private final SeatingSnapshotRepository snapshotRepository;
+  private final SeatingSnapshotService snapshotService;
+  private final SeatingService seatingService;
+
+  /**
+   * 2つの保存した座席配置を比較します
+   *
+   * @param classroomId    クラスID
+   * @param fromSnapshotId 比較元の座席表ID
+   * @param toSnapshotId   比較先の座席表ID
+   * @return 差分（どちらかの座席表が存在しない・他のクラスの座席表の場合は空）
+   */
+  @Transactional(readOnly = true)
+  public Optional<SnapshotDiff> compareSnapshots(long classroomId, Long fromSnapshotId,
+      Long toSnapshotId) {
+    if (!snapshotRepository.existsByIdAndClassroomId(fromSnapshotId, classroomId)
+        || !snapshotRepository.existsByIdAndClassroomId(toSnapshotId, classroomId)) {
+      return Optional.empty();
+    }
+    return Optional.of(diff(fromSnapshotId, toSnapshotId,
+        snapshotService.getSnapshotDetails(fromSnapshotId),
+        snapshotService.getSnapshotDetails(toSnapshotId)));
+  }
+
+  /**
+   * 保存した座席配置とクラスの現在の座席を比較します
+   *
+   * @param classroomId    クラスID
+   * @param fromSnapshotId 比較元の座席表ID
+   * @return 差分（座席表が存在しない・他のクラスの座席表の場合は空）
+   */
+  @Transactional(readOnly = true)
+  public Optional<SnapshotDiff> compareWithCurrent(long classroomId, Long fromSnapshotId) {
+    if (!snapshotRepository.existsByIdAndClassroomId(fromSnapshotId, classroomId)) {
+      return Optional.empty();
+    }
+    List<SeatingSnapshotDetail> current = SeatingSnapshotService.toDetails(
+        seatingService.getSeatingChartWithGender(classroomId,
+            seatingService.getCurrentRows(classroomId),
+            seatingService.getCurrentColumns(classroomId)));
+    return Optional.of(diff(fromSnapshotId, null,
+        snapshotService.getSnapshotDetails(fromSnapshotId), current));
+  }
+
+  /**
+   * 比較元を生徒ID → インデックスのマップにし、比較先を1回走査して差分を求めます
+   */
+  static SnapshotDiff diff(Long fromSnapshotId, Long toSnapshotId,
+      List<SeatingSnapshotDetail> from, List<SeatingSnapshotDetail> to) {
+    LongIntHashMap fromIndex = new LongIntHashMap(from.size());
+    for (int i = 0; i < from.size(); i++) {
+      fromIndex.put(from.get(i).getStudentId(), i);
+    }
+
+    boolean[] matched = new boolean[from.size()];
+    List<SeatChange> moved = new ArrayList<>();
+    List<SeatChange> added = new ArrayList<>();
+    int unchanged = 0;
+    for (SeatingSnapshotDetail after : to) {
+      int index = fromIndex.get(after.getStudentId());
+      if (index == LongIntHashMap.MISSING) {
+        added.add(new SeatChange(after.getStudentId(), after.getStudentName(), null, null,
+            after.getSeatRow(), after.getSeatColumn()));
+        continue;
+      }
+
+      matched[index] = true;
+      SeatingSnapshotDetail before = from.get(index);
+      if (Objects.equals(before.getSeatRow(), after.getSeatRow())
+          && Objects.equals(before.getSeatColumn(), after.getSeatColumn())) {
+        unchanged++;
+      } else {
+        moved.add(new SeatChange(after.getStudentId(), after.getStudentName(),
+            before.getSeatRow(), before.getSeatColumn(), after.getSeatRow(),
+            after.getSeatColumn()));
+      }
+    }
+
+    List<SeatChange> removed = new ArrayList<>();
+    for (int i = 0; i < from.size(); i++) {
+      if (!matched[i]) {
+        SeatingSnapshotDetail before = from.get(i);
+        removed.add(new SeatChange(before.getStudentId(), before.getStudentName(),
+            before.getSeatRow(), before.getSeatColumn(), null, null));
+      }
+    }
+
+    return SnapshotDiff.builder()
+        .fromSnapshotId(fromSnapshotId)
+        .toSnapshotId(toSnapshotId)
+        .moved(moved)
+        .added(added)
+        .removed(removed)
+        .unchangedCount(unchanged)
+        .build();
+  }
+}
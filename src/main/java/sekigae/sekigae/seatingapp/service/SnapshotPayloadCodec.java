@@ -0,0 +1,229 @@
+package sekigae.sekigae.seatingapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotDetail;
+
+/**
+ * 保存した座席配置を1つのバイナリにまとめる形式です。
+ * <p>
+ * 形式（整数はすべて符号なしの可変長整数 / LEB128）：
+ * <ol>
+ *   <li>形式のバージョン、行数、列数</li>
+ *   <li>文字列辞書：件数と、各文字列（UTF-8 のバイト数 + バイト列）。氏名・性別・学籍番号を重複なく1回だけ持つ</li>
+ *   <li>生徒表：件数と、各生徒の ID、氏名・性別・学籍番号の辞書番号（0 は null、それ以外は番号 + 1）</li>
+ *   <li>座席配列：座席インデックス（行 × 列数 + 列）ごとの生徒表の番号（0 は空席、それ以外は番号 + 1）</li>
+ * </ol>
+ * 1席あたりの座席配列は1バイトで、性別のように繰り返される文字列は辞書に1回しか現れません。
+ */
+public final class SnapshotPayloadCodec {
+
+  /**
+   * 現在の形式のバージョン
+   */
+  public static final int FORMAT_VERSION = 1;
+
+  private SnapshotPayloadCodec() {
+  }
+
+  /**
+   * 座席の詳細データをバイナリに変換します
+   *
+   * @param rows    座席の行数
+   * @param columns 座席の列数
+   * @param details 座席の詳細データ（座席位置は1始まり）
+   * @return 座席配置のバイナリ
+   */
+  public static byte[] encode(int rows, int columns, List<SeatingSnapshotDetail> details) {
+    int seatCount = rows * columns;
+    int[] seats = new int[seatCount];
+    Map<String, Integer> dictionary = new HashMap<>();
+    List<String> strings = new ArrayList<>();
+
+    int studentCount = details.size();
+    int[] studentStrings = new int[studentCount * 3];
+    for (int i = 0; i < studentCount; i++) {
+      SeatingSnapshotDetail detail = details.get(i);
+      int row = detail.getSeatRow() - 1;
+      int column = detail.getSeatColumn() - 1;
+      if (row < 0 || row >= rows || column < 0 || column >= columns) {
+        throw new IllegalArgumentException(
+            "座席位置が座席表の範囲外です: " + detail.getSeatRow() + "行" + detail.getSeatColumn() + "列");
+      }
+      seats[row * columns + column] = i + 1;
+      studentStrings[i * 3] = intern(dictionary, strings, detail.getStudentName());
+      studentStrings[i * 3 + 1] = intern(dictionary, strings, detail.getStudentGender());
+      studentStrings[i * 3 + 2] = intern(dictionary, strings, detail.getStudentCode());
+    }
+
+    Output out = new Output(16 + studentCount * 8 + seatCount);
+    out.writeVarint(FORMAT_VERSION);
+    out.writeVarint(rows);
+    out.writeVarint(columns);
+
+    out.writeVarint(strings.size());
+    for (String value : strings) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeVarint(bytes.length);
+      out.writeBytes(bytes);
+    }
+
+    out.writeVarint(studentCount);
+    for (int i = 0; i < studentCount; i++) {
+      out.writeVarint(details.get(i).getStudentId());
+      out.writeVarint(studentStrings[i * 3]);
+      out.writeVarint(studentStrings[i * 3 + 1]);
+      out.writeVarint(studentStrings[i * 3 + 2]);
+    }
+
+    for (int seat : seats) {
+      out.writeVarint(seat);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * バイナリを座席の詳細データに戻します（座席インデックス順。snapshot と id は設定しません）
+   *
+   * @param payload 座席配置のバイナリ
+   * @return 座席の詳細データ
+   */
+  public static List<SeatingSnapshotDetail> decode(byte[] payload) {
+    Input in = new Input(payload);
+    int version = (int) in.readVarint();
+    if (version != FORMAT_VERSION) {
+      throw new IllegalArgumentException("対応していない座席表データの形式です: " + version);
+    }
+    int rows = (int) in.readVarint();
+    int columns = (int) in.readVarint();
+
+    String[] strings = new String[(int) in.readVarint()];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = in.readString((int) in.readVarint());
+    }
+
+    int studentCount = (int) in.readVarint();
+    long[] studentIds = new long[studentCount];
+    int[] studentStrings = new int[studentCount * 3];
+    for (int i = 0; i < studentCount; i++) {
+      studentIds[i] = in.readVarint();
+      studentStrings[i * 3] = (int) in.readVarint();
+      studentStrings[i * 3 + 1] = (int) in.readVarint();
+      studentStrings[i * 3 + 2] = (int) in.readVarint();
+    }
+
+    List<SeatingSnapshotDetail> details = new ArrayList<>(studentCount);
+    int seatCount = rows * columns;
+    for (int seat = 0; seat < seatCount; seat++) {
+      int student = (int) in.readVarint() - 1;
+      if (student < 0) {
+        continue;
+      }
+      details.add(SeatingSnapshotDetail.builder()
+          .seatRow(seat / columns + 1)
+          .seatColumn(seat % columns + 1)
+          .studentId(studentIds[student])
+          .studentName(lookup(strings, studentStrings[student * 3]))
+          .studentGender(lookup(strings, studentStrings[student * 3 + 1]))
+          .studentCode(lookup(strings, studentStrings[student * 3 + 2]))
+          .build());
+    }
+    return details;
+  }
+
+  private static int intern(Map<String, Integer> dictionary, List<String> strings, String value) {
+    if (value == null) {
+      return 0;
+    }
+    Integer index = dictionary.get(value);
+    if (index == null) {
+      strings.add(value);
+      index = strings.size();
+      dictionary.put(value, index);
+    }
+    return index;
+  }
+
+  private static String lookup(String[] strings, int index) {
+    return index == 0 ? null : strings[index - 1];
+  }
+
+  /**
+   * 可変長整数の書き込み先
+   */
+  private static final class Output {
+
+    private byte[] buffer;
+    private int size;
+
+    Output(int capacity) {
+      buffer = new byte[Math.max(16, capacity)];
+    }
+
+    void writeVarint(long value) {
+      ensure(10);
+      while ((value & ~0x7FL) != 0) {
+        buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      buffer[size++] = (byte) value;
+    }
+
+    void writeBytes(byte[] bytes) {
+      ensure(bytes.length);
+      System.arraycopy(bytes, 0, buffer, size, bytes.length);
+      size += bytes.length;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensure(int extra) {
+      if (size + extra > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+      }
+    }
+  }
+
+  /**
+   * 可変長整数の読み込み元
+   */
+  private static final class Input {
+
+    private final byte[] buffer;
+    private int position;
+
+    Input(byte[] buffer) {
+      this.buffer = buffer;
+    }
+
+    long readVarint() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        if (position >= buffer.length) {
+          throw new IllegalArgumentException("座席表データが途中で終わっています。");
+        }
+        byte b = buffer[position++];
+        value |= (long) (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("座席表データの整数が不正です。");
+    }
+
+    String readString(int length) {
+      if (length < 0 || position + length > buffer.length) {
+        throw new IllegalArgumentException("座席表データが途中で終わっています。");
+      }
+      String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return value;
+    }
+  }
+}
@@ -0,0 +1,407 @@
+package sekigae.sekigae.seatingapp.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import sekigae.sekigae.seatingapp.dto.SeatingStatistics;
+import sekigae.sekigae.seatingapp.dto.StudentImportError;
+import sekigae.sekigae.seatingapp.dto.StudentImportResult;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+
+/**
+ * CSV から生徒をまとめて登録するサービスです。
+ * <p>
+ * CSV は1行ずつ読み、行ごとに {@link Student} の入力チェックとファイル内の学籍番号・座席の重複チェックを行います。
+ * チェックを通った行は {@value #BATCH_SIZE} 行ずつ、登録済みの学籍番号を調べる1回のクエリと1回の JDBC バッチで登録するので、
+ * 1つのクエリのパラメーターの数と、登録を待つ行の数は {@value #BATCH_SIZE} までです。 登録済みの座席はクラスの名簿を1回読んで調べます。
+ * ファイル内の重複チェックのために覚えるのは登録する行の学籍番号と座席だけで、座席は重複できないためクラスの座席数（最大400）までです。
+ * 生徒IDは自動採番（IDENTITY）で Hibernate ではまとめて INSERT できないため、{@link JdbcTemplate} で登録します。
+ * エラーの行は登録せず、行番号と理由を返します。
+ */
+@Service
+@RequiredArgsConstructor
+public class StudentImportService {
+
+  /**
+   * 1回のクエリで調べ、1回の JDBC バッチで登録する行数
+   */
+  static final int BATCH_SIZE = 100;
+
+  private static final String INSERT_SQL = "insert into students "
+      + "(classroom_id, name, gender, student_code, seat_row, seat_column) "
+      + "values (?, ?, ?, ?, ?, ?)";
+
+  private final StudentRepository studentRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final Validator validator;
+  private final ClassroomWriteQueue writeQueue;
+  private final SeatingChartCache chartCache;
+  private final SeatingMetrics metrics;
+
+  /**
+   * CSV の生徒をクラスに登録します
+   * <p>
+   * 1行目は見出し行で、列の順番は自由です（{@code name,gender,studentCode,seatRow,seatColumn}
+   * または {@code 氏名,性別,学籍番号,行,列}）。 文字コードは UTF-8（BOM 付きも可）です。
+   * 2行目以降はクラスの書き込みの順番を取ってから読み、1つのトランザクションで登録します。
+   *
+   * @param classroomId クラスID
+   * @param csv         CSV の内容（このメソッドでは閉じません）
+   * @return 登録の結果
+   * @throws IOException CSV を読めなかった場合
+   */
+  public StudentImportResult importCsv(long classroomId, InputStream csv) throws IOException {
+    List<StudentImportError> errors = new ArrayList<>();
+
+    BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+    int[] columns = readHeader(reader.readLine(), errors);
+    if (columns == null) {
+      return result(0, errors);
+    }
+
+    try {
+      return writeQueue.write(classroomId,
+          () -> importRows(classroomId, reader, columns, errors));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * 2行目以降を読み、チェックを通った行を {@value #BATCH_SIZE} 行ずつ登録します
+   */
+  private StudentImportResult importRows(long classroomId, BufferedReader reader, int[] columns,
+      List<StudentImportError> errors) {
+    Batch batch = new Batch(classroomId, errors);
+
+    // ファイル内の重複（値 → 最初に出てきた行番号）
+    Map<String, Integer> codeLines = new HashMap<>();
+    Map<Integer, Integer> seatLines = new HashMap<>();
+    int lineNumber = 1;
+    String line;
+    while ((line = readLine(reader)) != null) {
+      lineNumber++;
+      if (line.isBlank()) {
+        continue;
+      }
+      Student student = Student.builder().classroomId(classroomId).build();
+      List<String> messages = parse(splitCsv(line), columns, student);
+      if (messages.isEmpty()) {
+        Integer codeLine = codeLines.get(student.getStudentCode());
+        if (codeLine != null) {
+          messages.add("学籍番号が" + codeLine + "行目と重複しています");
+        }
+        Integer seatLine = seatLines.get(seatKey(student));
+        if (seatLine != null) {
+          messages.add("座席が" + seatLine + "行目と重複しています");
+        }
+      }
+      if (messages.isEmpty()) {
+        codeLines.put(student.getStudentCode(), lineNumber);
+        seatLines.put(seatKey(student), lineNumber);
+        batch.add(new ImportRow(lineNumber, student));
+      } else {
+        errors.add(error(lineNumber, student.getStudentCode(), messages));
+      }
+    }
+    batch.flush();
+
+    if (batch.imported > 0) {
+      chartCache.markChanged(classroomId);
+      metrics.countRowsWritten("import", classroomId, batch.imported);
+    }
+    errors.sort(Comparator.comparingInt(StudentImportError::getLine));
+    return result(batch.imported, errors);
+  }
+
+  private static String readLine(BufferedReader reader) {
+    try {
+      return reader.readLine();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * 見出し行から項目ごとの列番号を求めます（必要な列がない場合はエラーを追加して null を返します）
+   */
+  private static int[] readHeader(String header, List<StudentImportError> errors) {
+    if (header == null) {
+      errors.add(error(1, null, List.of("CSVが空です")));
+      return null;
+    }
+    if (header.startsWith("\uFEFF")) {
+      header = header.substring(1);
+    }
+
+    int[] columns = new int[Column.values().length];
+    Arrays.fill(columns, -1);
+    List<String> names = splitCsv(header);
+    for (int i = 0; i < names.size(); i++) {
+      Column column = Column.of(names.get(i));
+      if (column != null && columns[column.ordinal()] < 0) {
+        columns[column.ordinal()] = i;
+      }
+    }
+
+    List<String> messages = new ArrayList<>();
+    for (Column column : Column.values()) {
+      if (columns[column.ordinal()] < 0) {
+        messages.add("見出し行に「" + column.names[0] + "」（" + column.names[1] + "）の列がありません");
+      }
+    }
+    if (!messages.isEmpty()) {
+      errors.add(error(1, null, messages));
+      return null;
+    }
+    return columns;
+  }
+
+  /**
+   * 1行の値を生徒に設定し、入力チェックのエラーメッセージを返します
+   */
+  private List<String> parse(List<String> values, int[] columns, Student student) {
+    List<String> messages = new ArrayList<>();
+    student.setName(value(values, columns, Column.NAME));
+    student.setGender(value(values, columns, Column.GENDER));
+    student.setStudentCode(value(values, columns, Column.STUDENT_CODE));
+
+    Set<String> invalidNumbers = new HashSet<>();
+    student.setSeatRow(parseSeat(value(values, columns, Column.SEAT_ROW), "座席（行）",
+        Column.SEAT_ROW, messages, invalidNumbers));
+    student.setSeatColumn(parseSeat(value(values, columns, Column.SEAT_COLUMN), "座席（列）",
+        Column.SEAT_COLUMN, messages, invalidNumbers));
+
+    // 項目の順にメッセージを並べる（数値として読めなかった項目の「未入力」は重複するので出さない）
+    validator.validate(student).stream()
+        .filter(violation -> !invalidNumbers.contains(violation.getPropertyPath().toString()))
+        .sorted(Comparator.comparingInt((ConstraintViolation<Student> violation) ->
+            Column.indexOf(violation.getPropertyPath().toString())))
+        .forEach(violation -> messages.add(violation.getMessage()));
+
+    String gender = student.getGender();
+    if (gender != null && !gender.isEmpty() && !SeatingStatistics.MALE.equals(gender)
+        && !SeatingStatistics.FEMALE.equals(gender)) {
+      messages.add("性別は「" + SeatingStatistics.MALE + "」または「" + SeatingStatistics.FEMALE
+          + "」を入力してください");
+    }
+    return messages;
+  }
+
+  private static Integer parseSeat(String value, String label, Column column,
+      List<String> messages, Set<String> invalidNumbers) {
+    if (value == null || value.isEmpty()) {
+      return null;
+    }
+    try {
+      return Integer.valueOf(value);
+    } catch (NumberFormatException e) {
+      messages.add(label + "は数値で入力してください");
+      invalidNumbers.add(column.property);
+      return null;
+    }
+  }
+
+  private static String value(List<String> values, int[] columns, Column column) {
+    int index = columns[column.ordinal()];
+    if (index >= values.size()) {
+      return null;
+    }
+    String value = values.get(index).strip();
+    return value.isEmpty() ? null : value;
+  }
+
+  /**
+   * CSV の1行を値に分割します（ダブルクォートで囲んだ値の中のカンマと「""」に対応）
+   */
+  static List<String> splitCsv(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          value.append(c);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          value.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        values.add(value.toString());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    values.add(value.toString());
+    return values;
+  }
+
+  private static int seatKey(Student student) {
+    return student.getSeatRow() * 100 + student.getSeatColumn();
+  }
+
+  private static StudentImportError error(int line, String studentCode, List<String> messages) {
+    return StudentImportError.builder()
+        .line(line)
+        .studentCode(studentCode)
+        .messages(messages)
+        .build();
+  }
+
+  private static StudentImportResult result(int importedCount, List<StudentImportError> errors) {
+    return StudentImportResult.builder()
+        .importedCount(importedCount)
+        .rejectedCount(errors.size())
+        .errors(errors)
+        .build();
+  }
+
+  /**
+   * 1行分の登録内容
+   */
+  private record ImportRow(int line, Student student) {
+
+  }
+
+  /**
+   * 登録を待つ行（最大 {@value #BATCH_SIZE} 行）
+   * <p>
+   * いっぱいになるたびに、登録済みの学籍番号・座席と重ならない行を JDBC バッチで登録します。
+   */
+  private final class Batch {
+
+    private final long classroomId;
+    private final List<StudentImportError> errors;
+    private final List<ImportRow> rows = new ArrayList<>(BATCH_SIZE);
+    private Set<Integer> occupiedSeats;
+    private int imported;
+
+    private Batch(long classroomId, List<StudentImportError> errors) {
+      this.classroomId = classroomId;
+      this.errors = errors;
+    }
+
+    void add(ImportRow row) {
+      rows.add(row);
+      if (rows.size() >= BATCH_SIZE) {
+        flush();
+      }
+    }
+
+    void flush() {
+      if (rows.isEmpty()) {
+        return;
+      }
+      if (occupiedSeats == null) {
+        // 登録する行があるときだけ、最初に1回クラスの名簿を読む
+        occupiedSeats = new HashSet<>();
+        for (Student student : studentRepository.findByClassroomId(classroomId)) {
+          if (student.getSeatRow() != null && student.getSeatColumn() != null) {
+            occupiedSeats.add(seatKey(student));
+          }
+        }
+      }
+
+      List<String> codes = new ArrayList<>(rows.size());
+      for (ImportRow row : rows) {
+        codes.add(row.student().getStudentCode());
+      }
+      Set<String> registeredCodes =
+          new HashSet<>(studentRepository.findExistingStudentCodes(codes));
+
+      List<Student> accepted = new ArrayList<>(rows.size());
+      for (ImportRow row : rows) {
+        Student student = row.student();
+        List<String> messages = new ArrayList<>();
+        if (registeredCodes.contains(student.getStudentCode())) {
+          messages.add("その学籍番号はすでに登録されています");
+        }
+        if (occupiedSeats.contains(seatKey(student))) {
+          messages.add("指定された座席にはすでに他の生徒が登録されています");
+        }
+        if (messages.isEmpty()) {
+          accepted.add(student);
+        } else {
+          errors.add(error(row.line(), student.getStudentCode(), messages));
+        }
+      }
+      rows.clear();
+
+      if (!accepted.isEmpty()) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, accepted, BATCH_SIZE, (statement, student) -> {
+          statement.setLong(1, student.getClassroomId());
+          statement.setString(2, student.getName());
+          statement.setString(3, student.getGender());
+          statement.setString(4, student.getStudentCode());
+          statement.setInt(5, student.getSeatRow());
+          statement.setInt(6, student.getSeatColumn());
+        });
+        imported += accepted.size();
+      }
+    }
+  }
+
+  /**
+   * CSV の列（見出しは英語名・日本語名のどちらでもよい）
+   */
+  private enum Column {
+    NAME("name", "name", "氏名", "名前"),
+    GENDER("gender", "gender", "性別"),
+    STUDENT_CODE("studentCode", "studentCode", "学籍番号"),
+    SEAT_ROW("seatRow", "seatRow", "行", "座席の行"),
+    SEAT_COLUMN("seatColumn", "seatColumn", "列", "座席の列");
+
+    private final String property;
+    private final String[] names;
+
+    Column(String property, String... names) {
+      this.property = property;
+      this.names = names;
+    }
+
+    static Column of(String header) {
+      String name = header.strip();
+      for (Column column : values()) {
+        for (String candidate : column.names) {
+          if (candidate.toLowerCase(Locale.ROOT).equals(name.toLowerCase(Locale.ROOT))) {
+            return column;
+          }
+        }
+      }
+      return null;
+    }
+
+    static int indexOf(String property) {
+      for (Column column : values()) {
+        if (column.property.equals(property)) {
+          return column.ordinal();
+        }
+      }
+      return values().length;
+    }
+  }
+}
@@ -1,11 +1,16 @@
 package sekigae.sekigae.seatingapp.service;
 
 import jakarta.transaction.Transactional;
+import jakarta.transaction.Transactional.TxType;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import sekigae.sekigae.seatingapp.dto.StudentPage;
+import sekigae.sekigae.seatingapp.dto.StudentRow;
 import sekigae.sekigae.seatingapp.entity.Student;
 import sekigae.sekigae.seatingapp.repository.StudentRepository;
 
@@ -14,110 +19,184 @@ import sekigae.sekigae.seatingapp.repository.StudentRepository;
 @Transactional
 public class StudentService {
 
+  /**
+   * 生徒APIの1ページあたりの件数（指定がない場合）
+   */
+  public static final int STUDENT_PAGE_SIZE = 100;
+
+  /**
+   * 生徒APIの1ページあたりの最大件数
+   */
+  public static final int MAX_STUDENT_PAGE_SIZE = 500;
+
   private final StudentRepository studentRepository;
+  private final SeatingChartCache chartCache;
+  private final ClassroomWriteQueue writeQueue;
 
   /**
-   * 全ての生徒情報を取得するメソッドです
+   * クラスの全ての生徒情報を取得するメソッドです（メモリ上の名簿から返すためデータベースにはアクセスしません）
    *
-   * @return 生徒情報（全件）
+   * @param classroomId クラスID
+   * @return 生徒情報（クラスの全件、変更できないリスト）
    */
-  public List<Student> getAllStudents() {
-    return studentRepository.findAll();
+  public List<Student> getAllStudents(long classroomId) {
+    return chartCache.getStudents(classroomId);
   }
 
   /**
-   * 生徒を名前で検索するためのメソッドです
+   * クラスの生徒をIDの順に1ページ分取得します（生徒APIのページ分割・絞り込み用）
+   * <p>
+   * IDをカーソルにしたキーセット方式で、条件に合う生徒の項目だけを射影で取得します（エンティティは読み込みません）。
    *
-   * @param keyword 生徒氏名
+   * @param classroomId クラスID
+   * @param afterId     カーソル（このIDより後ろの生徒を取得、nullの場合は先頭ページ）
+   * @param limit       1ページの件数
+   * @param gender      性別（nullの場合は絞り込まない）
+   * @param seated      true: 座席のある生徒、false: 座席のない生徒（nullの場合は絞り込まない）
+   * @param namePrefix  氏名の先頭（nullまたは空の場合は絞り込まない）
+   * @return 生徒のページ
+   */
+  public StudentPage getStudentPage(long classroomId, Long afterId, int limit, String gender,
+      Boolean seated, String namePrefix) {
+    String namePattern = namePrefix == null || namePrefix.isEmpty() ? null
+        : namePrefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    // 次のページの有無を判定するため1件多く取得
+    List<StudentRow> rows = studentRepository.findPage(classroomId,
+        afterId == null ? 0 : afterId, gender, seated, namePattern, PageRequest.of(0, limit + 1));
+
+    boolean hasNext = rows.size() > limit;
+    if (hasNext) {
+      rows = rows.subList(0, limit);
+    }
+    return StudentPage.builder()
+        .students(rows)
+        .hasNext(hasNext)
+        .nextAfterId(hasNext ? rows.get(rows.size() - 1).getId() : null)
+        .build();
+  }
+
+  /**
+   * クラスの生徒を名前で検索するためのメソッドです
+   *
+   * @param classroomId クラスID
+   * @param keyword     生徒氏名
    * @return 検索をかけた生徒情報のリスト
    */
-  public List<Student> searchByName(String keyword) {
-    return studentRepository.findByNameContaining(keyword);
+  public List<Student> searchByName(long classroomId, String keyword) {
+    return studentRepository.findByClassroomIdAndNameContaining(classroomId, keyword);
   }
 
   /**
-   * 生徒を性別で検索します
+   * クラスの生徒を性別で検索します
    *
-   * @param gender 男子　または　女子
+   * @param classroomId クラスID
+   * @param gender      男子　または　女子
    * @return 該当する性別の生徒情報のリスト
    */
-  public List<Student> getByGender(String gender) {
+  public List<Student> getByGender(long classroomId, String gender) {
 
-    return studentRepository.findByGender(gender);
+    return studentRepository.findByClassroomIdAndGender(classroomId, gender);
   }
 
   /**
-   * 生徒を新規登録するメソッドです
+   * 生徒をクラスに新規登録するメソッドです
+   * <p>
+   * 座席の空きを確認してから登録するので、席替えなどと混ざらないよう {@link ClassroomWriteQueue} でクラスの順番を待ちます
+   * （順番を取ってからトランザクションを開始するため、このメソッド自体はトランザクションを開始しません）。
    *
-   * @param student 新規登録のフォーム画面で入力した情報を持つ生徒オブジェクト
+   * @param classroomId クラスID
+   * @param student     新規登録のフォーム画面で入力した情報を持つ生徒オブジェクト
    * @return 新規登録のフォーム画面で入力した生徒情報をDBに保存します
    */
-  public Student registerStudent(Student student) {
-
-    // 同じ座席の生徒がいるかチェック
-    Student existing = studentRepository.findBySeatRowAndSeatColumn(
-        student.getSeatRow(), student.getSeatColumn());
-
-    if (existing != null) {
-      // ここで例外をスロー → メソッド終了
-      throw new IllegalArgumentException("指定された座席にはすでに他の生徒が登録されています。");
-      // この下のコードは実行されない（到達不可能コード）
-    }
+  @Transactional(TxType.NOT_SUPPORTED)
+  public Student registerStudent(long classroomId, Student student) {
+    return writeQueue.write(classroomId, () -> {
+      student.setClassroomId(classroomId);
+
+      // 同じクラスで同じ座席の生徒がいるかチェック
+      Student existing = studentRepository.findByClassroomIdAndSeatRowAndSeatColumn(
+          classroomId, student.getSeatRow(), student.getSeatColumn());
+
+      if (existing != null) {
+        // ここで例外をスロー → メソッド終了
+        throw new IllegalArgumentException("指定された座席にはすでに他の生徒が登録されています。");
+        // この下のコードは実行されない（到達不可能コード）
+      }
 
-    // existing == null の場合のみ、ここまで↓到達する　
-    return studentRepository.save(student);
+      // existing == null の場合のみ、ここまで↓到達する　
+      Student saved = studentRepository.save(student);
+      chartCache.markChanged(classroomId);
+      return saved;
+    });
   }
 
   /**
-   * 指定IDの生徒情報を取得するメソッドです（該当する生徒が見つからない場合はnullを返します）
+   * クラスの指定IDの生徒情報を取得するメソッドです（該当する生徒が見つからない場合はnullを返します）
    *
-   * @param id 生徒ID
-   * @return
+   * @param classroomId クラスID
+   * @param id          生徒ID
+   * @return 生徒情報（他のクラスの生徒の場合もnull）
    */
-  public Student getStudentById(Long id) {
-    Optional<Student> student = studentRepository.findById(id);
+  public Student getStudentById(long classroomId, Long id) {
+    Optional<Student> student = studentRepository.findByIdAndClassroomId(id, classroomId);
     return student.orElse(null);
   }
 
   /**
-   * 指定座席にいる生徒を取得
+   * クラスの指定座席にいる生徒を取得
    */
-  public Student getStudentBySeat(int row, int col) {
-    return studentRepository.findBySeatRowAndSeatColumn(row, col);
+  public Student getStudentBySeat(long classroomId, int row, int col) {
+    return studentRepository.findByClassroomIdAndSeatRowAndSeatColumn(classroomId, row, col);
   }
 
   /**
-   * 生徒の座席を更新する
+   * クラスの生徒の座席を更新する（{@link ClassroomWriteQueue} でクラスの順番を待ってから書き込みます）
    */
-  public Student updateSeat(Long studentId, int newRow, int newCol) {
-    Student student = getStudentById(studentId);
-    if (student != null) {
-      student.setSeatRow(newRow);
-      student.setSeatColumn(newCol);
-      return studentRepository.save(student);
-    }
-    return null;
+  @Transactional(TxType.NOT_SUPPORTED)
+  public Student updateSeat(long classroomId, Long studentId, int newRow, int newCol) {
+    return writeQueue.write(classroomId, () -> {
+      Student student = getStudentById(classroomId, studentId);
+      if (student != null) {
+        student.setSeatRow(newRow);
+        student.setSeatColumn(newCol);
+        Student saved = studentRepository.save(student);
+        chartCache.markChanged(classroomId);
+        return saved;
+      }
+      return null;
+    });
   }
 
   /**
-   * 生徒情報の削除
+   * クラスの生徒情報の削除（他のクラスの生徒は削除しません）
+   * <p>
+   * {@link ClassroomWriteQueue} でクラスの順番を待ってから削除します。
    *
-   * @param id 学籍番号
+   * @param classroomId クラスID
+   * @param id          学籍番号
    */
-  public void deleteStudent(Long id) {
-
-    studentRepository.deleteById(id);
+  @Transactional(TxType.NOT_SUPPORTED)
+  public void deleteStudent(long classroomId, Long id) {
+    writeQueue.write(classroomId, () -> {
+      studentRepository.findByIdAndClassroomId(id, classroomId).ifPresent(student -> {
+        studentRepository.delete(student);
+        chartCache.markChanged(classroomId);
+      });
+      return null;
+    });
   }
 
   /**
-   * 生徒の座席をシャッフルします
+   * クラスの生徒の座席をシャッフルします
    *
-   * @param rows    座席の行数
-   * @param columns 座席の列数
+   * @param classroomId クラスID
+   * @param rows        座席の行数
+   * @param columns     座席の列数
    * @return シャッフル後の座席配置
    */
-  public Student[][] shuffleSeatingChart(int rows, int columns) {
-    List<Student> allStudents = studentRepository.findAll();
+  public Student[][] shuffleSeatingChart(long classroomId, int rows, int columns) {
+    List<Student> allStudents = new ArrayList<>(
+        studentRepository.findByClassroomId(classroomId));
     Collections.shuffle(allStudents); // ← ランダムに並び替え
 
     Student[][] chart = new Student[rows][columns];
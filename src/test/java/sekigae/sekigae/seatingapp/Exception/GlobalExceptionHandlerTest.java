@@ -0,0 +1,121 @@
+package sekigae.sekigae.seatingapp.Exception;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import jakarta.servlet.ServletException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import sekigae.sekigae.seatingapp.config.CurrentClassroomArgumentResolver;
+import sekigae.sekigae.seatingapp.controller.StudentController;
+import sekigae.sekigae.seatingapp.service.SeatingChartVersion;
+import sekigae.sekigae.seatingapp.service.StudentImportService;
+import sekigae.sekigae.seatingapp.service.StudentService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GlobalExceptionHandler の単体テスト")
+class GlobalExceptionHandlerTest {
+
+  @Mock
+  private StudentService studentService;
+
+  @Mock
+  private SeatingChartVersion chartVersion;
+
+  @Mock
+  private StudentImportService studentImportService;
+
+  @InjectMocks
+  private StudentController studentController;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    mockMvc = MockMvcBuilders.standaloneSetup(studentController)
+        .setCustomArgumentResolvers(new CurrentClassroomArgumentResolver(id -> true))
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .build();
+  }
+
+  @Test
+  @DisplayName("IllegalArgumentException - 正常系：REST API では JSON の400を返す")
+  void handleIllegalArgumentException_Api_ReturnsJsonBadRequest() throws Exception {
+    // given
+    when(studentService.getStudentById(1L, 5L))
+        .thenThrow(new IllegalArgumentException("IDの形式が不正です。"));
+
+    // when & then
+    mockMvc.perform(get("/students/api/5"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.error").value("Bad Request"))
+        .andExpect(jsonPath("$.message").value("IDの形式が不正です。"))
+        .andExpect(jsonPath("$.code").value(400));
+  }
+
+  @Test
+  @DisplayName("IllegalArgumentException - 正常系：画面ではこれまでどおり登録フォームにメッセージを表示する")
+  void handleIllegalArgumentException_Page_ShowsForm() throws Exception {
+    // given
+    when(studentService.getAllStudents(1L))
+        .thenThrow(new IllegalArgumentException("入力が不正です。"));
+
+    // when & then
+    mockMvc.perform(get("/students"))
+        .andExpect(status().isOk())
+        .andExpect(view().name("students/create"))
+        .andExpect(model().attribute("errorMessage", "入力が不正です。"));
+  }
+
+  @Test
+  @DisplayName("IllegalStateException - 正常系：REST API では JSON の500を返す")
+  void handleIllegalStateException_Api_ReturnsJsonServerError() throws Exception {
+    // given
+    when(studentImportService.importCsv(anyLong(), any()))
+        .thenThrow(new IllegalStateException("登録に失敗しました。"));
+    MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+        "name,gender,studentCode,seatRow,seatColumn\n".getBytes(StandardCharsets.UTF_8));
+
+    // when & then
+    mockMvc.perform(multipart("/students/api/import").file(file))
+        .andExpect(status().isInternalServerError())
+        .andExpect(jsonPath("$.error").value("Internal Server Error"))
+        .andExpect(jsonPath("$.message").value("登録に失敗しました。"))
+        .andExpect(jsonPath("$.code").value(500));
+  }
+
+  @Test
+  @DisplayName("IllegalStateException - 異常系：画面では処理せず、そのまま例外を投げる")
+  void handleIllegalStateException_Page_Rethrows() {
+    // given
+    when(studentService.getAllStudents(1L)).thenThrow(new IllegalStateException("失敗"));
+
+    // when
+    ServletException thrown = assertThrows(ServletException.class,
+        () -> mockMvc.perform(get("/students")));
+
+    // then
+    assertInstanceOf(IllegalStateException.class, thrown.getCause());
+  }
+}
@@ -0,0 +1,100 @@
+package sekigae.sekigae.seatingapp;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import sekigae.sekigae.seatingapp.entity.Classroom;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+
+/**
+ * エクスポートを H2 に対して実際に読み出して確認するテストです。
+ * <p>
+ * 単体テストはリポジトリをモックにしているため、フェッチサイズなどデータベースごとに違う指定の誤りはここで見つけます
+ * （H2 は MySQL で1行ずつ受け取るための負のフェッチサイズを受け付けません）。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("エクスポートのテスト（H2）")
+class ExportStreamingTest {
+
+  private static final long CLASSROOM_ID = Classroom.DEFAULT_ID;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private StudentRepository studentRepository;
+
+  private List<Student> students;
+
+  @BeforeEach
+  void setUp() {
+    students = studentRepository.saveAll(List.of(
+        Student.builder().classroomId(CLASSROOM_ID).name("山田太郎").gender("男子")
+            .studentCode("101").seatRow(1).seatColumn(2).build(),
+        Student.builder().classroomId(CLASSROOM_ID).name("佐藤花子").gender("女子")
+            .studentCode("102").build()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+  }
+
+  @Test
+  @DisplayName("GET /exports/students - 正常系：クラスの名簿をID順にCSVで書き出す")
+  void exportRoster_WritesCsv() throws Exception {
+    // given
+    long first = students.get(0).getId();
+    long second = students.get(1).getId();
+
+    // when
+    MvcResult result = mockMvc.perform(get("/exports/students"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // then
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().encoding("UTF-8"))
+        .andExpect(content().string("\uFEFF"
+            + "id,classroomId,name,gender,studentCode,seatRow,seatColumn\r\n"
+            + first + "," + CLASSROOM_ID + ",山田太郎,男子,101,1,2\r\n"
+            + second + "," + CLASSROOM_ID + ",佐藤花子,女子,102,,\r\n"));
+  }
+
+  @Test
+  @DisplayName("GET /exports/chart - 正常系：座席のある生徒だけを座席順にCSVで書き出す")
+  void exportSeatingChart_WritesSeatedStudents() throws Exception {
+    // given
+    long seated = students.get(0).getId();
+
+    // when
+    MvcResult result = mockMvc.perform(get("/exports/chart"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // then
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().string("\uFEFF"
+            + "id,classroomId,name,gender,studentCode,seatRow,seatColumn\r\n"
+            + seated + "," + CLASSROOM_ID + ",山田太郎,男子,101,1,2\r\n"));
+  }
+}
@@ -0,0 +1,201 @@
+package sekigae.sekigae.seatingapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sekigae.sekigae.seatingapp.dto.SnapshotRestoreResult;
+import sekigae.sekigae.seatingapp.entity.Classroom;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshot;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.NeighbourHistoryRepository;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotDetailRepository;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotPayloadRepository;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotRepository;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+import sekigae.sekigae.seatingapp.service.SeatArrangementMode;
+import sekigae.sekigae.seatingapp.service.SeatingChartCache;
+import sekigae.sekigae.seatingapp.service.SeatingService;
+import sekigae.sekigae.seatingapp.service.SeatingSnapshotService;
+import sekigae.sekigae.seatingapp.support.SqlStatementRecorder;
+import sekigae.sekigae.seatingapp.support.SqlStatementRecorderConfig;
+
+/**
+ * 画面表示・席替え・保存・復元で発行するSQLの回数の上限と N+1 を、H2 に対して実際に確認するテストです。
+ * <p>
+ * 単体テストはリポジトリをモックにしているため、生徒ごとに SELECT / UPDATE するような退行はここで見つけます。
+ * 上限には、コミット後に名簿のキャッシュを読み直す1回を含みます。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SqlStatementRecorderConfig.class)
+@DisplayName("SQL発行回数のテスト")
+class SqlStatementBudgetTest {
+
+  private static final long CLASSROOM_ID = Classroom.DEFAULT_ID;
+  private static final int ROWS = 6;
+  private static final int COLUMNS = 5;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private SqlStatementRecorder sqlRecorder;
+
+  @Autowired
+  private SeatingService seatingService;
+
+  @Autowired
+  private SeatingSnapshotService snapshotService;
+
+  @Autowired
+  private SeatingChartCache chartCache;
+
+  @Autowired
+  private StudentRepository studentRepository;
+
+  @Autowired
+  private SeatingSnapshotRepository snapshotRepository;
+
+  @Autowired
+  private SeatingSnapshotDetailRepository snapshotDetailRepository;
+
+  @Autowired
+  private SeatingSnapshotPayloadRepository payloadRepository;
+
+  @Autowired
+  private NeighbourHistoryRepository neighbourHistoryRepository;
+
+  @BeforeEach
+  void setUp() {
+    // 6x5 の座席表を満席にする名簿
+    List<Student> students = new ArrayList<>();
+    for (int i = 0; i < ROWS * COLUMNS; i++) {
+      students.add(Student.builder()
+          .classroomId(CLASSROOM_ID)
+          .name("生徒" + (i + 1))
+          .gender(i % 2 == 0 ? "男子" : "女子")
+          .studentCode(String.valueOf(i + 1))
+          .seatRow(i / COLUMNS + 1)
+          .seatColumn(i % COLUMNS + 1)
+          .build());
+    }
+    studentRepository.saveAll(students);
+    chartCache.markChanged(CLASSROOM_ID);
+  }
+
+  @AfterEach
+  void tearDown() {
+    payloadRepository.deleteAllInBatch();
+    snapshotDetailRepository.deleteAllInBatch();
+    snapshotRepository.deleteAllInBatch();
+    neighbourHistoryRepository.deleteAllInBatch();
+    studentRepository.deleteAllInBatch();
+    chartCache.markChanged(CLASSROOM_ID);
+  }
+
+  @Test
+  @DisplayName("GET /seating - 正常系：キャッシュ済みの座席表画面は2文以内（保存データ一覧のみ）")
+  void showSeatingChart_WithinBudget() throws Exception {
+    // given：設定と名簿のキャッシュを読み込んでおく
+    mockMvc.perform(get("/seating")).andExpect(status().isOk());
+    sqlRecorder.reset();
+
+    // when
+    mockMvc.perform(get("/seating")).andExpect(status().isOk());
+
+    // then
+    sqlRecorder.assertAtMost(2);
+    sqlRecorder.assertNoNPlusOne();
+  }
+
+  @Test
+  @DisplayName("shuffleSeatingChart - 正常系：名簿の読み込み・バッチ更新・キャッシュの読み直しの3文以内")
+  void shuffleSeatingChart_WithinBudget() {
+    // given
+    sqlRecorder.reset();
+
+    // when
+    seatingService.shuffleSeatingChart(CLASSROOM_ID, ROWS, COLUMNS,
+        SeatArrangementMode.NORMAL);
+
+    // then
+    sqlRecorder.assertAtMost(3);
+    sqlRecorder.assertNoNPlusOne();
+  }
+
+  @Test
+  @DisplayName("saveCurrentSeatingSnapshot - 正常系：配置データは保存前の SELECT なしで INSERT の1文だけで保存する")
+  void saveCurrentSeatingSnapshot_InsertsPayloadWithoutSelect() {
+    // given
+    sqlRecorder.reset();
+
+    // when
+    snapshotService.saveCurrentSeatingSnapshot(CLASSROOM_ID, ROWS, COLUMNS, "保存テスト", null);
+
+    // then
+    List<String> payloadStatements = sqlRecorder.getStatements().stream()
+        .map(sql -> sql.toLowerCase(Locale.ROOT).trim())
+        .filter(sql -> sql.contains("seating_snapshot_payloads"))
+        .toList();
+    assertEquals(1, payloadStatements.size(), String.join("\n", payloadStatements));
+    assertTrue(payloadStatements.get(0).startsWith("insert"), payloadStatements.get(0));
+    sqlRecorder.assertNoNPlusOne();
+  }
+
+  @Test
+  @DisplayName("saveCurrentSeatingSnapshot - 正常系：新しい隣席ペア（6x5 では49組）は1回の JDBC バッチで登録する")
+  void saveCurrentSeatingSnapshot_InsertsNeighbourPairsInOneBatch() {
+    // given
+    sqlRecorder.reset();
+
+    // when
+    snapshotService.saveCurrentSeatingSnapshot(CLASSROOM_ID, ROWS, COLUMNS, "隣席テスト", null);
+
+    // then
+    List<String> historyInserts = sqlRecorder.getStatements().stream()
+        .map(sql -> sql.toLowerCase(Locale.ROOT).trim())
+        .filter(sql -> sql.startsWith("insert into seating_neighbour_history"))
+        .toList();
+    assertEquals(1, historyInserts.size());
+    assertEquals(ROWS * (COLUMNS - 1) + (ROWS - 1) * COLUMNS,
+        neighbourHistoryRepository.count());
+    sqlRecorder.assertNoNPlusOne();
+  }
+
+  @Test
+  @DisplayName("restoreSeatingSnapshot - 正常系：配置データ・名簿の読み込み・バッチ更新・キャッシュの読み直しの4文以内")
+  void restoreSeatingSnapshot_WithinBudget() {
+    // given：保存してから席替えし、復元で全員の座席が戻るようにする
+    SeatingSnapshot snapshot = snapshotService.saveCurrentSeatingSnapshot(CLASSROOM_ID, ROWS,
+        COLUMNS, "復元テスト", null);
+    seatingService.shuffleSeatingChart(CLASSROOM_ID, ROWS, COLUMNS,
+        SeatArrangementMode.NORMAL);
+    sqlRecorder.reset();
+
+    // when
+    Optional<SnapshotRestoreResult> result = snapshotService.restoreSeatingSnapshot(CLASSROOM_ID,
+        snapshot.getId());
+
+    // then
+    assertTrue(result.isPresent());
+    sqlRecorder.assertAtMost(4);
+    sqlRecorder.assertNoNPlusOne();
+  }
+}
@@ -0,0 +1,96 @@
+package sekigae.sekigae.seatingapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sekigae.sekigae.seatingapp.dto.ColumnarSeatingChart;
+
+@DisplayName("BinaryMessageConvertersConfig単体テスト")
+class BinaryMessageConvertersConfigTest {
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    BinaryMessageConvertersConfig config = new BinaryMessageConvertersConfig();
+    mockMvc = MockMvcBuilders.standaloneSetup(new ChartController())
+        .setMessageConverters(
+            new MappingJackson2HttpMessageConverter(new Jackson2ObjectMapperBuilder().build()),
+            config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()),
+            config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()))
+        .build();
+  }
+
+  @Test
+  @DisplayName("Accept - 正常系：指定がなければJSONを返す")
+  void noAccept_ReturnsJson() throws Exception {
+    // when & then
+    mockMvc.perform(get("/chart"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  @DisplayName("Accept - 正常系：CBORを指定するとJSONと同じ内容をCBORで返す")
+  void acceptCbor_ReturnsSameContentAsJson() throws Exception {
+    // when
+    byte[] json = mockMvc.perform(get("/chart").accept(MediaType.APPLICATION_JSON))
+        .andReturn().getResponse().getContentAsByteArray();
+    byte[] cbor = mockMvc.perform(get("/chart").accept(MediaType.APPLICATION_CBOR))
+        .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+        .andReturn().getResponse().getContentAsByteArray();
+
+    // then
+    JsonNode expected = new ObjectMapper().readTree(json);
+    assertEquals(expected, new CBORMapper().readTree(cbor));
+  }
+
+  @Test
+  @DisplayName("Accept - 正常系：Smileを指定するとJSONと同じ内容をSmileで返す")
+  void acceptSmile_ReturnsSameContentAsJson() throws Exception {
+    // given
+    MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+    // when
+    byte[] json = mockMvc.perform(get("/chart").accept(MediaType.APPLICATION_JSON))
+        .andReturn().getResponse().getContentAsByteArray();
+    byte[] body = mockMvc.perform(get("/chart").accept(smile))
+        .andExpect(content().contentType(smile))
+        .andReturn().getResponse().getContentAsByteArray();
+
+    // then
+    JsonNode expected = new ObjectMapper().readTree(json);
+    assertEquals(expected, new SmileMapper().readTree(body));
+  }
+
+  @RestController
+  static class ChartController {
+
+    @GetMapping("/chart")
+    ColumnarSeatingChart chart() {
+      return ColumnarSeatingChart.builder()
+          .rows(1)
+          .columns(2)
+          .seats(new long[]{7L, 0L})
+          .students(List.of(new ColumnarSeatingChart.Entry(7L, "田中太郎", "男子")))
+          .build();
+    }
+  }
+}
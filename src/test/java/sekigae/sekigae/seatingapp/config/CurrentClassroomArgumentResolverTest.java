@@ -0,0 +1,119 @@
+package sekigae.sekigae.seatingapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import sekigae.sekigae.seatingapp.entity.Classroom;
+
+@DisplayName("CurrentClassroomArgumentResolver単体テスト")
+class CurrentClassroomArgumentResolverTest {
+
+  @Test
+  @DisplayName("resolveClassroomId - 正常系：指定がなければ既定のクラス")
+  void resolveClassroomId_Default() {
+    // given
+    MockHttpServletRequest request = new MockHttpServletRequest();
+
+    // when & then
+    assertEquals(Classroom.DEFAULT_ID,
+        CurrentClassroomArgumentResolver.resolveClassroomId(request));
+  }
+
+  @Test
+  @DisplayName("resolveClassroomId - 正常系：パラメーターで選んだクラスはセッションに残り、次のリクエストでも使われる")
+  void resolveClassroomId_ParameterRememberedInSession() {
+    // given
+    MockHttpSession session = new MockHttpSession();
+    MockHttpServletRequest first = new MockHttpServletRequest();
+    first.setSession(session);
+    first.setParameter(CurrentClassroomArgumentResolver.PARAMETER, "3");
+    MockHttpServletRequest second = new MockHttpServletRequest();
+    second.setSession(session);
+
+    // when & then
+    assertEquals(3L, CurrentClassroomArgumentResolver.resolveClassroomId(first));
+    assertEquals(3L, CurrentClassroomArgumentResolver.resolveClassroomId(second));
+  }
+
+  @Test
+  @DisplayName("resolveClassroomId - 正常系：ヘッダーはセッションより優先される")
+  void resolveClassroomId_HeaderOverSession() {
+    // given
+    MockHttpSession session = new MockHttpSession();
+    session.setAttribute(CurrentClassroomArgumentResolver.SESSION_ATTRIBUTE, 3L);
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setSession(session);
+    request.addHeader(CurrentClassroomArgumentResolver.HEADER, "5");
+
+    // when & then
+    assertEquals(5L, CurrentClassroomArgumentResolver.resolveClassroomId(request));
+  }
+
+  @Test
+  @DisplayName("resolveClassroomId - 異常系：数値でない・0以下のIDは無視される")
+  void resolveClassroomId_InvalidIgnored() {
+    // given
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setParameter(CurrentClassroomArgumentResolver.PARAMETER, "abc");
+    request.addHeader(CurrentClassroomArgumentResolver.HEADER, "0");
+
+    // when & then
+    assertEquals(Classroom.DEFAULT_ID,
+        CurrentClassroomArgumentResolver.resolveClassroomId(request));
+  }
+
+  @Test
+  @DisplayName("resolveArgument - 正常系：存在するクラスのIDを返す")
+  void resolveArgument_ExistingClassroom() {
+    // given
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(CurrentClassroomArgumentResolver.HEADER, "3");
+    CurrentClassroomArgumentResolver resolver = new CurrentClassroomArgumentResolver(id -> id == 3L);
+
+    // when
+    Object classroomId = resolver.resolveArgument(null, null, new ServletWebRequest(request),
+        null);
+
+    // then
+    assertEquals(3L, classroomId);
+  }
+
+  @Test
+  @DisplayName("resolveArgument - 異常系：存在しないクラスは404にし、セッションにも残さない")
+  void resolveArgument_UnknownClassroom() {
+    // given
+    MockHttpSession session = new MockHttpSession();
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setSession(session);
+    request.setParameter(CurrentClassroomArgumentResolver.PARAMETER, "999");
+    CurrentClassroomArgumentResolver resolver = new CurrentClassroomArgumentResolver(id -> false);
+
+    // when
+    ResponseStatusException thrown = assertThrows(ResponseStatusException.class,
+        () -> resolver.resolveArgument(null, null, new ServletWebRequest(request), null));
+
+    // then
+    assertEquals(HttpStatus.NOT_FOUND, thrown.getStatusCode());
+    assertNull(session.getAttribute(CurrentClassroomArgumentResolver.SESSION_ATTRIBUTE));
+  }
+
+  @Test
+  @DisplayName("resolveArgument - 正常系：既定のクラスは存在を確認しない")
+  void resolveArgument_DefaultClassroomNotChecked() {
+    // given
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    CurrentClassroomArgumentResolver resolver = new CurrentClassroomArgumentResolver(id -> false);
+
+    // when & then
+    assertEquals(Classroom.DEFAULT_ID,
+        resolver.resolveArgument(null, null, new ServletWebRequest(request), null));
+  }
+}
@@ -0,0 +1,87 @@
+package sekigae.sekigae.seatingapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import sekigae.sekigae.seatingapp.config.CurrentClassroomArgumentResolver;
+import sekigae.sekigae.seatingapp.service.ExportFormat;
+import sekigae.sekigae.seatingapp.service.SeatingExportService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportController の単体テスト")
+class ExportControllerTest {
+
+  private static final Duration TIMEOUT = Duration.ofMinutes(7);
+
+  @Mock
+  private SeatingExportService exportService;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    mockMvc = MockMvcBuilders.standaloneSetup(new ExportController(exportService, TIMEOUT))
+        .setCustomArgumentResolvers(new CurrentClassroomArgumentResolver(id -> true))
+        .build();
+  }
+
+  @Test
+  @DisplayName("GET /exports/students - 正常系：エクスポートの応答だけ時間制限を seating.export.timeout にする")
+  void exportRoster_UsesExportTimeout() throws Exception {
+    // given
+    doAnswer(invocation -> {
+      invocation.getArgument(2, OutputStream.class)
+          .write("id\r\n".getBytes(StandardCharsets.UTF_8));
+      return null;
+    }).when(exportService).exportRoster(eq(2L), eq(ExportFormat.CSV), any());
+
+    // when
+    MvcResult result = mockMvc.perform(get("/exports/students")
+            .header(CurrentClassroomArgumentResolver.HEADER, "2"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // then
+    assertEquals(TIMEOUT.toMillis(), result.getRequest().getAsyncContext().getTimeout());
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Disposition",
+            "attachment; filename=\"students-2.csv\""))
+        .andExpect(content().string("id\r\n"));
+  }
+
+  @Test
+  @DisplayName("GET /exports/snapshots/{id} - 異常系：クラスの座席表でない場合は書き出さずに404を返す")
+  void exportSnapshot_OtherClassroom_ReturnsNotFound() throws Exception {
+    // given
+    when(exportService.hasSnapshot(2L, 5L)).thenReturn(false);
+
+    // when & then
+    mockMvc.perform(get("/exports/snapshots/5").header(CurrentClassroomArgumentResolver.HEADER,
+            "2"))
+        .andExpect(status().isNotFound());
+    verify(exportService).hasSnapshot(2L, 5L);
+  }
+}
@@ -2,6 +2,9 @@ package sekigae.sekigae.seatingapp.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,19 +26,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import sekigae.sekigae.seatingapp.config.CurrentClassroomArgumentResolver;
+import sekigae.sekigae.seatingapp.dto.SeatingStatistics;
 import sekigae.sekigae.seatingapp.entity.Student;
 import sekigae.sekigae.seatingapp.service.SeatingService;
-import sekigae.sekigae.seatingapp.service.StudentService;
+import sekigae.sekigae.seatingapp.service.SeatingStatisticsService;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("HomeController テスト")
 class HomeControllerTest {
 
   @Mock
-  private StudentService studentService;
+  private SeatingService seatingService;
 
   @Mock
-  private SeatingService seatingService;
+  private SeatingStatisticsService statisticsService;
 
   @InjectMocks
   private HomeController homeController;
@@ -44,7 +49,9 @@ class HomeControllerTest {
 
   @BeforeEach
   void setUp() {
-    mockMvc = MockMvcBuilders.standaloneSetup(homeController).build();
+    mockMvc = MockMvcBuilders.standaloneSetup(homeController)
+        .setCustomArgumentResolvers(new CurrentClassroomArgumentResolver(id -> true))
+        .build();
   }
 
   @Nested
@@ -61,49 +68,38 @@ class HomeControllerTest {
           createStudent(3L, "山田次郎", "男子", "003", 2, 1)
       );
 
-      String[][] seatingChart = {
-          {"田中太郎", "佐藤花子", null, null, null},
-          {"山田次郎", null, null, null, null},
-          {null, null, null, null, null},
-          {null, null, null, null, null},
-          {null, null, null, null, null},
-          {null, null, null, null, null}
-      };
-
       // モックの設定
-      when(studentService.getAllStudents()).thenReturn(students);
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(seatingService.getSeatingChart(6, 5)).thenReturn(seatingChart);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(students));
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
 
       // テスト実行
       mockMvc.perform(get("/"))
           .andExpect(status().isOk())
           .andExpect(view().name("home/dashboard"))
           .andExpect(model().attribute("studentCount", 3))
+          .andExpect(model().attribute("maleCount", 2))
+          .andExpect(model().attribute("femaleCount", 1))
           .andExpect(model().attribute("currentRows", 6))
           .andExpect(model().attribute("currentColumns", 5))
-          .andExpect(model().attribute("occupiedSeats", 3));
-
-      // メソッド呼び出し回数の検証
-      verify(studentService, times(1)).getAllStudents();
-      verify(seatingService, times(1)).getCurrentRows();
-      verify(seatingService, times(1)).getCurrentColumns();
-      verify(seatingService, times(1)).getSeatingChart(6, 5);
+          .andExpect(model().attribute("occupiedSeats", 3))
+          .andExpect(model().attribute("freeSeats", 27));
+
+      // メソッド呼び出し回数の検証（座席表は組み立てない）
+      verify(statisticsService, times(1)).getStatistics(1L);
+      verify(seatingService, times(1)).getCurrentRows(1L);
+      verify(seatingService, times(1)).getCurrentColumns(1L);
+      verify(seatingService, never()).getSeatingChart(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("正常系: 生徒データが空の場合")
     void testHome_WithNoStudents_Success() throws Exception {
-      // テストデータの準備
-      List<Student> emptyStudents = Collections.emptyList();
-      String[][] emptySeatingChart = new String[6][5]; // 全てnull
-
       // モックの設定
-      when(studentService.getAllStudents()).thenReturn(emptyStudents);
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(seatingService.getSeatingChart(6, 5)).thenReturn(emptySeatingChart);
+      when(statisticsService.getStatistics(1L))
+          .thenReturn(SeatingStatistics.of(Collections.emptyList()));
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
 
       // テスト実行
       mockMvc.perform(get("/"))
@@ -112,13 +108,13 @@ class HomeControllerTest {
           .andExpect(model().attribute("studentCount", 0))
           .andExpect(model().attribute("currentRows", 6))
           .andExpect(model().attribute("currentColumns", 5))
-          .andExpect(model().attribute("occupiedSeats", 0));
+          .andExpect(model().attribute("occupiedSeats", 0))
+          .andExpect(model().attribute("freeSeats", 30));
 
       // メソッド呼び出し回数の検証
-      verify(studentService, times(1)).getAllStudents();
-      verify(seatingService, times(1)).getCurrentRows();
-      verify(seatingService, times(1)).getCurrentColumns();
-      verify(seatingService, times(1)).getSeatingChart(6, 5);
+      verify(statisticsService, times(1)).getStatistics(1L);
+      verify(seatingService, times(1)).getCurrentRows(1L);
+      verify(seatingService, times(1)).getCurrentColumns(1L);
     }
 
     @Test
@@ -130,20 +126,10 @@ class HomeControllerTest {
           createStudent(2L, "佐藤花子", "女子", "002", 3, 3)
       );
 
-      String[][] seatingChart = {
-          {"田中太郎", null, null, null, null},
-          {null, null, null, null, null},
-          {null, null, "佐藤花子", null, null},
-          {null, null, null, null, null},
-          {null, null, null, null, null},
-          {null, null, null, null, null}
-      };
-
       // モックの設定
-      when(studentService.getAllStudents()).thenReturn(students);
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(seatingService.getSeatingChart(6, 5)).thenReturn(seatingChart);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(students));
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
 
       // テスト実行
       mockMvc.perform(get("/"))
@@ -152,90 +138,64 @@ class HomeControllerTest {
           .andExpect(model().attribute("studentCount", 2))
           .andExpect(model().attribute("currentRows", 6))
           .andExpect(model().attribute("currentColumns", 5))
-          .andExpect(model().attribute("occupiedSeats", 2));
+          .andExpect(model().attribute("occupiedSeats", 2))
+          .andExpect(model().attribute("freeSeats", 28));
     }
 
     @Test
-    @DisplayName("正常系: 空文字列が含まれる座席表の場合")
-    void testHome_WithEmptyStringSeats_Success() throws Exception {
+    @DisplayName("正常系: 座席が未設定の生徒は使用中の座席に数えない")
+    void testHome_WithUnseatedStudents_Success() throws Exception {
       // テストデータの準備
       List<Student> students = Arrays.asList(
-          createStudent(1L, "田中太郎", "男子", "001", 1, 1)
+          createStudent(1L, "田中太郎", "男子", "001", 1, 1),
+          createStudent(2L, "佐藤花子", "女子", "002", null, null)
       );
 
-      String[][] seatingChart = {
-          {"田中太郎", "", "   ", null, null},
-          {null, null, null, null, null},
-          {null, null, null, null, null},
-          {null, null, null, null, null},
-          {null, null, null, null, null},
-          {null, null, null, null, null}
-      };
-
       // モックの設定
-      when(studentService.getAllStudents()).thenReturn(students);
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(seatingService.getSeatingChart(6, 5)).thenReturn(seatingChart);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(students));
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
 
       // テスト実行
       mockMvc.perform(get("/"))
           .andExpect(status().isOk())
           .andExpect(view().name("home/dashboard"))
-          .andExpect(model().attribute("studentCount", 1))
-          .andExpect(model().attribute("currentRows", 6))
-          .andExpect(model().attribute("currentColumns", 5))
-          .andExpect(model().attribute("occupiedSeats", 1)); // 空文字・空白文字はカウントしない
+          .andExpect(model().attribute("studentCount", 2))
+          .andExpect(model().attribute("occupiedSeats", 1));
     }
 
     @Test
     @DisplayName("正常系: カスタム行列数の場合")
     void testHome_WithCustomRowsAndColumns_Success() throws Exception {
-      // テストデータの準備
+      // テストデータの準備（2人目は4行3列の範囲外）
       List<Student> students = Arrays.asList(
-          createStudent(1L, "田中太郎", "男子", "001", 1, 1)
+          createStudent(1L, "田中太郎", "男子", "001", 1, 1),
+          createStudent(2L, "佐藤花子", "女子", "002", 1, 5)
       );
 
-      String[][] customSeatingChart = {
-          {"田中太郎", null, null},
-          {null, null, null},
-          {null, null, null},
-          {null, null, null}
-      };
-
       // モックの設定
-      when(studentService.getAllStudents()).thenReturn(students);
-      when(seatingService.getCurrentRows()).thenReturn(4);
-      when(seatingService.getCurrentColumns()).thenReturn(3);
-      when(seatingService.getSeatingChart(4, 3)).thenReturn(customSeatingChart);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(students));
+      when(seatingService.getCurrentRows(1L)).thenReturn(4);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(3);
 
       // テスト実行
       mockMvc.perform(get("/"))
           .andExpect(status().isOk())
           .andExpect(view().name("home/dashboard"))
-          .andExpect(model().attribute("studentCount", 1))
+          .andExpect(model().attribute("studentCount", 2))
           .andExpect(model().attribute("currentRows", 4))
           .andExpect(model().attribute("currentColumns", 3))
-          .andExpect(model().attribute("occupiedSeats", 1));
-
-      // メソッド呼び出しの検証
-      verify(seatingService, times(1)).getSeatingChart(4, 3);
+          .andExpect(model().attribute("occupiedSeats", 1))
+          .andExpect(model().attribute("freeSeats", 11));
     }
 
-
     @Test
-    @DisplayName("異常系: nullの座席表が返された場合（シンプルバージョン）")
-    void testHome_NullSeatingChart_ThrowsException_Simple() throws Exception {
-      // テストデータの準備
-      List<Student> students = Arrays.asList(
-          createStudent(1L, "田中太郎", "男子", "001", 1, 1)
-      );
-
-      // モックの設定 - nullの座席表
-      when(studentService.getAllStudents()).thenReturn(students);
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(seatingService.getSeatingChart(6, 5)).thenReturn(null);
+    @DisplayName("異常系: 集計値が取得できない場合は例外が発生する")
+    void testHome_NullStatistics_ThrowsException() throws Exception {
+      // モックの設定 - nullの集計値
+      when(statisticsService.getStatistics(1L)).thenReturn(null);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
 
       // テスト実行 - 例外が発生することを確認
       Exception exception = assertThrows(Exception.class, () -> {
@@ -248,18 +208,11 @@ class HomeControllerTest {
       while (cause != null) {
         if (cause instanceof NullPointerException) {
           foundNPE = true;
-          assertThat(cause.getMessage()).contains("Cannot read the array length");
           break;
         }
         cause = cause.getCause();
       }
       assertThat(foundNPE).as("NullPointerExceptionが発生するはずです").isTrue();
-
-      // メソッド呼び出し回数の検証
-      verify(studentService, times(1)).getAllStudents();
-      verify(seatingService, times(1)).getCurrentRows();
-      verify(seatingService, times(1)).getCurrentColumns();
-      verify(seatingService, times(1)).getSeatingChart(6, 5);
     }
   }
 
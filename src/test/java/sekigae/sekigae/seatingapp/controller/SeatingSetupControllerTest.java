@@ -3,6 +3,7 @@ package sekigae.sekigae.seatingapp.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
@@ -32,10 +33,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
+import sekigae.sekigae.seatingapp.config.CurrentClassroomArgumentResolver;
+import sekigae.sekigae.seatingapp.dto.SeatingStatistics;
 import sekigae.sekigae.seatingapp.entity.SeatingConfigurationForm;
 import sekigae.sekigae.seatingapp.entity.Student;
 import sekigae.sekigae.seatingapp.service.SeatingService;
-import sekigae.sekigae.seatingapp.service.StudentService;
+import sekigae.sekigae.seatingapp.service.SeatingStatisticsService;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("SeatingSetupController の単体テスト")
@@ -47,7 +50,7 @@ class SeatingSetupControllerTest {
   private SeatingService seatingService;
 
   @Mock
-  private StudentService studentService;
+  private SeatingStatisticsService statisticsService;
 
   @InjectMocks
   private SeatingSetupController seatingSetupController;
@@ -62,6 +65,7 @@ class SeatingSetupControllerTest {
     viewResolver.setSuffix(".html");
 
     mockMvc = MockMvcBuilders.standaloneSetup(seatingSetupController)
+        .setCustomArgumentResolvers(new CurrentClassroomArgumentResolver(id -> true))
         .setViewResolvers(viewResolver)
         .build();
     // テストデータの準備
@@ -103,9 +107,9 @@ class SeatingSetupControllerTest {
     @DisplayName("正常系：座席表設定画面が正常に表示される")
     void showSeatingSetup_Success() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(get("/seating/setup"))
@@ -117,18 +121,19 @@ class SeatingSetupControllerTest {
           .andExpect(model().attribute("totalStudents", 3))
           .andExpect(model().attribute("currentTotalSeats", 30));
 
-      verify(seatingService).getCurrentRows();
-      verify(seatingService).getCurrentColumns();
-      verify(studentService).getAllStudents();
+      verify(seatingService).getCurrentRows(1L);
+      verify(seatingService).getCurrentColumns(1L);
+      verify(statisticsService).getStatistics(1L);
     }
 
     @Test
     @DisplayName("正常系：生徒が0人の場合でも正常に表示される")
     void showSeatingSetup_Success_WithNoStudents() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(4);
-      when(seatingService.getCurrentColumns()).thenReturn(4);
-      when(studentService.getAllStudents()).thenReturn(Collections.emptyList());
+      when(seatingService.getCurrentRows(1L)).thenReturn(4);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(4);
+      when(statisticsService.getStatistics(1L))
+          .thenReturn(SeatingStatistics.of(Collections.emptyList()));
 
       // When & Then
       mockMvc.perform(get("/seating/setup"))
@@ -143,9 +148,9 @@ class SeatingSetupControllerTest {
     void showSeatingSetup_Success_WithManyStudents() throws Exception {
       // Given - 大クラスの生徒データ（30人）
       List<Student> manyStudents = createLargeStudentList(30);
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(manyStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(manyStudents));
 
       // When & Then
       mockMvc.perform(get("/seating/setup"))
@@ -159,7 +164,7 @@ class SeatingSetupControllerTest {
     @DisplayName("異常系：SeatingServiceでRuntime例外が発生した場合")
     void showSeatingSetup_SeatingServiceException() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenThrow(
+      when(seatingService.getCurrentRows(1L)).thenThrow(
           new RuntimeException("データベース接続エラー"));
 
       // When & Then
@@ -175,9 +180,9 @@ class SeatingSetupControllerTest {
     @DisplayName("異常系：SeatingServiceが無効な値（0）を返した場合の完全テスト")
     void showSeatingSetup_ServiceReturnsZeroRows_CompleteTest() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(0);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(0);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(get("/seating/setup"))
@@ -202,9 +207,9 @@ class SeatingSetupControllerTest {
     @DisplayName("異常系：SeatingServiceが負の値を返した場合")
     void showSeatingSetup_ServiceReturnsNegativeValues() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(-1);
-      when(seatingService.getCurrentColumns()).thenReturn(-2);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(-1);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(-2);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(get("/seating/setup"))
@@ -218,9 +223,9 @@ class SeatingSetupControllerTest {
     @DisplayName("診断用：実際にモデルに設定されている属性を確認")
     void showSeatingSetup_DiagnoseModelAttributes() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(0);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(0);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(get("/seating/setup"))
@@ -243,7 +248,7 @@ class SeatingSetupControllerTest {
     @DisplayName("正常系：有効な設定で保存が成功し座席表画面にリダイレクトされる")
     void saveSeatingConfiguration_Success() throws Exception {
       // Given
-      doNothing().when(seatingService).saveSeatingConfiguration(anyInt(), anyInt());
+      doNothing().when(seatingService).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
 
       // When & Then
       mockMvc.perform(post("/seating/setup")
@@ -260,7 +265,7 @@ class SeatingSetupControllerTest {
     @DisplayName("正常系：最小値での設定保存")
     void saveSeatingConfiguration_Success_MinimumValues() throws Exception {
       // Given
-      doNothing().when(seatingService).saveSeatingConfiguration(anyInt(), anyInt());
+      doNothing().when(seatingService).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
 
       // When & Then
       mockMvc.perform(post("/seating/setup")
@@ -277,7 +282,7 @@ class SeatingSetupControllerTest {
     @DisplayName("正常系：最大値での設定保存")
     void saveSeatingConfiguration_Success_MaximumValues() throws Exception {
       // Given
-      doNothing().when(seatingService).saveSeatingConfiguration(anyInt(), anyInt());
+      doNothing().when(seatingService).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
 
       // When & Then
       mockMvc.perform(post("/seating/setup")
@@ -294,9 +299,9 @@ class SeatingSetupControllerTest {
     @DisplayName("異常系：バリデーションエラー - 行数が0の場合")
     void saveSeatingConfiguration_ValidationError_ZeroRows() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(post("/seating/setup")
@@ -309,16 +314,16 @@ class SeatingSetupControllerTest {
           .andExpect(model().attribute("currentColumns", 5))
           .andExpect(model().attribute("totalStudents", 3));
 
-      verify(seatingService, never()).saveSeatingConfiguration(anyInt(), anyInt());
+      verify(seatingService, never()).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("異常系：バリデーションエラー - 列数が負の値の場合")
     void saveSeatingConfiguration_ValidationError_NegativeColumns() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(post("/seating/setup")
@@ -328,16 +333,16 @@ class SeatingSetupControllerTest {
           .andExpect(view().name("seating/setup"))
           .andExpect(model().attributeHasFieldErrors("seatingConfigurationForm", "columns"));
 
-      verify(seatingService, never()).saveSeatingConfiguration(anyInt(), anyInt());
+      verify(seatingService, never()).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("異常系：バリデーションエラー - 行数と列数の両方が無効")
     void saveSeatingConfiguration_ValidationError_BothInvalid() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(post("/seating/setup")
@@ -348,16 +353,16 @@ class SeatingSetupControllerTest {
           .andExpect(model().attributeHasFieldErrors("seatingConfigurationForm", "rows"))
           .andExpect(model().attributeHasFieldErrors("seatingConfigurationForm", "columns"));
 
-      verify(seatingService, never()).saveSeatingConfiguration(anyInt(), anyInt());
+      verify(seatingService, never()).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("異常系：バリデーションエラー - パラメータが未指定")
     void saveSeatingConfiguration_ValidationError_MissingParameters() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(post("/seating/setup"))
@@ -366,16 +371,16 @@ class SeatingSetupControllerTest {
           .andExpect(model().attributeHasFieldErrors("seatingConfigurationForm", "rows"))
           .andExpect(model().attributeHasFieldErrors("seatingConfigurationForm", "columns"));
 
-      verify(seatingService, never()).saveSeatingConfiguration(anyInt(), anyInt());
+      verify(seatingService, never()).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("異常系：数値以外の文字列が入力された場合")
     void saveSeatingConfiguration_ValidationError_NonNumericInput() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(post("/seating/setup")
@@ -385,16 +390,16 @@ class SeatingSetupControllerTest {
           .andExpect(view().name("seating/setup"))
           .andExpect(model().attributeHasErrors("seatingConfigurationForm"));
 
-      verify(seatingService, never()).saveSeatingConfiguration(anyInt(), anyInt());
+      verify(seatingService, never()).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("異常系：極端に大きな数値が入力された場合")
     void saveSeatingConfiguration_ValidationError_TooLargeValues() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(post("/seating/setup")
@@ -404,7 +409,7 @@ class SeatingSetupControllerTest {
           .andExpect(view().name("seating/setup"))
           .andExpect(model().attributeHasErrors("seatingConfigurationForm"));
 
-      verify(seatingService, never()).saveSeatingConfiguration(anyInt(), anyInt());
+      verify(seatingService, never()).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
     }
 
     @Test
@@ -412,7 +417,7 @@ class SeatingSetupControllerTest {
     void saveSeatingConfiguration_SaveException() throws Exception {
       // Given
       doThrow(new RuntimeException("保存エラー"))
-          .when(seatingService).saveSeatingConfiguration(anyInt(), anyInt());
+          .when(seatingService).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
 
       // When & Then
       mockMvc.perform(post("/seating/setup")
@@ -430,7 +435,7 @@ class SeatingSetupControllerTest {
     void saveSeatingConfiguration_IllegalArgumentException() throws Exception {
       // Given
       doThrow(new IllegalArgumentException("無効な引数"))
-          .when(seatingService).saveSeatingConfiguration(anyInt(), anyInt());
+          .when(seatingService).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
 
       // When & Then
       mockMvc.perform(post("/seating/setup")
@@ -452,9 +457,9 @@ class SeatingSetupControllerTest {
     @DisplayName("正常系：プレビューが正常に表示される（十分な座席数）")
     void previewConfiguration_Success_EnoughSeats() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(post("/seating/setup/preview")
@@ -470,18 +475,18 @@ class SeatingSetupControllerTest {
           .andExpect(model().attribute("hasEnoughSeats", true))
           .andExpect(model().attribute("showPreview", true));
 
-      verify(seatingService).getCurrentRows();
-      verify(seatingService).getCurrentColumns();
-      verify(studentService).getAllStudents();
+      verify(seatingService).getCurrentRows(1L);
+      verify(seatingService).getCurrentColumns(1L);
+      verify(statisticsService).getStatistics(1L);
     }
 
     @Test
     @DisplayName("正常系：プレビューが正常に表示される（座席数不足）")
     void previewConfiguration_Success_NotEnoughSeats() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(post("/seating/setup/preview")
@@ -498,9 +503,9 @@ class SeatingSetupControllerTest {
     @DisplayName("正常系：プレビューで座席数がちょうど同じ場合")
     void previewConfiguration_Success_ExactSeats() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(post("/seating/setup/preview")
@@ -516,9 +521,10 @@ class SeatingSetupControllerTest {
     @DisplayName("正常系：生徒が0人の場合のプレビュー")
     void previewConfiguration_Success_NoStudents() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(4);
-      when(seatingService.getCurrentColumns()).thenReturn(4);
-      when(studentService.getAllStudents()).thenReturn(Collections.emptyList());
+      when(seatingService.getCurrentRows(1L)).thenReturn(4);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(4);
+      when(statisticsService.getStatistics(1L))
+          .thenReturn(SeatingStatistics.of(Collections.emptyList()));
 
       // When & Then
       mockMvc.perform(post("/seating/setup/preview")
@@ -536,9 +542,9 @@ class SeatingSetupControllerTest {
     void previewConfiguration_Success_LargeClass() throws Exception {
       // Given - 40人の大規模クラス
       List<Student> largeClass = createLargeStudentList(40);
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(largeClass);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(largeClass));
 
       // When & Then
       mockMvc.perform(post("/seating/setup/preview")
@@ -555,9 +561,9 @@ class SeatingSetupControllerTest {
     @DisplayName("異常系：バリデーションエラーがあってもプレビュー表示される")
     void previewConfiguration_WithValidationError() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(post("/seating/setup/preview")
@@ -575,9 +581,9 @@ class SeatingSetupControllerTest {
     @DisplayName("正常系：極端に大きな値での計算")
     void previewConfiguration_Success_LargeValues() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(post("/seating/setup/preview")
@@ -598,9 +604,9 @@ class SeatingSetupControllerTest {
     @DisplayName("エッジケース：座席の上限値テスト")
     void edgeCase_MaximumSeatingCapacity() throws Exception {
       // Given - Student エンティティの制約に基づく最大値（6行5列）
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
 
       // When & Then
       mockMvc.perform(post("/seating/setup/preview")
@@ -614,10 +620,10 @@ class SeatingSetupControllerTest {
     @DisplayName("エッジケース：座席の下限値テスト")
     void edgeCase_MinimumSeatingCapacity() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(1);
-      when(seatingService.getCurrentColumns()).thenReturn(1);
-      when(studentService.getAllStudents()).thenReturn(
-          Collections.singletonList(mockStudents.get(0)));
+      when(seatingService.getCurrentRows(1L)).thenReturn(1);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(1);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(
+          Collections.singletonList(mockStudents.get(0))));
 
       // When & Then
       mockMvc.perform(post("/seating/setup/preview")
@@ -633,9 +639,10 @@ class SeatingSetupControllerTest {
     void performance_LargeDataSet() throws Exception {
       // Given - 1000人の学生データ
       List<Student> massiveStudentList = createLargeStudentList(1000);
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(massiveStudentList);
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L))
+          .thenReturn(SeatingStatistics.of(massiveStudentList));
 
       // When & Then
       mockMvc.perform(get("/seating/setup"))
@@ -652,10 +659,10 @@ class SeatingSetupControllerTest {
     @DisplayName("設定画面表示 → プレビュー → 保存の一連の流れ")
     void completeWorkflow() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
-      doNothing().when(seatingService).saveSeatingConfiguration(anyInt(), anyInt());
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
+      doNothing().when(seatingService).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
 
       // 1. 設定画面表示
       mockMvc.perform(get("/seating/setup"))
@@ -683,10 +690,10 @@ class SeatingSetupControllerTest {
     @DisplayName("座席数不足の警告から適切な座席数への修正")
     void workflowWithWarning() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
-      doNothing().when(seatingService).saveSeatingConfiguration(anyInt(), anyInt());
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
+      doNothing().when(seatingService).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
 
       // 1. 座席数不足のプレビュー
       mockMvc.perform(post("/seating/setup/preview")
@@ -708,10 +715,10 @@ class SeatingSetupControllerTest {
     @DisplayName("バリデーションエラー → 修正 → 保存の流れ")
     void validationErrorCorrectionWorkflow() throws Exception {
       // Given
-      when(seatingService.getCurrentRows()).thenReturn(6);
-      when(seatingService.getCurrentColumns()).thenReturn(5);
-      when(studentService.getAllStudents()).thenReturn(mockStudents);
-      doNothing().when(seatingService).saveSeatingConfiguration(anyInt(), anyInt());
+      when(seatingService.getCurrentRows(1L)).thenReturn(6);
+      when(seatingService.getCurrentColumns(1L)).thenReturn(5);
+      when(statisticsService.getStatistics(1L)).thenReturn(SeatingStatistics.of(mockStudents));
+      doNothing().when(seatingService).saveSeatingConfiguration(anyLong(), anyInt(), anyInt());
 
       // 1. バリデーションエラー
       mockMvc.perform(post("/seating/setup")
@@ -1,18 +1,24 @@
 package sekigae.sekigae.seatingapp.controller;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
@@ -20,6 +26,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -32,12 +39,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import sekigae.sekigae.seatingapp.config.CurrentClassroomArgumentResolver;
+import sekigae.sekigae.seatingapp.dto.StudentImportError;
+import sekigae.sekigae.seatingapp.dto.StudentImportResult;
+import sekigae.sekigae.seatingapp.dto.StudentPage;
+import sekigae.sekigae.seatingapp.dto.StudentRow;
 import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.service.SeatingChartVersion;
+import sekigae.sekigae.seatingapp.service.StudentImportService;
 import sekigae.sekigae.seatingapp.service.StudentService;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +62,12 @@ class StudentControllerTest {
   @Mock
   private StudentService studentService;
 
+  @Mock
+  private SeatingChartVersion chartVersion;
+
+  @Mock
+  private StudentImportService studentImportService;
+
   @Mock
   private Model model;
 
@@ -62,6 +83,7 @@ class StudentControllerTest {
   @BeforeEach
   void setUp() {
     mockMvc = MockMvcBuilders.standaloneSetup(studentController)
+        .setCustomArgumentResolvers(new CurrentClassroomArgumentResolver(id -> true))
         .setControllerAdvice() // グローバル例外ハンドラーを有効にする
         .setValidator(new LocalValidatorFactoryBean()) // バリデーターを明示的に設定
         .build();
@@ -95,7 +117,7 @@ class StudentControllerTest {
               .build()
       );
 
-      when(studentService.getAllStudents()).thenReturn(students);
+      when(studentService.getAllStudents(1L)).thenReturn(students);
 
       // When & Then
       mockMvc.perform(get("/students"))
@@ -103,7 +125,7 @@ class StudentControllerTest {
           .andExpect(view().name("students/list"))
           .andExpect(model().attribute("students", students));
 
-      verify(studentService, times(1)).getAllStudents();
+      verify(studentService, times(1)).getAllStudents(1L);
     }
 
     @Test
@@ -111,7 +133,7 @@ class StudentControllerTest {
     void getAllStudents_EmptyList() throws Exception {
       // Given
       List<Student> emptyStudents = Collections.emptyList();
-      when(studentService.getAllStudents()).thenReturn(emptyStudents);
+      when(studentService.getAllStudents(1L)).thenReturn(emptyStudents);
 
       // When & Then
       mockMvc.perform(get("/students"))
@@ -119,23 +141,23 @@ class StudentControllerTest {
           .andExpect(view().name("students/list"))
           .andExpect(model().attribute("students", emptyStudents));
 
-      verify(studentService, times(1)).getAllStudents();
+      verify(studentService, times(1)).getAllStudents(1L);
     }
 
     @Test
     @DisplayName("異常系: サービスで例外が発生した場合")
     void getAllStudents_ServiceException() throws Exception {
       // Given
-      when(studentService.getAllStudents()).thenThrow(new RuntimeException("データベースエラー"));
+      when(studentService.getAllStudents(1L)).thenThrow(new RuntimeException("データベースエラー"));
 
       // When & Then
       // MockMvcではなく、直接コントローラーメソッドをテストする
       RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-        studentController.getAllStudents(model);
+        studentController.getAllStudents(1L, model);
       });
 
       assertEquals("データベースエラー", exception.getMessage());
-      verify(studentService, times(1)).getAllStudents();
+      verify(studentService, times(1)).getAllStudents(1L);
     }
   }
 
@@ -171,7 +193,7 @@ class StudentControllerTest {
           .build();
 
       when(studentService.isStudentCodeDuplicate("1")).thenReturn(false);
-      when(studentService.registerStudent(any(Student.class))).thenReturn(student);
+      when(studentService.registerStudent(anyLong(), any(Student.class))).thenReturn(student);
 
       // When & Then
       mockMvc.perform(post("/students")
@@ -184,7 +206,7 @@ class StudentControllerTest {
           .andExpect(redirectedUrl("/students"));
 
       verify(studentService, times(1)).isStudentCodeDuplicate("1");
-      verify(studentService, times(1)).registerStudent(any(Student.class));
+      verify(studentService, times(1)).registerStudent(anyLong(), any(Student.class));
     }
 
 
@@ -201,7 +223,7 @@ class StudentControllerTest {
           .andExpect(status().isOk())
           .andExpect(view().name("students/create"));
 
-      verify(studentService, never()).registerStudent(any(Student.class));
+      verify(studentService, never()).registerStudent(anyLong(), any(Student.class));
     }
 
     @Test
@@ -221,7 +243,7 @@ class StudentControllerTest {
           .andExpect(view().name("students/create"));
 
       verify(studentService, times(1)).isStudentCodeDuplicate("1");
-      verify(studentService, never()).registerStudent(any(Student.class));
+      verify(studentService, never()).registerStudent(anyLong(), any(Student.class));
     }
 
     @Test
@@ -230,7 +252,7 @@ class StudentControllerTest {
       // Given
       when(studentService.isStudentCodeDuplicate("1")).thenReturn(false);
       doThrow(new IllegalArgumentException("指定された座席は既に使用されています"))
-          .when(studentService).registerStudent(any(Student.class));
+          .when(studentService).registerStudent(anyLong(), any(Student.class));
 
       // When & Then
       mockMvc.perform(post("/students")
@@ -243,7 +265,7 @@ class StudentControllerTest {
           .andExpect(view().name("students/create"))
           .andExpect(model().attributeExists("seatError"));
 
-      verify(studentService, times(1)).registerStudent(any(Student.class));
+      verify(studentService, times(1)).registerStudent(anyLong(), any(Student.class));
     }
 
     @Test
@@ -259,7 +281,7 @@ class StudentControllerTest {
           .andExpect(status().isOk())
           .andExpect(view().name("students/create"));
 
-      verify(studentService, never()).registerStudent(any(Student.class));
+      verify(studentService, never()).registerStudent(anyLong(), any(Student.class));
     }
 
     @Test
@@ -275,7 +297,7 @@ class StudentControllerTest {
           .andExpect(status().isOk())
           .andExpect(view().name("students/create"));
 
-      verify(studentService, never()).registerStudent(any(Student.class));
+      verify(studentService, never()).registerStudent(anyLong(), any(Student.class));
     }
 
     @Test
@@ -291,7 +313,7 @@ class StudentControllerTest {
           .andExpect(status().isOk())
           .andExpect(view().name("students/create"));
 
-      verify(studentService, never()).registerStudent(any(Student.class));
+      verify(studentService, never()).registerStudent(anyLong(), any(Student.class));
     }
   }
 
@@ -322,7 +344,7 @@ class StudentControllerTest {
               .build()
       );
 
-      when(studentService.getAllStudents()).thenReturn(students);
+      when(studentService.getAllStudents(1L)).thenReturn(students);
 
       // When & Then
       mockMvc.perform(get("/students/api"))
@@ -335,14 +357,14 @@ class StudentControllerTest {
           .andExpect(jsonPath("$[1].name").value("田中花子"))
           .andExpect(jsonPath("$[1].gender").value("女子"));
 
-      verify(studentService, times(1)).getAllStudents();
+      verify(studentService, times(1)).getAllStudents(1L);
     }
 
     @Test
     @DisplayName("正常系: 空のリストが返される")
     void getAllStudentsApi_EmptyList() throws Exception {
       // Given
-      when(studentService.getAllStudents()).thenReturn(Collections.emptyList());
+      when(studentService.getAllStudents(1L)).thenReturn(Collections.emptyList());
 
       // When & Then
       mockMvc.perform(get("/students/api"))
@@ -351,6 +373,56 @@ class StudentControllerTest {
           .andExpect(jsonPath("$").isArray())
           .andExpect(jsonPath("$.length()").value(0));
     }
+
+    @Test
+    @DisplayName("正常系: 前回から変更がない場合は名簿を取得しない")
+    void getAllStudentsApi_NotModified() throws Exception {
+      // Given
+      when(chartVersion.checkNotModified(anyLong(), any())).thenReturn(true);
+
+      // When & Then
+      mockMvc.perform(get("/students/api").header("If-None-Match", "\"1-0\""));
+
+      verify(studentService, never()).getAllStudents(1L);
+    }
+
+    @Test
+    @DisplayName("正常系: 条件を指定するとID順の1ページ分を指定した項目だけで返し、次のページをLinkヘッダーで示す")
+    void getAllStudentsApi_Paged() throws Exception {
+      // Given
+      StudentRow row = mock(StudentRow.class);
+      when(row.getId()).thenReturn(5L);
+      when(row.getName()).thenReturn("田中花子");
+      when(studentService.getStudentPage(1L, 4L, 1, "女子", false, null)).thenReturn(
+          StudentPage.builder()
+              .students(List.of(row))
+              .hasNext(true)
+              .nextAfterId(5L)
+              .build());
+
+      // When & Then
+      mockMvc.perform(get("/students/api?limit=1&after=4&fields=name,id&gender=女子&seated=false"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.length()").value(1))
+          .andExpect(jsonPath("$[0].id").value(5))
+          .andExpect(jsonPath("$[0].name").value("田中花子"))
+          .andExpect(jsonPath("$[0].gender").doesNotExist())
+          .andExpect(header().string("Link", containsString("after=5")))
+          .andExpect(header().string("Link", containsString("rel=\"next\"")));
+
+      verify(studentService, never()).getAllStudents(anyLong());
+    }
+
+    @Test
+    @DisplayName("異常系: 存在しない項目を指定した場合は400を返す")
+    void getAllStudentsApi_UnknownField_ReturnsBadRequest() throws Exception {
+      // When & Then
+      mockMvc.perform(get("/students/api").param("fields", "id,password"))
+          .andExpect(status().isBadRequest());
+
+      verify(studentService, never()).getStudentPage(anyLong(), any(), anyInt(), any(), any(),
+          any());
+    }
   }
 
   @Nested
@@ -370,7 +442,7 @@ class StudentControllerTest {
           .seatColumn(1)
           .build();
 
-      when(studentService.getStudentById(1L)).thenReturn(student);
+      when(studentService.getStudentById(1L, 1L)).thenReturn(student);
 
       // When & Then
       mockMvc.perform(get("/students/api/1"))
@@ -383,20 +455,20 @@ class StudentControllerTest {
           .andExpect(jsonPath("$.seatRow").value(1))
           .andExpect(jsonPath("$.seatColumn").value(1));
 
-      verify(studentService, times(1)).getStudentById(1L);
+      verify(studentService, times(1)).getStudentById(1L, 1L);
     }
 
     @Test
     @DisplayName("異常系: 存在しないIDが指定された場合")
     void getStudentById_NotFound() throws Exception {
       // Given
-      when(studentService.getStudentById(999L)).thenReturn(null);
+      when(studentService.getStudentById(1L, 999L)).thenReturn(null);
 
       // When & Then
       mockMvc.perform(get("/students/api/999"))
           .andExpect(status().isNotFound());
 
-      verify(studentService, times(1)).getStudentById(999L);
+      verify(studentService, times(1)).getStudentById(1L, 999L);
     }
 
     @Test
@@ -406,7 +478,7 @@ class StudentControllerTest {
       mockMvc.perform(get("/students/api/abc"))
           .andExpect(status().isBadRequest());
 
-      verify(studentService, never()).getStudentById(anyLong());
+      verify(studentService, never()).getStudentById(anyLong(), anyLong());
     }
   }
 
@@ -418,14 +490,14 @@ class StudentControllerTest {
     @DisplayName("正常系: 生徒が正常に削除される")
     void deleteStudent_Success() throws Exception {
       // Given
-      doNothing().when(studentService).deleteStudent(1L);
+      doNothing().when(studentService).deleteStudent(1L, 1L);
 
       // When & Then
       mockMvc.perform(post("/students/delete/1"))
           .andExpect(status().is3xxRedirection())
           .andExpect(redirectedUrl("/students"));
 
-      verify(studentService, times(1)).deleteStudent(1L);
+      verify(studentService, times(1)).deleteStudent(1L, 1L);
     }
 
     @Test
@@ -433,16 +505,16 @@ class StudentControllerTest {
     void deleteStudent_NotFound() throws Exception {
       // Given
       doThrow(new RuntimeException("生徒が見つかりません"))
-          .when(studentService).deleteStudent(999L);
+          .when(studentService).deleteStudent(1L, 999L);
 
       // When & Then
       // 直接コントローラーメソッドをテストする
       RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-        studentController.deleteStudent(999L);
+        studentController.deleteStudent(1L, 999L);
       });
 
       assertEquals("生徒が見つかりません", exception.getMessage());
-      verify(studentService, times(1)).deleteStudent(999L);
+      verify(studentService, times(1)).deleteStudent(1L, 999L);
     }
 
     @Test
@@ -452,7 +524,7 @@ class StudentControllerTest {
       mockMvc.perform(post("/students/delete/abc"))
           .andExpect(status().isBadRequest());
 
-      verify(studentService, never()).deleteStudent(anyLong());
+      verify(studentService, never()).deleteStudent(anyLong(), anyLong());
     }
 
     @Test
@@ -460,16 +532,16 @@ class StudentControllerTest {
     void deleteStudent_DatabaseError() throws Exception {
       // Given
       doThrow(new RuntimeException("データベースエラー"))
-          .when(studentService).deleteStudent(1L);
+          .when(studentService).deleteStudent(1L, 1L);
 
       // When & Then
       // 直接コントローラーメソッドをテストする
       RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-        studentController.deleteStudent(1L);
+        studentController.deleteStudent(1L, 1L);
       });
 
       assertEquals("データベースエラー", exception.getMessage());
-      verify(studentService, times(1)).deleteStudent(1L);
+      verify(studentService, times(1)).deleteStudent(1L, 1L);
     }
   }
 
@@ -482,7 +554,7 @@ class StudentControllerTest {
     void fullWorkflow() throws Exception {
       // 1. 生徒登録
       when(studentService.isStudentCodeDuplicate("1")).thenReturn(false);
-      when(studentService.registerStudent(any(Student.class))).thenReturn(null);
+      when(studentService.registerStudent(anyLong(), any(Student.class))).thenReturn(null);
 
       mockMvc.perform(post("/students")
               .param("name", "山田太郎")
@@ -504,23 +576,65 @@ class StudentControllerTest {
               .seatColumn(1)
               .build()
       );
-      when(studentService.getAllStudents()).thenReturn(students);
+      when(studentService.getAllStudents(1L)).thenReturn(students);
 
       mockMvc.perform(get("/students"))
           .andExpect(status().isOk())
           .andExpect(view().name("students/list"));
 
       // 3. 生徒削除
-      doNothing().when(studentService).deleteStudent(1L); // deleteは通常void
+      doNothing().when(studentService).deleteStudent(1L, 1L); // deleteは通常void
 
       mockMvc.perform(post("/students/delete/1"))
           .andExpect(status().is3xxRedirection())
           .andExpect(redirectedUrl("/students"));
 
       // 検証
-      verify(studentService, times(1)).registerStudent(any(Student.class));
-      verify(studentService, times(1)).getAllStudents();
-      verify(studentService, times(1)).deleteStudent(1L);
+      verify(studentService, times(1)).registerStudent(anyLong(), any(Student.class));
+      verify(studentService, times(1)).getAllStudents(1L);
+      verify(studentService, times(1)).deleteStudent(1L, 1L);
+    }
+  }
+
+  @Nested
+  @DisplayName("importStudentsApi メソッドのテスト")
+  class ImportStudentsApiTest {
+
+    @Test
+    @DisplayName("importStudentsApi - 正常系：CSVの登録結果をJSONで返す")
+    void importStudentsApi_ReturnsResult() throws Exception {
+      // given
+      String csv = "name,gender,studentCode,seatRow,seatColumn\n山田太郎,男子,1,1,1\n";
+      MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+          csv.getBytes(StandardCharsets.UTF_8));
+      when(studentImportService.importCsv(eq(1L), any())).thenReturn(
+          StudentImportResult.builder()
+              .importedCount(1)
+              .rejectedCount(1)
+              .errors(List.of(StudentImportError.builder()
+                  .line(3)
+                  .studentCode("2")
+                  .messages(List.of("その学籍番号はすでに登録されています"))
+                  .build()))
+              .build());
+
+      // when & then
+      mockMvc.perform(multipart("/students/api/import").file(file))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.importedCount").value(1))
+          .andExpect(jsonPath("$.rejectedCount").value(1))
+          .andExpect(jsonPath("$.errors[0].line").value(3))
+          .andExpect(jsonPath("$.errors[0].messages[0]").value("その学籍番号はすでに登録されています"));
+    }
+
+    @Test
+    @DisplayName("importStudentsApi - 異常系：ファイルがない場合は400を返す")
+    void importStudentsApi_WithoutFile_ReturnsBadRequest() throws Exception {
+      // when & then
+      mockMvc.perform(multipart("/students/api/import"))
+          .andExpect(status().isBadRequest());
+
+      verify(studentImportService, never()).importCsv(anyLong(), any());
     }
   }
 
@@ -533,7 +647,8 @@ class StudentControllerTest {
     void registerStudent_MinimumSeatPosition() throws Exception {
       // Given
       when(studentService.isStudentCodeDuplicate("1")).thenReturn(false);
-      when(studentService.registerStudent(any(Student.class))).thenReturn(null); // 適切な戻り値を設定
+      // 適切な戻り値を設定
+      when(studentService.registerStudent(anyLong(), any(Student.class))).thenReturn(null);
 
       // When & Then
       mockMvc.perform(post("/students")
@@ -545,7 +660,7 @@ class StudentControllerTest {
           .andExpect(status().is3xxRedirection())
           .andExpect(redirectedUrl("/students"));
 
-      verify(studentService, times(1)).registerStudent(any(Student.class));
+      verify(studentService, times(1)).registerStudent(anyLong(), any(Student.class));
     }
 
 
@@ -554,7 +669,8 @@ class StudentControllerTest {
     void registerStudent_MaximumSeatPosition() throws Exception {
       // Given
       when(studentService.isStudentCodeDuplicate("1")).thenReturn(false);
-      when(studentService.registerStudent(any(Student.class))).thenReturn(null); // 適切な戻り値を設定
+      // 適切な戻り値を設定
+      when(studentService.registerStudent(anyLong(), any(Student.class))).thenReturn(null);
 
       // When & Then
       mockMvc.perform(post("/students")
@@ -566,7 +682,7 @@ class StudentControllerTest {
           .andExpect(status().is3xxRedirection())
           .andExpect(redirectedUrl("/students"));
 
-      verify(studentService, times(1)).registerStudent(any(Student.class));
+      verify(studentService, times(1)).registerStudent(anyLong(), any(Student.class));
     }
   }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sekigae.sekigae.seatingapp.entity.Classroom;
+import sekigae.sekigae.seatingapp.repository.ClassroomRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClassroomService単体テスト")
+class ClassroomServiceTest {
+
+  @Mock
+  private ClassroomRepository classroomRepository;
+
+  @InjectMocks
+  private ClassroomService classroomService;
+
+  @Test
+  @DisplayName("createClassroom - 正常系：前後の空白を除いたクラス名で登録される")
+  void createClassroom_TrimsName() {
+    // given
+    when(classroomRepository.save(any(Classroom.class))).thenAnswer(inv -> inv.getArgument(0));
+
+    // when
+    Classroom classroom = classroomService.createClassroom(" 1年2組 ");
+
+    // then
+    assertEquals("1年2組", classroom.getName());
+  }
+
+  @Test
+  @DisplayName("createClassroom - 異常系：クラス名が空の場合は登録しない")
+  void createClassroom_BlankName() {
+    // when & then
+    assertThrows(IllegalArgumentException.class, () -> classroomService.createClassroom(" "));
+    verify(classroomRepository, never()).save(any(Classroom.class));
+  }
+
+  @Test
+  @DisplayName("ensureDefaultClassroom - 正常系：クラスが1件もなければ既定のクラスを作成する")
+  void ensureDefaultClassroom_Empty() {
+    // given
+    when(classroomRepository.count()).thenReturn(0L);
+    when(classroomRepository.save(any(Classroom.class))).thenAnswer(inv -> inv.getArgument(0));
+
+    // when
+    classroomService.ensureDefaultClassroom();
+
+    // then
+    ArgumentCaptor<Classroom> captor = ArgumentCaptor.forClass(Classroom.class);
+    verify(classroomRepository).save(captor.capture());
+    assertEquals(ClassroomService.DEFAULT_NAME, captor.getValue().getName());
+  }
+
+  @Test
+  @DisplayName("ensureDefaultClassroom - 正常系：クラスがあれば何もしない")
+  void ensureDefaultClassroom_Exists() {
+    // given
+    when(classroomRepository.count()).thenReturn(3L);
+
+    // when
+    classroomService.ensureDefaultClassroom();
+
+    // then
+    verify(classroomRepository, never()).save(any(Classroom.class));
+  }
+
+  @Test
+  @DisplayName("exists - 正常系：存在を確認したクラスは次からデータベースを読まない")
+  void exists_CachesExistingClassroom() {
+    // given
+    when(classroomRepository.existsById(2L)).thenReturn(true);
+
+    // when & then
+    assertTrue(classroomService.exists(2L));
+    assertTrue(classroomService.exists(2L));
+    verify(classroomRepository, times(1)).existsById(2L);
+  }
+
+  @Test
+  @DisplayName("exists - 異常系：存在しないクラスは覚えずに毎回確認する")
+  void exists_UnknownClassroomNotCached() {
+    // given
+    when(classroomRepository.existsById(9L)).thenReturn(false);
+
+    // when & then
+    assertFalse(classroomService.exists(9L));
+    assertFalse(classroomService.exists(9L));
+    verify(classroomRepository, times(2)).existsById(9L);
+  }
+}
@@ -0,0 +1,175 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClassroomWriteQueue単体テスト")
+class ClassroomWriteQueueTest {
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private ClassroomWriteQueue writeQueue;
+
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private Thread holder;
+
+  @BeforeEach
+  void setUp() {
+    writeQueue = new ClassroomWriteQueue(transactionManager);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    release.countDown();
+    if (holder != null) {
+      holder.join(5_000);
+    }
+  }
+
+  @Test
+  @DisplayName("writeCoalesced - 正常系：順番を待っている同じ条件の書き込みは1回にまとめて同じ結果を返す")
+  void writeCoalesced_SameKeyShared() throws Exception {
+    // given：クラス1の書き込みが実行中
+    holdClassroom(1L);
+    AtomicInteger executions = new AtomicInteger();
+    Supplier<Object> shuffle = () -> {
+      executions.incrementAndGet();
+      return new Object();
+    };
+    AtomicReference<Object> first = new AtomicReference<>();
+    AtomicReference<Object> second = new AtomicReference<>();
+
+    // when：同じ条件の席替えが2つ届く
+    Thread leader = start(() -> first.set(writeQueue.writeCoalesced(1L, "6x5", shuffle)));
+    awaitWaiting(leader);
+    Thread follower = start(() -> second.set(writeQueue.writeCoalesced(1L, "6x5", shuffle)));
+    awaitWaiting(follower);
+    release.countDown();
+    leader.join(5_000);
+    follower.join(5_000);
+
+    // then
+    assertEquals(1, executions.get());
+    assertSame(first.get(), second.get());
+  }
+
+  @Test
+  @DisplayName("writeCoalesced - 正常系：条件が違う書き込みはまとめずに順番に実行する")
+  void writeCoalesced_DifferentKeys() throws Exception {
+    // given
+    holdClassroom(1L);
+    AtomicInteger executions = new AtomicInteger();
+
+    // when
+    Thread a = start(() -> writeQueue.writeCoalesced(1L, "6x5", executions::incrementAndGet));
+    awaitWaiting(a);
+    Thread b = start(() -> writeQueue.writeCoalesced(1L, "5x5", executions::incrementAndGet));
+    awaitWaiting(b);
+    release.countDown();
+    a.join(5_000);
+    b.join(5_000);
+
+    // then
+    assertEquals(2, executions.get());
+  }
+
+  @Test
+  @DisplayName("write - 正常系：同じクラスの書き込みは前の書き込みが終わるまで待ち、他のクラスは待たない")
+  void write_SerializedPerClassroom() throws Exception {
+    // given
+    holdClassroom(1L);
+    AtomicInteger executions = new AtomicInteger();
+
+    // when
+    Thread sameClassroom = start(() -> writeQueue.write(1L, executions::incrementAndGet));
+    awaitWaiting(sameClassroom);
+    int otherClassroom = writeQueue.write(2L, () -> 42);
+
+    // then
+    assertEquals(42, otherClassroom);
+    assertEquals(0, executions.get());
+    release.countDown();
+    sameClassroom.join(5_000);
+    assertEquals(1, executions.get());
+  }
+
+  @Test
+  @DisplayName("writeCoalesced - 異常系：まとめた書き込みが失敗した場合は待っていた呼び出しにも同じ例外を返す")
+  void writeCoalesced_FailureShared() throws Exception {
+    // given
+    holdClassroom(1L);
+    IllegalStateException failure = new IllegalStateException("書き込みに失敗しました");
+    Supplier<Object> shuffle = () -> {
+      throw failure;
+    };
+    AtomicReference<Throwable> first = new AtomicReference<>();
+    AtomicReference<Throwable> second = new AtomicReference<>();
+
+    // when
+    Thread leader = start(() -> first.set(assertThrows(IllegalStateException.class,
+        () -> writeQueue.writeCoalesced(1L, "6x5", shuffle))));
+    awaitWaiting(leader);
+    Thread follower = start(() -> second.set(assertThrows(IllegalStateException.class,
+        () -> writeQueue.writeCoalesced(1L, "6x5", shuffle))));
+    awaitWaiting(follower);
+    release.countDown();
+    leader.join(5_000);
+    follower.join(5_000);
+
+    // then
+    assertSame(failure, first.get());
+    assertSame(failure, second.get());
+  }
+
+  /**
+   * 別のスレッドでクラスの書き込みを開始し、{@code release} までクラスの順番を持ち続けます
+   */
+  private void holdClassroom(long classroomId) throws InterruptedException {
+    holder = start(() -> writeQueue.write(classroomId, () -> {
+      started.countDown();
+      try {
+        return release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+  }
+
+  private static Thread start(Runnable task) {
+    Thread thread = new Thread(task);
+    thread.start();
+    return thread;
+  }
+
+  /**
+   * スレッドがロックまたは結果の待ちに入るまで待ちます
+   */
+  private static void awaitWaiting(Thread thread) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (thread.getState() != Thread.State.WAITING) {
+      assertTrue(System.nanoTime() < deadline, "スレッドが待ちに入りませんでした");
+      Thread.sleep(1);
+    }
+  }
+}
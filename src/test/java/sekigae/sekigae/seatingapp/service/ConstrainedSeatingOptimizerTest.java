@@ -0,0 +1,97 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ConstrainedSeatingOptimizer単体テスト")
+class ConstrainedSeatingOptimizerTest {
+
+  @Test
+  @DisplayName("swapDelta - 正常系：差分スコアが全体の再計算と一致する")
+  void swapDelta_MatchesFullScore() {
+    // given
+    ConstrainedSeatingOptimizer.Problem problem = new ConstrainedSeatingOptimizer.Problem(4, 4,
+        18);
+    SplittableRandom random = new SplittableRandom(7);
+    for (int i = 0; i < 40; i++) {
+      problem.addPairWeight(random.nextInt(18), random.nextInt(18), 1 + random.nextInt(9));
+    }
+    problem.requireFrontRows(0, 1, 5);
+    problem.requireFrontRows(17, 2, ConstrainedSeatingOptimizer.HARD_WEIGHT);
+
+    int[] slots = problem.randomSlots(random);
+    long score = problem.score(slots);
+
+    // when & then
+    for (int i = 0; i < 10_000; i++) {
+      int p1 = random.nextInt(18);
+      int p2 = random.nextInt(18);
+      if (p1 == p2) {
+        continue;
+      }
+      score += problem.swapDelta(slots, p1, p2);
+      int tmp = slots[p1];
+      slots[p1] = slots[p2];
+      slots[p2] = tmp;
+      assertEquals(problem.score(slots), score);
+    }
+  }
+
+  @Test
+  @DisplayName("optimize - 正常系：必須条件をすべて満たす配置が見つかる")
+  void optimize_SatisfiesHardConstraints() {
+    // given：2x2 では上下左右に隣り合わないのは対角の席だけ
+    ConstrainedSeatingOptimizer.Problem problem = new ConstrainedSeatingOptimizer.Problem(2, 2,
+        4);
+    problem.addPairWeight(0, 1, ConstrainedSeatingOptimizer.HARD_WEIGHT);
+    problem.requireFrontRows(2, 1, ConstrainedSeatingOptimizer.HARD_WEIGHT);
+    ConstrainedSeatingOptimizer optimizer = new ConstrainedSeatingOptimizer(
+        ForkJoinPool.commonPool(), 2);
+
+    // when
+    ConstrainedSeatingOptimizer.Result result = optimizer.optimize(problem, 200, 1L);
+
+    // then
+    assertEquals(0, result.getScore());
+    assertEquals(0, result.getHardViolations());
+    assertEquals(2, result.getRestarts());
+
+    int[] slots = result.getSlots();
+    int seatOf0 = indexOf(slots, 0);
+    int seatOf1 = indexOf(slots, 1);
+    assertEquals(3, seatOf0 + seatOf1); // 0と3、または1と2（対角）
+    assertTrue(indexOf(slots, 2) < 2);
+  }
+
+  @Test
+  @DisplayName("optimize - 正常系：生徒数が座席数より多い場合は未着席枠に回る")
+  void optimize_MoreStudentsThanSeats() {
+    // given
+    ConstrainedSeatingOptimizer.Problem problem = new ConstrainedSeatingOptimizer.Problem(1, 2,
+        3);
+    problem.requireFrontRows(0, 1, ConstrainedSeatingOptimizer.HARD_WEIGHT);
+    ConstrainedSeatingOptimizer optimizer = new ConstrainedSeatingOptimizer(
+        ForkJoinPool.commonPool(), 1);
+
+    // when
+    ConstrainedSeatingOptimizer.Result result = optimizer.optimize(problem, 100, 3L);
+
+    // then
+    assertEquals(3, result.getSlots().length);
+    assertTrue(indexOf(result.getSlots(), 0) < 2);
+  }
+
+  private static int indexOf(int[] slots, int student) {
+    for (int i = 0; i < slots.length; i++) {
+      if (slots[i] == student) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,209 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sekigae.sekigae.seatingapp.dto.NeighbourFrequency;
+import sekigae.sekigae.seatingapp.entity.NeighbourHistory;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotDetail;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.NeighbourHistoryRepository;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotDetailRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NeighbourHistoryService単体テスト")
+class NeighbourHistoryServiceTest {
+
+  @Mock
+  private NeighbourHistoryRepository neighbourHistoryRepository;
+
+  @Mock
+  private SeatingSnapshotDetailRepository snapshotDetailRepository;
+
+  @Mock
+  private SeatingChartCache chartCache;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @InjectMocks
+  private NeighbourHistoryService neighbourHistoryService;
+
+  @Test
+  @DisplayName("recordArrangement - 正常系：上下左右に隣り合ったペアだけが1回ずつ、1回の JDBC バッチで登録される")
+  void recordArrangement_NewPairs() {
+    // given：2x2（1 2 / 3 4）では対角の1-4、2-3は隣ではない
+    Student[][] chart = {
+        {student(1L), student(2L)},
+        {student(3L), student(4L)}
+    };
+    when(neighbourHistoryRepository.findAmong(anyCollection())).thenReturn(List.of());
+
+    // when
+    neighbourHistoryService.recordArrangement(chart);
+
+    // then
+    List<NeighbourHistory> saved = captureInserted();
+    assertEquals(4, saved.size());
+    assertPair(saved.get(0), 1L, 2L, 1);
+    assertPair(saved.get(1), 1L, 3L, 1);
+    assertPair(saved.get(2), 2L, 4L, 1);
+    assertPair(saved.get(3), 3L, 4L, 1);
+  }
+
+  @Test
+  @DisplayName("recordArrangement - 正常系：既存のペアは回数が加算される")
+  void recordArrangement_IncrementsExisting() {
+    // given
+    Student[][] chart = {{student(5L), student(2L)}};
+    NeighbourHistory existing = history(2L, 5L, 3);
+    when(neighbourHistoryRepository.findAmong(anyCollection())).thenReturn(List.of(existing));
+
+    // when
+    neighbourHistoryService.recordArrangement(chart);
+
+    // then
+    List<NeighbourHistory> saved = captureSaved();
+    assertEquals(1, saved.size());
+    assertPair(saved.get(0), 2L, 5L, 4);
+    verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+  }
+
+  @Test
+  @DisplayName("forgetArrangement - 正常系：回数が0になったペアは削除される")
+  void forgetArrangement_DeletesZeroCount() {
+    // given
+    List<SeatingSnapshotDetail> details = List.of(detail(1, 1, 1L), detail(1, 2, 2L));
+    NeighbourHistory existing = history(1L, 2L, 1);
+    when(neighbourHistoryRepository.findAmong(anyCollection())).thenReturn(List.of(existing));
+
+    // when
+    neighbourHistoryService.forgetArrangement(details);
+
+    // then
+    verify(neighbourHistoryRepository).deleteAll(List.of(existing));
+    verify(neighbourHistoryRepository, never()).saveAll(anyCollection());
+  }
+
+  @Test
+  @DisplayName("getNeighbourFrequencies - 正常系：相手の生徒IDと回数が返る")
+  void getNeighbourFrequencies_Success() {
+    // given
+    when(chartCache.getStudents(1L)).thenReturn(List.of(student(1L), student(3L), student(9L)));
+    when(neighbourHistoryRepository.findByStudent(3L))
+        .thenReturn(List.of(history(3L, 9L, 4), history(1L, 3L, 2)));
+
+    // when
+    List<NeighbourFrequency> result =
+        neighbourHistoryService.getNeighbourFrequencies(1L, 3L).orElseThrow();
+
+    // then
+    assertEquals(9L, result.get(0).getNeighbourId());
+    assertEquals(4, result.get(0).getTimesAdjacent());
+    assertEquals(1L, result.get(1).getNeighbourId());
+    assertEquals(2, result.get(1).getTimesAdjacent());
+  }
+
+  @Test
+  @DisplayName("getNeighbourFrequencies - 正常系：他のクラスの生徒は隣になった生徒に含めない")
+  void getNeighbourFrequencies_ExcludesOtherClassrooms() {
+    // given：生徒9は別のクラスに移った
+    when(chartCache.getStudents(1L)).thenReturn(List.of(student(1L), student(3L)));
+    when(neighbourHistoryRepository.findByStudent(3L))
+        .thenReturn(List.of(history(3L, 9L, 4), history(1L, 3L, 2)));
+
+    // when
+    List<NeighbourFrequency> result =
+        neighbourHistoryService.getNeighbourFrequencies(1L, 3L).orElseThrow();
+
+    // then
+    assertEquals(1, result.size());
+    assertEquals(1L, result.get(0).getNeighbourId());
+  }
+
+  @Test
+  @DisplayName("getNeighbourFrequencies - 異常系：クラスの名簿にいない生徒の場合は空を返し、履歴を読まない")
+  void getNeighbourFrequencies_StudentNotInClassroom() {
+    // given
+    when(chartCache.getStudents(2L)).thenReturn(List.of(student(5L)));
+
+    // when
+    Optional<List<NeighbourFrequency>> result =
+        neighbourHistoryService.getNeighbourFrequencies(2L, 3L);
+
+    // then
+    assertTrue(result.isEmpty());
+    verify(neighbourHistoryRepository, never()).findByStudent(anyLong());
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<NeighbourHistory> captureSaved() {
+    ArgumentCaptor<List<NeighbourHistory>> captor = ArgumentCaptor.forClass(List.class);
+    verify(neighbourHistoryRepository).saveAll(captor.capture());
+    return sorted(captor.getValue());
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<NeighbourHistory> captureInserted() {
+    ArgumentCaptor<List<NeighbourHistory>> captor = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate).batchUpdate(anyString(), captor.capture(),
+        eq(NeighbourHistoryService.BATCH_SIZE), any());
+    verify(neighbourHistoryRepository, never()).saveAll(anyCollection());
+    return sorted(captor.getValue());
+  }
+
+  private static List<NeighbourHistory> sorted(List<NeighbourHistory> histories) {
+    List<NeighbourHistory> sorted = new ArrayList<>(histories);
+    sorted.sort(Comparator.comparing(NeighbourHistory::getStudentId)
+        .thenComparing(NeighbourHistory::getNeighbourId));
+    return sorted;
+  }
+
+  private static void assertPair(NeighbourHistory history, Long low, Long high, int times) {
+    assertEquals(low, history.getStudentId());
+    assertEquals(high, history.getNeighbourId());
+    assertEquals(times, history.getTimesAdjacent());
+  }
+
+  private static Student student(Long id) {
+    return Student.builder().id(id).name("生徒" + id).gender("男子").studentCode(
+        String.valueOf(id)).build();
+  }
+
+  private static NeighbourHistory history(Long studentId, Long neighbourId, int times) {
+    return NeighbourHistory.builder()
+        .studentId(studentId)
+        .neighbourId(neighbourId)
+        .timesAdjacent(times)
+        .build();
+  }
+
+  private static SeatingSnapshotDetail detail(int row, int column, Long studentId) {
+    return SeatingSnapshotDetail.builder()
+        .seatRow(row)
+        .seatColumn(column)
+        .studentId(studentId)
+        .build();
+  }
+}
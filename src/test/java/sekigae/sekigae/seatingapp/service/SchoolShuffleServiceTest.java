@@ -0,0 +1,206 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import sekigae.sekigae.seatingapp.dto.ClassroomShuffleTiming;
+import sekigae.sekigae.seatingapp.dto.SchoolShuffleProgress;
+import sekigae.sekigae.seatingapp.dto.SeatingLayout;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SchoolShuffleService単体テスト")
+class SchoolShuffleServiceTest {
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @Mock
+  private SeatingConfigurationService configurationService;
+
+  @Mock
+  private SeatingChartCache chartCache;
+
+  @Mock
+  private SeatingMetrics metrics;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private SchoolShuffleService schoolShuffleService;
+
+  private List<Student> classroom1;
+  private List<Student> classroom2;
+
+  @BeforeEach
+  void setUp() {
+    // 配置の計算は本物のエンジンで行う（arrange はリポジトリ等を使わない）
+    SeatingService seatingService = new SeatingService(null, null, null, null, null, null,
+        null, null);
+    schoolShuffleService = new SchoolShuffleService(studentRepository, seatingService,
+        configurationService, chartCache, metrics, new ClassroomWriteQueue(transactionManager),
+        transactionManager, 2, 2, false);
+
+    classroom1 = students(1L, 1, 30);
+    classroom2 = students(2L, 31, 20);
+  }
+
+  @Test
+  @DisplayName("runJob - 正常系：すべてのクラスを席替えし、クラスごとに保存する")
+  void runJob_AllClassrooms() {
+    // given
+    List<Student> all = new ArrayList<>(classroom1);
+    all.addAll(classroom2);
+    when(studentRepository.findAll(any(Sort.class))).thenReturn(all);
+    when(configurationService.getConfiguration(anyLong())).thenReturn(SeatingLayout.DEFAULT);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(classroom1);
+    when(studentRepository.findByClassroomId(2L)).thenReturn(classroom2);
+
+    // when
+    SchoolShuffleProgress progress = schoolShuffleService.runJob(null);
+
+    // then
+    assertEquals(SchoolShuffleProgress.Status.COMPLETED, progress.getStatus());
+    assertEquals(2, progress.getTotalClassrooms());
+    assertEquals(2, progress.getCompletedClassrooms());
+    assertEquals(0, progress.getFailedClassrooms());
+    assertEquals(50, progress.getRowsWritten());
+    assertEquals(2, progress.getClassrooms().size());
+    assertNotNull(progress.getFinishedAt());
+    assertSeatedOnce(classroom1);
+    assertSeatedOnce(classroom2);
+    verify(chartCache).markChanged(1L);
+    verify(chartCache).markChanged(2L);
+    verify(metrics).countRowsWritten("batch_shuffle", 1L, 30);
+    verify(metrics).countRowsWritten("batch_shuffle", 2L, 20);
+  }
+
+  @Test
+  @DisplayName("runJob - 正常系：計算の後に追加された生徒の座席は変えない")
+  void runJob_StudentAddedAfterPlanning() {
+    // given：書き込みの直前に読み直した名簿に1人増えている
+    when(studentRepository.findAll(any(Sort.class))).thenReturn(classroom1);
+    when(configurationService.getConfiguration(1L)).thenReturn(SeatingLayout.DEFAULT);
+    Student added = Student.builder()
+        .id(99L)
+        .classroomId(1L)
+        .name("追加")
+        .gender("女子")
+        .studentCode("99")
+        .build();
+    List<Student> reloaded = new ArrayList<>(classroom1);
+    reloaded.add(added);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(reloaded);
+
+    // when
+    SchoolShuffleProgress progress = schoolShuffleService.runJob(null);
+
+    // then
+    assertEquals(SchoolShuffleProgress.Status.COMPLETED, progress.getStatus());
+    assertEquals(30, progress.getRowsWritten());
+    assertNull(added.getSeatRow());
+    assertSeatedOnce(classroom1);
+  }
+
+  @Test
+  @DisplayName("runJob - 異常系：書き込みに失敗したクラスだけを失敗として記録する")
+  void runJob_OneClassroomFails() {
+    // given
+    List<Student> all = new ArrayList<>(classroom1);
+    all.addAll(classroom2);
+    when(studentRepository.findAll(any(Sort.class))).thenReturn(all);
+    when(configurationService.getConfiguration(anyLong())).thenReturn(SeatingLayout.DEFAULT);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(classroom1);
+    when(studentRepository.findByClassroomId(2L))
+        .thenThrow(new IllegalStateException("接続できません"));
+
+    // when
+    SchoolShuffleProgress progress = schoolShuffleService.runJob(null);
+
+    // then
+    assertEquals(SchoolShuffleProgress.Status.FAILED, progress.getStatus());
+    assertEquals(1, progress.getCompletedClassrooms());
+    assertEquals(1, progress.getFailedClassrooms());
+    assertEquals(30, progress.getRowsWritten());
+    ClassroomShuffleTiming failed = progress.getClassrooms().stream()
+        .filter(timing -> timing.getClassroomId() == 2L)
+        .findFirst()
+        .orElseThrow();
+    assertEquals("接続できません", failed.getError());
+    verify(chartCache).markChanged(1L);
+    verify(chartCache, never()).markChanged(2L);
+  }
+
+  @Test
+  @DisplayName("runJob - 正常系：生徒がいない場合は何も書き込まない")
+  void runJob_NoStudents() {
+    // given
+    when(studentRepository.findAll(any(Sort.class))).thenReturn(List.of());
+
+    // when
+    SchoolShuffleProgress progress = schoolShuffleService.runJob(null);
+
+    // then
+    assertEquals(SchoolShuffleProgress.Status.COMPLETED, progress.getStatus());
+    assertEquals(0, progress.getTotalClassrooms());
+    verify(studentRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  @DisplayName("getProgress - 正常系：実行したジョブの進み具合を返し、存在しないジョブは空を返す")
+  void getProgress() {
+    // given
+    when(studentRepository.findAll(any(Sort.class))).thenReturn(List.of());
+    SchoolShuffleProgress progress = schoolShuffleService.runJob(null);
+
+    // when / then
+    assertTrue(schoolShuffleService.getProgress(progress.getJobId()).isPresent());
+    assertTrue(schoolShuffleService.getProgress(progress.getJobId() + 1).isEmpty());
+  }
+
+  private static void assertSeatedOnce(List<Student> students) {
+    Set<Integer> seats = new HashSet<>();
+    for (Student student : students) {
+      assertNotNull(student.getSeatRow());
+      assertNotNull(student.getSeatColumn());
+      assertTrue(seats.add(student.getSeatRow() * 100 + student.getSeatColumn()),
+          "同じ座席に2人が座っています: " + student.getName());
+    }
+  }
+
+  private static List<Student> students(long classroomId, int firstId, int count) {
+    List<Student> students = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      long id = firstId + i;
+      students.add(Student.builder()
+          .id(id)
+          .classroomId(classroomId)
+          .name("生徒" + id)
+          .gender(i % 2 == 0 ? "男子" : "女子")
+          .studentCode(String.valueOf(id))
+          .build());
+    }
+    return students;
+  }
+}
@@ -0,0 +1,155 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SeatArrangementEngine単体テスト")
+class SeatArrangementEngineTest {
+
+  private static final byte M = SeatArrangementEngine.GENDER_MALE;
+  private static final byte F = SeatArrangementEngine.GENDER_FEMALE;
+  private static final byte O = SeatArrangementEngine.GENDER_OTHER;
+
+  private SeatArrangementEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    engine = new SeatArrangementEngine(new SplittableRandom(42));
+  }
+
+  @Test
+  @DisplayName("genderCode - 正常系：性別の文字列がコードに変換される")
+  void genderCode_Success() {
+    assertEquals(M, SeatArrangementEngine.genderCode("男子"));
+    assertEquals(F, SeatArrangementEngine.genderCode("女子"));
+    assertEquals(O, SeatArrangementEngine.genderCode(null));
+    assertEquals(O, SeatArrangementEngine.genderCode("その他"));
+  }
+
+  @Test
+  @DisplayName("arrangeNormally - 正常系：全員が重複なく前の座席から配置される")
+  void arrangeNormally_AllStudentsPlacedOnce() {
+    // given
+    int[] seats = new int[12];
+
+    // when
+    engine.arrangeNormally(10, 12, seats);
+
+    // then
+    boolean[] seen = new boolean[10];
+    for (int i = 0; i < 10; i++) {
+      assertFalse(seen[seats[i]]);
+      seen[seats[i]] = true;
+    }
+    assertEquals(SeatArrangementEngine.EMPTY, seats[10]);
+    assertEquals(SeatArrangementEngine.EMPTY, seats[11]);
+  }
+
+  @Test
+  @DisplayName("arrangeNormally - 異常系：座席数より生徒数が多い場合は座席数分だけ配置される")
+  void arrangeNormally_MoreStudentsThanSeats() {
+    // given
+    int[] seats = new int[4];
+
+    // when
+    engine.arrangeNormally(10, 4, seats);
+
+    // then
+    boolean[] seen = new boolean[10];
+    for (int seat : seats) {
+      assertTrue(seat >= 0 && seat < 10);
+      assertFalse(seen[seat]);
+      seen[seat] = true;
+    }
+  }
+
+  @Test
+  @DisplayName("arrangeAlternating - 正常系：男女同数ならチェスボードパターンになる")
+  void arrangeAlternating_Checkerboard() {
+    // given
+    byte[] genders = {M, F, M, F, M, F};
+    int[] seats = new int[6];
+
+    // when
+    engine.arrangeAlternating(genders, 6, 2, 3, seats);
+
+    // then
+    for (int r = 0; r < 2; r++) {
+      for (int c = 0; c < 3; c++) {
+        byte expected = ((r + c) % 2 == 0) ? M : F;
+        assertEquals(expected, genders[seats[r * 3 + c]]);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("arrangeAlternating - 正常系：男子・女子以外の生徒は配置されない")
+  void arrangeAlternating_SkipsOtherGender() {
+    // given
+    byte[] genders = {M, O, F};
+    int[] seats = new int[4];
+
+    // when
+    engine.arrangeAlternating(genders, 3, 2, 2, seats);
+
+    // then
+    int placed = 0;
+    for (int seat : seats) {
+      if (seat != SeatArrangementEngine.EMPTY) {
+        assertTrue(seat == 0 || seat == 2);
+        placed++;
+      }
+    }
+    assertEquals(2, placed);
+  }
+
+  @Test
+  @DisplayName("arrangeByColumns - 正常系：偶数列に男子、奇数列に女子が配置される")
+  void arrangeByColumns_Success() {
+    // given
+    byte[] genders = {M, M, F, F, M, M, F, F};
+    int[] seats = new int[8];
+
+    // when
+    engine.arrangeByColumns(genders, 8, 2, 4, seats);
+
+    // then
+    for (int r = 0; r < 2; r++) {
+      for (int c = 0; c < 4; c++) {
+        byte expected = (c % 2 == 0) ? M : F;
+        assertEquals(expected, genders[seats[r * 4 + c]]);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("arrangeByColumns - 正常系：女子が足りない列は男子で埋める")
+  void arrangeByColumns_FillsWithRemainingGender() {
+    // given
+    byte[] genders = {M, M, M, M};
+    int[] seats = new int[4];
+
+    // when
+    engine.arrangeByColumns(genders, 4, 2, 2, seats);
+
+    // then
+    for (int seat : seats) {
+      assertEquals(M, genders[seat]);
+    }
+  }
+
+  @Test
+  @DisplayName("seatBuffer - 正常系：同じ容量以下なら同じ配列を使い回す")
+  void seatBuffer_Reused() {
+    int[] first = engine.seatBuffer(30);
+    int[] second = engine.seatBuffer(20);
+
+    assertTrue(first == second);
+  }
+}
@@ -0,0 +1,130 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import sekigae.sekigae.seatingapp.dto.SeatingChartState;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatingChartCache単体テスト")
+class SeatingChartCacheTest {
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private SeatingChartVersion chartVersion;
+
+  @InjectMocks
+  private SeatingChartCache chartCache;
+
+  @Test
+  @DisplayName("current - 正常系：2回目以降はデータベースを読まずに同じ値を返す")
+  void current_LoadsOnce() {
+    // given
+    Student student = student(1L, 1, 1);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(List.of(student));
+
+    // when
+    SeatingChartState first = chartCache.current(1L);
+    SeatingChartState second = chartCache.current(1L);
+
+    // then
+    assertSame(first, second);
+    assertEquals(0L, first.getVersion());
+    assertEquals(1, first.getStudents().size());
+    assertNotSame(student, first.getStudents().get(0));
+    assertEquals("生徒1", first.getStudents().get(0).getName());
+    verify(studentRepository, times(1)).findByClassroomId(1L);
+  }
+
+  @Test
+  @DisplayName("markChanged - 正常系：変更後は読み直した新しい値に差し替わる")
+  void markChanged_SwapsState() {
+    // given
+    Student student = student(1L, 1, 1);
+    when(studentRepository.findByClassroomId(1L))
+        .thenReturn(List.of(student))
+        .thenReturn(List.of(student(1L, 2, 3), student(2L, 1, 1)));
+    SeatingChartState before = chartCache.current(1L);
+
+    // when
+    chartCache.markChanged(1L);
+    SeatingChartState after = chartCache.current(1L);
+
+    // then
+    assertEquals(1, before.getStudents().size());
+    assertEquals(1L, after.getVersion());
+    assertEquals(2, after.getStudents().size());
+    assertEquals(2, after.getStudents().get(0).getSeatRow());
+    assertEquals(3, after.getStudents().get(0).getSeatColumn());
+    verify(studentRepository, times(2)).findByClassroomId(1L);
+    verify(chartVersion).markChanged(1L);
+  }
+
+  @Test
+  @DisplayName("markChanged - 正常系：変更したクラスだけを読み直す")
+  void markChanged_OnlyThatClassroom() {
+    // given
+    when(studentRepository.findByClassroomId(1L)).thenReturn(List.of(student(1L, 1, 1)));
+    when(studentRepository.findByClassroomId(2L)).thenReturn(List.of(student(2L, 1, 1)));
+    SeatingChartState first = chartCache.current(1L);
+    chartCache.current(2L);
+
+    // when
+    chartCache.markChanged(2L);
+
+    // then
+    assertSame(first, chartCache.current(1L));
+    assertEquals(1L, chartCache.current(2L).getVersion());
+    assertEquals(Set.of(1L, 2L), chartCache.getLoadedClassroomIds());
+    verify(studentRepository, times(1)).findByClassroomId(1L);
+    verify(studentRepository, times(2)).findByClassroomId(2L);
+    verify(chartVersion).markChanged(2L);
+    verify(chartVersion, never()).markChanged(1L);
+  }
+
+  @Test
+  @DisplayName("getStudents - 異常系：取得したリストは変更できない")
+  void getStudents_Unmodifiable() {
+    // given
+    when(studentRepository.findByClassroomId(1L)).thenReturn(List.of(student(1L, 1, 1)));
+
+    // when
+    List<Student> students = chartCache.getStudents(1L);
+
+    // then
+    assertThrows(UnsupportedOperationException.class, () -> students.remove(0));
+  }
+
+  private static Student student(Long id, Integer row, Integer column) {
+    return Student.builder()
+        .id(id)
+        .name("生徒" + id)
+        .gender("男子")
+        .studentCode(String.valueOf(id))
+        .seatRow(row)
+        .seatColumn(column)
+        .build();
+  }
+}
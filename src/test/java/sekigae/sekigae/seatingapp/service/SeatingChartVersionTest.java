@@ -0,0 +1,127 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMap;
+
+@DisplayName("SeatingChartVersion単体テスト")
+class SeatingChartVersionTest {
+
+  private final SeatingChartVersion chartVersion = new SeatingChartVersion();
+
+  @Test
+  @DisplayName("checkNotModified - 正常系：初回は ETag を付けて本文を返す")
+  void checkNotModified_FirstRequest() {
+    // given
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    boolean notModified = chartVersion.checkNotModified(1L,
+        new ServletWebRequest(new MockHttpServletRequest("GET", "/seating"), response));
+
+    // then
+    assertFalse(notModified);
+    assertEquals(chartVersion.getETag(1L), response.getHeader("ETag"));
+    assertEquals("no-cache", response.getHeader("Cache-Control"));
+    assertEquals("Accept", response.getHeader("Vary"));
+  }
+
+  @Test
+  @DisplayName("getETag - 正常系：JSON / CBOR / Smile で同じ値を使うため弱い ETag を返す")
+  void getETag_IsWeak() {
+    // when
+    String eTag = chartVersion.getETag(1L);
+
+    // then
+    assertTrue(eTag.startsWith("W/\""), eTag);
+    assertTrue(eTag.endsWith("\""), eTag);
+  }
+
+  @Test
+  @DisplayName("checkNotModified - 正常系：ETag が一致すれば 304 を返す")
+  void checkNotModified_SameETag() {
+    // given
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/seating");
+    request.addHeader("If-None-Match", chartVersion.getETag(1L));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    boolean notModified = chartVersion.checkNotModified(1L,
+        new ServletWebRequest(request, response));
+
+    // then
+    assertTrue(notModified);
+    assertEquals(304, response.getStatus());
+  }
+
+  @Test
+  @DisplayName("checkNotModified - 正常系：変更後は以前の ETag では 304 にならない")
+  void checkNotModified_AfterChange() {
+    // given
+    String before = chartVersion.getETag(1L);
+    chartVersion.markChanged(1L);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/seating");
+    request.addHeader("If-None-Match", before);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    boolean notModified = chartVersion.checkNotModified(1L,
+        new ServletWebRequest(request, response));
+
+    // then
+    assertFalse(notModified);
+    assertNotEquals(before, chartVersion.getETag(1L));
+    assertEquals(chartVersion.getETag(1L), response.getHeader("ETag"));
+  }
+
+  @Test
+  @DisplayName("checkNotModified - 正常系：別のクラスの変更では ETag は変わらず、同じ ETag でも別のクラスには 304 を返さない")
+  void checkNotModified_PerClassroom() {
+    // given
+    String before = chartVersion.getETag(1L);
+    chartVersion.markChanged(2L);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/seating");
+    request.addHeader("If-None-Match", before);
+
+    // when
+    boolean sameClassroom = chartVersion.checkNotModified(1L,
+        new ServletWebRequest(request, new MockHttpServletResponse()));
+    boolean otherClassroom = chartVersion.checkNotModified(2L,
+        new ServletWebRequest(request, new MockHttpServletResponse()));
+
+    // then
+    assertTrue(sameClassroom);
+    assertFalse(otherClassroom);
+    assertEquals(before, chartVersion.getETag(1L));
+  }
+
+  @Test
+  @DisplayName("checkNotModified - 正常系：フラッシュメッセージがある場合は比較しない")
+  void checkNotModified_WithFlashMessage() {
+    // given
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/seating");
+    request.addHeader("If-None-Match", chartVersion.getETag(1L));
+    FlashMap flashMap = new FlashMap();
+    flashMap.put("successMessage", "座席配置を復元しました");
+    request.setAttribute(DispatcherServlet.INPUT_FLASH_MAP_ATTRIBUTE, flashMap);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    boolean notModified = chartVersion.checkNotModified(1L,
+        new ServletWebRequest(request, response));
+
+    // then
+    assertFalse(notModified);
+    assertNull(response.getHeader("ETag"));
+  }
+}
@@ -0,0 +1,143 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sekigae.sekigae.seatingapp.dto.SeatingLayout;
+import sekigae.sekigae.seatingapp.entity.SeatingConfiguration;
+import sekigae.sekigae.seatingapp.repository.SeatingConfigurationRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatingConfigurationService単体テスト")
+class SeatingConfigurationServiceTest {
+
+  @Mock
+  private SeatingConfigurationRepository configurationRepository;
+
+  @Mock
+  private SeatingChartVersion chartVersion;
+
+  @InjectMocks
+  private SeatingConfigurationService configurationService;
+
+  @Test
+  @DisplayName("getConfiguration - 正常系：2回目以降はキャッシュから返し、データベースにアクセスしない")
+  void getConfiguration_UsesCache() {
+    // given
+    when(configurationRepository.findByClassroomId(1L))
+        .thenReturn(Optional.of(configuration(8, 4, SeatArrangementMode.ALTERNATE_GENDERS, 2L)));
+
+    // when
+    SeatingLayout first = configurationService.getConfiguration(1L);
+    SeatingLayout second = configurationService.getConfiguration(1L);
+
+    // then
+    assertEquals(8, first.getRows());
+    assertEquals(4, first.getColumns());
+    assertEquals(SeatArrangementMode.ALTERNATE_GENDERS, first.getArrangementMode());
+    assertSame(first, second);
+    verify(configurationRepository, times(1)).findByClassroomId(1L);
+  }
+
+  @Test
+  @DisplayName("getConfiguration - 正常系：読み込み中に保存された設定があれば、読み込んだ古い設定で上書きしない")
+  void getConfiguration_SaveDuringLoadWins() {
+    // given：1回目の読み込みの途中で別のリクエストが設定を保存する
+    SeatingConfiguration stale = configuration(6, 5, SeatArrangementMode.NORMAL, 0L);
+    when(configurationRepository.findByClassroomId(1L))
+        .thenAnswer(invocation -> {
+          configurationService.saveConfiguration(1L, 9, 9, null);
+          return Optional.of(stale);
+        })
+        .thenReturn(Optional.empty());
+    when(configurationRepository.saveAndFlush(any(SeatingConfiguration.class)))
+        .thenAnswer(invocation -> {
+          SeatingConfiguration saved = invocation.getArgument(0);
+          saved.setVersion(1L);
+          return saved;
+        });
+
+    // when
+    SeatingLayout result = configurationService.getConfiguration(1L);
+
+    // then
+    assertEquals(9, result.getRows());
+    assertEquals(1L, result.getVersion());
+    assertSame(result, configurationService.getConfiguration(1L));
+  }
+
+  @Test
+  @DisplayName("getConfiguration - 正常系：保存されていない場合は6行5列の通常配置を返す")
+  void getConfiguration_Default() {
+    // given
+    when(configurationRepository.findByClassroomId(1L)).thenReturn(Optional.empty());
+
+    // when
+    SeatingLayout result = configurationService.getConfiguration(1L);
+
+    // then
+    assertSame(SeatingLayout.DEFAULT, result);
+    assertEquals(6, result.getRows());
+    assertEquals(5, result.getColumns());
+  }
+
+  @Test
+  @DisplayName("saveConfiguration - 正常系：保存後はデータベースを読み直さずに新しい設定を返す")
+  void saveConfiguration_UpdatesCache() {
+    // given
+    when(configurationRepository.findByClassroomId(1L))
+        .thenReturn(Optional.of(configuration(6, 5, SeatArrangementMode.NORMAL, 0L)));
+    when(configurationRepository.saveAndFlush(any(SeatingConfiguration.class)))
+        .thenAnswer(invocation -> {
+          SeatingConfiguration saved = invocation.getArgument(0);
+          saved.setVersion(1L);
+          return saved;
+        });
+    configurationService.getConfiguration(1L);
+
+    // when：並べ方は指定しない
+    configurationService.saveConfiguration(1L, 7, 6, null);
+    SeatingLayout result = configurationService.getConfiguration(1L);
+
+    // then
+    assertEquals(7, result.getRows());
+    assertEquals(6, result.getColumns());
+    assertEquals(SeatArrangementMode.NORMAL, result.getArrangementMode());
+    assertEquals(1L, result.getVersion());
+    verify(configurationRepository, times(2)).findByClassroomId(1L);
+  }
+
+  @Test
+  @DisplayName("saveConfiguration - 異常系：行数が0の場合は保存しない")
+  void saveConfiguration_InvalidRows() {
+    // when & then
+    assertThrows(IllegalArgumentException.class,
+        () -> configurationService.saveConfiguration(1L, 0, 5, null));
+    verify(configurationRepository, never()).saveAndFlush(any(SeatingConfiguration.class));
+  }
+
+  private static SeatingConfiguration configuration(int rows, int columns,
+      SeatArrangementMode layout, Long version) {
+    return SeatingConfiguration.builder()
+        .id(1L)
+        .classroomId(1L)
+        .rows(rows)
+        .columns(columns)
+        .layout(layout)
+        .version(version)
+        .build();
+  }
+}
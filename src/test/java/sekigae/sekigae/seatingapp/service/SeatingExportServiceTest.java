@@ -0,0 +1,175 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sekigae.sekigae.seatingapp.dto.StudentRow;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotDetail;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotRepository;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatingExportService の単体テスト")
+class SeatingExportServiceTest {
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @Mock
+  private SeatingSnapshotRepository snapshotRepository;
+
+  @Mock
+  private SeatingSnapshotService snapshotService;
+
+  @InjectMocks
+  private SeatingExportService exportService;
+
+  @Test
+  @DisplayName("exportRoster - 正常系：名簿をCSVで書き出し、読み終えたStreamを閉じる")
+  void exportRoster_WritesCsvAndClosesStream() throws Exception {
+    // given
+    AtomicBoolean closed = new AtomicBoolean();
+    when(studentRepository.streamRoster(1L)).thenReturn(Stream.of(
+            row(1L, 1L, "山田太郎", "男子", "101", 1, 1),
+            row(2L, 1L, "佐藤, \"花子\"", "女子", "102", null, null))
+        .onClose(() -> closed.set(true)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    exportService.exportRoster(1L, ExportFormat.CSV, out);
+
+    // then
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("\uFEFF"
+        + "id,classroomId,name,gender,studentCode,seatRow,seatColumn\r\n"
+        + "1,1,山田太郎,男子,101,1,1\r\n"
+        + "2,1,\"佐藤, \"\"花子\"\"\",女子,102,,\r\n");
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  @DisplayName("exportSchoolRoster - 正常系：全クラスの名簿をJSONの配列で書き出す")
+  void exportSchoolRoster_WritesJsonArray() throws Exception {
+    // given
+    when(studentRepository.streamSchoolRoster()).thenReturn(Stream.of(
+        row(1L, 1L, "山田太郎", "男子", "101", 1, 1),
+        row(2L, 2L, "佐藤花子", "女子", "201", null, null)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    exportService.exportSchoolRoster(ExportFormat.JSON, out);
+
+    // then
+    JsonNode json = new ObjectMapper().readTree(out.toByteArray());
+    assertThat(json.size()).isEqualTo(2);
+    assertThat(json.get(0).get("name").asText()).isEqualTo("山田太郎");
+    assertThat(json.get(0).get("seatRow").asInt()).isEqualTo(1);
+    assertThat(json.get(1).get("classroomId").asLong()).isEqualTo(2L);
+    assertThat(json.get(1).get("seatRow").isNull()).isTrue();
+  }
+
+  @Test
+  @DisplayName("exportSeatingChart - 正常系：座席のある生徒がいない場合は空の配列を書き出す")
+  void exportSeatingChart_NoStudents_WritesEmptyArray() throws Exception {
+    // given
+    when(studentRepository.streamSeatingChart(3L)).thenReturn(Stream.empty());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    exportService.exportSeatingChart(3L, ExportFormat.JSON, out);
+
+    // then
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+  }
+
+  @Test
+  @DisplayName("exportSnapshot - 正常系：保存した座席表をCSVで書き出す")
+  void exportSnapshot_WritesCsv() throws Exception {
+    // given
+    when(snapshotService.getSnapshotDetails(5L)).thenReturn(List.of(
+        SeatingSnapshotDetail.builder()
+            .seatRow(1)
+            .seatColumn(2)
+            .studentId(10L)
+            .studentName("山田太郎")
+            .studentGender("男子")
+            .studentCode("101")
+            .build()));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    exportService.exportSnapshot(5L, ExportFormat.CSV, out);
+
+    // then
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("\uFEFF"
+        + "seatRow,seatColumn,studentId,studentName,studentGender,studentCode\r\n"
+        + "1,2,10,山田太郎,男子,101\r\n");
+  }
+
+  @Test
+  @DisplayName("hasSnapshot - 正常系：クラスの座席表かどうかを確認する")
+  void hasSnapshot_ChecksClassroom() {
+    // given
+    when(snapshotRepository.existsByIdAndClassroomId(5L, 2L)).thenReturn(false);
+
+    // when
+    boolean result = exportService.hasSnapshot(2L, 5L);
+
+    // then
+    assertThat(result).isFalse();
+    verify(snapshotRepository).existsByIdAndClassroomId(5L, 2L);
+  }
+
+  private static StudentRow row(Long id, Long classroomId, String name, String gender,
+      String studentCode, Integer seatRow, Integer seatColumn) {
+    return new StudentRow() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public Long getClassroomId() {
+        return classroomId;
+      }
+
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public String getGender() {
+        return gender;
+      }
+
+      @Override
+      public String getStudentCode() {
+        return studentCode;
+      }
+
+      @Override
+      public Integer getSeatRow() {
+        return seatRow;
+      }
+
+      @Override
+      public Integer getSeatColumn() {
+        return seatColumn;
+      }
+    };
+  }
+}
@@ -0,0 +1,97 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SeatingMetrics単体テスト")
+class SeatingMetricsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private final SeatingMetrics metrics = new SeatingMetrics(registry);
+
+  @Test
+  @DisplayName("recordShuffle - 正常系：配置方法のタグ付きで処理時間が記録され、クラスIDのタグは付かない")
+  void recordShuffle_TaggedByModeOnly() {
+    // when
+    metrics.recordShuffle(metrics.start(), SeatArrangementMode.ALTERNATE_GENDERS);
+    metrics.recordShuffle(metrics.start(), SeatArrangementMode.ALTERNATE_GENDERS);
+    metrics.recordShuffle(metrics.start(), SeatArrangementMode.NORMAL);
+
+    // then
+    Timer alternating = registry.get(SeatingMetrics.SHUFFLE)
+        .tags("mode", "ALTERNATE_GENDERS").timer();
+    assertEquals(2, alternating.count());
+    assertNull(alternating.getId().getTag("classroom"));
+    assertEquals(1, registry.get(SeatingMetrics.SHUFFLE).tag("mode", "NORMAL").timer().count());
+  }
+
+  @Test
+  @DisplayName("recordSnapshotSave - 正常系：処理時間と保存件数が記録される")
+  void recordSnapshotSave_CountsCreatedSnapshots() {
+    // when
+    metrics.recordSnapshotSave(metrics.start(), 1L);
+    metrics.recordSnapshotSave(metrics.start(), 1L);
+
+    // then
+    assertEquals(2, registry.get(SeatingMetrics.SNAPSHOT_SAVE).timer().count());
+    assertEquals(2.0,
+        registry.get(SeatingMetrics.SNAPSHOTS_CREATED).tag("classroom", "1").counter().count());
+  }
+
+  @Test
+  @DisplayName("recordChartRender - 正常系：HTTPステータスごとに記録される")
+  void recordChartRender_TaggedByStatus() {
+    // when
+    metrics.recordChartRender(metrics.start(), 200);
+    metrics.recordChartRender(metrics.start(), 304);
+    metrics.recordChartRender(metrics.start(), 304);
+
+    // then
+    assertEquals(1, registry.get(SeatingMetrics.CHART_RENDER).tag("status", "200").timer().count());
+    assertEquals(2, registry.get(SeatingMetrics.CHART_RENDER).tag("status", "304").timer().count());
+  }
+
+  @Test
+  @DisplayName("countRowsWritten - 正常系：処理の種類ごとに行数が加算され、0件は記録されない")
+  void countRowsWritten_AddsRowsByOperation() {
+    // when
+    metrics.countRowsWritten("shuffle", 1L, 30);
+    metrics.countRowsWritten("shuffle", 1L, 12);
+    metrics.countRowsWritten("repair", 1L, 0);
+
+    // then
+    assertEquals(42.0, registry.get(SeatingMetrics.ROWS_WRITTEN)
+        .tags("classroom", "1", "operation", "shuffle").counter().count());
+    assertNull(registry.find(SeatingMetrics.ROWS_WRITTEN).tag("operation", "repair").counter());
+  }
+
+  @Test
+  @DisplayName("countRestoreMisses - 正常系：理由ごとに件数が加算される")
+  void countRestoreMisses_AddsByReason() {
+    // when
+    metrics.countRestoreMisses("snapshot_not_found", 1L, 1);
+    metrics.countRestoreMisses("student_deleted", 1L, 3);
+
+    // then
+    assertEquals(1.0, registry.get(SeatingMetrics.RESTORE_MISSES)
+        .tag("reason", "snapshot_not_found").counter().count());
+    assertEquals(3.0, registry.get(SeatingMetrics.RESTORE_MISSES)
+        .tag("reason", "student_deleted").counter().count());
+  }
+
+  @Test
+  @DisplayName("recordSnapshotRestore - 正常系：サンプルがない場合は何も記録しない")
+  void recordSnapshotRestore_NullSample() {
+    // when
+    metrics.recordSnapshotRestore(null);
+
+    // then
+    assertEquals(0, registry.get(SeatingMetrics.SNAPSHOT_RESTORE).timer().count());
+  }
+}
@@ -1,13 +1,18 @@
 package sekigae.sekigae.seatingapp.service;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.Mockito.times;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,13 +20,22 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import sekigae.sekigae.seatingapp.dto.ColumnarSeatingChart;
+import sekigae.sekigae.seatingapp.dto.SeatingConstraints;
+import sekigae.sekigae.seatingapp.dto.SeatingLayout;
+import sekigae.sekigae.seatingapp.dto.SeatingOptimizationResult;
+import sekigae.sekigae.seatingapp.dto.SeatingRepairResult;
 import sekigae.sekigae.seatingapp.entity.Student;
 import sekigae.sekigae.seatingapp.repository.StudentRepository;
 
@@ -35,6 +49,27 @@ class SeatingServiceTest {
   @Mock
   private StudentRepository studentRepository;
 
+  @Mock
+  private NeighbourHistoryService neighbourHistoryService;
+
+  @Mock
+  private SeatingConfigurationService configurationService;
+
+  @Mock
+  private SeatingChartCache chartCache;
+
+  @Mock
+  private SeatingMetrics metrics;
+
+  // 書き込みは呼び出し元のスレッドでそのまま実行する（トランザクションマネージャーはモック）
+  @Spy
+  private ClassroomWriteQueue writeQueue =
+      new ClassroomWriteQueue(mock(PlatformTransactionManager.class));
+
+  @Spy
+  private ConstrainedSeatingOptimizer optimizer =
+      new ConstrainedSeatingOptimizer(ForkJoinPool.commonPool(), 2);
+
   @InjectMocks
   private SeatingService seatingService;
 
@@ -80,10 +115,10 @@ class SeatingServiceTest {
   @DisplayName("getSeatingChart - 正常系：生徒が正しく配置される")
   void getSeatingChart_Success() {
     // given
-    when(studentService.getAllStudents()).thenReturn(testStudents);
+    when(studentService.getAllStudents(1L)).thenReturn(testStudents);
 
     // when
-    String[][] result = seatingService.getSeatingChart(3, 3);
+    String[][] result = seatingService.getSeatingChart(1L, 3, 3);
 
     // then
     assertEquals("田中太郎", result[0][0]);
@@ -94,6 +129,29 @@ class SeatingServiceTest {
     assertNull(result[2][0]);
   }
 
+  @Test
+  @DisplayName("getColumnarSeatingChart - 正常系：座席順の生徒IDと座席にいる生徒の辞書を返す")
+  void getColumnarSeatingChart_Success() {
+    // given
+    Student unseated = Student.builder().id(4L).name("高橋三郎").gender("男子").build();
+    Student outside = Student.builder().id(5L).name("伊藤花子").gender("女子")
+        .seatRow(4).seatColumn(1).build();
+    when(studentService.getAllStudents(1L)).thenReturn(
+        Arrays.asList(student3, student1, unseated, student2, outside));
+
+    // when
+    ColumnarSeatingChart result = seatingService.getColumnarSeatingChart(1L, 3, 2);
+
+    // then
+    assertEquals(3, result.getRows());
+    assertEquals(2, result.getColumns());
+    assertArrayEquals(new long[]{1L, 2L, 3L, 0L, 0L, 0L}, result.getSeats());
+    assertEquals(List.of(
+        new ColumnarSeatingChart.Entry(1L, "田中太郎", "男子"),
+        new ColumnarSeatingChart.Entry(2L, "佐藤花子", "女子"),
+        new ColumnarSeatingChart.Entry(3L, "鈴木次郎", "男子")), result.getStudents());
+  }
+
   @Test
   @DisplayName("getSeatingChart - 正常系：座席位置がnullの学生は配置されない")
   void getSeatingChart_WithNullSeatPosition() {
@@ -107,10 +165,10 @@ class SeatingServiceTest {
         .seatColumn(null)
         .build();
     List<Student> studentsWithNull = Arrays.asList(student1, studentWithNullSeat);
-    when(studentService.getAllStudents()).thenReturn(studentsWithNull);
+    when(studentService.getAllStudents(1L)).thenReturn(studentsWithNull);
 
     // when
-    String[][] result = seatingService.getSeatingChart(3, 3);
+    String[][] result = seatingService.getSeatingChart(1L, 3, 3);
 
     // then
     assertEquals("田中太郎", result[0][0]);
@@ -137,10 +195,10 @@ class SeatingServiceTest {
         .seatColumn(5) // 範囲外
         .build();
     List<Student> studentsWithOutOfRange = Arrays.asList(student1, outOfRangeStudent);
-    when(studentService.getAllStudents()).thenReturn(studentsWithOutOfRange);
+    when(studentService.getAllStudents(1L)).thenReturn(studentsWithOutOfRange);
 
     // when
-    String[][] result = seatingService.getSeatingChart(2, 2);
+    String[][] result = seatingService.getSeatingChart(1L, 2, 2);
 
     // then
     assertEquals("田中太郎", result[0][0]);
@@ -153,10 +211,10 @@ class SeatingServiceTest {
   @DisplayName("getSeatingChart - 異常系：学生リストが空の場合")
   void getSeatingChart_EmptyStudentList() {
     // given
-    when(studentService.getAllStudents()).thenReturn(Collections.emptyList());
+    when(studentService.getAllStudents(1L)).thenReturn(Collections.emptyList());
 
     // when
-    String[][] result = seatingService.getSeatingChart(3, 3);
+    String[][] result = seatingService.getSeatingChart(1L, 3, 3);
 
     // then
     for (int i = 0; i < 3; i++) {
@@ -169,8 +227,11 @@ class SeatingServiceTest {
   @Test
   @DisplayName("getCurrentRows - 正常系：デフォルト値6を返す")
   void getCurrentRows_ReturnsDefaultValue() {
+    // given
+    when(configurationService.getConfiguration(1L)).thenReturn(SeatingLayout.DEFAULT);
+
     // when
-    int result = seatingService.getCurrentRows();
+    int result = seatingService.getCurrentRows(1L);
 
     // then
     assertEquals(6, result);
@@ -179,35 +240,55 @@ class SeatingServiceTest {
   @Test
   @DisplayName("getCurrentColumns - 正常系：デフォルト値5を返す")
   void getCurrentColumns_ReturnsDefaultValue() {
+    // given
+    when(configurationService.getConfiguration(1L)).thenReturn(SeatingLayout.DEFAULT);
+
     // when
-    int result = seatingService.getCurrentColumns();
+    int result = seatingService.getCurrentColumns(1L);
 
     // then
     assertEquals(5, result);
   }
 
   @Test
-  @DisplayName("saveSeatingConfiguration - 正常系：処理が完了する")
+  @DisplayName("saveSeatingConfiguration - 正常系：並べ方を変えずに既定のクラスの設定として保存する")
   void saveSeatingConfiguration_Success() {
-    // when & then（例外が発生しないことを確認）
-    assertDoesNotThrow(() -> seatingService.saveSeatingConfiguration(6, 5));
+    // when
+    seatingService.saveSeatingConfiguration(1L, 7, 4);
+
+    // then
+    verify(configurationService).saveConfiguration(1L, 7, 4, null);
+  }
+
+  @Test
+  @DisplayName("getCurrentRows - 正常系：保存されている設定の行数・列数を返す")
+  void getCurrentRows_ReturnsSavedValue() {
+    // given
+    when(configurationService.getConfiguration(1L))
+        .thenReturn(new SeatingLayout(8, 4, SeatArrangementMode.ALTERNATE_COLUMNS, 3L));
+
+    // when & then
+    assertEquals(8, seatingService.getCurrentRows(1L));
+    assertEquals(4, seatingService.getCurrentColumns(1L));
+    assertEquals(SeatArrangementMode.ALTERNATE_COLUMNS,
+        seatingService.getCurrentArrangementMode(1L));
   }
 
   @Test
   @DisplayName("regenerateSeatingChart - 正常系：処理が完了する")
   void regenerateSeatingChart_Success() {
     // when & then（例外が発生しないことを確認）
-    assertDoesNotThrow(() -> seatingService.regenerateSeatingChart(6, 5));
+    assertDoesNotThrow(() -> seatingService.regenerateSeatingChart(1L, 6, 5));
   }
 
   @Test
   @DisplayName("getSeatingChartWithGender - 正常系：学生オブジェクトが正しく配置される")
   void getSeatingChartWithGender_Success() {
     // given
-    when(studentService.getAllStudents()).thenReturn(testStudents);
+    when(studentService.getAllStudents(1L)).thenReturn(testStudents);
 
     // when
-    Student[][] result = seatingService.getSeatingChartWithGender(3, 3);
+    Student[][] result = seatingService.getSeatingChartWithGender(1L, 3, 3);
 
     // then
     assertEquals(student1, result[0][0]);
@@ -231,10 +312,10 @@ class SeatingServiceTest {
         .seatColumn(10) // 範囲外
         .build();
     List<Student> studentsWithOutOfRange = Arrays.asList(student1, outOfRangeStudent);
-    when(studentService.getAllStudents()).thenReturn(studentsWithOutOfRange);
+    when(studentService.getAllStudents(1L)).thenReturn(studentsWithOutOfRange);
 
     // when
-    Student[][] result = seatingService.getSeatingChartWithGender(2, 2);
+    Student[][] result = seatingService.getSeatingChartWithGender(1L, 2, 2);
 
     // then
     assertEquals(student1, result[0][0]);
@@ -247,36 +328,34 @@ class SeatingServiceTest {
   @DisplayName("shuffleSeatingChart - 正常系：引数1つ版")
   void shuffleSeatingChart_OneParam_Success() {
     // given
-    when(studentRepository.findAll()).thenReturn(testStudents);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(testStudents);
 
     // when
-    Student[][] result = seatingService.shuffleSeatingChart(3, 3);
+    Student[][] result = seatingService.shuffleSeatingChart(1L, 3, 3);
 
     // then
     assertNotNull(result);
     assertEquals(3, result.length);
     assertEquals(3, result[0].length);
-    verify(studentRepository,
-        times(2)).findAll(); // shuffleSeatingChartで1回、updateSeatPositionsInDatabaseで1回
-    verify(studentRepository).saveAll(anyList());
+    verify(studentRepository).findAll(); // 名簿の取得は1回だけ
+    assertSeatsMatchChart(testStudents, result);
   }
 
   @Test
   @DisplayName("shuffleSeatingChart - 正常系：引数2つ版（通常配置）")
   void shuffleSeatingChart_TwoParam_NormalArrangement() {
     // given
-    when(studentRepository.findAll()).thenReturn(testStudents);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(testStudents);
 
     // when
-    Student[][] result = seatingService.shuffleSeatingChart(3, 3, false);
+    Student[][] result = seatingService.shuffleSeatingChart(1L, 3, 3, false);
 
     // then
     assertNotNull(result);
     assertEquals(3, result.length);
     assertEquals(3, result[0].length);
-    verify(studentRepository,
-        times(2)).findAll(); // shuffleSeatingChartで1回、updateSeatPositionsInDatabaseで1回
-    verify(studentRepository).saveAll(anyList());
+    verify(studentRepository).findAll(); // 名簿の取得は1回だけ
+    assertSeatsMatchChart(testStudents, result);
   }
 
   @Test
@@ -289,16 +368,16 @@ class SeatingServiceTest {
         createMaleStudent(3L, "男子2", "3", null, null),
         createFemaleStudent(4L, "女子2", "4", null, null)
     );
-    when(studentRepository.findAll()).thenReturn(mixedStudents);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(mixedStudents);
 
     // when
-    Student[][] result = seatingService.shuffleSeatingChart(2, 2, true);
+    Student[][] result = seatingService.shuffleSeatingChart(1L, 2, 2, true);
 
     // then
     assertNotNull(result);
     assertEquals(2, result.length);
     assertEquals(2, result[0].length);
-    verify(studentRepository, times(2)).findAll();
+    verify(studentRepository).findAll();
     verify(studentRepository).saveAll(anyList());
   }
 
@@ -312,16 +391,16 @@ class SeatingServiceTest {
         createMaleStudent(3L, "男子2", "3", null, null),
         createFemaleStudent(4L, "女子2", "4", null, null)
     );
-    when(studentRepository.findAll()).thenReturn(mixedStudents);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(mixedStudents);
 
     // when
-    Student[][] result = seatingService.shuffleSeatingChart(2, 2, false, true);
+    Student[][] result = seatingService.shuffleSeatingChart(1L, 2, 2, false, true);
 
     // then
     assertNotNull(result);
     assertEquals(2, result.length);
     assertEquals(2, result[0].length);
-    verify(studentRepository, times(2)).findAll();
+    verify(studentRepository).findAll();
     verify(studentRepository).saveAll(anyList());
   }
 
@@ -329,10 +408,10 @@ class SeatingServiceTest {
   @DisplayName("shuffleSeatingChart - 異常系：学生がいない場合")
   void shuffleSeatingChart_EmptyStudentList() {
     // given
-    when(studentRepository.findAll()).thenReturn(Collections.emptyList());
+    when(studentRepository.findByClassroomId(1L)).thenReturn(Collections.emptyList());
 
     // when
-    Student[][] result = seatingService.shuffleSeatingChart(3, 3);
+    Student[][] result = seatingService.shuffleSeatingChart(1L, 3, 3);
 
     // then
     assertNotNull(result);
@@ -343,8 +422,8 @@ class SeatingServiceTest {
         assertNull(result[i][j]);
       }
     }
-    verify(studentRepository, times(2)).findAll();
-    verify(studentRepository).saveAll(anyList());
+    verify(studentRepository).findAll();
+    verify(studentRepository, never()).saveAll(anyList());
   }
 
   @Test
@@ -355,10 +434,10 @@ class SeatingServiceTest {
     for (int i = 1; i <= 10; i++) {
       manyStudents.add(createMaleStudent((long) i, "学生" + i, String.valueOf(i), null, null));
     }
-    when(studentRepository.findAll()).thenReturn(manyStudents);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(manyStudents);
 
     // when
-    Student[][] result = seatingService.shuffleSeatingChart(2, 2); // 4席しかない
+    Student[][] result = seatingService.shuffleSeatingChart(1L, 2, 2); // 4席しかない
 
     // then
     assertNotNull(result);
@@ -371,7 +450,7 @@ class SeatingServiceTest {
       }
     }
     assertEquals(4, assignedStudents); // 座席数分だけ配置される
-    verify(studentRepository, times(2)).findAll();
+    verify(studentRepository).findAll();
   }
 
   @Test
@@ -383,10 +462,10 @@ class SeatingServiceTest {
         createMaleStudent(2L, "男子2", "2", null, null),
         createMaleStudent(3L, "男子3", "3", null, null)
     );
-    when(studentRepository.findAll()).thenReturn(maleOnlyStudents);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(maleOnlyStudents);
 
     // when
-    Student[][] result = seatingService.shuffleSeatingChart(2, 2, true);
+    Student[][] result = seatingService.shuffleSeatingChart(1L, 2, 2, true);
 
     // then
     assertNotNull(result);
@@ -400,7 +479,7 @@ class SeatingServiceTest {
       }
     }
     assertTrue(assignedStudents > 0);
-    verify(studentRepository, times(2)).findAll();
+    verify(studentRepository).findAll();
   }
 
   @Test
@@ -412,10 +491,10 @@ class SeatingServiceTest {
         createFemaleStudent(2L, "女子2", "2", null, null),
         createFemaleStudent(3L, "女子3", "3", null, null)
     );
-    when(studentRepository.findAll()).thenReturn(femaleOnlyStudents);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(femaleOnlyStudents);
 
     // when
-    Student[][] result = seatingService.shuffleSeatingChart(2, 2, false, true);
+    Student[][] result = seatingService.shuffleSeatingChart(1L, 2, 2, false, true);
 
     // then
     assertNotNull(result);
@@ -429,54 +508,242 @@ class SeatingServiceTest {
       }
     }
     assertTrue(assignedStudents > 0);
-    verify(studentRepository, times(2)).findAll();
+    verify(studentRepository).findAll();
   }
 
   @Test
   @DisplayName("shuffleSeatingChart - 境界値：1x1の座席表")
   void shuffleSeatingChart_SingleSeat() {
     // given
-    when(studentRepository.findAll()).thenReturn(Arrays.asList(student1));
+    when(studentRepository.findByClassroomId(1L)).thenReturn(Arrays.asList(student1));
 
     // when
-    Student[][] result = seatingService.shuffleSeatingChart(1, 1);
+    Student[][] result = seatingService.shuffleSeatingChart(1L, 1, 1);
 
     // then
     assertNotNull(result);
     assertEquals(1, result.length);
     assertEquals(1, result[0].length);
     assertEquals(student1, result[0][0]);
-    verify(studentRepository, times(2)).findAll();
+    verify(studentRepository).findAll();
+    // 座席が変わっていないので保存しない
+    verify(studentRepository, never()).saveAll(anyList());
   }
 
   @Test
   @DisplayName("shuffleSeatingChart - 境界値：0x0の座席表")
   void shuffleSeatingChart_ZeroSeat() {
     // given
-    when(studentRepository.findAll()).thenReturn(testStudents);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(testStudents);
 
     // when
-    Student[][] result = seatingService.shuffleSeatingChart(0, 0);
+    Student[][] result = seatingService.shuffleSeatingChart(1L, 0, 0);
 
     // then
     assertNotNull(result);
     assertEquals(0, result.length);
-    verify(studentRepository, times(2)).findAll();
+    verify(studentRepository).findAll();
+    verify(studentRepository).saveAll(testStudents);
+    assertNull(student1.getSeatRow());
+  }
+
+  @Test
+  @DisplayName("arrange - 正常系：結果は座席数の長さの配列で、次の配置で上書きされない")
+  void arrange_ReturnsIndependentResult() {
+    // given
+    int[] first = seatingService.arrange(testStudents, 2, 2, SeatArrangementMode.NORMAL);
+    int[] copy = first.clone();
+
+    // when：エンジンを使い回す次の配置
+    int[] second = seatingService.arrange(testStudents, 3, 3, SeatArrangementMode.NORMAL);
+
+    // then
+    assertEquals(4, first.length);
+    assertEquals(9, second.length);
+    assertArrayEquals(copy, first);
+  }
+
+  @Test
+  @DisplayName("shuffleSeatingChart - 正常系：座席が変わった生徒だけが保存される")
+  void shuffleSeatingChart_SavesOnlyChangedStudents() {
+    // given
+    Student unseated = createMaleStudent(4L, "新入生", "4", null, null);
+    List<Student> students = Arrays.asList(student1, unseated);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(students);
+
+    // when
+    Student[][] result = seatingService.shuffleSeatingChart(1L, 1, 1);
+
+    // then
+    Student seated = result[0][0];
+    Student other = seated == student1 ? unseated : student1;
+    assertSeatsMatchChart(students, result);
+    if (seated == student1) {
+      // 誰の席も変わらなければ保存しない
+      verify(studentRepository, never()).saveAll(anyList());
+    } else {
+      verify(studentRepository).saveAll(List.of(student1, unseated));
+    }
+    assertNull(other.getSeatRow());
   }
 
   @Test
   @DisplayName("shuffleSeatingChart - 異常系：repositoryでエラーが発生")
   void shuffleSeatingChart_RepositoryError() {
     // given
-    when(studentRepository.findAll()).thenThrow(new RuntimeException("データベースエラー"));
+    when(studentRepository.findByClassroomId(1L)).thenThrow(new RuntimeException("データベースエラー"));
 
     // when & then
     assertThrows(RuntimeException.class, () -> {
-      seatingService.shuffleSeatingChart(3, 3);
+      seatingService.shuffleSeatingChart(1L, 3, 3);
     });
   }
 
+  @Test
+  @DisplayName("optimizeSeatingChart - 正常系：隣り合わせにしない必須条件が守られる")
+  void optimizeSeatingChart_SeparatedPairsRequired() {
+    // given
+    List<Student> students = Arrays.asList(
+        createMaleStudent(1L, "男子1", "1", null, null),
+        createFemaleStudent(2L, "女子1", "2", null, null),
+        createMaleStudent(3L, "男子2", "3", null, null),
+        createFemaleStudent(4L, "女子2", "4", null, null)
+    );
+    when(studentRepository.findByClassroomId(1L)).thenReturn(students);
+    SeatingConstraints constraints = SeatingConstraints.builder()
+        .separatedPairs(SeatingConstraints.parsePairs("1-2"))
+        .separatedPairsRequired(true)
+        .timeBudgetMillis(100)
+        .build();
+
+    // when
+    SeatingOptimizationResult result = seatingService.optimizeSeatingChart(1L, 2, 2, constraints);
+
+    // then
+    assertEquals(0, result.getHardViolations());
+    Student[][] chart = result.getChart();
+    Student first = students.get(0);
+    Student second = students.get(1);
+    assertNotNull(first.getSeatRow());
+    assertNotNull(second.getSeatRow());
+    // 2x2 では対角の席なら隣り合わない
+    assertTrue(!first.getSeatRow().equals(second.getSeatRow())
+        && !first.getSeatColumn().equals(second.getSeatColumn()));
+    assertEquals(first, chart[first.getSeatRow() - 1][first.getSeatColumn() - 1]);
+    verify(studentRepository).saveAll(anyList());
+  }
+
+  @Test
+  @DisplayName("optimizeSeatingChart - 異常系：行数・列数が範囲外の場合はクラスの順番を取らずに例外を投げる")
+  void optimizeSeatingChart_InvalidSize_ThrowsBeforeLocking() {
+    // given
+    SeatingConstraints constraints = SeatingConstraints.builder().build();
+
+    // when & then
+    assertThrows(IllegalArgumentException.class,
+        () -> seatingService.optimizeSeatingChart(1L, 6, 0, constraints));
+    assertThrows(IllegalArgumentException.class,
+        () -> seatingService.optimizeSeatingChart(1L, 21, 5, constraints));
+    verify(writeQueue, never()).write(anyLong(), any());
+    verify(studentRepository, never()).findByClassroomId(anyLong());
+  }
+
+  @Test
+  @DisplayName("optimizeSeatingChart - 異常系：生徒ペアの形式が不正な場合")
+  void optimizeSeatingChart_InvalidPairFormat() {
+    assertThrows(IllegalArgumentException.class, () -> SeatingConstraints.parsePairs("1-"));
+  }
+
+  @Test
+  @DisplayName("repairSeatingChart - 正常系：新しい生徒だけが空席に入り、他の生徒は動かない")
+  void repairSeatingChart_NewStudentFillsEmptySeat() {
+    // given
+    Student newStudent = createFemaleStudent(4L, "新入生", "4", null, null);
+    List<Student> students = Arrays.asList(student1, student2, student3, newStudent);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(students);
+
+    // when
+    SeatingRepairResult result = seatingService.repairSeatingChart(1L, 2, 2, Set.of());
+
+    // then
+    assertEquals(1, result.getMovedCount());
+    assertEquals(0, result.getUnseatedCount());
+    assertEquals(student1, result.getChart()[0][0]);
+    assertEquals(student2, result.getChart()[0][1]);
+    assertEquals(student3, result.getChart()[1][0]);
+    assertEquals(newStudent, result.getChart()[1][1]);
+    verify(studentRepository).saveAll(List.of(newStudent));
+  }
+
+  @Test
+  @DisplayName("repairSeatingChart - 正常系：指定した生徒は今の席以外に移る")
+  void repairSeatingChart_RelocatesStudent() {
+    // given
+    when(studentRepository.findByClassroomId(1L)).thenReturn(testStudents);
+
+    // when
+    SeatingRepairResult result = seatingService.repairSeatingChart(1L, 2, 2, Set.of(1L));
+
+    // then
+    assertTrue(result.getMovedCount() >= 1);
+    assertTrue(student1.getSeatRow() != 1 || student1.getSeatColumn() != 1);
+    assertEquals(0, result.getUnseatedCount());
+  }
+
+  @Test
+  @DisplayName("repairSeatingChart - 異常系：座席が足りない場合は席のない生徒が未着席になる")
+  void repairSeatingChart_NotEnoughSeats() {
+    // given
+    Student newStudent = createFemaleStudent(4L, "新入生", "4", null, null);
+    List<Student> students = Arrays.asList(student1, newStudent);
+    when(studentRepository.findByClassroomId(1L)).thenReturn(students);
+
+    // when
+    SeatingRepairResult result = seatingService.repairSeatingChart(1L, 1, 1, Set.of());
+
+    // then
+    assertEquals(0, result.getMovedCount());
+    assertEquals(1, result.getUnseatedCount());
+    assertEquals(student1, result.getChart()[0][0]);
+    assertNull(newStudent.getSeatRow());
+  }
+
+  @Test
+  @DisplayName("repairSeatingChart - 異常系：行数・列数が範囲外の場合はクラスの順番を取らずに例外を投げる")
+  void repairSeatingChart_InvalidSize_ThrowsBeforeLocking() {
+    // when & then
+    assertThrows(IllegalArgumentException.class,
+        () -> seatingService.repairSeatingChart(1L, 5000, 5000, Set.of()));
+    assertThrows(IllegalArgumentException.class,
+        () -> seatingService.repairSeatingChart(1L, 6, 0, Set.of()));
+    verify(writeQueue, never()).write(anyLong(), any());
+    verify(studentRepository, never()).findByClassroomId(anyLong());
+  }
+
   // ヘルパーメソッド
+  /**
+   * 座席表に配置された生徒の座席位置が座席表と一致し、配置されなかった生徒の座席位置が空であることを確認する
+   */
+  private void assertSeatsMatchChart(List<Student> students, Student[][] chart) {
+    int placed = 0;
+    for (Student[] chartRow : chart) {
+      for (Student seated : chartRow) {
+        if (seated != null) {
+          placed++;
+        }
+      }
+    }
+
+    int seatedStudents = 0;
+    for (Student student : students) {
+      if (student.getSeatRow() != null) {
+        assertSame(student, chart[student.getSeatRow() - 1][student.getSeatColumn() - 1]);
+        seatedStudents++;
+      }
+    }
+    assertEquals(placed, seatedStudents);
+  }
+
   private Student createMaleStudent(Long id, String name, String code, Integer row, Integer col) {
     return Student.builder()
         .id(id)
@@ -0,0 +1,267 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import sekigae.sekigae.seatingapp.dto.SnapshotPage;
+import sekigae.sekigae.seatingapp.dto.SnapshotRestoreResult;
+import sekigae.sekigae.seatingapp.dto.SnapshotSummary;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotDetail;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotPayload;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotDetailRepository;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotPayloadRepository;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotRepository;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatingSnapshotService単体テスト")
+class SeatingSnapshotServiceTest {
+
+  @Mock
+  private SeatingSnapshotRepository snapshotRepository;
+
+  @Mock
+  private SeatingSnapshotDetailRepository snapshotDetailRepository;
+
+  @Mock
+  private SeatingSnapshotPayloadRepository payloadRepository;
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @Mock
+  private SeatingService seatingService;
+
+  @Mock
+  private NeighbourHistoryService neighbourHistoryService;
+
+  @Mock
+  private SeatingChartCache chartCache;
+
+  @Mock
+  private SeatingChartVersion chartVersion;
+
+  @Mock
+  private SeatingMetrics metrics;
+
+  // 書き込みは呼び出し元のスレッドでそのまま実行する（トランザクションマネージャーはモック）
+  @Spy
+  private ClassroomWriteQueue writeQueue =
+      new ClassroomWriteQueue(mock(PlatformTransactionManager.class));
+
+  @InjectMocks
+  private SeatingSnapshotService snapshotService;
+
+  @Test
+  @DisplayName("restoreSeatingSnapshot - 正常系：1回のUPDATEで復元され、削除済みの生徒が報告される")
+  void restoreSeatingSnapshot_ReportsMissingStudents() {
+    // given
+    when(snapshotRepository.existsByIdAndClassroomId(1L, 1L)).thenReturn(true);
+    when(snapshotDetailRepository.countBySnapshotId(1L)).thenReturn(30L);
+    when(snapshotDetailRepository.findMissingStudentIds(1L, 1L))
+        .thenReturn(List.of(12L, 15L));
+
+    // when
+    Optional<SnapshotRestoreResult> result = snapshotService.restoreSeatingSnapshot(1L, 1L);
+
+    // then
+    assertTrue(result.isPresent());
+    assertEquals(28, result.get().getRestoredCount());
+    assertEquals(2, result.get().getSkippedCount());
+    assertEquals(List.of(12L, 15L), result.get().getMissingStudentIds());
+    verify(studentRepository).restoreSeatsFromSnapshot(1L, 1L);
+    verify(studentRepository, never()).findById(anyLong());
+    verify(chartCache).markChanged(1L);
+    verify(metrics).countRestoreMisses("student_deleted", 1L, 2);
+  }
+
+  @Test
+  @DisplayName("restoreSeatingSnapshot - 正常系：配置データから復元され、座席が変わった生徒だけが保存される")
+  void restoreSeatingSnapshot_FromPayload() {
+    // given：スナップショットは 1:(1,1) 2:(1,2) 9:(2,1)、生徒9は削除済み
+    byte[] payload = SnapshotPayloadCodec.encode(2, 2, List.of(
+        detail(1L, 1, 1), detail(2L, 1, 2), detail(9L, 2, 1)));
+    Student unchanged = student(1L, 1, 1);
+    Student moved = student(2L, 2, 2);
+    Student notInSnapshot = student(3L, 2, 1);
+    when(payloadRepository.findInClassroom(1L, 1L)).thenReturn(Optional.of(
+        SeatingSnapshotPayload.builder().snapshotId(1L).formatVersion(1).payload(payload).build()));
+    when(studentRepository.findByClassroomId(1L))
+        .thenReturn(List.of(unchanged, moved, notInSnapshot));
+
+    // when
+    Optional<SnapshotRestoreResult> result = snapshotService.restoreSeatingSnapshot(1L, 1L);
+
+    // then
+    assertTrue(result.isPresent());
+    assertEquals(2, result.get().getRestoredCount());
+    assertEquals(List.of(9L), result.get().getMissingStudentIds());
+    assertEquals(2, moved.getSeatColumn());
+    assertEquals(1, moved.getSeatRow());
+    assertNull(notInSnapshot.getSeatRow());
+    verify(studentRepository).saveAll(List.of(moved, notInSnapshot));
+    verify(chartCache).markChanged(1L);
+    verify(metrics).countRowsWritten("restore", 1L, 2);
+    verify(metrics).countRestoreMisses("student_deleted", 1L, 1);
+    verify(studentRepository, never()).restoreSeatsFromSnapshot(anyLong(), anyLong());
+    verify(snapshotRepository, never()).existsByIdAndClassroomId(anyLong(), anyLong());
+  }
+
+  @Test
+  @DisplayName("restoreSeatingSnapshot - 異常系：スナップショットが存在しない場合は何も更新しない")
+  void restoreSeatingSnapshot_NotFound() {
+    // given
+    when(snapshotRepository.existsByIdAndClassroomId(99L, 1L)).thenReturn(false);
+
+    // when
+    Optional<SnapshotRestoreResult> result = snapshotService.restoreSeatingSnapshot(1L, 99L);
+
+    // then
+    assertTrue(result.isEmpty());
+    verify(studentRepository, never()).restoreSeatsFromSnapshot(anyLong(), anyLong());
+    verify(metrics).countRestoreMisses("snapshot_not_found", 1L, 1);
+  }
+
+  @Test
+  @DisplayName("getSnapshotPage - 正常系：1件多く取得し、次のページのカーソルを返す")
+  void getSnapshotPage_HasNext() {
+    // given
+    LocalDateTime base = LocalDateTime.of(2025, 4, 1, 9, 0);
+    List<SnapshotSummary> summaries = new ArrayList<>();
+    for (int i = 0; i < 21; i++) {
+      summaries.add(summary(100L - i, base.minusDays(i)));
+    }
+    when(snapshotRepository.findSummaries(1L, PageRequest.of(0, 21))).thenReturn(summaries);
+
+    // when
+    SnapshotPage page = snapshotService.getSnapshotPage(1L, null, null);
+
+    // then
+    assertEquals(20, page.getSnapshots().size());
+    assertTrue(page.isHasNext());
+    assertEquals(base.minusDays(19), page.getNextCreatedAt());
+    assertEquals(81L, page.getNextId());
+  }
+
+  @Test
+  @DisplayName("getSnapshotPage - 正常系：カーソル以降の最後のページ")
+  void getSnapshotPage_LastPage() {
+    // given
+    LocalDateTime cursor = LocalDateTime.of(2025, 4, 1, 9, 0);
+    when(snapshotRepository.findSummariesBefore(1L, cursor, 81L, PageRequest.of(0, 21)))
+        .thenReturn(List.of(summary(80L, cursor.minusDays(1))));
+
+    // when
+    SnapshotPage page = snapshotService.getSnapshotPage(1L, cursor, 81L);
+
+    // then
+    assertEquals(1, page.getSnapshots().size());
+    assertFalse(page.isHasNext());
+    assertNull(page.getNextCreatedAt());
+    assertNull(page.getNextId());
+  }
+
+  @Test
+  @DisplayName("deleteSnapshot - 異常系：他のクラスのスナップショットは削除しない")
+  void deleteSnapshot_OtherClassroom() {
+    // given
+    when(snapshotRepository.existsByIdAndClassroomId(5L, 2L)).thenReturn(false);
+
+    // when
+    boolean deleted = snapshotService.deleteSnapshot(2L, 5L);
+
+    // then
+    assertFalse(deleted);
+    verify(snapshotRepository, never()).deleteById(anyLong());
+    verify(payloadRepository, never()).deleteBySnapshotId(anyLong());
+  }
+
+  @Test
+  @DisplayName("deleteSnapshot - 正常系：クラスの順番を待ってから隣席履歴を減らして削除する")
+  void deleteSnapshot_InClassroomWriteQueue() {
+    // given
+    List<SeatingSnapshotDetail> details = List.of(SeatingSnapshotDetail.builder()
+        .seatRow(1).seatColumn(1).studentId(1L).build());
+    when(snapshotRepository.existsByIdAndClassroomId(5L, 2L)).thenReturn(true);
+    when(payloadRepository.findById(5L)).thenReturn(Optional.empty());
+    when(snapshotDetailRepository.findBySnapshotId(5L)).thenReturn(details);
+
+    // when
+    boolean deleted = snapshotService.deleteSnapshot(2L, 5L);
+
+    // then
+    assertTrue(deleted);
+    verify(writeQueue).write(eq(2L), any());
+    verify(neighbourHistoryService).forgetArrangement(details);
+    verify(snapshotRepository).deleteById(5L);
+  }
+
+  private static SnapshotSummary summary(Long id, LocalDateTime createdAt) {
+    return new SnapshotSummary() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public String getSnapshotName() {
+        return "座席配置" + id;
+      }
+
+      @Override
+      public LocalDateTime getCreatedAt() {
+        return createdAt;
+      }
+
+      @Override
+      public String getDescriptionPreview() {
+        return null;
+      }
+    };
+  }
+
+  private static SeatingSnapshotDetail detail(Long studentId, int row, int column) {
+    return SeatingSnapshotDetail.builder()
+        .studentId(studentId)
+        .studentName("生徒" + studentId)
+        .studentGender("男子")
+        .studentCode(String.valueOf(studentId))
+        .seatRow(row)
+        .seatColumn(column)
+        .build();
+  }
+
+  private static Student student(Long id, Integer row, Integer column) {
+    return Student.builder()
+        .id(id)
+        .name("生徒" + id)
+        .gender("男子")
+        .studentCode(String.valueOf(id))
+        .seatRow(row)
+        .seatColumn(column)
+        .build();
+  }
+}
@@ -0,0 +1,151 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sekigae.sekigae.seatingapp.dto.SeatingChartState;
+import sekigae.sekigae.seatingapp.dto.SeatingStatistics;
+import sekigae.sekigae.seatingapp.dto.StudentCounts;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatingStatisticsService単体テスト")
+class SeatingStatisticsServiceTest {
+
+  @Mock
+  private SeatingChartCache chartCache;
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @InjectMocks
+  private SeatingStatisticsService statisticsService;
+
+  private final List<Student> students = List.of(
+      student(1L, "男子", 1, 1),
+      student(2L, "女子", 2, 3),
+      student(3L, "男子", 6, 5),
+      student(4L, "女子", null, null));
+
+  @Test
+  @DisplayName("getStatistics - 正常系：座席表の大きさごとに使用中の座席と空席を返す")
+  void getStatistics_OccupiedSeatsBySize() {
+    // given
+    when(chartCache.current(1L)).thenReturn(new SeatingChartState(0L, students));
+
+    // when
+    SeatingStatistics statistics = statisticsService.getStatistics(1L);
+
+    // then
+    assertEquals(4, statistics.getStudentCount());
+    assertEquals(2, statistics.getMaleCount());
+    assertEquals(2, statistics.getFemaleCount());
+    assertEquals(3, statistics.getSeatedCount());
+    assertEquals(3, statistics.getOccupiedSeats(6, 5));
+    assertEquals(27, statistics.getFreeSeats(6, 5));
+    assertEquals(2, statistics.getOccupiedSeats(2, 3));
+    assertEquals(1, statistics.getOccupiedSeats(2, 2));
+    assertEquals(0, statistics.getOccupiedSeats(0, 5));
+  }
+
+  @Test
+  @DisplayName("reconcile - 正常系：COUNTクエリと一致する場合は名簿を読み直さない")
+  void reconcile_Consistent() {
+    // given
+    when(chartCache.getLoadedClassroomIds()).thenReturn(Set.of(1L));
+    when(chartCache.current(1L)).thenReturn(new SeatingChartState(0L, students));
+    when(studentRepository.countStudents(1L, "男子", "女子")).thenReturn(counts(4, 2, 2, 3));
+
+    // when
+    boolean reloaded = statisticsService.reconcile();
+
+    // then
+    assertFalse(reloaded);
+    verify(chartCache, never()).markChanged(anyLong());
+  }
+
+  @Test
+  @DisplayName("reconcile - 正常系：アプリケーションを通らない更新でずれた場合は名簿を読み直す")
+  void reconcile_Drifted() {
+    // given：別のサーバーから1人追加された
+    when(chartCache.getLoadedClassroomIds()).thenReturn(Set.of(1L));
+    when(chartCache.current(1L)).thenReturn(new SeatingChartState(0L, students));
+    when(studentRepository.countStudents(1L, "男子", "女子")).thenReturn(counts(5, 3, 2, 4));
+
+    // when
+    boolean reloaded = statisticsService.reconcile();
+
+    // then
+    assertTrue(reloaded);
+    verify(chartCache).markChanged(1L);
+  }
+
+  @Test
+  @DisplayName("reconcile - 正常系：ずれたクラスの名簿だけを読み直す")
+  void reconcile_OnlyDriftedClassroom() {
+    // given：クラス2だけ1人追加された
+    when(chartCache.getLoadedClassroomIds()).thenReturn(new TreeSet<>(Set.of(1L, 2L)));
+    when(chartCache.current(1L)).thenReturn(new SeatingChartState(0L, students));
+    when(chartCache.current(2L)).thenReturn(new SeatingChartState(0L, students));
+    when(studentRepository.countStudents(1L, "男子", "女子")).thenReturn(counts(4, 2, 2, 3));
+    when(studentRepository.countStudents(2L, "男子", "女子")).thenReturn(counts(5, 3, 2, 4));
+
+    // when
+    boolean reloaded = statisticsService.reconcile();
+
+    // then
+    assertTrue(reloaded);
+    verify(chartCache).markChanged(2L);
+    verify(chartCache, never()).markChanged(1L);
+  }
+
+  private static StudentCounts counts(long students, long male, long female, long seated) {
+    return new StudentCounts() {
+      @Override
+      public Long getStudentCount() {
+        return students;
+      }
+
+      @Override
+      public Long getMaleCount() {
+        return male;
+      }
+
+      @Override
+      public Long getFemaleCount() {
+        return female;
+      }
+
+      @Override
+      public Long getSeatedCount() {
+        return seated;
+      }
+    };
+  }
+
+  private static Student student(Long id, String gender, Integer row, Integer column) {
+    return Student.builder()
+        .id(id)
+        .name("生徒" + id)
+        .gender(gender)
+        .studentCode(String.valueOf(id))
+        .seatRow(row)
+        .seatColumn(column)
+        .build();
+  }
+}
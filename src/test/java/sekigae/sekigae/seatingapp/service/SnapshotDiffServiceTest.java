@@ -0,0 +1,124 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sekigae.sekigae.seatingapp.dto.SeatChange;
+import sekigae.sekigae.seatingapp.dto.SnapshotDiff;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotDetail;
+import sekigae.sekigae.seatingapp.repository.SeatingSnapshotRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SnapshotDiffService単体テスト")
+class SnapshotDiffServiceTest {
+
+  @Mock
+  private SeatingSnapshotRepository snapshotRepository;
+
+  @Mock
+  private SeatingSnapshotService snapshotService;
+
+  @Mock
+  private SeatingService seatingService;
+
+  @InjectMocks
+  private SnapshotDiffService snapshotDiffService;
+
+  @Test
+  @DisplayName("compareSnapshots - 正常系：移動・追加・削除された生徒が座標付きで返される")
+  void compareSnapshots_Success() {
+    // given
+    when(snapshotRepository.existsByIdAndClassroomId(1L, 1L)).thenReturn(true);
+    when(snapshotRepository.existsByIdAndClassroomId(2L, 1L)).thenReturn(true);
+    when(snapshotService.getSnapshotDetails(1L)).thenReturn(List.of(
+        detail(10L, 1, 1), detail(20L, 1, 2), detail(30L, 2, 1)));
+    when(snapshotService.getSnapshotDetails(2L)).thenReturn(List.of(
+        detail(10L, 1, 1), detail(20L, 2, 2), detail(40L, 1, 2)));
+
+    // when
+    Optional<SnapshotDiff> result = snapshotDiffService.compareSnapshots(1L, 1L, 2L);
+
+    // then
+    assertTrue(result.isPresent());
+    SnapshotDiff diff = result.get();
+    assertEquals(1, diff.getUnchangedCount());
+
+    assertEquals(1, diff.getMoved().size());
+    assertChange(diff.getMoved().get(0), 20L, 1, 2, 2, 2);
+
+    assertEquals(1, diff.getAdded().size());
+    assertChange(diff.getAdded().get(0), 40L, null, null, 1, 2);
+
+    assertEquals(1, diff.getRemoved().size());
+    assertChange(diff.getRemoved().get(0), 30L, 2, 1, null, null);
+  }
+
+  @Test
+  @DisplayName("compareSnapshots - 異常系：座席表が存在しない・他のクラスの座席表の場合は空")
+  void compareSnapshots_NotFound() {
+    // given
+    when(snapshotRepository.existsByIdAndClassroomId(1L, 1L)).thenReturn(false);
+
+    // when
+    Optional<SnapshotDiff> result = snapshotDiffService.compareSnapshots(1L, 1L, 2L);
+
+    // then
+    assertTrue(result.isEmpty());
+    verify(snapshotService, never()).getSnapshotDetails(1L);
+  }
+
+  @Test
+  @DisplayName("diff - 境界値：大きな生徒IDや多数の生徒でも正しく突き合わせる")
+  void diff_ManyStudents() {
+    // given：全員が1列右にずれる
+    List<SeatingSnapshotDetail> from = new ArrayList<>();
+    List<SeatingSnapshotDetail> to = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      long id = Long.MAX_VALUE - i * 1_000_003L;
+      from.add(detail(id, i / 20 + 1, i % 20 + 1));
+      to.add(detail(id, i / 20 + 1, i % 20 + 2));
+    }
+
+    // when
+    SnapshotDiff diff = SnapshotDiffService.diff(1L, null, from, to);
+
+    // then
+    assertEquals(500, diff.getMoved().size());
+    assertEquals(0, diff.getAdded().size());
+    assertEquals(0, diff.getRemoved().size());
+    assertNull(diff.getToSnapshotId());
+  }
+
+  private static void assertChange(SeatChange change, Long studentId, Integer fromRow,
+      Integer fromColumn, Integer toRow, Integer toColumn) {
+    assertEquals(studentId, change.getStudentId());
+    assertEquals(fromRow, change.getFromRow());
+    assertEquals(fromColumn, change.getFromColumn());
+    assertEquals(toRow, change.getToRow());
+    assertEquals(toColumn, change.getToColumn());
+  }
+
+  private static SeatingSnapshotDetail detail(Long studentId, int row, int column) {
+    return SeatingSnapshotDetail.builder()
+        .studentId(studentId)
+        .studentName("生徒" + studentId)
+        .studentGender("男子")
+        .studentCode(String.valueOf(studentId))
+        .seatRow(row)
+        .seatColumn(column)
+        .build();
+  }
+}
@@ -0,0 +1,115 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sekigae.sekigae.seatingapp.entity.SeatingSnapshotDetail;
+
+@DisplayName("SnapshotPayloadCodec単体テスト")
+class SnapshotPayloadCodecTest {
+
+  @Test
+  @DisplayName("encode/decode - 正常系：座席位置と生徒情報が復元される")
+  void roundTrip_Success() {
+    // given
+    List<SeatingSnapshotDetail> details = List.of(
+        detail(300L, "田中太郎", "男子", "1", 1, 2),
+        detail(2L, "佐藤花子", "女子", "2", 2, 1),
+        detail(70000L, "鈴木次郎", "男子", "3", 3, 3));
+
+    // when
+    List<SeatingSnapshotDetail> decoded = SnapshotPayloadCodec.decode(
+        SnapshotPayloadCodec.encode(3, 3, details));
+
+    // then：座席インデックス順に並ぶ
+    assertEquals(3, decoded.size());
+    assertDetail(decoded.get(0), details.get(0));
+    assertDetail(decoded.get(1), details.get(1));
+    assertDetail(decoded.get(2), details.get(2));
+  }
+
+  @Test
+  @DisplayName("encode - 正常系：繰り返される文字列は1回だけ保存される")
+  void encode_DeduplicatesStrings() {
+    // given
+    List<SeatingSnapshotDetail> details = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      details.add(detail((long) i + 1, "生徒" + i, i % 2 == 0 ? "男子" : "女子",
+          String.valueOf(i + 1), i / 6 + 1, i % 6 + 1));
+    }
+
+    // when
+    byte[] payload = SnapshotPayloadCodec.encode(5, 6, details);
+
+    // then：性別の文字列は辞書に1回ずつしか現れない
+    assertEquals(1, countOccurrences(payload, "男子".getBytes(StandardCharsets.UTF_8)));
+    assertEquals(1, countOccurrences(payload, "女子".getBytes(StandardCharsets.UTF_8)));
+    assertEquals(30, SnapshotPayloadCodec.decode(payload).size());
+  }
+
+  @Test
+  @DisplayName("encode/decode - 正常系：nullの文字列はnullのまま復元される")
+  void roundTrip_NullString() {
+    List<SeatingSnapshotDetail> decoded = SnapshotPayloadCodec.decode(
+        SnapshotPayloadCodec.encode(1, 1, List.of(detail(1L, "田中太郎", null, "1", 1, 1))));
+
+    assertNull(decoded.get(0).getStudentGender());
+  }
+
+  @Test
+  @DisplayName("encode - 異常系：座席表の範囲外の座席位置")
+  void encode_OutOfRange() {
+    List<SeatingSnapshotDetail> details = List.of(detail(1L, "田中太郎", "男子", "1", 3, 1));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> SnapshotPayloadCodec.encode(2, 2, details));
+  }
+
+  @Test
+  @DisplayName("decode - 異常系：途中で切れたデータ")
+  void decode_Truncated() {
+    byte[] payload = SnapshotPayloadCodec.encode(2, 2,
+        List.of(detail(1L, "田中太郎", "男子", "1", 1, 1)));
+    byte[] truncated = Arrays.copyOf(payload, payload.length - 2);
+
+    assertThrows(IllegalArgumentException.class, () -> SnapshotPayloadCodec.decode(truncated));
+  }
+
+  private static int countOccurrences(byte[] haystack, byte[] needle) {
+    int count = 0;
+    for (int i = 0; i + needle.length <= haystack.length; i++) {
+      if (Arrays.equals(haystack, i, i + needle.length, needle, 0, needle.length)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static void assertDetail(SeatingSnapshotDetail actual, SeatingSnapshotDetail expected) {
+    assertEquals(expected.getStudentId(), actual.getStudentId());
+    assertEquals(expected.getStudentName(), actual.getStudentName());
+    assertEquals(expected.getStudentGender(), actual.getStudentGender());
+    assertEquals(expected.getStudentCode(), actual.getStudentCode());
+    assertEquals(expected.getSeatRow(), actual.getSeatRow());
+    assertEquals(expected.getSeatColumn(), actual.getSeatColumn());
+  }
+
+  private static SeatingSnapshotDetail detail(Long studentId, String name, String gender,
+      String code, int row, int column) {
+    return SeatingSnapshotDetail.builder()
+        .studentId(studentId)
+        .studentName(name)
+        .studentGender(gender)
+        .studentCode(code)
+        .seatRow(row)
+        .seatColumn(column)
+        .build();
+  }
+}
@@ -0,0 +1,228 @@
+package sekigae.sekigae.seatingapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import sekigae.sekigae.seatingapp.dto.StudentImportError;
+import sekigae.sekigae.seatingapp.dto.StudentImportResult;
+import sekigae.sekigae.seatingapp.entity.Student;
+import sekigae.sekigae.seatingapp.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StudentImportService の単体テスト")
+class StudentImportServiceTest {
+
+  private static final String HEADER = "name,gender,studentCode,seatRow,seatColumn\n";
+
+  @Mock
+  private StudentRepository studentRepository;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private SeatingChartCache chartCache;
+
+  @Mock
+  private SeatingMetrics metrics;
+
+  @Captor
+  private ArgumentCaptor<Collection<Student>> insertedCaptor;
+
+  @Captor
+  private ArgumentCaptor<Collection<String>> codesCaptor;
+
+  private StudentImportService studentImportService;
+
+  @BeforeEach
+  void setUp() {
+    studentImportService = new StudentImportService(studentRepository, jdbcTemplate,
+        Validation.buildDefaultValidatorFactory().getValidator(),
+        new ClassroomWriteQueue(mock(PlatformTransactionManager.class)), chartCache, metrics);
+  }
+
+  @Test
+  @DisplayName("importCsv - 正常系：全行をJDBCバッチで登録し、学籍番号は1回のクエリで確認する")
+  void importCsv_InsertsAllRowsInBatch() throws Exception {
+    // given
+    String csv = "\uFEFF" + HEADER
+        + "山田太郎,男子,101,1,1\n"
+        + "\n"
+        + "\"佐藤, 花子\",女子,102,1,2\n";
+    when(studentRepository.findExistingStudentCodes(List.of("101", "102"))).thenReturn(List.of());
+    when(studentRepository.findByClassroomId(2L)).thenReturn(List.of());
+
+    // when
+    StudentImportResult result = studentImportService.importCsv(2L, stream(csv));
+
+    // then
+    assertThat(result.getImportedCount()).isEqualTo(2);
+    assertThat(result.getRejectedCount()).isZero();
+    assertThat(result.getErrors()).isEmpty();
+
+    verify(jdbcTemplate).batchUpdate(anyString(), insertedCaptor.capture(),
+        eq(StudentImportService.BATCH_SIZE), any(ParameterizedPreparedStatementSetter.class));
+    assertThat(insertedCaptor.getValue())
+        .extracting(Student::getClassroomId, Student::getName, Student::getStudentCode)
+        .containsExactly(
+            tuple(2L, "山田太郎", "101"),
+            tuple(2L, "佐藤, 花子", "102"));
+    verify(chartCache).markChanged(2L);
+    verify(metrics).countRowsWritten("import", 2L, 2);
+  }
+
+  @Test
+  @DisplayName("importCsv - 異常系：入力チェック・ファイル内の重複・登録済みの学籍番号と座席の行は行番号付きで返す")
+  void importCsv_ReportsErrorsPerLine() throws Exception {
+    // given
+    String csv = HEADER
+        + "山田太郎,男子,101,1,1\n"         // 2行目: 登録できる
+        + ",男性,abc,x,21\n"                // 3行目: 入力チェックのエラー
+        + "鈴木一郎,男子,101,2,2\n"         // 4行目: 学籍番号がファイル内で重複
+        + "高橋次郎,男子,103,1,1\n"         // 5行目: 座席がファイル内で重複
+        + "田中三郎,男子,104,3,3\n"         // 6行目: 登録済みの学籍番号
+        + "伊藤花子,女子,105,4,4\n";        // 7行目: 登録済みの座席
+    when(studentRepository.findExistingStudentCodes(List.of("101", "104", "105")))
+        .thenReturn(List.of("104"));
+    when(studentRepository.findByClassroomId(1L)).thenReturn(List.of(
+        Student.builder().id(9L).classroomId(1L).studentCode("900").seatRow(4).seatColumn(4)
+            .build()));
+
+    // when
+    StudentImportResult result = studentImportService.importCsv(1L, stream(csv));
+
+    // then
+    assertThat(result.getImportedCount()).isEqualTo(1);
+    assertThat(result.getRejectedCount()).isEqualTo(5);
+    assertThat(result.getErrors()).extracting(StudentImportError::getLine)
+        .containsExactly(3, 4, 5, 6, 7);
+    assertThat(result.getErrors().get(0).getMessages()).containsExactly(
+        "座席（行）は数値で入力してください",
+        "名前を入力してください",
+        "学籍番号は半角の自然数を入力してください",
+        "座席（列）は20以下にしてください",
+        "性別は「男子」または「女子」を入力してください");
+    assertThat(result.getErrors().get(1).getMessages())
+        .containsExactly("学籍番号が2行目と重複しています");
+    assertThat(result.getErrors().get(2).getMessages())
+        .containsExactly("座席が2行目と重複しています");
+    assertThat(result.getErrors().get(3).getMessages())
+        .containsExactly("その学籍番号はすでに登録されています");
+    assertThat(result.getErrors().get(4).getMessages())
+        .containsExactly("指定された座席にはすでに他の生徒が登録されています");
+
+    verify(jdbcTemplate).batchUpdate(anyString(), insertedCaptor.capture(), anyInt(),
+        any(ParameterizedPreparedStatementSetter.class));
+    assertThat(insertedCaptor.getValue()).extracting(Student::getStudentCode)
+        .containsExactly("101");
+    verify(metrics).countRowsWritten("import", 1L, 1);
+  }
+
+  @Test
+  @DisplayName("importCsv - 正常系：BATCH_SIZE行ごとに学籍番号を確認して登録し、名簿は1回だけ読む")
+  void importCsv_ProcessesRowsInBatches() throws Exception {
+    // given：BATCH_SIZE + 50 行（座席は20列ずつ重ならないように並べる）
+    int rowCount = StudentImportService.BATCH_SIZE + 50;
+    StringBuilder csv = new StringBuilder(HEADER);
+    for (int i = 0; i < rowCount; i++) {
+      csv.append("生徒").append(i).append(",男子,").append(1000 + i).append(',')
+          .append(i / 20 + 1).append(',').append(i % 20 + 1).append('\n');
+    }
+    when(studentRepository.findExistingStudentCodes(anyCollection())).thenReturn(List.of());
+    when(studentRepository.findByClassroomId(1L)).thenReturn(List.of());
+
+    // when
+    StudentImportResult result = studentImportService.importCsv(1L, stream(csv.toString()));
+
+    // then
+    assertThat(result.getImportedCount()).isEqualTo(rowCount);
+    verify(studentRepository).findByClassroomId(1L);
+    verify(studentRepository, times(2)).findExistingStudentCodes(codesCaptor.capture());
+    assertThat(codesCaptor.getAllValues()).extracting(Collection::size)
+        .containsExactly(StudentImportService.BATCH_SIZE, 50);
+    verify(jdbcTemplate, times(2)).batchUpdate(anyString(), insertedCaptor.capture(),
+        eq(StudentImportService.BATCH_SIZE), any(ParameterizedPreparedStatementSetter.class));
+    assertThat(insertedCaptor.getAllValues()).extracting(Collection::size)
+        .containsExactly(StudentImportService.BATCH_SIZE, 50);
+    verify(chartCache).markChanged(1L);
+    verify(metrics).countRowsWritten("import", 1L, rowCount);
+  }
+
+  @Test
+  @DisplayName("importCsv - 異常系：見出し行に必要な列がない場合は何も登録しない")
+  void importCsv_MissingHeaderColumn_ImportsNothing() throws Exception {
+    // given
+    String csv = "氏名,性別,学籍番号,行\n山田太郎,男子,101,1\n";
+
+    // when
+    StudentImportResult result = studentImportService.importCsv(1L, stream(csv));
+
+    // then
+    assertThat(result.getImportedCount()).isZero();
+    assertThat(result.getErrors()).hasSize(1);
+    assertThat(result.getErrors().get(0).getLine()).isEqualTo(1);
+    assertThat(result.getErrors().get(0).getMessages())
+        .containsExactly("見出し行に「seatColumn」（列）の列がありません");
+    verifyNoInteractions(studentRepository, jdbcTemplate, chartCache, metrics);
+  }
+
+  @Test
+  @DisplayName("importCsv - 正常系：登録できる行がない場合はデータベースを検索しない")
+  void importCsv_NoValidRows_SkipsDatabase() throws Exception {
+    // given
+    String csv = HEADER + "山田太郎,男子,0,1,1\n";
+
+    // when
+    StudentImportResult result = studentImportService.importCsv(1L, stream(csv));
+
+    // then
+    assertThat(result.getImportedCount()).isZero();
+    assertThat(result.getRejectedCount()).isEqualTo(1);
+    verify(studentRepository, never()).findExistingStudentCodes(anyCollection());
+    verify(studentRepository, never()).findByClassroomId(anyLong());
+    verifyNoInteractions(jdbcTemplate, chartCache, metrics);
+  }
+
+  @Test
+  @DisplayName("splitCsv - 正常系：ダブルクォートで囲んだ値のカンマと「\"\"」を扱える")
+  void splitCsv_HandlesQuotedValues() {
+    // when
+    List<String> values = StudentImportService.splitCsv("a,\"b,c\",\"d\"\"e\",");
+
+    // then
+    assertThat(values).containsExactly("a", "b,c", "d\"e", "");
+  }
+
+  private static InputStream stream(String csv) {
+    return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -4,7 +4,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -21,7 +25,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import sekigae.sekigae.seatingapp.dto.StudentPage;
+import sekigae.sekigae.seatingapp.dto.StudentRow;
 import sekigae.sekigae.seatingapp.entity.Student;
 import sekigae.sekigae.seatingapp.repository.StudentRepository;
 
@@ -32,6 +41,14 @@ class StudentServiceTest {
   @Mock
   private StudentRepository studentRepository;
 
+  @Mock
+  private SeatingChartCache chartCache;
+
+  // 書き込みは呼び出し元のスレッドでそのまま実行する（トランザクションマネージャーはモック）
+  @Spy
+  private ClassroomWriteQueue writeQueue =
+      new ClassroomWriteQueue(mock(PlatformTransactionManager.class));
+
   @InjectMocks
   private StudentService studentService;
 
@@ -109,18 +126,18 @@ class StudentServiceTest {
   void getAllStudents_複数の生徒が存在する場合() {
     // Given
     List<Student> expectedStudents = Arrays.asList(student1, student2, student3);
-    when(studentRepository.findAll()).thenReturn(expectedStudents);
+    when(chartCache.getStudents(1L)).thenReturn(expectedStudents);
 
     // When
-    List<Student> actualStudents = studentService.getAllStudents();
+    List<Student> actualStudents = studentService.getAllStudents(1L);
 
     // Then
     assertThat(actualStudents).isNotNull();
     assertThat(actualStudents).hasSize(3);
     assertThat(actualStudents).containsExactly(student1, student2, student3);
 
-    // repositoryのfindAll()が1回呼ばれたことを検証
-    verify(studentRepository).findAll();
+    // メモリ上の名簿から取得したことを検証
+    verify(chartCache).getStudents(1L);
   }
 
   @Test
@@ -128,17 +145,17 @@ class StudentServiceTest {
   void getAllStudents_生徒が1人だけ存在する場合() {
     // Given
     List<Student> expectedStudents = Arrays.asList(student1);
-    when(studentRepository.findAll()).thenReturn(expectedStudents);
+    when(chartCache.getStudents(1L)).thenReturn(expectedStudents);
 
     // When
-    List<Student> actualStudents = studentService.getAllStudents();
+    List<Student> actualStudents = studentService.getAllStudents(1L);
 
     // Then
     assertThat(actualStudents).isNotNull();
     assertThat(actualStudents).hasSize(1);
     assertThat(actualStudents).containsExactly(student1);
 
-    verify(studentRepository).findAll();
+    verify(chartCache).getStudents(1L);
   }
 
   @Test
@@ -146,16 +163,16 @@ class StudentServiceTest {
   void getAllStudents_生徒が存在しない場合() {
     // Given
     List<Student> expectedStudents = Collections.emptyList();
-    when(studentRepository.findAll()).thenReturn(expectedStudents);
+    when(chartCache.getStudents(1L)).thenReturn(expectedStudents);
 
     // When
-    List<Student> actualStudents = studentService.getAllStudents();
+    List<Student> actualStudents = studentService.getAllStudents(1L);
 
     // Then
     assertThat(actualStudents).isNotNull();
     assertThat(actualStudents).isEmpty();
 
-    verify(studentRepository).findAll();
+    verify(chartCache).getStudents(1L);
   }
 
   @Test
@@ -163,10 +180,10 @@ class StudentServiceTest {
   void getAllStudents_取得した生徒の値が正しいこと() {
     // Given
     List<Student> expectedStudents = Arrays.asList(student1, student2);
-    when(studentRepository.findAll()).thenReturn(expectedStudents);
+    when(chartCache.getStudents(1L)).thenReturn(expectedStudents);
 
     // When
-    List<Student> actualStudents = studentService.getAllStudents();
+    List<Student> actualStudents = studentService.getAllStudents(1L);
 
     // Then
     assertThat(actualStudents).hasSize(2);
@@ -189,7 +206,7 @@ class StudentServiceTest {
     assertThat(secondStudent.getSeatRow()).isEqualTo(2);
     assertThat(secondStudent.getSeatColumn()).isEqualTo(3);
 
-    verify(studentRepository).findAll();
+    verify(chartCache).getStudents(1L);
   }
 
   @Nested
@@ -200,11 +217,11 @@ class StudentServiceTest {
     @DisplayName("空いている座席に生徒を正常に登録できること")
     void registerStudent_空いている座席の場合() {
       // Given
-      when(studentRepository.findBySeatRowAndSeatColumn(1, 1)).thenReturn(null);
+      when(studentRepository.findByClassroomIdAndSeatRowAndSeatColumn(1L, 1, 1)).thenReturn(null);
       when(studentRepository.save(newStudent)).thenReturn(savedStudent);
 
       // When
-      Student result = studentService.registerStudent(newStudent);
+      Student result = studentService.registerStudent(1L, newStudent);
 
       // Then
       assertThat(result).isNotNull();
@@ -215,8 +232,11 @@ class StudentServiceTest {
       assertThat(result.getSeatRow()).isEqualTo(1);
       assertThat(result.getSeatColumn()).isEqualTo(1);
 
+      // 登録先のクラスが設定されていることを検証
+      assertThat(newStudent.getClassroomId()).isEqualTo(1L);
+
       // メソッドの呼び出し順序と回数を検証
-      verify(studentRepository).findBySeatRowAndSeatColumn(1, 1);
+      verify(studentRepository).findByClassroomIdAndSeatRowAndSeatColumn(1L, 1, 1);
       verify(studentRepository).save(newStudent);
     }
 
@@ -241,11 +261,11 @@ class StudentServiceTest {
           .seatColumn(3)
           .build();
 
-      when(studentRepository.findBySeatRowAndSeatColumn(2, 3)).thenReturn(null);
+      when(studentRepository.findByClassroomIdAndSeatRowAndSeatColumn(1L, 2, 3)).thenReturn(null);
       when(studentRepository.save(studentForSeat23)).thenReturn(savedStudentSeat23);
 
       // When
-      Student result = studentService.registerStudent(studentForSeat23);
+      Student result = studentService.registerStudent(1L, studentForSeat23);
 
       // Then
       assertThat(result).isNotNull();
@@ -253,7 +273,7 @@ class StudentServiceTest {
       assertThat(result.getSeatRow()).isEqualTo(2);
       assertThat(result.getSeatColumn()).isEqualTo(3);
 
-      verify(studentRepository).findBySeatRowAndSeatColumn(2, 3);
+      verify(studentRepository).findByClassroomIdAndSeatRowAndSeatColumn(1L, 2, 3);
       verify(studentRepository).save(studentForSeat23);
     }
 
@@ -278,11 +298,11 @@ class StudentServiceTest {
           .seatColumn(1)
           .build();
 
-      when(studentRepository.findBySeatRowAndSeatColumn(1, 1)).thenReturn(null);
+      when(studentRepository.findByClassroomIdAndSeatRowAndSeatColumn(1L, 1, 1)).thenReturn(null);
       when(studentRepository.save(minSeatStudent)).thenReturn(savedMinSeatStudent);
 
       // When
-      Student result = studentService.registerStudent(minSeatStudent);
+      Student result = studentService.registerStudent(1L, minSeatStudent);
 
       // Then
       assertThat(result.getSeatRow()).isEqualTo(1);
@@ -306,11 +326,11 @@ class StudentServiceTest {
           .seatColumn(5)
           .build();
 
-      when(studentRepository.findBySeatRowAndSeatColumn(6, 5)).thenReturn(null);
+      when(studentRepository.findByClassroomIdAndSeatRowAndSeatColumn(1L, 6, 5)).thenReturn(null);
       when(studentRepository.save(maxSeatStudent)).thenReturn(savedMaxSeatStudent);
 
       // When
-      Student maxResult = studentService.registerStudent(maxSeatStudent);
+      Student maxResult = studentService.registerStudent(1L, maxSeatStudent);
 
       // Then
       assertThat(maxResult.getSeatRow()).isEqualTo(6);
@@ -327,10 +347,11 @@ class StudentServiceTest {
     void getStudentById_存在するIDの場合() {
       // Given
       Long studentId = 1L;
-      when(studentRepository.findById(studentId)).thenReturn(Optional.of(existingStudent));
+      when(studentRepository.findByIdAndClassroomId(studentId, 1L))
+          .thenReturn(Optional.of(existingStudent));
 
       // When
-      Student result = studentService.getStudentById(studentId);
+      Student result = studentService.getStudentById(1L, studentId);
 
       // Then
       assertThat(result).isNotNull();
@@ -341,7 +362,7 @@ class StudentServiceTest {
       assertThat(result.getSeatRow()).isEqualTo(1);
       assertThat(result.getSeatColumn()).isEqualTo(1);
 
-      verify(studentRepository).findById(studentId);
+      verify(studentRepository).findByIdAndClassroomId(studentId, 1L);
     }
 
     @Test
@@ -358,10 +379,11 @@ class StudentServiceTest {
           .seatColumn(2)
           .build();
 
-      when(studentRepository.findById(studentId)).thenReturn(Optional.of(differentStudent));
+      when(studentRepository.findByIdAndClassroomId(studentId, 1L))
+          .thenReturn(Optional.of(differentStudent));
 
       // When
-      Student result = studentService.getStudentById(studentId);
+      Student result = studentService.getStudentById(1L, studentId);
 
       // Then
       assertThat(result).isNotNull();
@@ -370,7 +392,7 @@ class StudentServiceTest {
       assertThat(result.getGender()).isEqualTo("女性");
       assertThat(result.getStudentCode()).isEqualTo("2001");
 
-      verify(studentRepository).findById(studentId);
+      verify(studentRepository).findByIdAndClassroomId(studentId, 1L);
     }
 
     @Test
@@ -378,16 +400,17 @@ class StudentServiceTest {
     void getStudentById_最小値のID() {
       // Given
       Long minId = 1L;
-      when(studentRepository.findById(minId)).thenReturn(Optional.of(existingStudent));
+      when(studentRepository.findByIdAndClassroomId(minId, 1L))
+          .thenReturn(Optional.of(existingStudent));
 
       // When
-      Student result = studentService.getStudentById(minId);
+      Student result = studentService.getStudentById(1L, minId);
 
       // Then
       assertThat(result).isNotNull();
       assertThat(result.getId()).isEqualTo(1L);
 
-      verify(studentRepository).findById(minId);
+      verify(studentRepository).findByIdAndClassroomId(minId, 1L);
     }
 
     @Test
@@ -404,16 +427,17 @@ class StudentServiceTest {
           .seatColumn(5)
           .build();
 
-      when(studentRepository.findById(largeId)).thenReturn(Optional.of(studentWithLargeId));
+      when(studentRepository.findByIdAndClassroomId(largeId, 1L))
+          .thenReturn(Optional.of(studentWithLargeId));
 
       // When
-      Student result = studentService.getStudentById(largeId);
+      Student result = studentService.getStudentById(1L, largeId);
 
       // Then
       assertThat(result).isNotNull();
       assertThat(result.getId()).isEqualTo(999999L);
 
-      verify(studentRepository).findById(largeId);
+      verify(studentRepository).findByIdAndClassroomId(largeId, 1L);
     }
   }
 
@@ -426,15 +450,16 @@ class StudentServiceTest {
     void getStudentById_存在しないIDの場合() {
       // Given
       Long nonExistentId = 999L;
-      when(studentRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+      when(studentRepository.findByIdAndClassroomId(nonExistentId, 1L))
+          .thenReturn(Optional.empty());
 
       // When
-      Student result = studentService.getStudentById(nonExistentId);
+      Student result = studentService.getStudentById(1L, nonExistentId);
 
       // Then
       assertThat(result).isNull();
 
-      verify(studentRepository).findById(nonExistentId);
+      verify(studentRepository).findByIdAndClassroomId(nonExistentId, 1L);
     }
 
     @Test
@@ -442,15 +467,15 @@ class StudentServiceTest {
     void getStudentById_負のIDの場合() {
       // Given
       Long negativeId = -1L;
-      when(studentRepository.findById(negativeId)).thenReturn(Optional.empty());
+      when(studentRepository.findByIdAndClassroomId(negativeId, 1L)).thenReturn(Optional.empty());
 
       // When
-      Student result = studentService.getStudentById(negativeId);
+      Student result = studentService.getStudentById(1L, negativeId);
 
       // Then
       assertThat(result).isNull();
 
-      verify(studentRepository).findById(negativeId);
+      verify(studentRepository).findByIdAndClassroomId(negativeId, 1L);
     }
 
     @Test
@@ -458,15 +483,15 @@ class StudentServiceTest {
     void getStudentById_ゼロのIDの場合() {
       // Given
       Long zeroId = 0L;
-      when(studentRepository.findById(zeroId)).thenReturn(Optional.empty());
+      when(studentRepository.findByIdAndClassroomId(zeroId, 1L)).thenReturn(Optional.empty());
 
       // When
-      Student result = studentService.getStudentById(zeroId);
+      Student result = studentService.getStudentById(1L, zeroId);
 
       // Then
       assertThat(result).isNull();
 
-      verify(studentRepository).findById(zeroId);
+      verify(studentRepository).findByIdAndClassroomId(zeroId, 1L);
     }
 
     @Test
@@ -474,15 +499,15 @@ class StudentServiceTest {
     void getStudentById_非常に大きなIDの場合() {
       // Given
       Long veryLargeId = Long.MAX_VALUE;
-      when(studentRepository.findById(veryLargeId)).thenReturn(Optional.empty());
+      when(studentRepository.findByIdAndClassroomId(veryLargeId, 1L)).thenReturn(Optional.empty());
 
       // When
-      Student result = studentService.getStudentById(veryLargeId);
+      Student result = studentService.getStudentById(1L, veryLargeId);
 
       // Then
       assertThat(result).isNull();
 
-      verify(studentRepository).findById(veryLargeId);
+      verify(studentRepository).findByIdAndClassroomId(veryLargeId, 1L);
     }
   }
 
@@ -495,16 +520,17 @@ class StudentServiceTest {
     void getStudentById_Optionalの処理確認() {
       // Given
       Long testId = 50L;
-      when(studentRepository.findById(testId)).thenReturn(Optional.of(existingStudent));
+      when(studentRepository.findByIdAndClassroomId(testId, 1L))
+          .thenReturn(Optional.of(existingStudent));
 
       // When
-      Student result = studentService.getStudentById(testId);
+      Student result = studentService.getStudentById(1L, testId);
 
       // Then
       // Optional.of()で包まれた値が正しくorElse(null)で取り出されること
       assertThat(result).isSameAs(existingStudent);
 
-      verify(studentRepository).findById(testId);
+      verify(studentRepository).findByIdAndClassroomId(testId, 1L);
     }
 
     @Test
@@ -512,16 +538,16 @@ class StudentServiceTest {
     void getStudentById_空のOptionalの処理確認() {
       // Given
       Long testId = 51L;
-      when(studentRepository.findById(testId)).thenReturn(Optional.empty());
+      when(studentRepository.findByIdAndClassroomId(testId, 1L)).thenReturn(Optional.empty());
 
       // When
-      Student result = studentService.getStudentById(testId);
+      Student result = studentService.getStudentById(1L, testId);
 
       // Then
       // Optional.empty()が正しくorElse(null)でnullに変換されること
       assertThat(result).isNull();
 
-      verify(studentRepository).findById(testId);
+      verify(studentRepository).findByIdAndClassroomId(testId, 1L);
     }
 
     @Test
@@ -529,14 +555,15 @@ class StudentServiceTest {
     void getStudentById_repositoryメソッド呼び出し回数確認() {
       // Given
       Long testId = 123L;
-      when(studentRepository.findById(testId)).thenReturn(Optional.of(existingStudent));
+      when(studentRepository.findByIdAndClassroomId(testId, 1L))
+          .thenReturn(Optional.of(existingStudent));
 
       // When
-      studentService.getStudentById(testId);
+      studentService.getStudentById(1L, testId);
 
       // Then
       // findByIdが正確に1回だけ呼ばれることを確認
-      verify(studentRepository).findById(testId);
+      verify(studentRepository).findByIdAndClassroomId(testId, 1L);
     }
 
     @Test
@@ -544,11 +571,12 @@ class StudentServiceTest {
     void getStudentById_複数回呼び出し() {
       // Given
       Long testId = 456L;
-      when(studentRepository.findById(testId)).thenReturn(Optional.of(existingStudent));
+      when(studentRepository.findByIdAndClassroomId(testId, 1L))
+          .thenReturn(Optional.of(existingStudent));
 
       // When
-      Student result1 = studentService.getStudentById(testId);
-      Student result2 = studentService.getStudentById(testId);
+      Student result1 = studentService.getStudentById(1L, testId);
+      Student result2 = studentService.getStudentById(1L, testId);
 
       // Then
       assertThat(result1).isEqualTo(result2);
@@ -556,7 +584,7 @@ class StudentServiceTest {
       assertThat(result2).isSameAs(existingStudent);
 
       // 2回呼び出されたことを確認
-      verify(studentRepository, times(2)).findById(testId);
+      verify(studentRepository, times(2)).findByIdAndClassroomId(testId, 1L);
     }
   }
 
@@ -565,30 +593,45 @@ class StudentServiceTest {
   // -------------------
 
   @Test
-  @DisplayName("deleteStudent 正常系: ID指定で削除が呼ばれる")
+  @DisplayName("deleteStudent 正常系: クラスの生徒を削除し、名簿の読み直しを通知する")
   void testDeleteStudent_Normal() {
     Long id = 1L;
+    when(studentRepository.findByIdAndClassroomId(id, 1L)).thenReturn(Optional.of(student1));
 
     // 実行
-    studentService.deleteStudent(id);
+    studentService.deleteStudent(1L, id);
 
-    // deleteById が1回呼ばれたことを検証
-    verify(studentRepository, times(1)).deleteById(id);
+    // delete が1回呼ばれたことを検証
+    verify(studentRepository, times(1)).delete(student1);
+    verify(chartCache).markChanged(1L);
   }
 
   @Test
-  @DisplayName("deleteStudent 異常系: 存在しないIDを削除しようとしても例外をスロー")
-  void testDeleteStudent_Exception() {
+  @DisplayName("registerStudent・updateSeat・deleteStudent 正常系: 座席を書き換える処理はクラスの順番を待ってから実行する")
+  void testSeatWrites_InClassroomWriteQueue() {
+    when(studentRepository.findByClassroomIdAndSeatRowAndSeatColumn(2L, 1, 1)).thenReturn(null);
+    when(studentRepository.findByIdAndClassroomId(1L, 2L)).thenReturn(Optional.of(student1));
+
+    // 実行
+    studentService.registerStudent(2L, newStudent);
+    studentService.updateSeat(2L, 1L, 3, 4);
+    studentService.deleteStudent(2L, 1L);
+
+    // 3つとも書き込みの待ち行列を通ることを検証
+    verify(writeQueue, times(3)).write(eq(2L), any());
+    verify(chartCache, times(3)).markChanged(2L);
+  }
+
+  @Test
+  @DisplayName("deleteStudent 異常系: 他のクラスの生徒・存在しないIDは削除しない")
+  void testDeleteStudent_NotInClassroom() {
     Long id = 999L;
-    doThrow(new IllegalArgumentException("存在しないID"))
-        .when(studentRepository).deleteById(id);
+    when(studentRepository.findByIdAndClassroomId(id, 1L)).thenReturn(Optional.empty());
 
-    Exception ex = assertThrows(IllegalArgumentException.class, () -> {
-      studentService.deleteStudent(id);
-    });
+    studentService.deleteStudent(1L, id);
 
-    assertEquals("存在しないID", ex.getMessage());
-    verify(studentRepository, times(1)).deleteById(id);
+    verify(studentRepository, never()).delete(any(Student.class));
+    verify(chartCache, never()).markChanged(anyLong());
   }
 
   // -------------------
@@ -635,4 +678,37 @@ class StudentServiceTest {
     assertEquals("DBエラー", ex.getMessage());
     verify(studentRepository, times(1)).findByStudentCode(studentCode);
   }
+
+  @Test
+  @DisplayName("getStudentPage 正常系: 1件多く取得して次のページのカーソルを返す")
+  void testGetStudentPage_HasNext() {
+    StudentRow first = mock(StudentRow.class);
+    StudentRow second = mock(StudentRow.class);
+    StudentRow third = mock(StudentRow.class);
+    when(second.getId()).thenReturn(7L);
+    when(studentRepository.findPage(1L, 3L, "女子", true, null, PageRequest.of(0, 3)))
+        .thenReturn(List.of(first, second, third));
+
+    StudentPage page = studentService.getStudentPage(1L, 3L, 2, "女子", true, null);
+
+    assertThat(page.getStudents()).containsExactly(first, second);
+    assertTrue(page.isHasNext());
+    assertEquals(7L, page.getNextAfterId());
+  }
+
+  @Test
+  @DisplayName("getStudentPage 正常系: 最後のページでは次のカーソルを返さず、氏名の先頭はLIKEの記号をエスケープする")
+  void testGetStudentPage_LastPage() {
+    StudentRow row = mock(StudentRow.class);
+    when(studentRepository.findPage(1L, 0L, null, null, "田中!_!%!!%",
+        PageRequest.of(0, StudentService.STUDENT_PAGE_SIZE + 1)))
+        .thenReturn(List.of(row));
+
+    StudentPage page = studentService.getStudentPage(1L, null, StudentService.STUDENT_PAGE_SIZE,
+        null, null, "田中_%!");
+
+    assertThat(page.getStudents()).containsExactly(row);
+    Assertions.assertFalse(page.isHasNext());
+    Assertions.assertNull(page.getNextAfterId());
+  }
 }
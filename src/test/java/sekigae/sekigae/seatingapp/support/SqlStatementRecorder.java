@@ -0,0 +1,129 @@
+package sekigae.sekigae.seatingapp.support;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * テストで発行されたSQLを記録し、発行回数の上限と N+1 をチェックします。
+ * <p>
+ * {@link SqlStatementRecorderConfig} でデータソースに登録します。JDBC バッチ（executeBatch）は
+ * データベースへの1回の往復なので1文と数えます。測りたい処理の直前に {@link #reset()} してください。
+ */
+public class SqlStatementRecorder implements QueryExecutionListener {
+
+  /**
+   * 同じ形のSQLがこの回数以上発行されたら N+1 とみなします
+   */
+  public static final int N_PLUS_ONE_THRESHOLD = 3;
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+  private static final Pattern IN_LIST = Pattern.compile("in\\s*\\((?:\\s*\\?\\s*,)*\\s*\\?\\s*\\)");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final List<String> statements = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+  }
+
+  @Override
+  public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    statements.add(queryInfoList.stream()
+        .map(QueryInfo::getQuery)
+        .collect(Collectors.joining(";\n")));
+  }
+
+  /**
+   * 記録を消去します
+   */
+  public void reset() {
+    statements.clear();
+  }
+
+  /**
+   * 記録したSQLを発行順に取得します
+   *
+   * @return SQL（バッチは1件にまとめたもの）
+   */
+  public List<String> getStatements() {
+    return List.copyOf(statements);
+  }
+
+  /**
+   * 記録したSQLの数を取得します
+   *
+   * @return SQLの数
+   */
+  public int count() {
+    return statements.size();
+  }
+
+  /**
+   * 記録したSQLの数が上限以下であることを確認します
+   *
+   * @param budget 上限
+   * @throws AssertionError 上限を超えた場合（発行したSQLの一覧付き）
+   */
+  public void assertAtMost(int budget) {
+    List<String> recorded = getStatements();
+    if (recorded.size() > budget) {
+      throw new AssertionError("SQLの発行回数が上限を超えました: " + recorded.size() + " > " + budget
+          + "\n" + String.join("\n", recorded));
+    }
+  }
+
+  /**
+   * 同じ形のSQLが {@link #N_PLUS_ONE_THRESHOLD} 回以上発行されていないことを確認します
+   *
+   * @throws AssertionError N+1 が見つかった場合（SQLの形と回数付き）
+   */
+  public void assertNoNPlusOne() {
+    Map<String, Long> repeated = findNPlusOne();
+    if (!repeated.isEmpty()) {
+      throw new AssertionError("同じ形のSQLが繰り返し発行されています（N+1）:\n"
+          + repeated.entrySet().stream()
+          .map(entry -> entry.getValue() + " 回: " + entry.getKey())
+          .collect(Collectors.joining("\n")));
+    }
+  }
+
+  /**
+   * 同じ形のSQLが {@link #N_PLUS_ONE_THRESHOLD} 回以上発行されたものを取得します
+   *
+   * @return SQLの形 → 発行回数
+   */
+  public Map<String, Long> findNPlusOne() {
+    return statements.stream()
+        .map(SqlStatementRecorder::shape)
+        .collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new,
+            Collectors.counting()))
+        .entrySet().stream()
+        .filter(entry -> entry.getValue() >= N_PLUS_ONE_THRESHOLD)
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+            (a, b) -> a, LinkedHashMap::new));
+  }
+
+  /**
+   * SQLのリテラルとINリストの長さを取り除き、パラメーターだけが違うSQLを同じ形にします
+   *
+   * @param sql SQL
+   * @return SQLの形
+   */
+  static String shape(String sql) {
+    String shape = sql.toLowerCase(Locale.ROOT).trim();
+    shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+    shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+    shape = WHITESPACE.matcher(shape).replaceAll(" ");
+    return IN_LIST.matcher(shape).replaceAll("in (?)");
+  }
+}
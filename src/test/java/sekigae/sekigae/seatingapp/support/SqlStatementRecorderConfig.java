@@ -0,0 +1,40 @@
+package sekigae.sekigae.seatingapp.support;
+
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * データソースをプロキシで包み、発行したSQLを {@link SqlStatementRecorder} に記録するテスト用の設定です。
+ * <p>
+ * 使い方: {@code @Import(SqlStatementRecorderConfig.class)} を付け、{@link SqlStatementRecorder} を注入します。
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlStatementRecorderConfig {
+
+  @Bean
+  public SqlStatementRecorder sqlStatementRecorder() {
+    return new SqlStatementRecorder();
+  }
+
+  @Bean
+  public static BeanPostProcessor sqlStatementRecordingDataSource(
+      ObjectProvider<SqlStatementRecorder> recorder) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+          return ProxyDataSourceBuilder.create(dataSource)
+              .name(beanName)
+              .listener(recorder.getObject())
+              .build();
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,75 @@
+package sekigae.sekigae.seatingapp.support;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SqlStatementRecorder単体テスト")
+class SqlStatementRecorderTest {
+
+  private final SqlStatementRecorder recorder = new SqlStatementRecorder();
+
+  @Test
+  @DisplayName("assertAtMost - 異常系：上限を超えた場合は発行したSQLの一覧付きで失敗する")
+  void assertAtMost_OverBudget() {
+    // given
+    execute("select * from students");
+    execute("select * from seating_snapshots");
+    execute("update students set seat_row=? where id=?");
+
+    // when
+    AssertionError error = assertThrows(AssertionError.class, () -> recorder.assertAtMost(2));
+
+    // then
+    assertTrue(error.getMessage().contains("update students"));
+    assertDoesNotThrow(() -> recorder.assertAtMost(3));
+  }
+
+  @Test
+  @DisplayName("assertNoNPlusOne - 異常系：パラメーターだけが違う同じ形のSELECTを N+1 とみなす")
+  void assertNoNPlusOne_RepeatedShape() {
+    // given：生徒ごとに1件ずつ取得している
+    execute("select * from students where id=1");
+    execute("select * from students where id=2");
+    execute("select *\n  from students where id=3");
+
+    // when
+    Map<String, Long> repeated = recorder.findNPlusOne();
+
+    // then
+    assertEquals(Map.of("select * from students where id=?", 3L), repeated);
+    assertThrows(AssertionError.class, recorder::assertNoNPlusOne);
+  }
+
+  @Test
+  @DisplayName("assertNoNPlusOne - 正常系：バッチは1文と数え、INリストの長さの違いは同じ形とみなす")
+  void assertNoNPlusOne_BatchCountsOnce() {
+    // given
+    ExecutionInfo batch = new ExecutionInfo();
+    batch.setBatch(true);
+    recorder.afterQuery(batch, List.of(new QueryInfo("update students set seat_row=? where id=?")));
+    execute("select * from seating_neighbour_history where student_id in (?, ?)");
+    execute("select * from seating_neighbour_history where student_id in (?, ?, ?)");
+
+    // then
+    assertEquals(3, recorder.count());
+    assertEquals("select * from seating_neighbour_history where student_id in (?)",
+        SqlStatementRecorder.shape(recorder.getStatements().get(2)));
+    assertDoesNotThrow(recorder::assertNoNPlusOne);
+
+    recorder.reset();
+    assertEquals(0, recorder.count());
+  }
+
+  private void execute(String sql) {
+    recorder.afterQuery(new ExecutionInfo(), List.of(new QueryInfo(sql)));
+  }
+}